@@ -0,0 +1,116 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmark;
+
+import com.alee.graphics.filters.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares graphics filters throughput with and without parallel row bands processing on images from 256px up to 4K.
+ * Usage: {@code ant run.benchmark -Dbenchmark.class=com.alee.benchmark.FiltersBenchmark}
+ *
+ * @author Mikle Garin
+ * @see com.alee.graphics.filters.AbstractBufferedImageOp#setParallel(boolean)
+ */
+
+public final class FiltersBenchmark
+{
+    /**
+     * Benchmarked image sizes.
+     */
+    private static final Dimension[] SIZES =
+            { new Dimension ( 256, 256 ), new Dimension ( 512, 512 ), new Dimension ( 1024, 1024 ), new Dimension ( 1920, 1080 ),
+                    new Dimension ( 3840, 2160 ) };
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args ignored
+     */
+    public static void main ( final String[] args )
+    {
+        final Map<String, BufferedImageOp> filters = new LinkedHashMap<String, BufferedImageOp> ();
+        filters.put ( "GaussianFilter(10)", new GaussianFilter ( 10 ) );
+        filters.put ( "BoxBlurFilter(5,5,3)", new BoxBlurFilter ( 5, 5, 3 ) );
+        filters.put ( "ShadowFilter(10)", new ShadowFilter ( 10, 0, 0, 0.5f ) );
+        filters.put ( "MotionBlurOp(10)", new MotionBlurOp ( 10, 0.5f, 0, 0 ) );
+
+        System.out.println ( "Processors: " + Runtime.getRuntime ().availableProcessors () );
+        System.out.println ( String.format ( "%-22s %-10s %14s %14s %8s", "Filter", "Size", "Serial ms/op", "Parallel ms/op", "Speedup" ) );
+        for ( final Map.Entry<String, BufferedImageOp> filter : filters.entrySet () )
+        {
+            for ( final Dimension size : SIZES )
+            {
+                final BufferedImage image = createImage ( size.width, size.height );
+                final double serial = measure ( filter.getValue (), image, false );
+                final double parallel = measure ( filter.getValue (), image, true );
+                System.out.println ( String.format ( "%-22s %-10s %14.2f %14.2f %7.2fx", filter.getKey (), size.width + "x" + size.height,
+                        serial, parallel, serial / parallel ) );
+            }
+        }
+        AbstractBufferedImageOp.setParallel ( true );
+    }
+
+    /**
+     * Returns average time in milliseconds spent to apply the specified filter to the specified image.
+     *
+     * @param filter   filter to measure
+     * @param image    source image
+     * @param parallel whether parallel processing should be used or not
+     * @return average time in milliseconds spent to apply the specified filter to the specified image
+     */
+    private static double measure ( final BufferedImageOp filter, final BufferedImage image, final boolean parallel )
+    {
+        AbstractBufferedImageOp.setParallel ( parallel );
+
+        // Operations amount is chosen so that each measurement takes roughly the same time
+        final int operations = Math.max ( 3, ( int ) ( 8L * 1024 * 1024 / ( ( long ) image.getWidth () * image.getHeight () ) ) );
+        for ( int i = 0; i < operations; i++ )
+        {
+            filter.filter ( image, null );
+        }
+        final long start = System.nanoTime ();
+        for ( int i = 0; i < operations; i++ )
+        {
+            filter.filter ( image, null );
+        }
+        return ( System.nanoTime () - start ) / 1000000.0 / operations;
+    }
+
+    /**
+     * Returns new semi-transparent image with some content to process.
+     *
+     * @param width  image width
+     * @param height image height
+     * @return new semi-transparent image with some content to process
+     */
+    private static BufferedImage createImage ( final int width, final int height )
+    {
+        final BufferedImage image = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB );
+        final Graphics2D g2d = image.createGraphics ();
+        g2d.setPaint ( new GradientPaint ( 0, 0, new Color ( 255, 0, 0, 128 ), width, height, Color.BLUE ) );
+        g2d.fillRoundRect ( width / 8, height / 8, width * 3 / 4, height * 3 / 4, width / 8, height / 8 );
+        g2d.dispose ();
+        return image;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmark;
+
+import com.alee.utils.NinePatchUtils;
+import com.alee.utils.ninepatch.NinePatchIcon;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Compares nine-patch icon paint cost for 1000 decorated components with different render cache memory budgets.
+ * Components are painted the same way panels full of nine-patch decorated cards are painted while scrolling.
+ * Usage: {@code ant run.benchmark -Dbenchmark.class=com.alee.benchmark.NinePatchBenchmark}
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.ninepatch.NinePatchIcon#setRenderCacheSize(long)
+ * @see com.alee.utils.NinePatchUtils#painterIconRenderCacheSize
+ */
+
+public final class NinePatchBenchmark
+{
+    /**
+     * Amount of painted components.
+     */
+    private static final int COMPONENTS = 1000;
+
+    /**
+     * Amount of measured repaints of all components.
+     */
+    private static final int REPAINTS = 20;
+
+    /**
+     * Benchmarked render cache memory budgets in bytes.
+     */
+    private static final long[] BUDGETS = { 0, 64 * 1024, 256 * 1024, 1024 * 1024 };
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args ignored
+     */
+    public static void main ( final String[] args )
+    {
+        final BufferedImage screen = new BufferedImage ( 1280, 800, BufferedImage.TYPE_INT_ARGB );
+        System.out.println ( String.format ( "%-38s %12s %16s", "Components", "Budget", "ms per repaint" ) );
+        for ( final long budget : BUDGETS )
+        {
+            // Cards of the same size, for example list of cards within a scroll pane
+            measure ( screen, budget, "1000 cards 300x60", new Dimension[]{ new Dimension ( 300, 60 ) } );
+
+            // Cards of a few different sizes, for example cards grouped into several columns
+            measure ( screen, budget, "1000 cards of 4 sizes up to 400x100", new Dimension[]{ new Dimension ( 150, 40 ),
+                    new Dimension ( 200, 60 ), new Dimension ( 300, 80 ), new Dimension ( 400, 100 ) } );
+
+            // Large panels which are too big to be cached with smaller budgets
+            measure ( screen, budget, "1000 panels 600x400", new Dimension[]{ new Dimension ( 600, 400 ) } );
+
+            // Cards which all have different sizes, render cache is never used for them
+            final Dimension[] sizes = new Dimension[ COMPONENTS ];
+            for ( int i = 0; i < sizes.length; i++ )
+            {
+                sizes[ i ] = new Dimension ( 200 + i % 200, 40 + i / 200 );
+            }
+            measure ( screen, budget, "1000 cards of different sizes", sizes );
+        }
+    }
+
+    /**
+     * Measures and prints average time spent to repaint all components.
+     *
+     * @param screen image components are painted onto
+     * @param budget render cache memory budget in bytes
+     * @param name   components description
+     * @param sizes  component sizes, used in a round-robin fashion
+     */
+    private static void measure ( final BufferedImage screen, final long budget, final String name, final Dimension[] sizes )
+    {
+        // All components share single icon same as skin painters created for the same style do
+        final NinePatchIcon icon = NinePatchUtils.createShadeIcon ( 6, 6, 0.75f );
+        icon.setRenderCacheSize ( budget );
+
+        final Graphics2D g2d = screen.createGraphics ();
+        g2d.setRenderingHint ( RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR );
+        for ( int i = 0; i < REPAINTS / 5; i++ )
+        {
+            repaint ( g2d, screen, icon, sizes );
+        }
+        final long start = System.nanoTime ();
+        for ( int i = 0; i < REPAINTS; i++ )
+        {
+            repaint ( g2d, screen, icon, sizes );
+        }
+        final double time = ( System.nanoTime () - start ) / 1000000.0 / REPAINTS;
+        g2d.dispose ();
+
+        System.out.println ( String.format ( "%-38s %11dK %16.2f", name, budget / 1024, time ) );
+    }
+
+    /**
+     * Repaints all components.
+     *
+     * @param g2d    graphics context
+     * @param screen image components are painted onto
+     * @param icon   component icon
+     * @param sizes  component sizes
+     */
+    private static void repaint ( final Graphics2D g2d, final BufferedImage screen, final NinePatchIcon icon, final Dimension[] sizes )
+    {
+        for ( int i = 0; i < COMPONENTS; i++ )
+        {
+            final Dimension size = sizes[ i % sizes.length ];
+            final int x = ( i * 37 ) % Math.max ( 1, screen.getWidth () - size.width );
+            final int y = ( i * 53 ) % Math.max ( 1, screen.getHeight () - size.height );
+            icon.paintIcon ( g2d, x, y, size.width, size.height );
+        }
+    }
+}
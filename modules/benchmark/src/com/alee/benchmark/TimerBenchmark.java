@@ -0,0 +1,449 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.benchmark;
+
+import com.alee.utils.swing.SharedTimerScheduler;
+import com.alee.utils.swing.TimerScheduler;
+import com.alee.utils.swing.WebTimer;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Compares 10k concurrently running WebTimers on the old thread-per-timer scheduling and on the shared timer scheduler.
+ * Reports threads amount, heap usage and tick jitter, which is the difference between actual and requested interval of each tick.
+ * Heap usage doesn't include native thread stacks, so it understates the real cost of thread per timer.
+ * Usage: {@code ant run.benchmark -Dbenchmark.class=com.alee.benchmark.TimerBenchmark}, amount of timers can be passed as argument.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.swing.SharedTimerScheduler
+ */
+
+public final class TimerBenchmark
+{
+    /**
+     * Default amount of concurrently running timers.
+     */
+    private static final int TIMERS = 10000;
+
+    /**
+     * Timers delay in milliseconds.
+     */
+    private static final long DELAY = 1000;
+
+    /**
+     * Time in milliseconds given to timers to settle before measurement.
+     */
+    private static final long WARMUP = 3000;
+
+    /**
+     * Measurement time in milliseconds.
+     */
+    private static final long DURATION = 10000;
+
+    /**
+     * Jitter histogram bucket size in microseconds.
+     */
+    private static final int BUCKET = 100;
+
+    /**
+     * Jitter histogram buckets amount, the last one also collects all larger values.
+     */
+    private static final int BUCKETS = 10000;
+
+    /**
+     * Runs benchmark.
+     *
+     * @param args optional amount of timers
+     */
+    public static void main ( final String[] args )
+    {
+        final int amount = args.length > 0 ? Integer.parseInt ( args[ 0 ] ) : TIMERS;
+        System.out.println ( "Processors: " + Runtime.getRuntime ().availableProcessors () );
+        System.out.println ( "Timers: " + amount + ", delay: " + DELAY + " ms, measured for: " + DURATION + " ms" );
+        System.out.println ( String.format ( "%-26s %8s %8s %8s %10s %10s %10s %10s %10s", "Scheduler", "Threads", "Peak", "Heap MB",
+                "Ticks", "Avg ms", "p50 ms", "p99 ms", "Max ms" ) );
+
+        final ThreadPerTimerScheduler before = new ThreadPerTimerScheduler ();
+        measure ( "Thread per timer (before)", before, amount );
+        before.shutdown ();
+
+        measure ( "Shared scheduler (after)", SharedTimerScheduler.getInstance (), amount );
+    }
+
+    /**
+     * Runs timers on the specified scheduler and prints results.
+     *
+     * @param name      scheduler name
+     * @param scheduler timers scheduler
+     * @param amount    amount of timers
+     */
+    private static void measure ( final String name, final TimerScheduler scheduler, final int amount )
+    {
+        final ThreadMXBean threadsBean = ManagementFactory.getThreadMXBean ();
+        final int baseThreads = threadsBean.getThreadCount ();
+        final long baseHeap = usedHeap ();
+
+        // Ticks are recorded only after warmup
+        final Jitter jitter = new Jitter ();
+        final WebTimer[] timers = new WebTimer[ amount ];
+        for ( int i = 0; i < amount; i++ )
+        {
+            // Initial delays are spread so that timers do not tick all at once
+            timers[ i ] = new WebTimer ( "Timer-" + i, DELAY, i * DELAY / amount, jitter.createListener () );
+            timers[ i ].setScheduler ( scheduler );
+            timers[ i ].setUseEventDispatchThread ( false );
+            timers[ i ].setUseDaemonThread ( true );
+        }
+
+        // Timers are created beforehand so that running timers do not slow down creation of the others
+        for ( final WebTimer timer : timers )
+        {
+            timer.start ();
+        }
+        sleep ( WARMUP );
+        threadsBean.resetPeakThreadCount ();
+        jitter.recording = true;
+        sleep ( DURATION );
+        jitter.recording = false;
+        final int threads = threadsBean.getThreadCount () - baseThreads;
+        final int peakThreads = threadsBean.getPeakThreadCount () - baseThreads;
+        final double heap = ( usedHeap () - baseHeap ) / 1024.0 / 1024.0;
+
+        for ( final WebTimer timer : timers )
+        {
+            timer.stop ();
+        }
+
+        System.out.println ( String.format ( "%-26s %8d %8d %8.1f %10d %10.2f %10.2f %10.2f %10.2f", name, threads, peakThreads, heap,
+                jitter.ticks.get (), jitter.average (), jitter.percentile ( 0.5 ), jitter.percentile ( 0.99 ), jitter.max () ) );
+    }
+
+    /**
+     * Returns used heap size in bytes after garbage collection.
+     *
+     * @return used heap size in bytes after garbage collection
+     */
+    private static long usedHeap ()
+    {
+        final Runtime runtime = Runtime.getRuntime ();
+        for ( int i = 0; i < 3; i++ )
+        {
+            System.gc ();
+            sleep ( 100 );
+        }
+        return runtime.totalMemory () - runtime.freeMemory ();
+    }
+
+    /**
+     * Sleeps for the specified time.
+     *
+     * @param time sleep time in milliseconds
+     */
+    private static void sleep ( final long time )
+    {
+        try
+        {
+            Thread.sleep ( time );
+        }
+        catch ( final InterruptedException e )
+        {
+            throw new RuntimeException ( e );
+        }
+    }
+
+    /**
+     * Tick jitter statistics.
+     */
+    private static final class Jitter
+    {
+        /**
+         * Whether or not ticks should be recorded.
+         */
+        private volatile boolean recording = false;
+
+        /**
+         * Amount of recorded ticks.
+         */
+        private final AtomicLong ticks = new AtomicLong ( 0 );
+
+        /**
+         * Sum of recorded jitter in microseconds.
+         */
+        private final AtomicLong sum = new AtomicLong ( 0 );
+
+        /**
+         * Maximum recorded jitter in microseconds.
+         */
+        private final AtomicLong max = new AtomicLong ( 0 );
+
+        /**
+         * Recorded jitter histogram.
+         */
+        private final AtomicLongArray histogram = new AtomicLongArray ( BUCKETS );
+
+        /**
+         * Returns new listener recording jitter of a single timer ticks.
+         *
+         * @return new listener recording jitter of a single timer ticks
+         */
+        private ActionListener createListener ()
+        {
+            return new ActionListener ()
+            {
+                /**
+                 * Previous tick time in nanoseconds.
+                 */
+                private long last = 0;
+
+                @Override
+                public void actionPerformed ( final ActionEvent e )
+                {
+                    final long now = System.nanoTime ();
+                    if ( last != 0 && recording )
+                    {
+                        record ( Math.abs ( now - last - DELAY * 1000000 ) / 1000 );
+                    }
+                    last = now;
+                }
+            };
+        }
+
+        /**
+         * Records single tick jitter.
+         *
+         * @param jitter tick jitter in microseconds
+         */
+        private void record ( final long jitter )
+        {
+            ticks.incrementAndGet ();
+            sum.addAndGet ( jitter );
+            histogram.incrementAndGet ( ( int ) Math.min ( jitter / BUCKET, BUCKETS - 1 ) );
+            long current;
+            while ( jitter > ( current = max.get () ) && !max.compareAndSet ( current, jitter ) )
+            {
+                // Retrying until maximum is updated
+            }
+        }
+
+        /**
+         * Returns average jitter in milliseconds.
+         *
+         * @return average jitter in milliseconds
+         */
+        private double average ()
+        {
+            final long count = ticks.get ();
+            return count > 0 ? sum.get () / 1000.0 / count : 0;
+        }
+
+        /**
+         * Returns maximum jitter in milliseconds.
+         *
+         * @return maximum jitter in milliseconds
+         */
+        private double max ()
+        {
+            return max.get () / 1000.0;
+        }
+
+        /**
+         * Returns jitter percentile in milliseconds, precise up to the histogram bucket size.
+         *
+         * @param percentile percentile within 0 and 1
+         * @return jitter percentile in milliseconds
+         */
+        private double percentile ( final double percentile )
+        {
+            final long target = ( long ) Math.ceil ( ticks.get () * percentile );
+            long count = 0;
+            for ( int i = 0; i < BUCKETS; i++ )
+            {
+                count += histogram.get ( i );
+                if ( count >= target && count > 0 )
+                {
+                    return ( i + 1 ) * BUCKET / 1000.0;
+                }
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Scheduler reproducing the old WebTimer behavior where each running timer kept its own thread sleeping between cycles.
+     * Next cycle scheduled from within a cycle is executed by the same thread, any other cycle starts a new thread.
+     */
+    private static final class ThreadPerTimerScheduler implements TimerScheduler
+    {
+        /**
+         * Worker running on the current thread.
+         */
+        private final ThreadLocal<Worker> current = new ThreadLocal<Worker> ();
+
+        /**
+         * All started threads.
+         */
+        private final List<Thread> threads = new ArrayList<Thread> ();
+
+        @Override
+        public Future<?> schedule ( final Runnable task, final long delay )
+        {
+            final Cycle cycle = new Cycle ( task, delay );
+            final Worker worker = current.get ();
+            if ( worker != null )
+            {
+                worker.next = cycle;
+            }
+            else
+            {
+                final Thread thread = new Thread ( new Worker ( cycle ), WebTimer.defaultThreadName );
+                thread.setDaemon ( true );
+                synchronized ( threads )
+                {
+                    threads.add ( thread );
+                }
+                thread.start ();
+            }
+            return cycle.future;
+        }
+
+        @Override
+        public void invokeLater ( final Runnable task )
+        {
+            SwingUtilities.invokeLater ( task );
+        }
+
+        @Override
+        public void timerStarted ( final WebTimer timer, final int execution )
+        {
+            // Timers are daemon ones, nothing to keep alive
+        }
+
+        @Override
+        public void timerStopped ( final WebTimer timer, final int execution )
+        {
+            // Timers are daemon ones, nothing to keep alive
+        }
+
+        /**
+         * Stops all started threads.
+         */
+        private void shutdown ()
+        {
+            synchronized ( threads )
+            {
+                for ( final Thread thread : threads )
+                {
+                    thread.interrupt ();
+                }
+                for ( final Thread thread : threads )
+                {
+                    try
+                    {
+                        thread.join ();
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        throw new RuntimeException ( e );
+                    }
+                }
+                threads.clear ();
+            }
+        }
+
+        /**
+         * Single scheduled timer cycle.
+         */
+        private static final class Cycle
+        {
+            /**
+             * Cycle task future.
+             */
+            private final FutureTask<Object> future;
+
+            /**
+             * Delay before cycle in milliseconds.
+             */
+            private final long delay;
+
+            /**
+             * Constructs new timer cycle.
+             *
+             * @param task  cycle task
+             * @param delay delay before cycle in milliseconds
+             */
+            private Cycle ( final Runnable task, final long delay )
+            {
+                super ();
+                this.future = new FutureTask<Object> ( task, null );
+                this.delay = delay;
+            }
+        }
+
+        /**
+         * Timer thread body, it sleeps and runs cycles until timer stops scheduling them.
+         */
+        private final class Worker implements Runnable
+        {
+            /**
+             * Next cycle to run.
+             */
+            private Cycle next;
+
+            /**
+             * Constructs new timer thread body.
+             *
+             * @param first first cycle to run
+             */
+            private Worker ( final Cycle first )
+            {
+                super ();
+                this.next = first;
+            }
+
+            @Override
+            public void run ()
+            {
+                current.set ( this );
+                while ( next != null )
+                {
+                    final Cycle cycle = next;
+                    next = null;
+                    try
+                    {
+                        Thread.sleep ( cycle.delay );
+                    }
+                    catch ( final InterruptedException e )
+                    {
+                        return;
+                    }
+                    cycle.future.run ();
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ package com.alee.global;
 import com.alee.utils.ColorUtils;
 import com.alee.utils.laf.FocusType;
 import com.alee.utils.laf.ShadeType;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -46,7 +47,7 @@ public class StyleConstants
     /**
      * Empty 16x16 icon.
      */
-    public static final ImageIcon EMPTY_ICON = new ImageIcon ( StyleConstants.class.getResource ( "icons/empty.png" ) );
+    public static final ImageIcon EMPTY_ICON = IconRegistry.getIcon ( StyleConstants.class, "icons/empty.png" );
 
     /**
      * Transparent color constant.
@@ -153,6 +154,11 @@ public class StyleConstants
     public static Color shadeColor = new Color ( 210, 210, 210 );
     public static Color innerShadeColor = new Color ( 190, 190, 190 );
 
+    /**
+     * Whether shades should be pre-rendered into cached images or not.
+     */
+    public static boolean cacheShades = false;
+
     /**
      * Components opacity settings.
      */
@@ -255,8 +261,8 @@ public class StyleConstants
     /**
      * HTML renderer icons.
      */
-    public static ImageIcon htmlPendingIcon = new ImageIcon ( StyleConstants.class.getResource ( "icons/html/pendingImage.png" ) );
-    public static ImageIcon htmlMissingIcon = new ImageIcon ( StyleConstants.class.getResource ( "icons/html/missingImage.png" ) );
+    public static ImageIcon htmlPendingIcon = IconRegistry.getIcon ( StyleConstants.class, "icons/html/pendingImage.png" );
+    public static ImageIcon htmlMissingIcon = IconRegistry.getIcon ( StyleConstants.class, "icons/html/missingImage.png" );
 
     /**
      * Debug option.
@@ -33,12 +33,20 @@ limitations under the License.
 
 package com.alee.graphics.filters;
 
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
 import java.awt.*;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.BufferedImageOp;
 import java.awt.image.ColorModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * A convenience class which implements those methods of BufferedImageOp which are rarely changed.
@@ -46,6 +54,160 @@ import java.awt.image.ColorModel;
 
 public abstract class AbstractBufferedImageOp implements BufferedImageOp
 {
+    /**
+     * Whether or not large images should be split into row bands processed in parallel.
+     * Disabled by default, parallel processing only pays off on multi-core machines and has to be enabled explicitly.
+     */
+    private static boolean parallel = false;
+
+    /**
+     * Minimum amount of processed pixels required to use parallel processing.
+     */
+    private static int parallelThreshold = 128 * 128;
+
+    /**
+     * Executor shared by all filters for row bands processing.
+     */
+    private static ExecutorService executor;
+
+    /**
+     * Marks threads which are processing row bands to avoid nested parallel processing.
+     */
+    private static final ThreadLocal<Boolean> processingBand = new ThreadLocal<Boolean> ();
+
+    /**
+     * A task processing a band of rows.
+     */
+    public static interface RowsTask
+    {
+        /**
+         * Processes rows within the specified range.
+         *
+         * @param from first row index, inclusive
+         * @param to   last row index, exclusive
+         */
+        public void process ( int from, int to );
+    }
+
+    /**
+     * Returns whether or not large images are split into row bands processed in parallel.
+     */
+    public static boolean isParallel ()
+    {
+        return parallel;
+    }
+
+    /**
+     * Sets whether or not large images should be split into row bands processed in parallel.
+     * Parallel processing is disabled by default.
+     */
+    public static void setParallel ( boolean parallel )
+    {
+        AbstractBufferedImageOp.parallel = parallel;
+    }
+
+    /**
+     * Returns minimum amount of processed pixels required to use parallel processing.
+     */
+    public static int getParallelThreshold ()
+    {
+        return parallelThreshold;
+    }
+
+    /**
+     * Sets minimum amount of processed pixels required to use parallel processing.
+     */
+    public static void setParallelThreshold ( int parallelThreshold )
+    {
+        AbstractBufferedImageOp.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Processes specified amount of rows using the task. Rows are split into bands processed in parallel if the amount of pixels is
+     * large enough, the first band is always processed in the calling thread. This method returns only when all rows are processed so
+     * it can be safely used for each pass of multi-pass filters.
+     *
+     * @param rows      amount of rows
+     * @param rowLength amount of pixels in each row
+     * @param task      rows processing task
+     */
+    public static void processRows ( int rows, int rowLength, final RowsTask task )
+    {
+        int processors = Runtime.getRuntime ().availableProcessors ();
+        int bands = Math.min ( processors, rows );
+        if ( !parallel || bands < 2 || ( long ) rows * rowLength < parallelThreshold || processingBand.get () != null )
+        {
+            task.process ( 0, rows );
+            return;
+        }
+
+        // Submitting all bands except the first one
+        int bandSize = ( rows + bands - 1 ) / bands;
+        List<Future<?>> futures = new ArrayList<Future<?>> ( bands - 1 );
+        for ( int from = bandSize; from < rows; from += bandSize )
+        {
+            final int bandFrom = from;
+            final int bandTo = Math.min ( rows, from + bandSize );
+            futures.add ( getExecutor ().submit ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    processingBand.set ( Boolean.TRUE );
+                    try
+                    {
+                        task.process ( bandFrom, bandTo );
+                    }
+                    finally
+                    {
+                        processingBand.remove ();
+                    }
+                }
+            } ) );
+        }
+
+        // Processing first band in the calling thread
+        processingBand.set ( Boolean.TRUE );
+        try
+        {
+            task.process ( 0, Math.min ( rows, bandSize ) );
+        }
+        finally
+        {
+            processingBand.remove ();
+        }
+
+        // Waiting for other bands
+        for ( Future<?> future : futures )
+        {
+            try
+            {
+                future.get ();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread ().interrupt ();
+                throw new RuntimeException ( e );
+            }
+            catch ( ExecutionException e )
+            {
+                throw new RuntimeException ( e.getCause () );
+            }
+        }
+    }
+
+    /**
+     * Returns executor shared by all filters for row bands processing.
+     */
+    private static synchronized ExecutorService getExecutor ()
+    {
+        if ( executor == null )
+        {
+            executor = Executors.newFixedThreadPool ( Runtime.getRuntime ().availableProcessors (), new DaemonThreadFactory ( "ImageFilter" ) );
+        }
+        return executor;
+    }
+
     @Override
     public BufferedImage createCompatibleDestImage ( BufferedImage src, ColorModel dstCM )
     {
@@ -124,20 +124,35 @@ public class BoxBlurFilter extends AbstractBufferedImageOp
         return dst;
     }
 
-    public static void blur ( int[] in, int[] out, int width, int height, int radius )
+    public static void blur ( final int[] in, final int[] out, final int width, final int height, final int radius )
     {
-        int widthMinus1 = width - 1;
         int tableSize = 2 * radius + 1;
-        int divide[] = new int[ 256 * tableSize ];
+        final int divide[] = new int[ 256 * tableSize ];
 
         for ( int i = 0; i < 256 * tableSize; i++ )
         {
             divide[ i ] = i / tableSize;
         }
 
-        int inIndex = 0;
+        processRows ( height, width, new RowsTask ()
+        {
+            @Override
+            public void process ( int from, int to )
+            {
+                blur ( in, out, width, height, radius, divide, from, to );
+            }
+        } );
+    }
+
+    /**
+     * Blurs the specified range of rows and writes them transposed into the output pixels.
+     */
+    private static void blur ( int[] in, int[] out, int width, int height, int radius, int[] divide, int fromY, int toY )
+    {
+        int widthMinus1 = width - 1;
+        int inIndex = fromY * width;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromY; y < toY; y++ )
         {
             int outIndex = y;
             int ta = 0, tr = 0, tg = 0, tb = 0;
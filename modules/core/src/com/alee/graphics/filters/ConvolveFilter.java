@@ -193,16 +193,33 @@ public class ConvolveFilter extends AbstractBufferedImageOp
     /**
      * Convolve with a 2D kernel
      */
-    public static void convolveHV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction )
+    public static void convolveHV ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width, final int height,
+                                    final boolean alpha, final int edgeAction )
     {
-        int index = 0;
+        processRows ( height, width, new RowsTask ()
+        {
+            @Override
+            public void process ( int from, int to )
+            {
+                convolveHV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, from, to );
+            }
+        } );
+    }
+
+    /**
+     * Convolve with a 2D kernel, processing only the specified range of rows
+     */
+    public static void convolveHV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction,
+                                    int fromY, int toY )
+    {
+        int index = fromY * width;
         float[] matrix = kernel.getKernelData ( null );
         int rows = kernel.getHeight ();
         int cols = kernel.getWidth ();
         int rows2 = rows / 2;
         int cols2 = cols / 2;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromY; y < toY; y++ )
         {
             for ( int x = 0; x < width; x++ )
             {
@@ -271,14 +288,31 @@ public class ConvolveFilter extends AbstractBufferedImageOp
     /**
      * Convolve with a kernel consisting of one row
      */
-    public static void convolveH ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction )
+    public static void convolveH ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width, final int height,
+                                   final boolean alpha, final int edgeAction )
+    {
+        processRows ( height, width, new RowsTask ()
+        {
+            @Override
+            public void process ( int from, int to )
+            {
+                convolveH ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, from, to );
+            }
+        } );
+    }
+
+    /**
+     * Convolve with a kernel consisting of one row, processing only the specified range of rows
+     */
+    public static void convolveH ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction,
+                                   int fromY, int toY )
     {
-        int index = 0;
+        int index = fromY * width;
         float[] matrix = kernel.getKernelData ( null );
         int cols = kernel.getWidth ();
         int cols2 = cols / 2;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromY; y < toY; y++ )
         {
             int ioffset = y * width;
             for ( int x = 0; x < width; x++ )
@@ -332,14 +366,31 @@ public class ConvolveFilter extends AbstractBufferedImageOp
     /**
      * Convolve with a kernel consisting of one column
      */
-    public static void convolveV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction )
+    public static void convolveV ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width, final int height,
+                                   final boolean alpha, final int edgeAction )
+    {
+        processRows ( height, width, new RowsTask ()
+        {
+            @Override
+            public void process ( int from, int to )
+            {
+                convolveV ( kernel, inPixels, outPixels, width, height, alpha, edgeAction, from, to );
+            }
+        } );
+    }
+
+    /**
+     * Convolve with a kernel consisting of one column, processing only the specified range of rows
+     */
+    public static void convolveV ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha, int edgeAction,
+                                   int fromY, int toY )
     {
-        int index = 0;
+        int index = fromY * width;
         float[] matrix = kernel.getKernelData ( null );
         int rows = kernel.getHeight ();
         int rows2 = rows / 2;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromY; y < toY; y++ )
         {
             for ( int x = 0; x < width; x++ )
             {
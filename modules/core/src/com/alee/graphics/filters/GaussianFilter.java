@@ -100,23 +100,39 @@ public class GaussianFilter extends ConvolveFilter
 
         int[] inPixels = new int[ width * height ];
         int[] outPixels = new int[ width * height ];
-        src.getRGB ( 0, 0, width, height, inPixels, 0, width );
+        getRGB ( src, 0, 0, width, height, inPixels );
 
+        // Second pass reads columns written by the first one, so it only starts when the first pass is fully completed
         convolveAndTranspose ( kernel, inPixels, outPixels, width, height, alpha, CLAMP_EDGES );
         convolveAndTranspose ( kernel, outPixels, inPixels, height, width, alpha, CLAMP_EDGES );
 
-        dst.setRGB ( 0, 0, width, height, inPixels, 0, width );
+        setRGB ( dst, 0, 0, width, height, inPixels );
         return dst;
     }
 
-    public static void convolveAndTranspose ( Kernel kernel, int[] inPixels, int[] outPixels, int width, int height, boolean alpha,
-                                              int edgeAction )
+    public static void convolveAndTranspose ( final Kernel kernel, final int[] inPixels, final int[] outPixels, final int width,
+                                              final int height, final boolean alpha, final int edgeAction )
+    {
+        final float[] matrix = kernel.getKernelData ( null );
+        processRows ( height, width, new RowsTask ()
+        {
+            @Override
+            public void process ( int from, int to )
+            {
+                convolveAndTranspose ( matrix, kernel.getWidth (), inPixels, outPixels, width, height, alpha, edgeAction, from, to );
+            }
+        } );
+    }
+
+    /**
+     * Convolves the specified range of rows and writes them transposed into the output pixels.
+     */
+    public static void convolveAndTranspose ( float[] matrix, int cols, int[] inPixels, int[] outPixels, int width, int height,
+                                              boolean alpha, int edgeAction, int fromY, int toY )
     {
-        float[] matrix = kernel.getKernelData ( null );
-        int cols = kernel.getWidth ();
         int cols2 = cols / 2;
 
-        for ( int y = 0; y < height; y++ )
+        for ( int y = fromY; y < toY; y++ )
         {
             int index = y;
             int ioffset = y * width;
@@ -45,44 +45,66 @@ public abstract class PointFilter extends AbstractBufferedImageOp
 
     protected boolean canFilterIndexColorModel = false;
 
+    /**
+     * Whether or not rows of large images can be filtered in parallel.
+     * Subclasses which {@link #filterRGB(int, int, int)} implementation is not thread-safe should disable it.
+     */
+    protected boolean canFilterInParallel = true;
+
     @Override
-    public BufferedImage filter ( BufferedImage src, BufferedImage dst )
+    public BufferedImage filter ( final BufferedImage src, BufferedImage dst )
     {
-        int width = src.getWidth ();
-        int height = src.getHeight ();
-        int type = src.getType ();
-        WritableRaster srcRaster = src.getRaster ();
+        final int width = src.getWidth ();
+        final int height = src.getHeight ();
+        final int type = src.getType ();
+        final WritableRaster srcRaster = src.getRaster ();
 
         if ( dst == null )
         {
             dst = createCompatibleDestImage ( src, null );
         }
-        WritableRaster dstRaster = dst.getRaster ();
+        final BufferedImage finalDst = dst;
+        final WritableRaster dstRaster = dst.getRaster ();
 
         setDimensions ( width, height );
 
-        int[] inPixels = new int[ width ];
-        for ( int y = 0; y < height; y++ )
+        final RowsTask task = new RowsTask ()
         {
-            // We try to avoid calling getRGB on images as it causes them to become unmanaged, causing horrible performance problems.
-            if ( type == BufferedImage.TYPE_INT_ARGB )
-            {
-                srcRaster.getDataElements ( 0, y, width, 1, inPixels );
-                for ( int x = 0; x < width; x++ )
-                {
-                    inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
-                }
-                dstRaster.setDataElements ( 0, y, width, 1, inPixels );
-            }
-            else
+            @Override
+            public void process ( int from, int to )
             {
-                src.getRGB ( 0, y, width, 1, inPixels, 0, width );
-                for ( int x = 0; x < width; x++ )
+                int[] inPixels = new int[ width ];
+                for ( int y = from; y < to; y++ )
                 {
-                    inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
+                    // We try to avoid calling getRGB on images as it causes them to become unmanaged, causing horrible performance problems.
+                    if ( type == BufferedImage.TYPE_INT_ARGB )
+                    {
+                        srcRaster.getDataElements ( 0, y, width, 1, inPixels );
+                        for ( int x = 0; x < width; x++ )
+                        {
+                            inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
+                        }
+                        dstRaster.setDataElements ( 0, y, width, 1, inPixels );
+                    }
+                    else
+                    {
+                        src.getRGB ( 0, y, width, 1, inPixels, 0, width );
+                        for ( int x = 0; x < width; x++ )
+                        {
+                            inPixels[ x ] = filterRGB ( x, y, inPixels[ x ] );
+                        }
+                        finalDst.setRGB ( 0, y, width, 1, inPixels, 0, width );
+                    }
                 }
-                dst.setRGB ( 0, y, width, 1, inPixels, 0, width );
             }
+        };
+        if ( canFilterInParallel )
+        {
+            processRows ( height, width, task );
+        }
+        else
+        {
+            task.process ( 0, height );
         }
 
         return dst;
@@ -0,0 +1,175 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.graphics.image.gif;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Single animation clock shared by all animated GIF icons.
+ * It runs a single non-repeating Swing timer which is always scheduled for the closest frame change among all animated icons.
+ * Icons are referenced weakly, so abandoned icons stop being animated automatically.
+ *
+ * @author Mikle Garin
+ */
+
+final class GifAnimationClock
+{
+    /**
+     * Animated icons and their next frame change times.
+     */
+    private static final Map<GifIcon, Long> icons = new WeakHashMap<GifIcon, Long> ();
+
+    /**
+     * Shared animation timer.
+     */
+    private static Timer timer;
+
+    /**
+     * Time when timer is currently scheduled to fire.
+     */
+    private static long scheduledTime = Long.MAX_VALUE;
+
+    /**
+     * Adds icon to animation.
+     *
+     * @param icon  icon to animate
+     * @param delay delay before the next frame change
+     */
+    public static synchronized void add ( final GifIcon icon, final int delay )
+    {
+        icons.put ( icon, System.currentTimeMillis () + delay );
+        schedule ();
+    }
+
+    /**
+     * Removes icon from animation.
+     *
+     * @param icon icon to remove
+     */
+    public static synchronized void remove ( final GifIcon icon )
+    {
+        icons.remove ( icon );
+        schedule ();
+    }
+
+    /**
+     * Returns whether specified icon is animated or not.
+     *
+     * @param icon icon to check
+     * @return true if specified icon is animated, false otherwise
+     */
+    public static synchronized boolean contains ( final GifIcon icon )
+    {
+        return icons.containsKey ( icon );
+    }
+
+    /**
+     * Changes frames of all icons which are due and reschedules timer.
+     */
+    private static void tick ()
+    {
+        // Collecting icons which frames should be changed
+        final List<GifIcon> due = new ArrayList<GifIcon> ();
+        synchronized ( GifAnimationClock.class )
+        {
+            scheduledTime = Long.MAX_VALUE;
+            final long now = System.currentTimeMillis ();
+            for ( final Map.Entry<GifIcon, Long> entry : icons.entrySet () )
+            {
+                if ( entry.getValue () <= now )
+                {
+                    due.add ( entry.getKey () );
+                }
+            }
+        }
+
+        // Changing frames outside of the lock since repaint listeners are called
+        final long[] next = new long[ due.size () ];
+        for ( int i = 0; i < due.size (); i++ )
+        {
+            next[ i ] = due.get ( i ).nextFrame ();
+        }
+
+        // Updating next frame change times
+        synchronized ( GifAnimationClock.class )
+        {
+            final long now = System.currentTimeMillis ();
+            for ( int i = 0; i < due.size (); i++ )
+            {
+                final GifIcon icon = due.get ( i );
+                if ( icons.containsKey ( icon ) )
+                {
+                    if ( next[ i ] < 0 )
+                    {
+                        icons.remove ( icon );
+                    }
+                    else
+                    {
+                        icons.put ( icon, now + next[ i ] );
+                    }
+                }
+            }
+            schedule ();
+        }
+    }
+
+    /**
+     * Schedules timer for the closest frame change.
+     * Should be called under class lock.
+     */
+    private static void schedule ()
+    {
+        long closest = Long.MAX_VALUE;
+        for ( final Long time : icons.values () )
+        {
+            closest = Math.min ( closest, time );
+        }
+        if ( closest == Long.MAX_VALUE )
+        {
+            if ( timer != null )
+            {
+                timer.stop ();
+            }
+            scheduledTime = Long.MAX_VALUE;
+        }
+        else if ( closest < scheduledTime || timer == null || !timer.isRunning () )
+        {
+            if ( timer == null )
+            {
+                timer = new Timer ( 0, new ActionListener ()
+                {
+                    @Override
+                    public void actionPerformed ( final ActionEvent e )
+                    {
+                        tick ();
+                    }
+                } );
+                timer.setRepeats ( false );
+            }
+            timer.setInitialDelay ( ( int ) Math.max ( 0, closest - System.currentTimeMillis () ) );
+            timer.restart ();
+            scheduledTime = closest;
+        }
+    }
+}
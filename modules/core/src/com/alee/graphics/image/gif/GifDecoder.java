@@ -20,11 +20,10 @@ package com.alee.graphics.image.gif;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.awt.image.DataBufferInt;
-import java.io.BufferedInputStream;
-import java.io.FileInputStream;
-import java.io.IOException;
+import java.io.*;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * @author Kevin Weiner, FM Software; LZW decoder adapted from John Cristy's ImageMagick.
@@ -48,7 +47,7 @@ public class GifDecoder
      */
     public static final int STATUS_OPEN_ERROR = 2;
 
-    private BufferedInputStream in;
+    private InputStream in;
     private int status;
 
     private int width;            // full image width
@@ -96,6 +95,18 @@ public class GifDecoder
     private ArrayList frames;     // frames read from current file
     private int frameCount;
 
+    // Streaming mode
+    private static final int RING_SIZE = 3;   // current, previous and the one before it for "restore to previous" disposal
+    private boolean streaming = false;        // frames are decoded on demand
+    private boolean indexing = false;         // pixel data is skipped while reading
+    private boolean singleFrame = false;      // reading stops after next image
+    private PositionedInputStream data;       // whole compressed stream
+    private int firstFrameStart;              // position of the first frame blocks
+    private int[] frameDelays;                // delays of indexed frames
+    private BufferedImage[] ring;             // reusable frame images
+    private int streamFrame = -1;             // index of the last decoded frame
+    private int initialBgColor;               // background color specified in the header
+
     // Instance
     //    private static GifDecoder instance;
     //
@@ -139,7 +150,10 @@ public class GifDecoder
      */
     public int getDelay ( final int n )
     {
-        //
+        if ( streaming )
+        {
+            return ( n >= 0 ) && ( n < frameCount ) ? frameDelays[ n ] : -1;
+        }
         delay = -1;
         if ( ( n >= 0 ) && ( n < frameCount ) )
         {
@@ -156,6 +170,10 @@ public class GifDecoder
      */
     public BufferedImage getFrame ( final int n )
     {
+        if ( streaming )
+        {
+            return decodeFrame ( n );
+        }
         BufferedImage bi = null;
         if ( ( n >= 0 ) && ( n < frameCount ) )
         {
@@ -187,6 +205,39 @@ public class GifDecoder
     }
 
 
+    /**
+     * Gets full image width.
+     *
+     * @return image width
+     */
+    public int getWidth ()
+    {
+        return width;
+    }
+
+
+    /**
+     * Gets full image height.
+     *
+     * @return image height
+     */
+    public int getHeight ()
+    {
+        return height;
+    }
+
+
+    /**
+     * Returns whether frames are decoded on demand or not.
+     *
+     * @return true if frames are decoded on demand, false otherwise
+     */
+    public boolean isStreaming ()
+    {
+        return streaming;
+    }
+
+
     /**
      * Gets the "Netscape" iteration count, if any. A count of 0 means repeat indefinitiely.
      *
@@ -233,6 +284,135 @@ public class GifDecoder
     }
 
 
+    /**
+     * Reads gif animation in streaming mode. Only the compressed stream is kept in memory and frames are indexed without decoding their
+     * pixel data. Frames are decoded on demand by {@link #decodeFrame(int)} into a small ring of reusable images.
+     *
+     * @param is An inputStream with gif animation
+     * @return status code (0=no error)
+     */
+    public int index ( final BufferedInputStream is )
+    {
+        init ();
+        if ( is == null )
+        {
+            status = STATUS_OPEN_ERROR;
+            return status;
+        }
+        try
+        {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream ();
+            final byte[] buffer = new byte[ 4096 ];
+            int count;
+            while ( ( count = is.read ( buffer ) ) != -1 )
+            {
+                bytes.write ( buffer, 0, count );
+            }
+            data = new PositionedInputStream ( bytes.toByteArray () );
+        }
+        catch ( final IOException e )
+        {
+            status = STATUS_OPEN_ERROR;
+        }
+        finally
+        {
+            try
+            {
+                is.close ();
+            }
+            catch ( final IOException e )
+            {
+                //
+            }
+        }
+        if ( err () )
+        {
+            return status;
+        }
+
+        // Indexing frames without decoding them
+        streaming = true;
+        frameDelays = new int[ 16 ];
+        in = data;
+        readHeader ();
+        if ( !err () )
+        {
+            initialBgColor = bgColor;
+            firstFrameStart = data.getPosition ();
+            indexing = true;
+            readContents ();
+            indexing = false;
+            if ( frameCount < 0 )
+            {
+                status = STATUS_FORMAT_ERROR;
+            }
+        }
+        frameDelays = Arrays.copyOf ( frameDelays, Math.max ( frameCount, 0 ) );
+
+        // Preparing first frame
+        if ( frameCount > 0 )
+        {
+            final int indexStatus = status;
+            rewind ();
+            decodeFrame ( 0 );
+            status = indexStatus;
+        }
+        return status;
+    }
+
+
+    /**
+     * Decodes frame n in streaming mode. Frames are decoded sequentially, so decoding the next frame is cheap while going back requires
+     * decoding from the first frame. Returned image is reused for further frames and should not be cached.
+     *
+     * @param n frame index
+     * @return BufferedImage representation of frame, or null if n is invalid.
+     */
+    public BufferedImage decodeFrame ( final int n )
+    {
+        if ( !streaming || n < 0 || n >= frameCount )
+        {
+            return null;
+        }
+        if ( n < streamFrame )
+        {
+            rewind ();
+        }
+        while ( streamFrame < n )
+        {
+            final int previous = streamFrame;
+            status = STATUS_OK;
+            singleFrame = true;
+            readContents ();
+            singleFrame = false;
+            if ( streamFrame == previous )
+            {
+                // Frame is broken, nothing more can be decoded
+                return previous >= 0 ? ring[ previous % RING_SIZE ] : null;
+            }
+        }
+        return ring[ n % RING_SIZE ];
+    }
+
+
+    /**
+     * Resets decoding state to the first frame in streaming mode.
+     */
+    protected void rewind ()
+    {
+        data.setPosition ( firstFrameStart );
+        streamFrame = -1;
+        dispose = 0;
+        lastDispose = 0;
+        transparency = false;
+        delay = 0;
+        lct = null;
+        prevBufImg = null;
+        bgColor = initialBgColor;
+        lastBgColor = initialBgColor;
+    }
+
+
     /**
      * Reads GIF file from specified source (file or URL string)
      *
@@ -248,13 +428,12 @@ public class GifDecoder
             if ( name.indexOf ( "://" ) > 0 )
             {
                 final URL url = new URL ( name );
-                in = new BufferedInputStream ( url.openStream () );
+                status = read ( new BufferedInputStream ( url.openStream () ) );
             }
             else
             {
-                in = new BufferedInputStream ( new FileInputStream ( name ) );
+                status = read ( new BufferedInputStream ( new FileInputStream ( name ) ) );
             }
-            status = read ( in );
         }
         catch ( final IOException e )
         {
@@ -443,6 +622,10 @@ public class GifDecoder
         status = STATUS_OK;
         frameCount = 0;
         frames = new ArrayList ();
+        streaming = false;
+        data = null;
+        ring = null;
+        streamFrame = -1;
         gct = null;
         lct = null;
     }
@@ -560,6 +743,10 @@ public class GifDecoder
 
                 case 0x2C:    // image separator
                     readImage ();
+                    if ( singleFrame )
+                    {
+                        done = true;
+                    }
                     break;
 
                 case 0x21:    // extension
@@ -695,6 +882,27 @@ public class GifDecoder
             return;
         }
 
+        if ( indexing )
+        {
+            // skip pixel data, only frame delay is stored
+            read ();
+            skip ();
+            if ( transparency )
+            {
+                act[ transIndex ] = save;
+            }
+            if ( err () )
+            {
+                return;
+            }
+            if ( frameCount == frameDelays.length )
+            {
+                frameDelays = Arrays.copyOf ( frameDelays, frameCount * 2 );
+            }
+            frameDelays[ frameCount++ ] = delay;
+            return;
+        }
+
         decodeImageData ();   // decode pixel data
         skip ();
 
@@ -703,14 +911,33 @@ public class GifDecoder
             return;
         }
 
-        frameCount++;
+        if ( streaming )
+        {
+            // reuse ring image to receive frame data
+            streamFrame++;
+            final int slot = streamFrame % RING_SIZE;
+            if ( ring == null )
+            {
+                ring = new BufferedImage[ RING_SIZE ];
+            }
+            if ( ring[ slot ] == null )
+            {
+                ring[ slot ] = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB_PRE );
+            }
+            currentBufImg = ring[ slot ];
+            setPixels ();
+        }
+        else
+        {
+            frameCount++;
 
-        // create new image to receive frame data
-        currentBufImg = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB_PRE );
+            // create new image to receive frame data
+            currentBufImg = new BufferedImage ( width, height, BufferedImage.TYPE_INT_ARGB_PRE );
 
-        setPixels ();   // transfer pixel data to image
+            setPixels ();   // transfer pixel data to image
 
-        frames.add ( new GifFrame ( currentBufImg, delay ) );   // add image to frame list
+            frames.add ( new GifFrame ( currentBufImg, delay ) );   // add image to frame list
+        }
 
         if ( transparency )
         {
@@ -797,6 +1024,11 @@ public class GifDecoder
     {
         // expose destination image's pixels as int array
         final int[] dest = ( ( DataBufferInt ) currentBufImg.getRaster ().getDataBuffer () ).getData ();
+        if ( streaming )
+        {
+            // reused ring image still contains older frame
+            Arrays.fill ( dest, 0 );
+        }
 
         // fill in starting image contents based on last image's dispose code
         if ( lastDispose > 0 )
@@ -804,10 +1036,10 @@ public class GifDecoder
             if ( lastDispose == 3 )
             {
                 // use image before last
-                final int n = frameCount - 2;
+                final int n = ( streaming ? streamFrame + 1 : frameCount ) - 2;
                 if ( n > 0 )
                 {
-                    prevBufImg = getFrame ( n - 1 );
+                    prevBufImg = streaming ? ring[ ( n - 1 ) % RING_SIZE ] : getFrame ( n - 1 );
                 }
                 else
                 {
@@ -908,6 +1140,27 @@ public class GifDecoder
         while ( ( blockSize > 0 ) && !err () );
     }
 
+    /**
+     * Byte array stream which position can be changed.
+     */
+    private static class PositionedInputStream extends ByteArrayInputStream
+    {
+        public PositionedInputStream ( final byte[] buf )
+        {
+            super ( buf );
+        }
+
+        public int getPosition ()
+        {
+            return pos;
+        }
+
+        public void setPosition ( final int position )
+        {
+            pos = position;
+        }
+    }
+
     /**
      * Additional getters
      */
@@ -28,21 +28,33 @@ import java.util.HashMap;
 import java.util.Map;
 
 /**
+ * Animated GIF icon.
+ * By default frames are decoded on demand from the compressed stream into a small ring of reusable images, so icon only keeps a few
+ * frame images in memory. All icons are animated by a single shared clock and animation is paused for icons which were neither painted
+ * nor had their image requested since their last frame change. Paused animation resumes as soon as icon is displayed again.
+ *
  * @author Mikle Garin
  */
 
 public class GifIcon implements Icon
 {
+    /**
+     * Delay used for frames which do not specify it.
+     */
+    public static final int DEFAULT_DELAY = 100;
+
     private RepaintListener repaintListener;
 
-    private final Map<Integer, GifDecoder.GifFrame> frames;
+    private final GifDecoder decoder;
+    private Map<Integer, GifDecoder.GifFrame> frames;
     private int status = GifDecoder.STATUS_OK;
 
     private int frameCount = 0;
     private int displayedFrame = -1;
-    private Thread gifAnimator;
+    private BufferedImage displayedImage;
 
-    private boolean stopAnimation = false;
+    private boolean animated = false;
+    private boolean painted = true;
 
     public GifIcon ( final Class nearClass, final String imgSrc ) throws IOException
     {
@@ -56,21 +68,34 @@ public class GifIcon implements Icon
 
     public GifIcon ( final BufferedInputStream stream )
     {
-        super ();
+        this ( stream, true );
+    }
 
-        frames = new HashMap<Integer, GifDecoder.GifFrame> ();
+    /**
+     * Constructs new animated GIF icon.
+     *
+     * @param stream    GIF image stream
+     * @param streaming whether frames should be decoded on demand or all frames should be decoded at once
+     */
+    public GifIcon ( final BufferedInputStream stream, final boolean streaming )
+    {
+        super ();
 
-        final GifDecoder gifDecoder = new GifDecoder ();
-        status = gifDecoder.read ( stream );
+        decoder = new GifDecoder ();
+        status = streaming ? decoder.index ( stream ) : decoder.read ( stream );
 
         if ( status == GifDecoder.STATUS_OK )
         {
-            frameCount = gifDecoder.getFrameCount ();
-            displayedFrame = 0;
-            for ( int i = 0; i < frameCount; i++ )
+            frameCount = decoder.getFrameCount ();
+            if ( !streaming )
             {
-                frames.put ( i, new GifDecoder.GifFrame ( gifDecoder.getFrame ( i ), gifDecoder.getDelay ( i ) ) );
+                frames = new HashMap<Integer, GifDecoder.GifFrame> ( frameCount );
+                for ( int i = 0; i < frameCount; i++ )
+                {
+                    frames.put ( i, new GifDecoder.GifFrame ( decoder.getFrame ( i ), decoder.getDelay ( i ) ) );
+                }
             }
+            displayFrame ( 0 );
             startAnimation ();
         }
     }
@@ -79,52 +104,86 @@ public class GifIcon implements Icon
     {
         if ( frameCount > 1 )
         {
-            displayedFrame = 0;
-            gifAnimator = new Thread ( new Runnable ()
+            synchronized ( decoder )
             {
-                @Override
-                public void run ()
-                {
-                    while ( !stopAnimation )
-                    {
-                        final int delay = frames.get ( displayedFrame ).delay;
-                        try
-                        {
-                            Thread.sleep ( delay == 0 ? 100 : delay );
-                        }
-                        catch ( final InterruptedException e )
-                        {
-                            //
-                        }
-
-                        // Refresh displayed frame
-                        if ( displayedFrame == frameCount - 1 )
-                        {
-                            displayedFrame = 0;
-                        }
-                        else
-                        {
-                            displayedFrame++;
-                        }
-
-                        if ( repaintListener != null )
-                        {
-                            repaintListener.imageRepaintOccured ();
-                        }
-                    }
-                }
-            } );
-            gifAnimator.setDaemon ( true );
-            gifAnimator.start ();
+                animated = true;
+                displayFrame ( 0 );
+            }
+            GifAnimationClock.add ( this, getFrameDelay () );
         }
     }
 
     public void stopAnimation ()
     {
-        if ( gifAnimator.isAlive () )
+        synchronized ( decoder )
+        {
+            animated = false;
+        }
+        GifAnimationClock.remove ( this );
+    }
+
+    /**
+     * Returns whether animation is currently running or not.
+     * Animation might be started but paused when icon is not painted.
+     *
+     * @return true if animation is currently running, false otherwise
+     */
+    public boolean isAnimating ()
+    {
+        return GifAnimationClock.contains ( this );
+    }
+
+    /**
+     * Switches icon to the next frame and informs repaint listener about that.
+     * This method is called by animation clock.
+     *
+     * @return delay before the next frame or -1 if animation should be paused
+     */
+    protected int nextFrame ()
+    {
+        synchronized ( decoder )
+        {
+            if ( !animated || !painted )
+            {
+                return -1;
+            }
+            painted = false;
+            displayFrame ( displayedFrame == frameCount - 1 ? 0 : displayedFrame + 1 );
+        }
+        if ( repaintListener != null )
         {
-            stopAnimation = true;
+            repaintListener.imageRepaintOccured ();
         }
+        return getFrameDelay ();
+    }
+
+    /**
+     * Displays frame with the specified index.
+     *
+     * @param frame frame index
+     */
+    private void displayFrame ( final int frame )
+    {
+        synchronized ( decoder )
+        {
+            displayedFrame = frame;
+            displayedImage = frames != null ? frames.get ( frame ).bufferedImage : decoder.decodeFrame ( frame );
+        }
+    }
+
+    /**
+     * Returns displayed frame delay.
+     *
+     * @return displayed frame delay
+     */
+    private int getFrameDelay ()
+    {
+        final int delay;
+        synchronized ( decoder )
+        {
+            delay = decoder.getDelay ( displayedFrame );
+        }
+        return delay <= 0 ? DEFAULT_DELAY : delay;
     }
 
     @Override
@@ -132,25 +191,71 @@ public class GifIcon implements Icon
     {
         if ( frameCount > 0 )
         {
-            g.drawImage ( frames.get ( displayedFrame ).bufferedImage, x, y, c );
+            final boolean resume;
+            synchronized ( decoder )
+            {
+                resume = markDisplayed ();
+                g.drawImage ( displayedImage, x, y, c );
+            }
+            resume ( resume );
+        }
+    }
+
+    /**
+     * Marks current frame as displayed so that animation continues.
+     * Should be called while holding decoder lock.
+     *
+     * @return true if animation should be resumed, false otherwise
+     */
+    private boolean markDisplayed ()
+    {
+        painted = true;
+        return animated;
+    }
+
+    /**
+     * Resumes paused animation if needed.
+     *
+     * @param resume whether animation should be resumed or not
+     */
+    private void resume ( final boolean resume )
+    {
+        if ( resume && !GifAnimationClock.contains ( this ) )
+        {
+            GifAnimationClock.add ( this, getFrameDelay () );
         }
     }
 
     @Override
     public int getIconWidth ()
     {
-        return frames.get ( displayedFrame ).bufferedImage.getWidth ();
+        return decoder.getWidth ();
     }
 
     @Override
     public int getIconHeight ()
     {
-        return frames.get ( displayedFrame ).bufferedImage.getHeight ();
+        return decoder.getHeight ();
     }
 
+    /**
+     * Returns currently displayed frame image.
+     * In streaming mode this image is reused for further frames, so it should be copied if it has to be kept.
+     * Requesting image counts as displaying it, so animation continues for icons which are painted through their images.
+     *
+     * @return currently displayed frame image
+     */
     public BufferedImage getImage ()
     {
-        return frames.get ( displayedFrame ).bufferedImage;
+        final BufferedImage image;
+        final boolean resume;
+        synchronized ( decoder )
+        {
+            resume = frameCount > 0 && markDisplayed ();
+            image = displayedImage;
+        }
+        resume ( resume );
+        return image;
     }
 
     public int getStatus ()
@@ -168,9 +273,35 @@ public class GifIcon implements Icon
         return displayedFrame;
     }
 
+    /**
+     * Returns all animation frames.
+     * In streaming mode all frames are decoded into separate images by this call, so it should be used with care.
+     *
+     * @return all animation frames
+     */
     public Map<Integer, GifDecoder.GifFrame> getFrames ()
     {
-        return frames;
+        if ( frames != null )
+        {
+            return frames;
+        }
+        final Map<Integer, GifDecoder.GifFrame> all = new HashMap<Integer, GifDecoder.GifFrame> ( frameCount );
+        synchronized ( decoder )
+        {
+            for ( int i = 0; i < frameCount; i++ )
+            {
+                final BufferedImage frame = decoder.decodeFrame ( i );
+                final BufferedImage copy = new BufferedImage ( frame.getWidth (), frame.getHeight (), frame.getType () );
+                copy.setData ( frame.getRaster () );
+                all.put ( i, new GifDecoder.GifFrame ( copy, decoder.getDelay ( i ) ) );
+            }
+            // Restoring displayed frame since decoder state has changed
+            if ( displayedFrame >= 0 )
+            {
+                displayedImage = decoder.decodeFrame ( displayedFrame );
+            }
+        }
+        return all;
     }
 
     public RepaintListener getRepaintListener ()
@@ -182,4 +313,4 @@ public class GifIcon implements Icon
     {
         this.repaintListener = repaintListener;
     }
-}
\ No newline at end of file
+}
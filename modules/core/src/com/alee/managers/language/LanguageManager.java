@@ -20,9 +20,11 @@ package com.alee.managers.language;
 import com.alee.managers.language.data.Dictionary;
 import com.alee.managers.language.data.*;
 import com.alee.managers.language.updaters.*;
+import com.alee.managers.log.Log;
 import com.alee.utils.*;
 import com.alee.utils.swing.AncestorAdapter;
 import com.alee.utils.swing.DataProvider;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.AncestorEvent;
@@ -51,7 +53,7 @@ public class LanguageManager implements LanguageConstants
     /**
      * Unknown language icon.
      */
-    public static final ImageIcon other = new ImageIcon ( LanguageManager.class.getResource ( "icons/lang/other.png" ) );
+    public static final ImageIcon other = IconRegistry.getIcon ( LanguageManager.class, "icons/lang/other.png" );
 
     /**
      * Keys used to store custom data in JComponent.
@@ -150,13 +152,29 @@ public class LanguageManager implements LanguageConstants
 
     /**
      * Global dictionary merged from all added dictionaries.
-     * Used to store current dictionaries merge result and as a result improve translations retrieval speed.
+     * It is only created on demand when requested through {@link #getGlobalDictionary()} and dropped on any dictionaries change.
      */
     protected static Dictionary globalDictionary;
 
     /**
-     * Global values map that contains merged translations for currently selected language.
-     * It gets updated on any dictionaries change or global language change.
+     * Dictionaries records index (full language key -> records from all added dictionaries in order of dictionaries addition).
+     * It references original dictionary records and is used to resolve translations for the current language on demand.
+     */
+    protected static final Map<String, Record[]> recordsIndex = new HashMap<String, Record[]> ();
+
+    /**
+     * Language information from all added dictionaries.
+     */
+    protected static final Map<String, LanguageInfo> languageInfos = new HashMap<String, LanguageInfo> ();
+
+    /**
+     * Global cache operations synchronization object.
+     */
+    protected static final Object cacheLock = new Object ();
+
+    /**
+     * Global values map that contains resolved translations for currently selected language.
+     * Values are resolved from {@link #recordsIndex} on first request and cache is cleared on any dictionaries or language change.
      */
     protected static final Map<String, Value> globalCache = new HashMap<String, Value> ();
 
@@ -221,6 +239,57 @@ public class LanguageManager implements LanguageConstants
      */
     protected static final Map<Component, AncestorListener> componentsListeners = new WeakHashMap<Component, AncestorListener> ();
 
+    /**
+     * Registered components by their language keys (language key -> components).
+     * Used to quickly find components which should be updated when specific language keys are changed.
+     */
+    protected static final Map<String, Map<JComponent, Boolean>> keyComponents = new HashMap<String, Map<JComponent, Boolean>> ();
+
+    /**
+     * Components language update queue operations synchronization object.
+     */
+    protected static final Object updateQueueLock = new Object ();
+
+    /**
+     * Components waiting for language update.
+     * Queued components are updated in EDT in chunks limited by {@link #updateChunkTime} so that UI stays responsive.
+     */
+    protected static final Set<JComponent> updateQueue = new LinkedHashSet<JComponent> ();
+
+    /**
+     * Components which were not showing when their language update was processed.
+     * These components are updated as soon as they are displayed.
+     */
+    protected static final Map<JComponent, Boolean> outdatedComponents = new WeakHashMap<JComponent, Boolean> ();
+
+    /**
+     * Whether queued components update is scheduled or not.
+     */
+    protected static boolean updateScheduled = false;
+
+    /**
+     * Maximum time in milliseconds spent on components language update within a single EDT event.
+     * Components left are updated in following EDT events.
+     */
+    protected static long updateChunkTime = 16;
+
+    /**
+     * Whether language update for components which are not showing should be postponed until they are displayed or not.
+     */
+    protected static boolean deferHiddenComponentsUpdate = true;
+
+    /**
+     * Queued components update task.
+     */
+    protected static final Runnable updateQueueProcessor = new Runnable ()
+    {
+        @Override
+        public void run ()
+        {
+            processUpdateQueue ();
+        }
+    };
+
     /**
      * Language container operations synchronization object.
      */
@@ -314,9 +383,6 @@ public class LanguageManager implements LanguageConstants
             language = supportedLanguages.contains ( DEFAULT ) ? DEFAULT : ENGLISH;
             updateLocale ();
 
-            // Default data
-            globalDictionary = new Dictionary ();
-
             // Class aliases
             XmlUtils.processAnnotations ( Dictionary.class );
             XmlUtils.processAnnotations ( LanguageInfo.class );
@@ -534,6 +600,13 @@ public class LanguageManager implements LanguageConstants
             {
                 componentsData.put ( component, data );
             }
+            Map<JComponent, Boolean> sameKeyComponents = keyComponents.get ( key );
+            if ( sameKeyComponents == null )
+            {
+                sameKeyComponents = new WeakHashMap<JComponent, Boolean> ( 1 );
+                keyComponents.put ( key, sameKeyComponents );
+            }
+            sameKeyComponents.put ( component, true );
         }
 
         // Updating component language
@@ -548,7 +621,25 @@ public class LanguageManager implements LanguageConstants
                 @Override
                 public void ancestorAdded ( final AncestorEvent event )
                 {
-                    updateComponentKey ( ref.get () );
+                    final JComponent component = ref.get ();
+                    if ( component != null )
+                    {
+                        final boolean outdated;
+                        synchronized ( updateQueueLock )
+                        {
+                            outdated = outdatedComponents.remove ( component ) != null;
+                        }
+                        if ( outdated )
+                        {
+                            // Performing postponed language update
+                            componentKeysCache.remove ( component );
+                            updateComponent ( component );
+                        }
+                        else
+                        {
+                            updateComponentKey ( component );
+                        }
+                    }
                 }
             };
             component.addAncestorListener ( listener );
@@ -606,10 +697,25 @@ public class LanguageManager implements LanguageConstants
         {
             if ( components.containsKey ( component ) )
             {
-                components.remove ( component );
+                final String key = components.remove ( component );
                 componentsData.remove ( component );
                 componentKeysCache.remove ( component );
 
+                final Map<JComponent, Boolean> sameKeyComponents = keyComponents.get ( key );
+                if ( sameKeyComponents != null )
+                {
+                    sameKeyComponents.remove ( component );
+                    if ( sameKeyComponents.isEmpty () )
+                    {
+                        keyComponents.remove ( key );
+                    }
+                }
+                synchronized ( updateQueueLock )
+                {
+                    updateQueue.remove ( component );
+                    outdatedComponents.remove ( component );
+                }
+
                 final AncestorListener listener = componentsListeners.get ( component );
                 component.removeAncestorListener ( listener );
                 componentsListeners.remove ( component );
@@ -788,35 +894,194 @@ public class LanguageManager implements LanguageConstants
 
     /**
      * Forces full language update for all registered components.
+     * Components are updated in EDT in time-limited chunks, showing components are updated first and hidden ones are updated when
+     * they are displayed.
      */
     public static void updateComponents ()
     {
+        final List<JComponent> toUpdate;
         synchronized ( componentsLock )
         {
-            for ( final Map.Entry<JComponent, String> entry : components.entrySet () )
-            {
-                updateComponent ( entry.getKey (), entry.getValue () );
-            }
+            toUpdate = new ArrayList<JComponent> ( components.keySet () );
         }
+        queueComponentsUpdate ( toUpdate );
     }
 
     /**
      * Forces language update for components with the specified keys.
+     * Components are updated in EDT in time-limited chunks, showing components are updated first and hidden ones are updated when
+     * they are displayed.
      *
      * @param keys language keys of the components to update
      */
     public static void updateComponents ( final List<String> keys )
     {
+        final List<JComponent> toUpdate = new ArrayList<JComponent> ();
         synchronized ( componentsLock )
         {
-            for ( final Map.Entry<JComponent, String> entry : components.entrySet () )
+            for ( final String key : keys )
             {
-                if ( keys.contains ( entry.getValue () ) )
+                final Map<JComponent, Boolean> sameKeyComponents = keyComponents.get ( key );
+                if ( sameKeyComponents != null )
                 {
-                    updateComponent ( entry.getKey (), entry.getValue () );
+                    toUpdate.addAll ( sameKeyComponents.keySet () );
                 }
             }
         }
+        queueComponentsUpdate ( toUpdate );
+    }
+
+    /**
+     * Queues language update for the specified components.
+     * Showing components are placed in front of the queue.
+     * If this method is called from EDT first chunk of updates is performed immediately.
+     *
+     * @param toUpdate components to update
+     */
+    protected static void queueComponentsUpdate ( final List<JComponent> toUpdate )
+    {
+        if ( toUpdate.isEmpty () )
+        {
+            return;
+        }
+        final boolean schedule;
+        synchronized ( updateQueueLock )
+        {
+            final List<JComponent> hidden = new ArrayList<JComponent> ();
+            for ( final JComponent component : toUpdate )
+            {
+                if ( component != null )
+                {
+                    if ( component.isShowing () )
+                    {
+                        updateQueue.add ( component );
+                    }
+                    else
+                    {
+                        hidden.add ( component );
+                    }
+                }
+            }
+            updateQueue.addAll ( hidden );
+            schedule = !updateScheduled && !updateQueue.isEmpty ();
+            updateScheduled = updateScheduled || schedule;
+        }
+        if ( schedule )
+        {
+            CoreSwingUtils.invokeLater ( updateQueueProcessor );
+        }
+    }
+
+    /**
+     * Updates queued components until the queue is empty or chunk time is exceeded.
+     * In the latter case processing continues in the next EDT event.
+     * Components which are not showing are marked as outdated and updated when they are displayed.
+     */
+    protected static void processUpdateQueue ()
+    {
+        final long deadline = System.nanoTime () + updateChunkTime * 1000000L;
+        while ( true )
+        {
+            // Retrieving next queued component
+            final JComponent component;
+            synchronized ( updateQueueLock )
+            {
+                final Iterator<JComponent> iterator = updateQueue.iterator ();
+                if ( !iterator.hasNext () )
+                {
+                    updateScheduled = false;
+                    return;
+                }
+                component = iterator.next ();
+                iterator.remove ();
+                if ( deferHiddenComponentsUpdate && !component.isShowing () )
+                {
+                    outdatedComponents.put ( component, true );
+                    continue;
+                }
+                outdatedComponents.remove ( component );
+            }
+
+            // Updating component language
+            try
+            {
+                updateComponent ( component );
+            }
+            catch ( final Throwable e )
+            {
+                Log.error ( LanguageManager.class, e );
+            }
+
+            // Continuing in next EDT event if chunk time is exceeded
+            if ( System.nanoTime () > deadline )
+            {
+                SwingUtilities.invokeLater ( updateQueueProcessor );
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns maximum time in milliseconds spent on components language update within a single EDT event.
+     *
+     * @return maximum time in milliseconds spent on components language update within a single EDT event
+     */
+    public static long getUpdateChunkTime ()
+    {
+        return updateChunkTime;
+    }
+
+    /**
+     * Sets maximum time in milliseconds spent on components language update within a single EDT event.
+     *
+     * @param time maximum time in milliseconds spent on components language update within a single EDT event
+     */
+    public static void setUpdateChunkTime ( final long time )
+    {
+        LanguageManager.updateChunkTime = time;
+    }
+
+    /**
+     * Returns whether language update for components which are not showing is postponed until they are displayed or not.
+     *
+     * @return true if language update for components which are not showing is postponed until they are displayed, false otherwise
+     */
+    public static boolean isDeferHiddenComponentsUpdate ()
+    {
+        return deferHiddenComponentsUpdate;
+    }
+
+    /**
+     * Sets whether language update for components which are not showing should be postponed until they are displayed or not.
+     *
+     * @param defer whether language update for components which are not showing should be postponed until they are displayed or not
+     */
+    public static void setDeferHiddenComponentsUpdate ( final boolean defer )
+    {
+        LanguageManager.deferHiddenComponentsUpdate = defer;
+    }
+
+    /**
+     * Performs all pending components language updates immediately, including postponed updates for hidden components.
+     * Should be called from EDT.
+     */
+    public static void flushComponentsUpdate ()
+    {
+        final List<JComponent> toUpdate;
+        synchronized ( updateQueueLock )
+        {
+            toUpdate = new ArrayList<JComponent> ( updateQueue );
+            toUpdate.addAll ( outdatedComponents.keySet () );
+            updateQueue.clear ();
+            outdatedComponents.clear ();
+        }
+        for ( final JComponent component : toUpdate )
+        {
+            if ( component != null )
+            {
+                updateComponent ( component );
+            }
+        }
     }
 
     /**
@@ -962,7 +1227,11 @@ public class LanguageManager implements LanguageConstants
      */
     public static String getLanguageTitle ( final String language )
     {
-        final LanguageInfo info = globalDictionary.getLanguageInfo ( language );
+        final LanguageInfo info;
+        synchronized ( cacheLock )
+        {
+            info = languageInfos.get ( language );
+        }
         return info != null ? info.getTitle () : null;
     }
 
@@ -1143,7 +1412,18 @@ public class LanguageManager implements LanguageConstants
      */
     public static Dictionary getGlobalDictionary ()
     {
-        return globalDictionary;
+        synchronized ( cacheLock )
+        {
+            if ( globalDictionary == null )
+            {
+                globalDictionary = new Dictionary ();
+                for ( final Dictionary dictionary : dictionaries )
+                {
+                    LanguageUtils.mergeDictionary ( dictionary, globalDictionary );
+                }
+            }
+            return globalDictionary;
+        }
     }
 
     /**
@@ -1358,9 +1638,6 @@ public class LanguageManager implements LanguageConstants
         // Updating dictionaries
         dictionaries.add ( dictionary );
 
-        // Updating global dictionary
-        LanguageUtils.mergeDictionary ( dictionary, globalDictionary );
-
         // Updating global cache
         updateCache ( dictionary );
 
@@ -1399,23 +1676,14 @@ public class LanguageManager implements LanguageConstants
     {
         if ( dictionary != null && isDictionaryAdded ( dictionary ) )
         {
-            // Clearing global dictionaries storage
-            globalDictionary.clear ();
-
             // Removing dictionary
             dictionaries.remove ( dictionary );
 
             // Removing dictionary from cache
             MapUtils.removeAllValues ( dictionariesCache, dictionary );
 
-            // Updating dictionaries
-            for ( final Dictionary d : dictionaries )
-            {
-                LanguageUtils.mergeDictionary ( d, globalDictionary );
-            }
-
             // Updating global cache
-            rebuildCache ();
+            rebuildIndex ();
 
             // Firing removal event
             fireDictionaryRemoved ( dictionary );
@@ -1483,9 +1751,8 @@ public class LanguageManager implements LanguageConstants
      */
     public static void clearDictionaries ()
     {
-        globalDictionary.clear ();
         dictionaries.clear ();
-        clearCache ();
+        rebuildIndex ();
         fireDictionariesCleared ();
     }
 
@@ -1557,8 +1824,50 @@ public class LanguageManager implements LanguageConstants
      */
     public static Value getValue ( final String key )
     {
-        // Global cache might be null when LanguageManager is not initialized
-        return globalCache != null ? globalCache.get ( key ) : null;
+        synchronized ( cacheLock )
+        {
+            // Returning already resolved value
+            final Value cached = globalCache.get ( key );
+            if ( cached != null || globalCache.containsKey ( key ) )
+            {
+                return cached;
+            }
+
+            // Resolving value for the current language
+            final Record[] records = recordsIndex.get ( key );
+            if ( records != null )
+            {
+                final Value value = resolveValue ( records );
+                globalCache.put ( key, value );
+                return value;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns value for the current language from the specified records.
+     * Records from the dictionaries added later have higher priority, earlier ones are used as a fallback.
+     *
+     * @param records records from all dictionaries for the same language key
+     * @return value for the current language from the specified records
+     */
+    protected static Value resolveValue ( final Record[] records )
+    {
+        for ( int i = records.length - 1; i >= 0; i-- )
+        {
+            final Record record = records[ i ];
+            final Value value = record.getValue ( language );
+            if ( value != null )
+            {
+                if ( value.getHotkey () == null && record.getHotkey () != null )
+                {
+                    value.setHotkey ( record.getHotkey () );
+                }
+                return value;
+            }
+        }
+        return null;
     }
 
     /**
@@ -1578,7 +1887,10 @@ public class LanguageManager implements LanguageConstants
         else
         {
             final Value tmpValue = new Value ( getLanguage (), key );
-            globalCache.put ( key, tmpValue );
+            synchronized ( cacheLock )
+            {
+                globalCache.put ( key, tmpValue );
+            }
             return tmpValue;
         }
     }
@@ -1591,7 +1903,10 @@ public class LanguageManager implements LanguageConstants
      */
     public static boolean contains ( final String key )
     {
-        return globalCache.containsKey ( key );
+        synchronized ( cacheLock )
+        {
+            return globalCache.containsKey ( key ) || recordsIndex.containsKey ( key );
+        }
     }
 
     /**
@@ -1753,11 +2068,11 @@ public class LanguageManager implements LanguageConstants
     /**
      * Rebuilds global dictionaries cache from a scratch.
      * This is required for cases when dictionary changes cannot be tracked or when current language changes.
+     * Values are not resolved here, they will be resolved for the current language on demand.
      */
     protected static void rebuildCache ()
     {
         clearCache ();
-        updateCache ( globalDictionary );
     }
 
     /**
@@ -1765,7 +2080,29 @@ public class LanguageManager implements LanguageConstants
      */
     protected static void clearCache ()
     {
-        globalCache.clear ();
+        synchronized ( cacheLock )
+        {
+            globalCache.clear ();
+            globalDictionary = null;
+        }
+    }
+
+    /**
+     * Rebuilds dictionaries records index from all added dictionaries and clears global cache.
+     */
+    protected static void rebuildIndex ()
+    {
+        synchronized ( cacheLock )
+        {
+            recordsIndex.clear ();
+            languageInfos.clear ();
+            globalCache.clear ();
+            globalDictionary = null;
+            for ( final Dictionary dictionary : dictionaries )
+            {
+                indexDictionary ( dictionary.getPrefix (), dictionary );
+            }
+        }
     }
 
     /**
@@ -1784,33 +2121,99 @@ public class LanguageManager implements LanguageConstants
      * @param prefix     dictionary prefix
      * @param dictionary dictionary to update cache with
      */
-    protected static void updateCache ( String prefix, final Dictionary dictionary )
+    protected static void updateCache ( final String prefix, final Dictionary dictionary )
+    {
+        synchronized ( cacheLock )
+        {
+            // Only indexing dictionary records, values are resolved on demand
+            // Global cache is cleared since new records might override any cached values
+            indexDictionary ( prefix, dictionary );
+            globalCache.clear ();
+            globalDictionary = null;
+        }
+    }
+
+    /**
+     * Adds records of the specified dictionary and its subdictionaries into records index.
+     * Repeated language and state strings are interned to reduce memory footprint of loaded dictionaries.
+     *
+     * @param prefix     dictionary prefix
+     * @param dictionary dictionary to index
+     */
+    protected static void indexDictionary ( String prefix, final Dictionary dictionary )
     {
         // Determining prefix
         prefix = prefix != null && !prefix.equals ( "" ) ? prefix + "." : "";
 
-        // Parsing current level records
+        // Indexing current level records
         if ( dictionary.getRecords () != null )
         {
             for ( final Record record : dictionary.getRecords () )
             {
-                final Value value = record.getValue ( language );
-                if ( value != null && value.getHotkey () == null && record.getHotkey () != null )
+                compactRecord ( record );
+                final String key = prefix + record.getKey ();
+                final Record[] records = recordsIndex.get ( key );
+                if ( records == null )
                 {
-                    value.setHotkey ( record.getHotkey () );
+                    recordsIndex.put ( key, new Record[]{ record } );
                 }
-                globalCache.put ( prefix + record.getKey (), value );
+                else
+                {
+                    final Record[] newRecords = new Record[ records.length + 1 ];
+                    System.arraycopy ( records, 0, newRecords, 0, records.length );
+                    newRecords[ records.length ] = record;
+                    recordsIndex.put ( key, newRecords );
+                }
+            }
+        }
+
+        // Indexing language information data
+        if ( dictionary.getLanguageInfos () != null )
+        {
+            for ( final LanguageInfo info : dictionary.getLanguageInfos () )
+            {
+                languageInfos.put ( info.getLang (), info );
             }
         }
 
-        // Parsing subdictionaries
+        // Indexing subdictionaries
         if ( dictionary.getSubdictionaries () != null )
         {
             for ( final Dictionary subDictionary : dictionary.getSubdictionaries () )
             {
                 final String sp = subDictionary.getPrefix ();
                 final String subPrefix = prefix + ( sp != null && !sp.equals ( "" ) ? sp : "" );
-                updateCache ( subPrefix, subDictionary );
+                indexDictionary ( subPrefix, subDictionary );
+            }
+        }
+    }
+
+    /**
+     * Interns repeated language and state strings of the specified record values.
+     * Those strings are repeated in each record of each dictionary and are separate instances when loaded from XML.
+     *
+     * @param record record to compact
+     */
+    protected static void compactRecord ( final Record record )
+    {
+        if ( record.getValues () != null )
+        {
+            for ( final Value value : record.getValues () )
+            {
+                if ( value.getLang () != null )
+                {
+                    value.setLang ( value.getLang ().intern () );
+                }
+                if ( value.getTexts () != null )
+                {
+                    for ( final Text text : value.getTexts () )
+                    {
+                        if ( text.getState () != null )
+                        {
+                            text.setState ( text.getState ().intern () );
+                        }
+                    }
+                }
             }
         }
     }
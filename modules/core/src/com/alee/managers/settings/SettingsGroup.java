@@ -160,7 +160,7 @@ public class SettingsGroup implements Serializable
      * @param key key
      * @return value for specified key
      */
-    public Object get ( final String key )
+    public synchronized Object get ( final String key )
     {
         return getSettings ().get ( key );
     }
@@ -171,7 +171,7 @@ public class SettingsGroup implements Serializable
      * @param key settings key
      * @return settings previously saved under the specified key
      */
-    public Object remove ( final String key )
+    public synchronized Object remove ( final String key )
     {
         return getSettings ().remove ( key );
     }
@@ -184,8 +184,24 @@ public class SettingsGroup implements Serializable
      * @param <T>    value type
      * @return previous value for the specified key
      */
-    public <T> T put ( final String key, final T object )
+    public synchronized <T> T put ( final String key, final T object )
     {
         return ( T ) getSettings ().put ( key, object );
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns copy of this settings group which is safe to use while this group is being modified.
+     * Note that settings values are not copied, only the settings map is.
+     *
+     * @return copy of this settings group
+     */
+    public synchronized SettingsGroup snapshot ()
+    {
+        final SettingsGroup snapshot = new SettingsGroup ( id, name );
+        if ( settings != null )
+        {
+            snapshot.setSettings ( new HashMap<String, Object> ( settings ) );
+        }
+        return snapshot;
+    }
+}
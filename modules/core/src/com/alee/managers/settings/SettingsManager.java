@@ -22,17 +22,19 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.ReflectUtils;
 import com.alee.utils.XmlUtils;
+import com.alee.utils.concurrent.DaemonThreadFactory;
 import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.File;
+import java.io.*;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.*;
 
 /**
  * This manager allows you to quickly and easily save any serializable data into settings files using simple XML format.
@@ -70,6 +72,12 @@ public class SettingsManager
      */
     protected static String backupFilesExtension = ".backup";
 
+    /**
+     * Temporary files extension.
+     * Settings are written into temporary file first and then moved to replace actual settings file.
+     */
+    protected static String tempFilesExtension = ".tmp";
+
     /**
      * Default settings directory location.
      */
@@ -93,12 +101,18 @@ public class SettingsManager
     /**
      * Group settings read success marks.
      */
-    protected static final Map<String, SettingsGroupState> groupState = new HashMap<String, SettingsGroupState> ();
+    protected static final Map<String, SettingsGroupState> groupState = new ConcurrentHashMap<String, SettingsGroupState> ();
 
     /**
      * Cached settings map.
      */
-    protected static final Map<String, SettingsGroup> groups = new HashMap<String, SettingsGroup> ();
+    protected static final Map<String, SettingsGroup> groups = new ConcurrentHashMap<String, SettingsGroup> ();
+
+    /**
+     * Settings group load locks.
+     * Used to avoid loading the same group twice when it is requested while being preloaded.
+     */
+    protected static final ConcurrentHashMap<String, Object> groupLoadLocks = new ConcurrentHashMap<String, Object> ();
 
     /**
      * Cached files map.
@@ -126,16 +140,39 @@ public class SettingsManager
      */
     protected static long saveOnChangeDelay = 500;
 
+    /**
+     * Maximum time in milliseconds delayed save can be postponed by new changes.
+     * Zero or less means that delayed save is never postponed and occurs within save-on-change delay after the first change.
+     */
+    protected static long saveOnChangeMaxDelay = 5000;
+
     /**
      * Save-on-change scheduler timer.
      */
     protected static WebTimer groupSaveScheduler = null;
 
+    /**
+     * Whether delayed save of the currently accumulated settings groups is scheduled or not.
+     * It is only modified under {@link #saveOnChangeLock} together with {@link #groupsToSaveOnChange} list.
+     */
+    protected static boolean delayedSaveScheduled = false;
+
+    /**
+     * Time when the first of the currently delayed changes was made.
+     */
+    protected static long firstDelayedChangeTime = 0;
+
     /**
      * Delayed settings groups to save.
      */
     protected static final List<String> groupsToSaveOnChange = new ArrayList<String> ();
 
+    /**
+     * Background settings writer.
+     * It saves settings groups one by one and its single thread stops when there is nothing to save.
+     */
+    protected static ThreadPoolExecutor settingsWriter = null;
+
     /**
      * Whether settings log is enabled or not.
      * Log will display what settings are being loaded and saved and when that happens.
@@ -920,7 +957,14 @@ public class SettingsManager
         {
             final File file = getGroupFile ( group, dir );
             final File backupFile = getGroupBackupFile ( group, dir );
-            FileUtils.deleteFiles ( file, backupFile );
+            final File tempFile = getGroupTempFile ( group, dir );
+            FileUtils.deleteFiles ( file, backupFile, tempFile );
+        }
+
+        // Removing pending group save
+        synchronized ( saveOnChangeLock )
+        {
+            groupsToSaveOnChange.remove ( group );
         }
 
         // Resetting group if it was already loaded
@@ -974,13 +1018,97 @@ public class SettingsManager
      */
     public static SettingsGroup getSettingsGroup ( final String group )
     {
-        if ( groups.containsKey ( group ) )
+        final SettingsGroup settingsGroup = groups.get ( group );
+        if ( settingsGroup != null )
         {
-            return groups.get ( group );
+            return settingsGroup;
         }
         else
         {
-            return loadSettingsGroup ( group );
+            // Waiting for group preload to finish or loading group
+            synchronized ( getGroupLoadLock ( group ) )
+            {
+                final SettingsGroup loadedGroup = groups.get ( group );
+                return loadedGroup != null ? loadedGroup : loadSettingsGroup ( group );
+            }
+        }
+    }
+
+    /**
+     * Returns settings group load lock.
+     *
+     * @param group settings group name
+     * @return settings group load lock
+     */
+    protected static Object getGroupLoadLock ( final String group )
+    {
+        final Object lock = new Object ();
+        final Object existing = groupLoadLocks.putIfAbsent ( group, lock );
+        return existing != null ? existing : lock;
+    }
+
+    /**
+     * Starts loading of all settings groups which files are available in default settings directory or custom group locations.
+     * Groups are loaded in parallel in background threads, so this method returns right away.
+     * Any request to settings group which is still being loaded will wait for its loading to finish.
+     */
+    public static void preloadSettingsGroups ()
+    {
+        final List<String> groupNames = new ArrayList<String> ( groupFileLocation.keySet () );
+        final File[] settingsFiles = new File ( getDefaultSettingsDir () ).listFiles ();
+        if ( settingsFiles != null )
+        {
+            for ( final File file : settingsFiles )
+            {
+                final String fileName = file.getName ();
+                if ( file.isFile () && fileName.endsWith ( settingsFilesExtension ) )
+                {
+                    final String group = fileName.substring ( 0, fileName.length () - settingsFilesExtension.length () );
+                    if ( !groupNames.contains ( group ) )
+                    {
+                        groupNames.add ( group );
+                    }
+                }
+            }
+        }
+        preloadSettingsGroups ( groupNames );
+    }
+
+    /**
+     * Starts loading of the specified settings groups.
+     * Groups are loaded in parallel in background threads, so this method returns right away.
+     * Any request to settings group which is still being loaded will wait for its loading to finish.
+     *
+     * @param groupNames names of settings groups to load
+     */
+    public static void preloadSettingsGroups ( final List<String> groupNames )
+    {
+        // Check manager initialization
+        initialize ();
+
+        if ( groupNames.size () > 0 )
+        {
+            final int threads = Math.min ( groupNames.size (), Runtime.getRuntime ().availableProcessors () );
+            final ExecutorService loader = Executors.newFixedThreadPool ( threads, new DaemonThreadFactory ( "SettingsManager.loader" ) );
+            for ( final String group : groupNames )
+            {
+                final Object lock = getGroupLoadLock ( group );
+                loader.execute ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        synchronized ( lock )
+                        {
+                            if ( !groups.containsKey ( group ) )
+                            {
+                                loadSettingsGroup ( group );
+                            }
+                        }
+                    }
+                } );
+            }
+            loader.shutdown ();
         }
     }
 
@@ -1000,56 +1128,42 @@ public class SettingsManager
         {
             final File file = getGroupFile ( group, dir );
             final File backupFile = getGroupBackupFile ( group, dir );
+            final File tempFile = getGroupTempFile ( group, dir );
+
+            // Restoring settings file in case save was interrupted while replacing it
+            final boolean readFromBackup = restoreSettingsFile ( file, backupFile, tempFile );
 
             // todo Modify read logic so that;
-            // todo 1. Backup reading occurs only if original file cannot be read
-            // todo 2. Do not delete the settings that cannot be read right away, just move them aside with ".failed" extension mark
-            if ( file.exists () && file.isFile () || backupFile.exists () && backupFile.isFile () )
+            // todo 1. Do not delete the settings that cannot be read right away, just move them aside with ".failed" extension mark
+            if ( file.exists () && file.isFile () )
             {
-                // Check if there is a group backup file and restore it
-                boolean readFromBackup = false;
-                if ( backupFile.exists () && backupFile.isFile () )
+                // Try reading SettingsGroup
+                try
                 {
-                    // Replacing file with backup
-                    FileUtils.copyFile ( backupFile, file );
+                    // Read single SettingsGroup
+                    settingsGroup = XmlUtils.fromXML ( file );
 
-                    // Removing backup file
-                    FileUtils.deleteFile ( backupFile );
+                    // Saving settings group read state
+                    groupState.put ( group, new SettingsGroupState ( readFromBackup ? ReadState.restored : ReadState.ok ) );
 
-                    // Backup read mark
-                    readFromBackup = true;
+                    final String state = readFromBackup ? "restored from backup" : "loaded";
+                    Log.info ( SettingsManager.class, "Settings group \"" + group + "\" " + state + " successfully" );
                 }
-
-                // Try reading SettingsGroup
-                if ( file.exists () && file.isFile () )
+                catch ( final Throwable e )
                 {
-                    try
-                    {
-                        // Read single SettingsGroup
-                        settingsGroup = XmlUtils.fromXML ( file );
+                    Log.error ( SettingsManager.class, "Unable to load settings group \"" + group +
+                            "\" due to unexpected exception:", e );
 
-                        // Saving settings group read state
-                        groupState.put ( group, new SettingsGroupState ( readFromBackup ? ReadState.restored : ReadState.ok ) );
+                    // Delete incorrect SettingsGroup file
+                    FileUtils.deleteFile ( file );
 
-                        final String state = readFromBackup ? "restored from backup" : "loaded";
-                        Log.info ( SettingsManager.class, "Settings group \"" + group + "\" " + state + " successfully" );
-                    }
-                    catch ( final Throwable e )
-                    {
-                        Log.error ( SettingsManager.class, "Unable to load settings group \"" + group +
-                                "\" due to unexpected exception:", e );
-
-                        // Delete incorrect SettingsGroup file
-                        FileUtils.deleteFile ( file );
-
-                        // Saving settings group read state
-                        groupState.put ( group, new SettingsGroupState ( ReadState.failed, e ) );
-                    }
+                    // Saving settings group read state
+                    groupState.put ( group, new SettingsGroupState ( ReadState.failed, e ) );
                 }
             }
             else
             {
-                // No group settings file or backup exists, new SettingsGroup will be created
+                // No group settings file exists, new SettingsGroup will be created
                 groupState.put ( group, new SettingsGroupState ( ReadState.created ) );
 
                 Log.info ( SettingsManager.class, "Settings group \"" + group + "\" created successfully" );
@@ -1122,24 +1236,13 @@ public class SettingsManager
                 // Ensure group settings directory exists and perform save
                 if ( FileUtils.ensureDirectoryExists ( dir ) )
                 {
-                    // Settings file
-                    final File file = getGroupFile ( group, dir );
-
-                    // Creating settings backup if there are old settings
-                    File backupFile = null;
-                    if ( file.exists () )
-                    {
-                        backupFile = getGroupBackupFile ( group, dir );
-                        FileUtils.copyFile ( file, backupFile );
-                    }
-
-                    // Saving settings
-                    XmlUtils.toXML ( settingsGroup, file );
-
-                    // Removing backup file if save was successful
-                    if ( backupFile != null && backupFile.exists () )
+                    // Saving settings snapshot to avoid concurrent modifications while serializing
+                    // Group lock ensures that the same group file is never written by two threads at once
+                    final SettingsGroup snapshot = settingsGroup.snapshot ();
+                    synchronized ( getGroupLoadLock ( group ) )
                     {
-                        FileUtils.deleteFile ( backupFile );
+                        writeSettingsFile ( snapshot, getGroupFile ( group, dir ), getGroupBackupFile ( group, dir ),
+                                getGroupTempFile ( group, dir ) );
                     }
 
                     if ( saveLoggingEnabled )
@@ -1170,59 +1273,280 @@ public class SettingsManager
         return new File ( dir, group + settingsFilesExtension + backupFilesExtension );
     }
 
+    protected static File getGroupTempFile ( final String group, final File dir )
+    {
+        return new File ( dir, group + settingsFilesExtension + tempFilesExtension );
+    }
+
+    /**
+     * Writes settings into the specified file.
+     * Settings are written into temporary file first which then replaces the actual settings file, so the actual settings file is never
+     * left partially written. If temporary file cannot be renamed over the existing settings file, which is always the case on Windows,
+     * existing settings file is moved to backup file first and is only removed once temporary file is renamed successfully.
+     *
+     * @param settings   settings to write
+     * @param file       settings file
+     * @param backupFile backup settings file
+     * @param tempFile   temporary settings file
+     * @throws IOException if settings cannot be written
+     */
+    protected static void writeSettingsFile ( final Object settings, final File file, final File backupFile, final File tempFile )
+            throws IOException
+    {
+        // Writing settings into temporary file
+        final FileOutputStream fos = new FileOutputStream ( tempFile );
+        try
+        {
+            final Writer writer = new BufferedWriter ( new OutputStreamWriter ( fos, "UTF-8" ) );
+            XmlUtils.toXML ( settings, writer );
+            writer.flush ();
+            fos.getFD ().sync ();
+        }
+        finally
+        {
+            fos.close ();
+        }
+
+        // Replacing settings file
+        // Rename might fail on some systems if destination file exists, in that case file is moved to backup first
+        if ( !tempFile.renameTo ( file ) )
+        {
+            if ( backupFile.exists () && !backupFile.delete () || file.exists () && !file.renameTo ( backupFile ) )
+            {
+                throw new IOException ( "Unable to backup settings file: " + file.getAbsolutePath () );
+            }
+            if ( !tempFile.renameTo ( file ) )
+            {
+                backupFile.renameTo ( file );
+                throw new IOException ( "Unable to replace settings file: " + file.getAbsolutePath () );
+            }
+        }
+
+        // Removing backup since settings file is successfully replaced
+        FileUtils.deleteFile ( backupFile );
+    }
+
+    /**
+     * Restores settings file in case its save was interrupted while replacing it.
+     * Complete temporary file is used if settings file is missing, otherwise backup file is used if it exists.
+     * Backup and temporary files left along with the settings file are removed since settings file is always written completely.
+     *
+     * @param file       settings file
+     * @param backupFile backup settings file
+     * @param tempFile   temporary settings file
+     * @return true if settings file was restored from backup, false otherwise
+     */
+    protected static boolean restoreSettingsFile ( final File file, final File backupFile, final File tempFile )
+    {
+        // Temporary file is used only if settings file is missing, backup is created only after it is completely written
+        // Temporary file left along with the settings file is not trusted since it might have been written only partially
+        // Partially written temporary file without backup will simply fail to load just like a damaged settings file
+        if ( tempFile.exists () )
+        {
+            if ( !file.exists () && tempFile.renameTo ( file ) )
+            {
+                FileUtils.deleteFile ( backupFile );
+            }
+            else
+            {
+                FileUtils.deleteFile ( tempFile );
+            }
+        }
+
+        // Restoring settings file from backup if it is missing
+        if ( backupFile.exists () )
+        {
+            if ( !file.exists () && backupFile.renameTo ( file ) )
+            {
+                return true;
+            }
+            FileUtils.deleteFile ( backupFile );
+        }
+        return false;
+    }
+
     /**
      * Delays settings group save or performs it immediately according to settings manager configuration.
+     * In both cases settings group is saved by background settings writer, so this method never blocks calling thread.
      *
      * @param group name of the settings group to save
      */
     protected static void delayedSaveSettingsGroup ( final String group )
     {
-        // Determining when we should save changes into file system
-        if ( saveOnChangeDelay > 0 )
+        synchronized ( saveOnChangeLock )
         {
-            // Delaying save
-            synchronized ( saveOnChangeLock )
+            // Adding group for delayed save
+            if ( !groupsToSaveOnChange.contains ( group ) )
             {
-                // Adding group for delayed save
-                if ( !groupsToSaveOnChange.contains ( group ) )
+                groupsToSaveOnChange.add ( group );
+            }
+
+            // Determining when we should save changes into file system
+            if ( saveOnChangeDelay > 0 )
+            {
+                // Postponing save while changes keep coming but not longer than maximum delay
+                // New scheduler is created for each delayed save since previous one might still be finishing its actions
+                final long time = System.currentTimeMillis ();
+                if ( !delayedSaveScheduled )
+                {
+                    delayedSaveScheduled = true;
+                    firstDelayedChangeTime = time;
+                    groupSaveScheduler = new WebTimer ( "SettingsManager.groupSaveScheduler", saveOnChangeDelay, new ActionListener ()
+                    {
+                        @Override
+                        public void actionPerformed ( final ActionEvent e )
+                        {
+                            saveDelayedSettingsGroups ();
+                        }
+                    } );
+                    groupSaveScheduler.setRepeats ( false );
+                    groupSaveScheduler.setUseEventDispatchThread ( false );
+                    groupSaveScheduler.setNonBlockingStop ( true );
+                    groupSaveScheduler.start ();
+                }
+                else if ( saveOnChangeMaxDelay > 0 && time - firstDelayedChangeTime + saveOnChangeDelay <= saveOnChangeMaxDelay )
                 {
-                    groupsToSaveOnChange.add ( group );
+                    groupSaveScheduler.restart ( saveOnChangeDelay );
                 }
+            }
+            else
+            {
+                // Saving right away
+                saveDelayedSettingsGroups ();
+            }
+        }
+    }
 
-                // Launching scheduler if it is not yet launched
-                if ( groupSaveScheduler == null || !groupSaveScheduler.isRunning () )
+    /**
+     * Passes all delayed settings groups to background settings writer.
+     */
+    protected static void saveDelayedSettingsGroups ()
+    {
+        synchronized ( saveOnChangeLock )
+        {
+            // Any change made after this point will schedule a new delayed save
+            delayedSaveScheduled = false;
+            if ( groupsToSaveOnChange.size () > 0 )
+            {
+                final List<String> toSave = CollectionUtils.copy ( groupsToSaveOnChange );
+                groupsToSaveOnChange.clear ();
+                getSettingsWriter ().execute ( new Runnable ()
                 {
-                    if ( groupSaveScheduler == null )
+                    @Override
+                    public void run ()
                     {
-                        groupSaveScheduler = new WebTimer ( "SettingsManager.groupSaveScheduler", saveOnChangeDelay, new ActionListener ()
+                        for ( final String group : toSave )
                         {
-                            @Override
-                            public void actionPerformed ( final ActionEvent e )
+                            final SettingsGroup settingsGroup = groups.get ( group );
+                            if ( settingsGroup != null )
                             {
-                                synchronized ( saveOnChangeLock )
-                                {
-                                    for ( final String group : groupsToSaveOnChange )
-                                    {
-                                        saveSettingsGroup ( group );
-                                    }
-                                    groupsToSaveOnChange.clear ();
-                                }
+                                saveSettingsGroup ( settingsGroup );
                             }
-                        } );
-                        groupSaveScheduler.setRepeats ( false );
+                        }
                     }
-                    else
+                } );
+            }
+        }
+    }
+
+    /**
+     * Returns background settings writer.
+     *
+     * @return background settings writer
+     */
+    protected static ThreadPoolExecutor getSettingsWriter ()
+    {
+        synchronized ( saveOnChangeLock )
+        {
+            if ( settingsWriter == null )
+            {
+                // Writer thread is not a daemon to make sure pending settings are saved before JVM finishes its work
+                settingsWriter = new ThreadPoolExecutor ( 1, 1, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable> (), new ThreadFactory ()
+                {
+                    @Override
+                    public Thread newThread ( final Runnable r )
                     {
-                        groupSaveScheduler.setDelay ( saveOnChangeDelay );
+                        return new Thread ( r, "SettingsManager.writer" );
                     }
-                    groupSaveScheduler.start ();
+                } );
+                settingsWriter.allowCoreThreadTimeOut ( true );
+            }
+            return settingsWriter;
+        }
+    }
+
+    /**
+     * Saves all delayed settings groups right away and waits until all pending saves are completed.
+     * This method is useful to ensure all changes are saved before application exits.
+     */
+    public static void flushSettings ()
+    {
+        synchronized ( saveOnChangeLock )
+        {
+            if ( groupSaveScheduler != null )
+            {
+                groupSaveScheduler.stop ();
+            }
+            saveDelayedSettingsGroups ();
+        }
+        awaitPendingSaves ( 0 );
+    }
+
+    /**
+     * Waits until all settings saves passed to background settings writer are completed.
+     * Note that delayed saves which are not yet passed to the writer are not awaited, use {@link #flushSettings()} for that.
+     *
+     * @param timeout maximum time to wait in milliseconds, zero or less to wait without time limit
+     * @return true if all pending saves were completed, false if timeout passed or waiting thread was interrupted
+     */
+    public static boolean awaitPendingSaves ( final long timeout )
+    {
+        try
+        {
+            final Future<?> marker = getSettingsWriter ().submit ( new Runnable ()
+            {
+                @Override
+                public void run ()
+                {
+                    // Simple marker to know when all previously submitted saves are completed
                 }
+            } );
+            if ( timeout > 0 )
+            {
+                marker.get ( timeout, TimeUnit.MILLISECONDS );
             }
+            else
+            {
+                marker.get ();
+            }
+            return true;
         }
-        else
+        catch ( final TimeoutException e )
         {
-            // Saving right away
-            saveSettingsGroup ( group );
+            return false;
+        }
+        catch ( final InterruptedException e )
+        {
+            return false;
+        }
+        catch ( final ExecutionException e )
+        {
+            Log.error ( SettingsManager.class, e );
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether there are settings groups awaiting save or not.
+     *
+     * @return true if there are settings groups awaiting save, false otherwise
+     */
+    public static boolean hasPendingSaves ()
+    {
+        synchronized ( saveOnChangeLock )
+        {
+            return groupsToSaveOnChange.size () > 0 || settingsWriter != null &&
+                    ( settingsWriter.getQueue ().size () > 0 || settingsWriter.getActiveCount () > 0 );
         }
     }
 
@@ -1271,6 +1595,8 @@ public class SettingsManager
             Object value;
             try
             {
+                restoreSettingsFile ( getSettingsFile ( fileName ), getSettingsFile ( fileName + backupFilesExtension ),
+                        getSettingsFile ( fileName + tempFilesExtension ) );
                 value = XmlUtils.fromXML ( getSettingsFile ( fileName ) );
             }
             catch ( final Throwable e )
@@ -1307,7 +1633,15 @@ public class SettingsManager
     {
         if ( allowSave )
         {
-            XmlUtils.toXML ( settings, getSettingsFile ( fileName ) );
+            try
+            {
+                writeSettingsFile ( settings, getSettingsFile ( fileName ), getSettingsFile ( fileName + backupFilesExtension ),
+                        getSettingsFile ( fileName + tempFilesExtension ) );
+            }
+            catch ( final Throwable e )
+            {
+                Log.error ( SettingsManager.class, "Unable to save settings file \"" + fileName + "\" due to unexpected exception:", e );
+            }
         }
     }
 
@@ -1373,6 +1707,26 @@ public class SettingsManager
         SettingsManager.backupFilesExtension = backupFilesExtension;
     }
 
+    /**
+     * Returns temporary files extension.
+     *
+     * @return temporary files extension
+     */
+    public static String getTempFilesExtension ()
+    {
+        return tempFilesExtension;
+    }
+
+    /**
+     * Sets temporary files extension.
+     *
+     * @param tempFilesExtension new temporary files extension
+     */
+    public static void setTempFilesExtension ( final String tempFilesExtension )
+    {
+        SettingsManager.tempFilesExtension = tempFilesExtension;
+    }
+
     /**
      * Returns default settings directory.
      *
@@ -1520,6 +1874,26 @@ public class SettingsManager
         return saveOnChangeDelay;
     }
 
+    /**
+     * Returns maximum time in milliseconds delayed save can be postponed by new changes.
+     *
+     * @return maximum time in milliseconds delayed save can be postponed by new changes
+     */
+    public static long getSaveOnChangeMaxDelay ()
+    {
+        return saveOnChangeMaxDelay;
+    }
+
+    /**
+     * Sets maximum time in milliseconds delayed save can be postponed by new changes.
+     *
+     * @param saveOnChangeMaxDelay new maximum time in milliseconds delayed save can be postponed by new changes
+     */
+    public static void setSaveOnChangeMaxDelay ( final long saveOnChangeMaxDelay )
+    {
+        SettingsManager.saveOnChangeMaxDelay = saveOnChangeMaxDelay;
+    }
+
     /**
      * Sets save-on-change delay in milliseconds.
      * If larger than 0 then settings will be accumulated and saved all at once as soon as no new changes came within the delay time.
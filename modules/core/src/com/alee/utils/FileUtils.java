@@ -23,11 +23,16 @@ import com.alee.managers.language.LanguageManager;
 import com.alee.managers.log.Log;
 import com.alee.managers.proxy.ProxyManager;
 import com.alee.utils.compare.Filter;
+import com.alee.utils.file.FileContentWriter;
 import com.alee.utils.file.FileDescription;
 import com.alee.utils.file.FileDownloadListener;
+import com.alee.utils.file.FileHasher;
+import com.alee.utils.file.FileMetadata;
 import com.alee.utils.file.SystemFileListener;
 import com.alee.utils.filefilter.AbstractFileFilter;
 import com.alee.utils.filefilter.CustomFileFilter;
+import com.alee.utils.swing.DataProvider;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
@@ -48,9 +53,9 @@ import java.util.*;
 /**
  * This class provides a set of utilities to work with files, file names and their extensions.
  * <p/>
- * Note that methods which request information about files from the system has their own caches to improve performance.
- * If you will need to clear that cache simply call the corresponding clearCache method, for example:
- * For method "isHidden" you will need to call "clearIsHiddenCache" and all cached values will be resetted.
+ * Note that methods which request information about files from the system use a shared file metadata cache to improve performance.
+ * Cached metadata is checked against file modification time periodically, but it can also be cleared manually using the
+ * corresponding clearCache method, for example: for method "isHidden" you can call "clearIsHiddenCache".
  *
  * @author Mikle Garin
  */
@@ -63,7 +68,7 @@ public final class FileUtils
     /**
      * Icons.
      */
-    private static final ImageIcon COMPUTER_ICON = new ImageIcon ( FileUtils.class.getResource ( "icons/computer.png" ) );
+    private static final ImageIcon COMPUTER_ICON = IconRegistry.getIcon ( FileUtils.class, "icons/computer.png" );
 
     /**
      * Cached file system view.
@@ -118,74 +123,41 @@ public final class FileUtils
                     '{', '}', '[', ']', ']' };
 
     /**
-     * Cache for "isDrive" method result.
+     * Maximum amount of cached file metadata records.
+     * Least recently used records are evicted when this limit is reached.
      */
-    private static final Map<String, Boolean> isDriveCache = new HashMap<String, Boolean> ();
+    public static int fileMetadataCacheSize = 10000;
 
     /**
-     * Cache for "isComputer" method result.
+     * Delay in milliseconds after which cached file metadata is checked to be up-to-date on its next request.
+     * Metadata is rebuilt when file modification time changes.
      */
-    private static final Map<String, Boolean> isComputerCache = new HashMap<String, Boolean> ();
+    public static long fileMetadataValidationDelay = 2000;
 
     /**
-     * Cache for "isCdDrive" method result.
+     * File metadata cache (file absolute path -> metadata).
      */
-    private static final Map<String, Boolean> isCdDriveCache = new HashMap<String, Boolean> ();
-
-    /**
-     * Cache for "isFile" method result.
-     */
-    private static final Map<String, Boolean> isFileCache = new HashMap<String, Boolean> ();
-
-    /**
-     * Cache for "isDirectory" method result.
-     */
-    private static final Map<String, Boolean> isDirectoryCache = new HashMap<String, Boolean> ();
-
-    /**
-     * Cache for "isHidden" method result.
-     */
-    private static final Map<String, Boolean> isHiddenCache = new HashMap<String, Boolean> ();
-
-    /**
-     * Cache for "getDisplayFileName" method result.
-     */
-    private static final Map<String, String> displayFileNameCache = new HashMap<String, String> ();
-
-    /**
-     * Cache for "getFileDescription" method result.
-     */
-    private static final Map<String, FileDescription> fileDescriptionCache = new HashMap<String, FileDescription> ();
-
-    /**
-     * Cache for "getFileTypeDescription" method result.
-     */
-    private static final Map<String, String> fileTypeDescriptionCache = new HashMap<String, String> ();
-
-    /**
-     * Cache for "getDisplayFileCreationDate" method result.
-     */
-    private static final Map<String, String> displayFileCreationDateCache = new HashMap<String, String> ();
-
-    /**
-     * Cache for "getDisplayFileModificationDate" method result.
-     */
-    private static final Map<String, String> displayFileModificationDateCache = new HashMap<String, String> ();
-
-    /**
-     * File extension icons cache lock.
-     */
-    private static final Object extensionIconsCacheLock = new Object ();
+    private static final Map<String, FileMetadata> fileMetadataCache = new LinkedHashMap<String, FileMetadata> ( 256, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<String, FileMetadata> eldest )
+        {
+            return size () > fileMetadataCacheSize;
+        }
+    };
 
     /**
      * File extension icons cache.
      */
-    private static final Map<String, ImageIcon> extensionIconsCache = new HashMap<String, ImageIcon> ();
+    private static final ImageCache<String, ImageIcon> extensionIconsCache =
+            new ImageCache<String, ImageIcon> ( "extensionIcons", 4 * 1024 * 1024 );
 
     /**
      * Resource icons cache.
+     * Missing resources are also cached as null icons to avoid repeated lookups.
      */
-    private static final Map<String, ImageIcon> resourceIconsCache = new HashMap<String, ImageIcon> ();
+    private static final ImageCache<String, ImageIcon> resourceIconsCache =
+            new ImageCache<String, ImageIcon> ( "resourceIcons", 8 * 1024 * 1024 );
 
     /**
      * Default file tracking updates delay.
@@ -228,17 +200,48 @@ public final class FileUtils
      */
     public static void clearFileCaches ( final String path )
     {
-        clearDisplayFileNameCache ( path );
-        clearIsHiddenCache ( path );
-        clearIsFileCache ( path );
-        clearIsDirectoryCache ( path );
-        clearIsComputerCache ( path );
-        clearIsDriveCache ( path );
-        clearIsCdDriveCache ( path );
-        clearFileDescriptionCache ( path );
-        clearFileTypeDescriptionCache ( path );
-        clearDisplayFileCreationDateCache ( path );
-        clearDisplayFileModificationDateCache ( path );
+        synchronized ( fileMetadataCache )
+        {
+            fileMetadataCache.remove ( path );
+        }
+    }
+
+    /**
+     * Clears all cached file metadata.
+     */
+    public static void clearFileMetadataCache ()
+    {
+        synchronized ( fileMetadataCache )
+        {
+            fileMetadataCache.clear ();
+        }
+    }
+
+    /**
+     * Returns cached metadata for the specified file.
+     * Metadata is created if it is not yet cached or if cached metadata is outdated.
+     *
+     * @param file file to process
+     * @return cached metadata for the specified file
+     */
+    public static FileMetadata getFileMetadata ( final File file )
+    {
+        final String path = file.getAbsolutePath ();
+        FileMetadata metadata;
+        synchronized ( fileMetadataCache )
+        {
+            metadata = fileMetadataCache.get ( path );
+        }
+        if ( metadata == null || !metadata.isUpToDate ( fileMetadataValidationDelay ) )
+        {
+            // Reading file attributes outside of the lock to avoid blocking other requests
+            metadata = new FileMetadata ( file );
+            synchronized ( fileMetadataCache )
+            {
+                fileMetadataCache.put ( path, metadata );
+            }
+        }
+        return metadata;
     }
 
     /**
@@ -449,13 +452,59 @@ public final class FileUtils
 
     /**
      * Returns MD5 for specified file.
+     * Computed hash is cached until file size or modification time changes.
      *
      * @param file file to process
      * @return MD5
      */
     public static String computeMD5 ( final File file )
     {
-        return computeMD5 ( file, MD5_BUFFER_LENGTH );
+        return computeHash ( file, "MD5" );
+    }
+
+    /**
+     * Returns hash for specified file computed using the specified digest algorithm or null if it cannot be computed.
+     * Null is also returned if the specified digest algorithm is not supported.
+     * Computed hash is cached until file size or modification time changes.
+     *
+     * @param file      file to process
+     * @param algorithm digest algorithm, for example "MD5", "SHA-1" or "SHA-256"
+     * @return hash for specified file or null if it cannot be computed
+     * @see com.alee.utils.file.FileHasher
+     */
+    public static String computeHash ( final File file, final String algorithm )
+    {
+        try
+        {
+            return FileHasher.get ( algorithm ).hash ( file );
+        }
+        catch ( final IllegalArgumentException e )
+        {
+            // Unsupported digest algorithm
+            return null;
+        }
+    }
+
+    /**
+     * Returns hashes for all files within the specified directory tree computed using the specified digest algorithm.
+     * Files are hashed in parallel, unchanged files hashed earlier are not processed again.
+     *
+     * @param root      directory tree root
+     * @param algorithm digest algorithm, for example "MD5", "SHA-1" or "SHA-256"
+     * @return hashes for all files within the specified directory tree or null if digest algorithm is not supported
+     * @see com.alee.utils.file.FileHasher
+     */
+    public static Map<File, String> computeHashes ( final File root, final String algorithm )
+    {
+        try
+        {
+            return FileHasher.get ( algorithm ).hashTree ( root );
+        }
+        catch ( final IllegalArgumentException e )
+        {
+            // Unsupported digest algorithm
+            return null;
+        }
     }
 
     /**
@@ -1125,6 +1174,101 @@ public final class FileUtils
         }
     }
 
+    /**
+     * Writes file content provided by the specified writer into the specified file atomically.
+     * Content is written into a temporary file within the same directory first and then moved in place of the specified file, so other
+     * threads and processes never read partially written file. Directory is created if it doesn't exist yet.
+     *
+     * @param file   file to write
+     * @param writer file content writer
+     * @throws IOException if file cannot be written or replaced
+     */
+    public static void writeFileAtomically ( final File file, final FileContentWriter writer ) throws IOException
+    {
+        final File directory = file.getAbsoluteFile ().getParentFile ();
+        if ( !directory.exists () && !directory.mkdirs () )
+        {
+            throw new IOException ( "Unable to create directory: " + directory.getAbsolutePath () );
+        }
+        final File tempFile = File.createTempFile ( "file", ".tmp", directory );
+        try
+        {
+            final DataOutputStream out = new DataOutputStream ( new BufferedOutputStream ( new FileOutputStream ( tempFile ) ) );
+            try
+            {
+                writer.write ( out );
+            }
+            finally
+            {
+                out.close ();
+            }
+
+            // Rename doesn't replace existing files on some systems
+            if ( !tempFile.renameTo ( file ) )
+            {
+                file.delete ();
+                if ( !tempFile.renameTo ( file ) )
+                {
+                    throw new IOException ( "Unable to replace file: " + file.getAbsolutePath () );
+                }
+            }
+        }
+        finally
+        {
+            if ( tempFile.exists () )
+            {
+                tempFile.delete ();
+            }
+        }
+    }
+
+    /**
+     * Removes least recently used files accepted by the filter from the specified directory until their amount and total size fit
+     * the specified limits. File modification time is treated as its last usage time, so it should be updated whenever file is used.
+     *
+     * @param directory directory to trim
+     * @param filter    filter for files to trim, null to trim all files
+     * @param maxCount  maximum amount of files to keep, -1 for no limit
+     * @param maxSize   maximum total size of files to keep in bytes, -1 for no limit
+     * @return total size of files accepted by the filter which are left within the directory
+     */
+    public static long trimDirectory ( final File directory, final FileFilter filter, final int maxCount, final long maxSize )
+    {
+        final File[] files = listFiles ( directory, filter );
+        final long[] modified = new long[ files.length ];
+        final long[] length = new long[ files.length ];
+        final Integer[] order = new Integer[ files.length ];
+        long totalSize = 0;
+        for ( int i = 0; i < files.length; i++ )
+        {
+            modified[ i ] = files[ i ].lastModified ();
+            length[ i ] = files[ i ].length ();
+            order[ i ] = i;
+            totalSize += length[ i ];
+        }
+        int count = files.length;
+        if ( maxCount != -1 && count > maxCount || maxSize != -1 && totalSize > maxSize )
+        {
+            Arrays.sort ( order, new Comparator<Integer> ()
+            {
+                @Override
+                public int compare ( final Integer i1, final Integer i2 )
+                {
+                    return modified[ i1 ] < modified[ i2 ] ? -1 : modified[ i1 ] > modified[ i2 ] ? 1 : 0;
+                }
+            } );
+            for ( int i = 0; i < files.length && ( maxCount != -1 && count > maxCount || maxSize != -1 && totalSize > maxSize ); i++ )
+            {
+                if ( files[ order[ i ] ].delete () )
+                {
+                    count--;
+                    totalSize -= length[ order[ i ] ];
+                }
+            }
+        }
+        return totalSize;
+    }
+
     /**
      * Returns transformed file filter.
      *
@@ -1209,14 +1353,16 @@ public final class FileUtils
      */
     public static FileDescription createFileDescription ( final File file, final String fileSize )
     {
+        final FileMetadata metadata = getFileMetadata ( file );
+
         // File name
-        final String name = getDisplayFileName ( file );
+        final String name = metadata.getDisplayName ();
 
         // File or image size
-        final String size = file.isFile () ? getDisplayFileSize ( file ) + ( fileSize != null ? " (" + fileSize + ")" : "" ) : null;
+        final String size = metadata.isFile () ? metadata.getDisplaySize () + ( fileSize != null ? " (" + fileSize + ")" : "" ) : null;
 
         // File type description
-        final String description = getFileTypeDescription ( file );
+        final String description = metadata.getTypeDescription ();
 
         // Modification date
         //        long modified = file.lastModified ();
@@ -1233,8 +1379,7 @@ public final class FileUtils
      */
     public static String getDisplayFileSize ( final File file )
     {
-        // todo Cache this value
-        return getFileSizeString ( file.length () );
+        return getFileMetadata ( file ).getDisplaySize ();
     }
 
     /**
@@ -1246,8 +1391,7 @@ public final class FileUtils
      */
     public static String getDisplayFileSize ( final File file, final int digits )
     {
-        // todo Cache this value
-        return getFileSizeString ( file.length (), digits );
+        return getFileSizeString ( getFileMetadata ( file ).getLength (), digits );
     }
 
     /**
@@ -1869,6 +2013,9 @@ public final class FileUtils
     /**
      * Downloads file from the specified url to destination file and returns it if download succeed or null if not.
      * You can observe and manipulate the download process by providing a file download listener.
+     * <p/>
+     * File is downloaded in a single stream on the calling thread and interrupted download is not resumed.
+     * Use {@link com.alee.utils.file.FileDownloader} to download large files in parallel segments, resume or verify downloads.
      *
      * @param url         file source url
      * @param dstFile     destination file
@@ -2206,18 +2353,20 @@ public final class FileUtils
 
     /**
      * Clears cache for "isDrive" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearIsDriveCache ()
     {
-        isDriveCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "isDrive" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearIsDriveCache ( final String absolutePath )
     {
-        isDriveCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2228,33 +2377,25 @@ public final class FileUtils
      */
     public static boolean isDrive ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( isDriveCache.containsKey ( absolutePath ) )
-        {
-            return isDriveCache.get ( absolutePath );
-        }
-        else
-        {
-            final boolean isDrive = fsv.isDrive ( file );
-            isDriveCache.put ( absolutePath, isDrive );
-            return isDrive;
-        }
+        return getFileMetadata ( file ).isDrive ();
     }
 
     /**
      * Clears cache for "isComputer" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearIsComputerCache ()
     {
-        isComputerCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "isComputer" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearIsComputerCache ( final String absolutePath )
     {
-        isComputerCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2265,33 +2406,25 @@ public final class FileUtils
      */
     public static boolean isComputer ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( isComputerCache.containsKey ( absolutePath ) )
-        {
-            return isComputerCache.get ( absolutePath );
-        }
-        else
-        {
-            final boolean isComputer = fsv.isComputerNode ( file );
-            isComputerCache.put ( absolutePath, isComputer );
-            return isComputer;
-        }
+        return getFileMetadata ( file ).isComputer ();
     }
 
     /**
      * Clears cache for "isCdDrive" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearIsCdDriveCache ()
     {
-        isCdDriveCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "isCdDrive" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearIsCdDriveCache ( final String absolutePath )
     {
-        isCdDriveCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2304,52 +2437,25 @@ public final class FileUtils
      */
     public static boolean isCdDrive ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( isCdDriveCache.containsKey ( absolutePath ) )
-        {
-            return isCdDriveCache.get ( absolutePath );
-        }
-        else
-        {
-            final boolean isCdDrive;
-            if ( file.getParent () == null )
-            {
-                final String sysDes = getFileTypeDescription ( file );
-                final String description;
-                if ( sysDes != null )
-                {
-                    description = sysDes.toLowerCase ();
-                }
-                else
-                {
-                    description = file.getName ();
-                }
-                isCdDrive = description.contains ( "cd" ) || description.contains ( "dvd" ) ||
-                        description.contains ( "blu-ray" ) || description.contains ( "bluray" );
-            }
-            else
-            {
-                isCdDrive = false;
-            }
-            isCdDriveCache.put ( absolutePath, isCdDrive );
-            return isCdDrive;
-        }
+        return getFileMetadata ( file ).isCdDrive ();
     }
 
     /**
      * Clears cache for "isFile" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearIsFileCache ()
     {
-        isFileCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "isFile" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearIsFileCache ( final String absolutePath )
     {
-        isFileCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2360,36 +2466,25 @@ public final class FileUtils
      */
     public static boolean isFile ( final File file )
     {
-        if ( file == null )
-        {
-            return false;
-        }
-        else if ( isFileCache.containsKey ( file.getAbsolutePath () ) )
-        {
-            return isFileCache.get ( file.getAbsolutePath () );
-        }
-        else
-        {
-            final boolean isFile = file.isFile ();
-            isFileCache.put ( file.getAbsolutePath (), isFile );
-            return isFile;
-        }
+        return file != null && getFileMetadata ( file ).isFile ();
     }
 
     /**
      * Clears cache for "isDirectory" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearIsDirectoryCache ()
     {
-        isDirectoryCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "isDirectory" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearIsDirectoryCache ( final String absolutePath )
     {
-        isDirectoryCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2400,36 +2495,25 @@ public final class FileUtils
      */
     public static boolean isDirectory ( final File file )
     {
-        if ( file == null )
-        {
-            return false;
-        }
-        else if ( isDirectoryCache.containsKey ( file.getAbsolutePath () ) )
-        {
-            return isDirectoryCache.get ( file.getAbsolutePath () );
-        }
-        else
-        {
-            final boolean isDirectory = file.isDirectory ();
-            isDirectoryCache.put ( file.getAbsolutePath (), isDirectory );
-            return isDirectory;
-        }
+        return file != null && getFileMetadata ( file ).isDirectory ();
     }
 
     /**
      * Clears cache for "isHidden" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearIsHiddenCache ()
     {
-        isHiddenCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "isHidden" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearIsHiddenCache ( final String absolutePath )
     {
-        isHiddenCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2438,39 +2522,27 @@ public final class FileUtils
      * @param file file to process
      * @return true if the specified file is hidden, false otherwise
      */
-    public static boolean isHidden ( File file )
+    public static boolean isHidden ( final File file )
     {
-        if ( file == null )
-        {
-            return false;
-        }
-        else if ( isHiddenCache.containsKey ( file.getAbsolutePath () ) )
-        {
-            return isHiddenCache.get ( file.getAbsolutePath () );
-        }
-        else
-        {
-            file = file.getAbsoluteFile ();
-            final boolean isHidden = file.getParentFile () != null && file.isHidden ();
-            isHiddenCache.put ( file.getAbsolutePath (), isHidden );
-            return isHidden;
-        }
+        return file != null && getFileMetadata ( file ).isHidden ();
     }
 
     /**
      * Clears cache for "getFileDescription" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearFileDescriptionCache ()
     {
-        fileDescriptionCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "getFileDescription" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearFileDescriptionCache ( final String absolutePath )
     {
-        fileDescriptionCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2482,32 +2554,25 @@ public final class FileUtils
      */
     public static FileDescription getFileDescription ( final File file, final String fileSize )
     {
-        if ( fileDescriptionCache.containsKey ( file.getAbsolutePath () ) )
-        {
-            return fileDescriptionCache.get ( file.getAbsolutePath () );
-        }
-        else
-        {
-            final FileDescription fileDescription = createFileDescription ( file, fileSize );
-            fileDescriptionCache.put ( file.getAbsolutePath (), fileDescription );
-            return fileDescription;
-        }
+        return getFileMetadata ( file ).getDescription ( fileSize );
     }
 
     /**
      * Clears cache for "getDisplayFileName" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearDisplayFileNameCache ()
     {
-        displayFileNameCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "getDisplayFileName" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearDisplayFileNameCache ( final String absolutePath )
     {
-        displayFileNameCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2518,37 +2583,25 @@ public final class FileUtils
      */
     public static String getDisplayFileName ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileNameCache.containsKey ( absolutePath ) )
-        {
-            return displayFileNameCache.get ( absolutePath );
-        }
-        else
-        {
-            String name = fsv.getSystemDisplayName ( file );
-            if ( name == null || name.trim ().equals ( "" ) )
-            {
-                name = getFileTypeDescription ( file );
-            }
-            displayFileNameCache.put ( absolutePath, name );
-            return name;
-        }
+        return getFileMetadata ( file ).getDisplayName ();
     }
 
     /**
      * Clears cache for "getDisplayFileCreationDate" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearDisplayFileCreationDateCache ()
     {
-        displayFileCreationDateCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "getDisplayFileCreationDate" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearDisplayFileCreationDateCache ( final String absolutePath )
     {
-        displayFileCreationDateCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2559,33 +2612,25 @@ public final class FileUtils
      */
     public static String getDisplayFileCreationDate ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileCreationDateCache.containsKey ( absolutePath ) )
-        {
-            return displayFileCreationDateCache.get ( absolutePath );
-        }
-        else
-        {
-            final String date = sdf.format ( new Date ( file.lastModified () ) );
-            displayFileCreationDateCache.put ( absolutePath, date );
-            return date;
-        }
+        return getFileMetadata ( file ).getDisplayDate ();
     }
 
     /**
      * Clears cache for "getDisplayFileModificationDate" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearDisplayFileModificationDateCache ()
     {
-        displayFileModificationDateCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "getDisplayFileModificationDate" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearDisplayFileModificationDateCache ( final String absolutePath )
     {
-        displayFileModificationDateCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2596,33 +2641,39 @@ public final class FileUtils
      */
     public static String getDisplayFileModificationDate ( final File file )
     {
-        final String absolutePath = file.getAbsolutePath ();
-        if ( displayFileModificationDateCache.containsKey ( absolutePath ) )
-        {
-            return displayFileModificationDateCache.get ( absolutePath );
-        }
-        else
+        return getFileMetadata ( file ).getDisplayDate ();
+    }
+
+    /**
+     * Returns date to display.
+     *
+     * @param time date time
+     * @return date to display
+     */
+    public static String getDisplayDate ( final long time )
+    {
+        synchronized ( sdf )
         {
-            final String date = sdf.format ( new Date ( file.lastModified () ) );
-            displayFileModificationDateCache.put ( absolutePath, date );
-            return date;
+            return sdf.format ( new Date ( time ) );
         }
     }
 
     /**
      * Clears cache for "getFileTypeDescription" method.
+     * Since all file information is cached within single metadata record this clears the whole file metadata cache.
      */
     public static void clearFileTypeDescriptionCache ()
     {
-        fileTypeDescriptionCache.clear ();
+        clearFileMetadataCache ();
     }
 
     /**
      * Clears cache for "getFileTypeDescription" method for specified file path.
+     * Since all file information is cached within single metadata record this clears all cached information about that file.
      */
     public static void clearFileTypeDescriptionCache ( final String absolutePath )
     {
-        fileTypeDescriptionCache.remove ( absolutePath );
+        clearFileCaches ( absolutePath );
     }
 
     /**
@@ -2633,24 +2684,7 @@ public final class FileUtils
      */
     public static String getFileTypeDescription ( final File file )
     {
-        if ( file == null )
-        {
-            return "";
-        }
-        else
-        {
-            final String absolutePath = file.getAbsolutePath ();
-            if ( fileTypeDescriptionCache.containsKey ( absolutePath ) )
-            {
-                return fileTypeDescriptionCache.get ( absolutePath );
-            }
-            else
-            {
-                final String description = fsv.getSystemTypeDescription ( file );
-                fileTypeDescriptionCache.put ( absolutePath, description );
-                return description;
-            }
-        }
+        return file != null ? getFileMetadata ( file ).getTypeDescription () : "";
     }
 
     /**
@@ -2743,8 +2777,6 @@ public final class FileUtils
             return null;
         }
 
-        // todo Properly lock operations for all cached file methods
-
         // Retrieving required icon extension or type
         String extension;
         if ( !isDirectory ( file ) )
@@ -2777,17 +2809,10 @@ public final class FileUtils
         final String key = getStandartFileIconCacheKey ( extension, large, transparency, enabled );
 
         // Retrieving icon
-        final boolean contains;
-        synchronized ( extensionIconsCacheLock )
+        final ImageIcon cached = extensionIconsCache.get ( key );
+        if ( cached != null )
         {
-            contains = extensionIconsCache.containsKey ( key );
-        }
-        if ( contains )
-        {
-            synchronized ( extensionIconsCacheLock )
-            {
-                return extensionIconsCache.get ( key );
-            }
+            return cached;
         }
         else
         {
@@ -2803,25 +2828,16 @@ public final class FileUtils
             if ( enabled )
             {
                 // Cache enabled icon
-                synchronized ( extensionIconsCacheLock )
-                {
-                    extensionIconsCache.put ( key, icon );
-                }
+                extensionIconsCache.put ( key, icon );
             }
             else
             {
                 // Cache enabled icon
-                synchronized ( extensionIconsCacheLock )
-                {
-                    extensionIconsCache.put ( getStandartFileIconCacheKey ( extension, large, transparency, true ), icon );
-                }
+                extensionIconsCache.put ( getStandartFileIconCacheKey ( extension, large, transparency, true ), icon );
 
                 // Cache disabled icon
                 icon = ImageUtils.createDisabledCopy ( icon );
-                synchronized ( extensionIconsCacheLock )
-                {
-                    extensionIconsCache.put ( key, icon );
-                }
+                extensionIconsCache.put ( key, icon );
             }
 
             return icon;
@@ -2882,29 +2898,24 @@ public final class FileUtils
     public static ImageIcon getIconResource ( final Class nearClass, final String resource, final float transparency )
     {
         final String key = nearClass.getCanonicalName () + StyleConstants.SEPARATOR + resource + StyleConstants.SEPARATOR + transparency;
-        if ( resourceIconsCache.containsKey ( key ) )
+        final ImageIcon cached = resourceIconsCache.get ( key );
+        return cached != null ? cached : resourceIconsCache.load ( key, new DataProvider<ImageIcon> ()
         {
-            return resourceIconsCache.get ( key );
-        }
-        else
-        {
-            final URL url = nearClass.getResource ( resource );
-            ImageIcon icon;
-            if ( url != null )
+            @Override
+            public ImageIcon provide ()
             {
-                icon = new ImageIcon ( url );
-                if ( transparency < 1f )
+                final URL url = nearClass.getResource ( resource );
+                if ( url != null )
                 {
-                    icon = ImageUtils.createTransparentCopy ( icon, transparency );
+                    final ImageIcon icon = new ImageIcon ( url );
+                    return transparency < 1f ? ImageUtils.createTransparentCopy ( icon, transparency ) : icon;
+                }
+                else
+                {
+                    return null;
                 }
             }
-            else
-            {
-                icon = null;
-            }
-            resourceIconsCache.put ( key, icon );
-            return icon;
-        }
+        } );
     }
 
     /**
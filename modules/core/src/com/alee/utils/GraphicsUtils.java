@@ -440,8 +440,8 @@ public final class GraphicsUtils
         drawShade ( g2d, shape, StyleConstants.shadeType, shadeColor, width, clip, round );
     }
 
-    public static void drawShade ( final Graphics2D g2d, final Shape shape, final ShadeType shadeType, final Color shadeColor, int width,
-                                   final Shape clip, final boolean round )
+    public static void drawShade ( final Graphics2D g2d, final Shape shape, final ShadeType shadeType, final Color shadeColor,
+                                   final int width, final Shape clip, final boolean round )
     {
         // Ignoring shade with width less than 2
         if ( width <= 1 )
@@ -449,8 +449,33 @@ public final class GraphicsUtils
             return;
         }
 
+        // Painting pre-rendered shade if possible
+        if ( StyleConstants.cacheShades && ShadeCache.drawShade ( g2d, shape, shadeType, shadeColor, width, clip, round ) )
+        {
+            return;
+        }
+
+        // Painting shade directly
+        paintShade ( g2d, shape, shadeType, shadeColor, width, clip, true, round );
+    }
+
+    /**
+     * Paints shade directly using specified graphics context.
+     *
+     * @param g2d        graphics context
+     * @param shape      shade shape
+     * @param shadeType  shade type
+     * @param shadeColor shade color, null means current graphics color
+     * @param width      shade width
+     * @param clip       shade clip
+     * @param subtract   whether shape should be subtracted from clip when shade clip is not specified or not
+     * @param round      whether shade should have round caps or not
+     */
+    static void paintShade ( final Graphics2D g2d, final Shape shape, final ShadeType shadeType, final Color shadeColor, int width,
+                             final Shape clip, final boolean subtract, final boolean round )
+    {
         // Applying clip
-        final Shape oldClip = clip != null ? intersectClip ( g2d, clip ) : subtractClip ( g2d, shape );
+        final Shape oldClip = clip != null ? intersectClip ( g2d, clip ) : subtractClip ( g2d, shape, subtract );
 
         // Saving composite
         final Composite oldComposite = g2d.getComposite ();
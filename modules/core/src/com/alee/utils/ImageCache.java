@@ -0,0 +1,662 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils;
+
+import com.alee.utils.swing.DataProvider;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded thread-safe cache for images and icons.
+ * <p/>
+ * Cache keeps recently used images strongly referenced until their total size in bytes exceeds the specified limit. Least recently used
+ * images are then moved into the second tier where they are referenced softly and will only be collected when memory is required.
+ * Images found in the second tier are moved back into the first one.
+ * <p/>
+ * Cache is split into several independently locked stripes so concurrent loaders do not block each other unless their keys share the
+ * same stripe. Values are loaded outside of the stripe lock, so slow loading never blocks other keys within the same stripe. Null values
+ * are supported and cached as well, each of them is weighted as the smallest possible value so they are still limited by the cache size.
+ *
+ * @param <K> key type
+ * @param <V> image or icon type
+ * @author Mikle Garin
+ */
+
+public final class ImageCache<K, V>
+{
+    /**
+     * Default amount of cache stripes.
+     */
+    private static final int DEFAULT_STRIPES = 8;
+
+    /**
+     * Minimum weight of the cached value in bytes.
+     * Cached null values have this weight as well.
+     */
+    private static final int MINIMUM_WEIGHT = 64;
+
+    /**
+     * Cached null value replacement.
+     */
+    private static final Object NULL = new Object ();
+
+    /**
+     * Cache name.
+     */
+    private final String name;
+
+    /**
+     * Cache stripes.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * Maximum total weight of strongly referenced values in bytes.
+     */
+    private volatile long maxWeight;
+
+    /**
+     * Cache statistics.
+     */
+    private final AtomicLong hits = new AtomicLong ( 0 );
+    private final AtomicLong misses = new AtomicLong ( 0 );
+    private final AtomicLong evictions = new AtomicLong ( 0 );
+    private final AtomicLong residentBytes = new AtomicLong ( 0 );
+
+    /**
+     * Constructs new image cache.
+     *
+     * @param name      cache name
+     * @param maxWeight maximum total weight of strongly referenced values in bytes
+     */
+    public ImageCache ( final String name, final long maxWeight )
+    {
+        this ( name, maxWeight, DEFAULT_STRIPES );
+    }
+
+    /**
+     * Constructs new image cache.
+     *
+     * @param name      cache name
+     * @param maxWeight maximum total weight of strongly referenced values in bytes
+     * @param stripes   amount of independently locked cache stripes, rounded up to the power of two
+     */
+    @SuppressWarnings ("unchecked")
+    public ImageCache ( final String name, final long maxWeight, final int stripes )
+    {
+        super ();
+        this.name = name;
+        this.maxWeight = maxWeight;
+        int count = 1;
+        while ( count < stripes )
+        {
+            count <<= 1;
+        }
+        this.stripes = ( Stripe[] ) new ImageCache.Stripe[ count ];
+        for ( int i = 0; i < count; i++ )
+        {
+            this.stripes[ i ] = new Stripe ();
+        }
+    }
+
+    /**
+     * Returns cache name.
+     *
+     * @return cache name
+     */
+    public String getName ()
+    {
+        return name;
+    }
+
+    /**
+     * Returns maximum total weight of strongly referenced values in bytes.
+     *
+     * @return maximum total weight of strongly referenced values in bytes
+     */
+    public long getMaxWeight ()
+    {
+        return maxWeight;
+    }
+
+    /**
+     * Sets maximum total weight of strongly referenced values in bytes.
+     * Values exceeding new limit are moved into the soft tier right away.
+     *
+     * @param maxWeight new maximum total weight of strongly referenced values in bytes
+     */
+    public void setMaxWeight ( final long maxWeight )
+    {
+        this.maxWeight = maxWeight;
+        for ( final Stripe stripe : stripes )
+        {
+            synchronized ( stripe )
+            {
+                stripe.evict ();
+            }
+        }
+    }
+
+    /**
+     * Returns whether cache contains value for the specified key or not.
+     * Note that null values are also considered as contained.
+     *
+     * @param key value key
+     * @return true if cache contains value for the specified key, false otherwise
+     */
+    public boolean contains ( final K key )
+    {
+        final Stripe stripe = getStripe ( key );
+        synchronized ( stripe )
+        {
+            return stripe.lookup ( key ) != null;
+        }
+    }
+
+    /**
+     * Returns cached value for the specified key or null if it is not cached.
+     *
+     * @param key value key
+     * @return cached value for the specified key or null if it is not cached
+     */
+    public V get ( final K key )
+    {
+        final Stripe stripe = getStripe ( key );
+        final Object value;
+        synchronized ( stripe )
+        {
+            value = stripe.lookup ( key );
+        }
+        if ( value != null )
+        {
+            hits.incrementAndGet ();
+        }
+        else
+        {
+            misses.incrementAndGet ();
+        }
+        return unmask ( value );
+    }
+
+    /**
+     * Returns cached value for the specified key or the one loaded by the specified provider.
+     * Provider is called outside of the cache lock, see {@link #load(Object, com.alee.utils.swing.DataProvider)} method for details.
+     *
+     * @param key      value key
+     * @param provider value provider
+     * @return cached value for the specified key or the one loaded by the specified provider
+     */
+    public V get ( final K key, final DataProvider<V> provider )
+    {
+        final Stripe stripe = getStripe ( key );
+        final Object value;
+        synchronized ( stripe )
+        {
+            value = stripe.lookup ( key );
+        }
+        if ( value != null )
+        {
+            hits.incrementAndGet ();
+            return unmask ( value );
+        }
+        misses.incrementAndGet ();
+        return load ( stripe, key, provider );
+    }
+
+    /**
+     * Returns cached value for the specified key or the one loaded by the specified provider without updating cache statistics.
+     * It is meant to be used after {@link #get(Object)} returned null to avoid creating provider when value is already cached.
+     * <p/>
+     * Provider is called outside of the cache lock, so the same value might be loaded by several threads at once, but only the first
+     * loaded value gets cached and returned to all of them.
+     *
+     * @param key      value key
+     * @param provider value provider
+     * @return cached value for the specified key or the one loaded by the specified provider
+     */
+    public V load ( final K key, final DataProvider<V> provider )
+    {
+        final Stripe stripe = getStripe ( key );
+        final Object value;
+        synchronized ( stripe )
+        {
+            value = stripe.lookup ( key );
+        }
+        return value != null ? unmask ( value ) : load ( stripe, key, provider );
+    }
+
+    /**
+     * Loads value using the specified provider and caches it unless another value was cached under the same key meanwhile.
+     *
+     * @param stripe   stripe for the specified key
+     * @param key      value key
+     * @param provider value provider
+     * @return cached value for the specified key
+     */
+    private V load ( final Stripe stripe, final K key, final DataProvider<V> provider )
+    {
+        final V loaded = provider.provide ();
+        synchronized ( stripe )
+        {
+            final Object value = stripe.lookup ( key );
+            if ( value != null )
+            {
+                return unmask ( value );
+            }
+            stripe.put ( key, loaded );
+            return loaded;
+        }
+    }
+
+    /**
+     * Caches value under the specified key.
+     *
+     * @param key   value key
+     * @param value value to cache, might be null
+     */
+    public void put ( final K key, final V value )
+    {
+        final Stripe stripe = getStripe ( key );
+        synchronized ( stripe )
+        {
+            stripe.put ( key, value );
+        }
+    }
+
+    /**
+     * Removes value cached under the specified key and returns it.
+     *
+     * @param key value key
+     * @return removed value or null if there was none
+     */
+    public V remove ( final K key )
+    {
+        final Stripe stripe = getStripe ( key );
+        synchronized ( stripe )
+        {
+            return unmask ( stripe.remove ( key ) );
+        }
+    }
+
+    /**
+     * Removes all cached values.
+     */
+    public void clear ()
+    {
+        for ( final Stripe stripe : stripes )
+        {
+            synchronized ( stripe )
+            {
+                stripe.clear ();
+            }
+        }
+    }
+
+    /**
+     * Returns amount of cached values including softly referenced ones.
+     *
+     * @return amount of cached values including softly referenced ones
+     */
+    public int size ()
+    {
+        int size = 0;
+        for ( final Stripe stripe : stripes )
+        {
+            synchronized ( stripe )
+            {
+                stripe.expungeCollected ();
+                size += stripe.strong.size () + stripe.soft.size ();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns amount of cache hits.
+     *
+     * @return amount of cache hits
+     */
+    public long getHits ()
+    {
+        return hits.get ();
+    }
+
+    /**
+     * Returns amount of cache misses.
+     *
+     * @return amount of cache misses
+     */
+    public long getMisses ()
+    {
+        return misses.get ();
+    }
+
+    /**
+     * Returns amount of values moved into the soft tier due to cache size limit.
+     *
+     * @return amount of values moved into the soft tier due to cache size limit
+     */
+    public long getEvictions ()
+    {
+        return evictions.get ();
+    }
+
+    /**
+     * Returns total weight of strongly referenced values in bytes.
+     *
+     * @return total weight of strongly referenced values in bytes
+     */
+    public long getResidentBytes ()
+    {
+        return residentBytes.get ();
+    }
+
+    /**
+     * Resets cache statistics.
+     */
+    public void resetStatistics ()
+    {
+        hits.set ( 0 );
+        misses.set ( 0 );
+        evictions.set ( 0 );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString ()
+    {
+        return name + " [size=" + size () + ", resident=" + getResidentBytes () + "/" + maxWeight + " bytes, hits=" + getHits () +
+                ", misses=" + getMisses () + ", evictions=" + getEvictions () + "]";
+    }
+
+    /**
+     * Returns stripe for the specified key.
+     *
+     * @param key value key
+     * @return stripe for the specified key
+     */
+    private Stripe getStripe ( final K key )
+    {
+        final int h = key != null ? key.hashCode () : 0;
+        return stripes[ ( h ^ ( h >>> 16 ) ) & ( stripes.length - 1 ) ];
+    }
+
+    /**
+     * Returns actual value for the cached one.
+     *
+     * @param value cached value
+     * @return actual value
+     */
+    @SuppressWarnings ("unchecked")
+    private V unmask ( final Object value )
+    {
+        return value == NULL ? null : ( V ) value;
+    }
+
+    /**
+     * Returns approximate value size in bytes.
+     *
+     * @param value image or icon
+     * @return approximate value size in bytes
+     */
+    public static int getWeight ( final Object value )
+    {
+        final long weight;
+        if ( value instanceof BufferedImage )
+        {
+            final BufferedImage image = ( BufferedImage ) value;
+            weight = ( long ) image.getWidth () * image.getHeight () * Math.max ( 1, image.getColorModel ().getPixelSize () / 8 );
+        }
+        else if ( value instanceof Image )
+        {
+            final Image image = ( Image ) value;
+            weight = 4L * Math.max ( 0, image.getWidth ( null ) ) * Math.max ( 0, image.getHeight ( null ) );
+        }
+        else if ( value instanceof ImageIcon )
+        {
+            final ImageIcon icon = ( ImageIcon ) value;
+            weight = icon.getImage () != null ? getWeight ( icon.getImage () ) : 0;
+        }
+        else if ( value instanceof Icon )
+        {
+            final Icon icon = ( Icon ) value;
+            weight = 4L * Math.max ( 0, icon.getIconWidth () ) * Math.max ( 0, icon.getIconHeight () );
+        }
+        else
+        {
+            weight = 0;
+        }
+        return ( int ) Math.min ( Integer.MAX_VALUE, Math.max ( MINIMUM_WEIGHT, weight ) );
+    }
+
+    /**
+     * Single independently locked part of the cache.
+     */
+    private final class Stripe
+    {
+        /**
+         * Strongly referenced values in access order.
+         */
+        private final LinkedHashMap<K, StrongEntry> strong = new LinkedHashMap<K, StrongEntry> ( 16, 0.75f, true );
+
+        /**
+         * Softly referenced values.
+         */
+        private final Map<K, SoftEntry> soft = new HashMap<K, SoftEntry> ();
+
+        /**
+         * Queue of collected soft values.
+         */
+        private final ReferenceQueue<Object> queue = new ReferenceQueue<Object> ();
+
+        /**
+         * Total weight of strongly referenced values.
+         */
+        private long weight = 0;
+
+        /**
+         * Returns cached value, null value replacement or null if nothing is cached.
+         *
+         * @param key value key
+         * @return cached value, null value replacement or null if nothing is cached
+         */
+        public Object lookup ( final K key )
+        {
+            final StrongEntry entry = strong.get ( key );
+            if ( entry != null )
+            {
+                return entry.value;
+            }
+            expungeCollected ();
+            final SoftEntry softEntry = soft.remove ( key );
+            if ( softEntry != null )
+            {
+                // Moving value back into strongly referenced tier
+                final Object value = softEntry.get ();
+                if ( value != null )
+                {
+                    putStrong ( key, value );
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Caches value.
+         *
+         * @param key   value key
+         * @param value value to cache
+         */
+        public void put ( final K key, final V value )
+        {
+            remove ( key );
+            putStrong ( key, value != null ? value : NULL );
+        }
+
+        /**
+         * Caches value in strongly referenced tier.
+         *
+         * @param key   value key
+         * @param value value to cache
+         */
+        private void putStrong ( final K key, final Object value )
+        {
+            final int w = value != NULL ? getWeight ( value ) : MINIMUM_WEIGHT;
+            strong.put ( key, new StrongEntry ( value, w ) );
+            weight += w;
+            residentBytes.addAndGet ( w );
+            evict ();
+        }
+
+        /**
+         * Removes cached value.
+         *
+         * @param key value key
+         * @return removed value or null if there was none
+         */
+        public Object remove ( final K key )
+        {
+            final StrongEntry entry = strong.remove ( key );
+            if ( entry != null )
+            {
+                weight -= entry.weight;
+                residentBytes.addAndGet ( -entry.weight );
+                return entry.value;
+            }
+            final SoftEntry softEntry = soft.remove ( key );
+            return softEntry != null ? softEntry.get () : null;
+        }
+
+        /**
+         * Moves least recently used values into the soft tier until stripe fits its part of the cache size limit.
+         * The most recently used value is always kept even if it doesn't fit the limit by itself.
+         */
+        public void evict ()
+        {
+            final long limit = maxWeight / stripes.length;
+            final Iterator<Map.Entry<K, StrongEntry>> iterator = strong.entrySet ().iterator ();
+            while ( weight > limit && strong.size () > 1 )
+            {
+                final Map.Entry<K, StrongEntry> eldest = iterator.next ();
+                final StrongEntry entry = eldest.getValue ();
+                iterator.remove ();
+                weight -= entry.weight;
+                residentBytes.addAndGet ( -entry.weight );
+                if ( entry.value != NULL )
+                {
+                    soft.put ( eldest.getKey (), new SoftEntry ( eldest.getKey (), entry.value, queue ) );
+                }
+                evictions.incrementAndGet ();
+            }
+        }
+
+        /**
+         * Removes collected soft values.
+         */
+        public void expungeCollected ()
+        {
+            Reference<?> reference;
+            while ( ( reference = queue.poll () ) != null )
+            {
+                final Object key = ( ( SoftEntry ) reference ).key;
+                if ( soft.get ( key ) == reference )
+                {
+                    soft.remove ( key );
+                }
+            }
+        }
+
+        /**
+         * Removes all cached values.
+         */
+        public void clear ()
+        {
+            residentBytes.addAndGet ( -weight );
+            weight = 0;
+            strong.clear ();
+            soft.clear ();
+            expungeCollected ();
+        }
+    }
+
+    /**
+     * Strongly referenced cache entry.
+     */
+    private static final class StrongEntry
+    {
+        /**
+         * Cached value.
+         */
+        private final Object value;
+
+        /**
+         * Cached value weight.
+         */
+        private final int weight;
+
+        /**
+         * Constructs new strongly referenced cache entry.
+         *
+         * @param value  cached value
+         * @param weight cached value weight
+         */
+        public StrongEntry ( final Object value, final int weight )
+        {
+            super ();
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Softly referenced cache entry.
+     */
+    private static final class SoftEntry extends SoftReference<Object>
+    {
+        /**
+         * Value key.
+         */
+        private final Object key;
+
+        /**
+         * Constructs new softly referenced cache entry.
+         *
+         * @param key   value key
+         * @param value cached value
+         * @param queue collected values queue
+         */
+        public SoftEntry ( final Object key, final Object value, final ReferenceQueue<Object> queue )
+        {
+            super ( value, queue );
+            this.key = key;
+        }
+    }
+}
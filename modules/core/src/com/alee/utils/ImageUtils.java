@@ -21,9 +21,14 @@ import com.alee.global.GlobalConstants;
 import com.alee.global.StyleConstants;
 import com.alee.graphics.filters.ShadowFilter;
 import com.alee.managers.log.Log;
+import com.alee.utils.swing.DataProvider;
+import com.alee.utils.swing.IconRegistry;
 import com.mortennobel.imagescaling.ResampleOp;
 
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.GeneralPath;
@@ -32,9 +37,8 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Mikle Garin
@@ -270,7 +274,7 @@ public final class ImageUtils
      * Merges few images into single one
      */
 
-    private static final Map<String, ImageIcon> mergedIconsCache = new HashMap<String, ImageIcon> ();
+    private static final ImageCache<String, ImageIcon> mergedIconsCache = new ImageCache<String, ImageIcon> ( "mergedIcons", 8 * 1024 * 1024 );
 
     public static void clearMergedIconsCache ()
     {
@@ -285,9 +289,13 @@ public final class ImageUtils
     public static ImageIcon mergeIcons ( final String key, final List<ImageIcon> icons )
     {
         // Icon is cached already
-        if ( key != null && mergedIconsCache.containsKey ( key ) )
+        if ( key != null )
         {
-            return mergedIconsCache.get ( key );
+            final ImageIcon cached = mergedIconsCache.get ( key );
+            if ( cached != null )
+            {
+                return cached;
+            }
         }
 
         // No icons given
@@ -325,9 +333,13 @@ public final class ImageUtils
     public static ImageIcon mergeIcons ( final String key, final ImageIcon... icons )
     {
         // Icon is cached already
-        if ( key != null && mergedIconsCache.containsKey ( key ) )
+        if ( key != null )
         {
-            return mergedIconsCache.get ( key );
+            final ImageIcon cached = mergedIconsCache.get ( key );
+            if ( cached != null )
+            {
+                return cached;
+            }
         }
 
         // No icons given
@@ -357,7 +369,8 @@ public final class ImageUtils
         return icon;
     }
 
-    private static final Map<String, BufferedImage> mergedImagesCache = new HashMap<String, BufferedImage> ();
+    private static final ImageCache<String, BufferedImage> mergedImagesCache =
+            new ImageCache<String, BufferedImage> ( "mergedImages", 8 * 1024 * 1024 );
 
     public static void clearMergedImagesCache ()
     {
@@ -372,9 +385,13 @@ public final class ImageUtils
     public static BufferedImage mergeImages ( final String key, final Image... images )
     {
         // Image is cached already
-        if ( key != null && mergedImagesCache.containsKey ( key ) )
+        if ( key != null )
         {
-            return mergedImagesCache.get ( key );
+            final BufferedImage cached = mergedImagesCache.get ( key );
+            if ( cached != null )
+            {
+                return cached;
+            }
         }
 
         // No images given
@@ -642,8 +659,8 @@ public final class ImageUtils
      * Creates color chooser icon
      */
 
-    public static final ImageIcon coloredChooserIcon = new ImageIcon ( ImageUtils.class.getResource ( "icons/color/color.png" ) );
-    public static final ImageIcon transarentChooserIcon = new ImageIcon ( ImageUtils.class.getResource ( "icons/color/transparent.png" ) );
+    public static final ImageIcon coloredChooserIcon = IconRegistry.getIcon ( ImageUtils.class, "icons/color/color.png" );
+    public static final ImageIcon transarentChooserIcon = IconRegistry.getIcon ( ImageUtils.class, "icons/color/transparent.png" );
 
     public static ImageIcon createColorChooserIcon ( final Color color )
     {
@@ -725,6 +742,13 @@ public final class ImageUtils
 
     public static ImageIcon createThumbnailIcon ( final String src, final int size )
     {
+        // Decoding reduced image right away to avoid loading huge images into memory
+        final ImageIcon thumbnail = createSubsampledThumbnailIcon ( new File ( src ), size );
+        if ( thumbnail != null )
+        {
+            return thumbnail;
+        }
+
         // Retrieving image to create thumbnail from
         final ImageIcon icon = getImageIcon ( src, false );
         if ( icon != null )
@@ -746,6 +770,84 @@ public final class ImageUtils
         }
     }
 
+    /**
+     * Returns thumbnail icon decoded from the specified image file with subsampling.
+     * Only every n-th pixel of the source image is decoded so that image still has at least twice the thumbnail size, which is a lot
+     * faster and requires a lot less memory than decoding the whole image for large photos.
+     * Thumbnail description contains original image size.
+     *
+     * @param file image file
+     * @param size maximum thumbnail side length
+     * @return thumbnail icon decoded from the specified image file with subsampling or null if it cannot be decoded this way
+     */
+    public static ImageIcon createSubsampledThumbnailIcon ( final File file, final int size )
+    {
+        if ( !file.isFile () )
+        {
+            return null;
+        }
+        ImageInputStream iis = null;
+        ImageReader reader = null;
+        try
+        {
+            iis = ImageIO.createImageInputStream ( file );
+            if ( iis == null )
+            {
+                return null;
+            }
+            final Iterator<ImageReader> readers = ImageIO.getImageReaders ( iis );
+            if ( !readers.hasNext () )
+            {
+                return null;
+            }
+            reader = readers.next ();
+            reader.setInput ( iis, true, true );
+
+            // Decoding image with subsampling
+            final int width = reader.getWidth ( 0 );
+            final int height = reader.getHeight ( 0 );
+            final ImageReadParam param = reader.getDefaultReadParam ();
+            final int step = Math.max ( 1, Math.max ( width, height ) / ( size * 2 ) );
+            if ( step > 1 )
+            {
+                param.setSourceSubsampling ( step, step, 0, 0 );
+            }
+            final BufferedImage image = reader.read ( 0, param );
+
+            // Creating thumbnail
+            final BufferedImage preview = createPreviewImage ( image, size );
+            if ( preview == null )
+            {
+                return null;
+            }
+            final ImageIcon thumbnail = new ImageIcon ( preview );
+            thumbnail.setDescription ( width + "x" + height );
+            return thumbnail;
+        }
+        catch ( final Throwable e )
+        {
+            return null;
+        }
+        finally
+        {
+            if ( reader != null )
+            {
+                reader.dispose ();
+            }
+            if ( iis != null )
+            {
+                try
+                {
+                    iis.close ();
+                }
+                catch ( final IOException e )
+                {
+                    Log.error ( ImageUtils.class, e );
+                }
+            }
+        }
+    }
+
     public static ImageIcon createPreviewIcon ( final ImageIcon image, final int size )
     {
         return createPreviewIcon ( image.getImage (), size );
@@ -850,11 +952,16 @@ public final class ImageUtils
      * Image read methods
      */
 
-    private static final Map<String, ImageIcon> iconsCache = new HashMap<String, ImageIcon> ();
+    private static final ImageCache<String, ImageIcon> iconsCache = new ImageCache<String, ImageIcon> ( "icons", 32 * 1024 * 1024 );
+
+    public static ImageCache<String, ImageIcon> getImagesCache ()
+    {
+        return iconsCache;
+    }
 
     public static boolean isImageCached ( final String src )
     {
-        return iconsCache.containsKey ( src ) && iconsCache.get ( src ) != null;
+        return iconsCache.contains ( src ) && iconsCache.get ( src ) != null;
     }
 
     public static void setImageCache ( final String src, final ImageIcon imageIcon )
@@ -869,13 +976,10 @@ public final class ImageUtils
 
     public static void clearImageCache ( final String src )
     {
-        if ( iconsCache.size () > 0 && iconsCache.containsKey ( src ) )
+        final ImageIcon imageIcon = iconsCache.remove ( src );
+        if ( imageIcon != null && imageIcon.getImage () != null )
         {
-            if ( iconsCache.get ( src ) != null && iconsCache.get ( src ).getImage () != null )
-            {
-                iconsCache.get ( src ).getImage ().flush ();
-            }
-            iconsCache.remove ( src );
+            imageIcon.getImage ().flush ();
         }
     }
 
@@ -898,30 +1002,20 @@ public final class ImageUtils
     {
         if ( src != null && !src.trim ().equals ( "" ) )
         {
-            final ImageIcon imageIcon;
-            if ( useCache && iconsCache.containsKey ( src ) )
+            if ( useCache )
             {
-                imageIcon = iconsCache.get ( src );
-                if ( imageIcon != null )
-                {
-                    return imageIcon;
-                }
-                else
+                final ImageIcon cached = iconsCache.get ( src );
+                if ( cached != null )
                 {
-                    // todo This might cause performance issues
-                    iconsCache.remove ( src );
-                    return getImageIcon ( src, useCache );
+                    return cached;
                 }
             }
-            else
+            final ImageIcon imageIcon = createImageIcon ( src );
+            if ( useCache )
             {
-                imageIcon = createImageIcon ( src );
-                if ( useCache )
-                {
-                    iconsCache.put ( src, imageIcon );
-                }
-                return imageIcon;
+                iconsCache.put ( src, imageIcon );
             }
+            return imageIcon;
         }
         else
         {
@@ -958,30 +1052,20 @@ public final class ImageUtils
         if ( resource != null )
         {
             final String key = resource.toString ();
-            final ImageIcon imageIcon;
-            if ( useCache && iconsCache.containsKey ( key ) )
+            if ( useCache )
             {
-                imageIcon = iconsCache.get ( key );
-                if ( imageIcon != null )
-                {
-                    return imageIcon;
-                }
-                else
+                final ImageIcon cached = iconsCache.get ( key );
+                if ( cached != null )
                 {
-                    // todo This might cause performance issues
-                    iconsCache.remove ( key );
-                    return getImageIcon ( key, useCache );
+                    return cached;
                 }
             }
-            else
+            final ImageIcon imageIcon = new ImageIcon ( resource );
+            if ( useCache )
             {
-                imageIcon = new ImageIcon ( resource );
-                if ( useCache )
-                {
-                    iconsCache.put ( key, imageIcon );
-                }
-                return imageIcon;
+                iconsCache.put ( key, imageIcon );
             }
+            return imageIcon;
         }
         else
         {
@@ -1104,35 +1188,34 @@ public final class ImageUtils
      * Scaled preview creation
      */
 
-    private static final Map<String, ImageIcon> sizedPreviewCache = new HashMap<String, ImageIcon> ();
+    private static final ImageCache<String, ImageIcon> sizedPreviewCache =
+            new ImageCache<String, ImageIcon> ( "sizedPreviews", 16 * 1024 * 1024 );
 
     public static ImageIcon getSizedImagePreview ( final String src, final int length, final boolean drawBorder )
     {
-        if ( sizedPreviewCache.containsKey ( length + IMAGE_CACHE_SEPARATOR + src ) )
-        {
-            return sizedPreviewCache.get ( length + IMAGE_CACHE_SEPARATOR + src );
-        }
-        else
+        final String key = length + IMAGE_CACHE_SEPARATOR + src;
+        final ImageIcon cached = sizedPreviewCache.get ( key );
+        return cached != null ? cached : sizedPreviewCache.load ( key, new DataProvider<ImageIcon> ()
         {
-            final ImageIcon icon = createThumbnailIcon ( src, length );
-            final ImageIcon sized = createSizedImagePreview ( icon, length, drawBorder );
-            sizedPreviewCache.put ( length + IMAGE_CACHE_SEPARATOR + src, sized );
-            return sized;
-        }
+            @Override
+            public ImageIcon provide ()
+            {
+                return createSizedImagePreview ( createThumbnailIcon ( src, length ), length, drawBorder );
+            }
+        } );
     }
 
     public static ImageIcon getSizedImagePreview ( final String id, final ImageIcon icon, final int length, final boolean drawBorder )
     {
-        if ( sizedPreviewCache.containsKey ( id ) )
-        {
-            return sizedPreviewCache.get ( id );
-        }
-        else
+        final ImageIcon cached = sizedPreviewCache.get ( id );
+        return cached != null ? cached : sizedPreviewCache.load ( id, new DataProvider<ImageIcon> ()
         {
-            final ImageIcon sized = createSizedImagePreview ( icon, length, drawBorder );
-            sizedPreviewCache.put ( id, sized );
-            return sized;
-        }
+            @Override
+            public ImageIcon provide ()
+            {
+                return createSizedImagePreview ( icon, length, drawBorder );
+            }
+        } );
     }
 
     public static ImageIcon createSizedImagePreview ( final ImageIcon icon, int length, final boolean drawBorder )
@@ -1167,7 +1250,7 @@ public final class ImageUtils
      * Creates disabled image copy
      */
 
-    private static final Map<String, ImageIcon> grayscaleCache = new HashMap<String, ImageIcon> ();
+    private static final ImageCache<String, ImageIcon> grayscaleCache = new ImageCache<String, ImageIcon> ( "disabledCopies", 8 * 1024 * 1024 );
 
     public static void clearDisabledCopyCache ()
     {
@@ -1181,15 +1264,15 @@ public final class ImageUtils
 
     public static ImageIcon getDisabledCopy ( final String key, final ImageIcon imageIcon )
     {
-        if ( grayscaleCache.containsKey ( key ) )
+        final ImageIcon cached = grayscaleCache.get ( key );
+        return cached != null ? cached : grayscaleCache.load ( key, new DataProvider<ImageIcon> ()
         {
-            return grayscaleCache.get ( key );
-        }
-        else
-        {
-            grayscaleCache.put ( key, createDisabledCopy ( imageIcon ) );
-            return grayscaleCache.get ( key );
-        }
+            @Override
+            public ImageIcon provide ()
+            {
+                return createDisabledCopy ( imageIcon );
+            }
+        } );
     }
 
     public static ImageIcon createDisabledCopy ( final ImageIcon imageIcon )
@@ -1233,19 +1316,20 @@ public final class ImageUtils
      * Creating partially transparent ImageIcon
      */
 
-    private static final Map<String, ImageIcon> trasparentCache = new HashMap<String, ImageIcon> ();
+    private static final ImageCache<String, ImageIcon> trasparentCache =
+            new ImageCache<String, ImageIcon> ( "transparentCopies", 8 * 1024 * 1024 );
 
     public static ImageIcon getTransparentCopy ( final String id, final ImageIcon imageIcon, final float trasparency )
     {
-        if ( trasparentCache.containsKey ( id ) )
-        {
-            return trasparentCache.get ( id );
-        }
-        else
+        final ImageIcon cached = trasparentCache.get ( id );
+        return cached != null ? cached : trasparentCache.load ( id, new DataProvider<ImageIcon> ()
         {
-            trasparentCache.put ( id, createTransparentCopy ( imageIcon, trasparency ) );
-            return trasparentCache.get ( id );
-        }
+            @Override
+            public ImageIcon provide ()
+            {
+                return createTransparentCopy ( imageIcon, trasparency );
+            }
+        } );
     }
 
     public static ImageIcon createTransparentCopy ( final ImageIcon imageIcon, final float trasparency )
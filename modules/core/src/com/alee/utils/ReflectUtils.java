@@ -21,6 +21,7 @@ import com.alee.managers.log.Log;
 import com.alee.utils.file.FileDownloadListener;
 import com.alee.utils.reflection.JarEntry;
 import com.alee.utils.reflection.JarEntryType;
+import com.alee.utils.reflection.JarIndexCache;
 import com.alee.utils.reflection.JarStructure;
 
 import java.io.File;
@@ -32,7 +33,7 @@ import java.net.URL;
 import java.security.CodeSource;
 import java.util.*;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 
 /**
  * This class provides a set of utilities to simplify work with Reflection API.
@@ -55,6 +56,12 @@ public final class ReflectUtils
      */
     private static final Map<Class, Map<String, Method>> methodsLookupCache = new HashMap<Class, Map<String, Method>> ();
 
+    /**
+     * JAR archive indices cache.
+     * It is disabled by default, use {@link #setJarIndexCacheDirectory(java.io.File)} method to enable it.
+     */
+    private static JarIndexCache jarIndexCache = null;
+
     /**
      * Returns whether should allow safe methods to log errors or not.
      *
@@ -524,16 +531,19 @@ public final class ReflectUtils
 
                 // Source file
                 final File jarFile;
+                final String source;
                 final String scheme = uri.getScheme ();
                 if ( scheme != null && scheme.equalsIgnoreCase ( "file" ) )
                 {
                     // Local jar-file
                     jarFile = new File ( uri );
+                    source = null;
                 }
                 else
                 {
                     // Remote jar-file
-                    jarFile = FileUtils.downloadFile ( jarUrl.toString (), File.createTempFile ( "jar_file", ".tmp" ), listener );
+                    source = jarUrl.toString ();
+                    jarFile = FileUtils.downloadFile ( source, File.createTempFile ( "jar_file", ".tmp" ), listener );
                 }
 
                 // Creating
@@ -541,19 +551,21 @@ public final class ReflectUtils
                 final JarStructure jarStructure = new JarStructure ( jarEntry );
                 jarStructure.setJarLocation ( jarFile.getAbsolutePath () );
 
-                // Reading all entries and parsing them into structure
-                final ZipInputStream zip = new ZipInputStream ( jarUrl.openStream () );
-                ZipEntry zipEntry;
-                while ( ( zipEntry = zip.getNextEntry () ) != null )
+                // Reading all entries from central directory and parsing them into structure
+                // Class directories cannot be read as archives so their structure is simply left empty
+                if ( jarFile.isFile () )
                 {
-                    final String entryName = zipEntry.getName ();
-                    if ( isAllowedPackage ( entryName, allowedPackgages ) &&
-                            ( zipEntry.isDirectory () || isAllowedExtension ( entryName, allowedExtensions ) ) )
+                    final Map<String, JarEntry> packages = new HashMap<String, JarEntry> ();
+                    for ( final ZipEntry zipEntry : getJarEntries ( jarFile, source ) )
                     {
-                        parseElement ( jarEntry, entryName, zipEntry );
+                        final String entryName = zipEntry.getName ();
+                        if ( isAllowedPackage ( entryName, allowedPackgages ) &&
+                                ( zipEntry.isDirectory () || isAllowedExtension ( entryName, allowedExtensions ) ) )
+                        {
+                            parseElement ( jarEntry, packages, entryName, zipEntry );
+                        }
                     }
                 }
-                zip.close ();
 
                 return jarStructure;
             }
@@ -569,6 +581,82 @@ public final class ReflectUtils
         return null;
     }
 
+    /**
+     * Returns JAR archive indices cache or null if it is disabled.
+     *
+     * @return JAR archive indices cache or null if it is disabled
+     */
+    public static JarIndexCache getJarIndexCache ()
+    {
+        return jarIndexCache;
+    }
+
+    /**
+     * Sets directory for JAR archive indices cache.
+     * When set, entries of each JAR archive are read only once and then taken from the cache until archive is modified.
+     *
+     * @param directory cache directory, null to disable cache
+     */
+    public static void setJarIndexCacheDirectory ( final File directory )
+    {
+        jarIndexCache = directory != null ? new JarIndexCache ( directory ) : null;
+    }
+
+    /**
+     * Returns all entries of the specified JAR archive.
+     * Entries are taken from the JAR archive indices cache if it is enabled.
+     *
+     * @param jarFile JAR archive file
+     * @return all entries of the specified JAR archive
+     * @throws IOException if archive cannot be read
+     */
+    public static List<ZipEntry> getJarEntries ( final File jarFile ) throws IOException
+    {
+        return getJarEntries ( jarFile, null );
+    }
+
+    /**
+     * Returns all entries of the specified JAR archive.
+     * Entries are taken from the JAR archive indices cache if it is enabled.
+     *
+     * @param jarFile JAR archive file
+     * @param source  URL archive was downloaded from, null for local archives
+     * @return all entries of the specified JAR archive
+     * @throws IOException if archive cannot be read
+     */
+    public static List<ZipEntry> getJarEntries ( final File jarFile, final String source ) throws IOException
+    {
+        final JarIndexCache cache = jarIndexCache;
+        return cache != null ? cache.getEntries ( jarFile, source ) : readJarEntries ( jarFile );
+    }
+
+    /**
+     * Returns all entries of the specified JAR archive read from its central directory.
+     * Only the central directory at the end of archive is read, entries data is neither read nor inflated.
+     *
+     * @param jarFile JAR archive file
+     * @return all entries of the specified JAR archive read from its central directory
+     * @throws IOException if archive cannot be read
+     */
+    public static List<ZipEntry> readJarEntries ( final File jarFile ) throws IOException
+    {
+        final ZipFile zipFile = new ZipFile ( jarFile );
+        try
+        {
+            final List<ZipEntry> entries = new ArrayList<ZipEntry> ( zipFile.size () );
+            final Enumeration<? extends ZipEntry> enumeration = zipFile.entries ();
+            while ( enumeration.hasMoreElements () )
+            {
+                entries.add ( enumeration.nextElement () );
+            }
+            return entries;
+        }
+        finally
+        {
+            zipFile.close ();
+        }
+    }
+
     /**
      * Returns JAR location URL for the specified class.
      *
@@ -658,37 +746,67 @@ public final class ReflectUtils
 
     /**
      * Parses single JAR entry with the specified name.
+     * Package entries are registered in the provided map by their paths, so each entry is placed into structure without any lookups.
      *
      * @param jarEntry  JAR entry
+     * @param packages  package entries by their paths
      * @param entryName JAR entry name
      * @param zipEntry  ZIP entry
      */
-    private static void parseElement ( final JarEntry jarEntry, final String entryName, final ZipEntry zipEntry )
+    private static void parseElement ( final JarEntry jarEntry, final Map<String, JarEntry> packages, final String entryName,
+                                       final ZipEntry zipEntry )
     {
-        final String[] path = entryName.split ( "/" );
-        JarEntry currentLevel = jarEntry;
-        for ( int i = 0; i < path.length; i++ )
+        // Directory entry names end with separator which is not a part of the path
+        final String path = entryName.endsWith ( "/" ) ? entryName.substring ( 0, entryName.length () - 1 ) : entryName;
+        if ( path.length () == 0 )
         {
-            if ( i < path.length - 1 )
-            {
-                // We are getting deeper into packages
-                JarEntry child = currentLevel.getChildByName ( path[ i ] );
-                if ( child == null )
-                {
-                    child = new JarEntry ( JarEntryType.packageEntry, path[ i ], currentLevel );
-                    child.setZipEntry ( zipEntry );
-                    currentLevel.addChild ( child );
-                }
-                currentLevel = child;
-            }
-            else
-            {
-                // We reached last element
-                final JarEntry newEntry = new JarEntry ( getJarEntryType ( path[ i ] ), path[ i ], currentLevel );
-                newEntry.setZipEntry ( zipEntry );
-                currentLevel.addChild ( newEntry );
-            }
+            return;
+        }
+
+        // Directory might have been added already by one of the entries placed before it
+        if ( zipEntry.isDirectory () && packages.containsKey ( path ) )
+        {
+            return;
+        }
+
+        // Adding new entry into its package
+        final int separator = path.lastIndexOf ( '/' );
+        final JarEntry parent =
+                separator != -1 ? getPackageEntry ( jarEntry, packages, path.substring ( 0, separator ), zipEntry ) : jarEntry;
+        final String name = path.substring ( separator + 1 );
+        final JarEntry newEntry = new JarEntry ( getJarEntryType ( name ), name, parent );
+        newEntry.setZipEntry ( zipEntry );
+        parent.addChild ( newEntry );
+        if ( zipEntry.isDirectory () )
+        {
+            packages.put ( path, newEntry );
+        }
+    }
+
+    /**
+     * Returns package entry with the specified path, missing package entries are created on the way.
+     *
+     * @param jarEntry JAR entry
+     * @param packages package entries by their paths
+     * @param path     package path
+     * @param zipEntry ZIP entry which caused package creation
+     * @return package entry with the specified path
+     */
+    private static JarEntry getPackageEntry ( final JarEntry jarEntry, final Map<String, JarEntry> packages, final String path,
+                                              final ZipEntry zipEntry )
+    {
+        JarEntry packageEntry = packages.get ( path );
+        if ( packageEntry == null )
+        {
+            final int separator = path.lastIndexOf ( '/' );
+            final JarEntry parent =
+                    separator != -1 ? getPackageEntry ( jarEntry, packages, path.substring ( 0, separator ), zipEntry ) : jarEntry;
+            packageEntry = new JarEntry ( JarEntryType.packageEntry, path.substring ( separator + 1 ), parent );
+            packageEntry.setZipEntry ( zipEntry );
+            parent.addChild ( packageEntry );
+            packages.put ( path, packageEntry );
         }
+        return packageEntry;
     }
 
     /**
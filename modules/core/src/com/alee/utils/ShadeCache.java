@@ -0,0 +1,470 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils;
+
+import com.alee.utils.laf.ShadeType;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.PathIterator;
+import java.awt.geom.Rectangle2D;
+import java.awt.geom.RectangularShape;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This utility class provides pre-rendered shade images cache used by {@link com.alee.utils.GraphicsUtils} shade painting methods.
+ * <p/>
+ * Instead of stroking the shape several times with decreasing opacity on each repaint shade is rendered once into a translucent image
+ * and simply painted on subsequent repaints. Rectangles and rounded rectangles are rendered as nine-patch images, so a single cached
+ * image serves shapes of any size. Other shapes are cached per exact geometry, ignoring integer translation, so same-sized shapes
+ * painted in different locations (like table or list cells) share the same image.
+ * <p/>
+ * Cache is limited by total images size in bytes and evicts least recently used images when that limit is exceeded.
+ * Shades which cannot be cached (for example painted with non-translation transform or non-color paint) are painted directly.
+ *
+ * @author Mikle Garin
+ * @see com.alee.global.StyleConstants#cacheShades
+ */
+
+public final class ShadeCache
+{
+    /**
+     * Maximum total size of cached images in bytes.
+     */
+    public static long maxCacheSize = 16 * 1024 * 1024;
+
+    /**
+     * Cached shade images.
+     */
+    private static final Map<ShadeKey, BufferedImage> cache = new LinkedHashMap<ShadeKey, BufferedImage> ( 16, 0.75f, true );
+
+    /**
+     * Reusable key used for cache lookups.
+     */
+    private static final ShadeKey lookupKey = new ShadeKey ();
+
+    /**
+     * Reusable path coordinates buffer.
+     */
+    private static final float[] coords = new float[ 6 ];
+
+    /**
+     * Current total size of cached images in bytes.
+     */
+    private static long cacheSize = 0;
+
+    /**
+     * Cache statistics.
+     */
+    private static long hits = 0;
+    private static long misses = 0;
+    private static long evictions = 0;
+
+    /**
+     * Paints shade using cached image.
+     * Returns false if shade cannot be painted using cache, in that case it should be painted directly.
+     *
+     * @param g2d        graphics context
+     * @param shape      shade shape
+     * @param shadeType  shade type
+     * @param shadeColor shade color, null means current graphics color
+     * @param width      shade width
+     * @param clip       shade clip, null means that shape itself should be subtracted from clip
+     * @param round      whether shade should have round caps or not
+     * @return true if shade was painted, false otherwise
+     */
+    public static boolean drawShade ( final Graphics2D g2d, final Shape shape, final ShadeType shadeType, final Color shadeColor,
+                                      final int width, final Shape clip, final boolean round )
+    {
+        // Checking whether shade can be painted from cache
+        final AffineTransform transform = g2d.getTransform ();
+        if ( ( transform.getType () & ~AffineTransform.TYPE_TRANSLATION ) != 0 )
+        {
+            return false;
+        }
+        final Composite composite = g2d.getComposite ();
+        if ( !( composite instanceof AlphaComposite ) || ( ( AlphaComposite ) composite ).getRule () != AlphaComposite.SRC_OVER )
+        {
+            return false;
+        }
+        final Paint paint = shadeColor != null ? shadeColor : g2d.getPaint ();
+        if ( !( paint instanceof Color ) )
+        {
+            return false;
+        }
+        if ( clip == null && g2d.getClip () == null )
+        {
+            return false;
+        }
+        final boolean antialias = g2d.getRenderingHint ( RenderingHints.KEY_ANTIALIASING ) == RenderingHints.VALUE_ANTIALIAS_ON;
+
+        // Margin required for shade around the shape
+        final int margin = width + 2;
+        final Rectangle2D bounds = shape.getBounds2D ();
+        final int x = ( int ) Math.floor ( bounds.getX () );
+        final int y = ( int ) Math.floor ( bounds.getY () );
+
+        // Nine-patch parameters
+        final boolean ninePatch;
+        final int stretchX;
+        final int stretchY;
+        final int innerWidth;
+        final int innerHeight;
+        final double arcWidth;
+        final double arcHeight;
+        if ( shape instanceof RoundRectangle2D || shape instanceof Rectangle2D )
+        {
+            final RectangularShape rs = ( RectangularShape ) shape;
+            arcWidth = shape instanceof RoundRectangle2D ? ( ( RoundRectangle2D ) shape ).getArcWidth () : 0;
+            arcHeight = shape instanceof RoundRectangle2D ? ( ( RoundRectangle2D ) shape ).getArcHeight () : 0;
+            innerWidth = ( int ) Math.ceil ( arcWidth ) + width * 2 + 4;
+            innerHeight = ( int ) Math.ceil ( arcHeight ) + width * 2 + 4;
+            ninePatch = Math.floor ( rs.getWidth () ) >= innerWidth && Math.floor ( rs.getHeight () ) >= innerHeight;
+            stretchX = margin + ( int ) Math.ceil ( arcWidth / 2 ) + width + 2;
+            stretchY = margin + ( int ) Math.ceil ( arcHeight / 2 ) + width + 2;
+        }
+        else
+        {
+            ninePatch = false;
+            stretchX = stretchY = innerWidth = innerHeight = 0;
+            arcWidth = arcHeight = 0;
+        }
+
+        final BufferedImage image;
+        synchronized ( cache )
+        {
+            // Preparing lookup key
+            lookupKey.shadeType = shadeType;
+            lookupKey.rgb = ( ( Color ) paint ).getRGB ();
+            lookupKey.width = width;
+            lookupKey.round = round;
+            lookupKey.subtract = clip == null;
+            lookupKey.antialias = antialias;
+            lookupKey.ninePatch = ninePatch;
+            if ( ninePatch )
+            {
+                final RectangularShape rs = ( RectangularShape ) shape;
+                lookupKey.imageWidth = innerWidth + margin * 2 + 2;
+                lookupKey.imageHeight = innerHeight + margin * 2 + 2;
+                lookupKey.hash1 = Double.doubleToLongBits ( arcWidth ) * 31 + Double.doubleToLongBits ( arcHeight );
+                lookupKey.hash2 = fractionBits ( rs.getX () ) * 961 + fractionBits ( rs.getY () ) * 31 + fractionBits ( rs.getWidth () );
+                lookupKey.hash2 = lookupKey.hash2 * 31 + fractionBits ( rs.getHeight () );
+            }
+            else
+            {
+                lookupKey.imageWidth = ( int ) Math.ceil ( bounds.getMaxX () ) - x + margin * 2 + 1;
+                lookupKey.imageHeight = ( int ) Math.ceil ( bounds.getMaxY () ) - y + margin * 2 + 1;
+                computeGeometryHash ( shape, x, y );
+            }
+
+            // Retrieving cached image
+            BufferedImage cached = cache.get ( lookupKey );
+            if ( cached == null )
+            {
+                misses++;
+                final Shape imageShape;
+                if ( ninePatch )
+                {
+                    final RectangularShape rs = ( RectangularShape ) shape;
+                    final double sx = margin + rs.getX () - Math.floor ( rs.getX () );
+                    final double sy = margin + rs.getY () - Math.floor ( rs.getY () );
+                    final double sw = innerWidth + rs.getWidth () - Math.floor ( rs.getWidth () );
+                    final double sh = innerHeight + rs.getHeight () - Math.floor ( rs.getHeight () );
+                    imageShape = shape instanceof RoundRectangle2D ? new RoundRectangle2D.Double ( sx, sy, sw, sh, arcWidth, arcHeight ) :
+                            new Rectangle2D.Double ( sx, sy, sw, sh );
+                }
+                else
+                {
+                    imageShape = shape;
+                }
+                cached = renderShade ( g2d, imageShape, ninePatch ? 0 : margin - x, ninePatch ? 0 : margin - y, lookupKey );
+                final ShadeKey key = lookupKey.copy ();
+                cache.put ( key, cached );
+                cacheSize += getSize ( cached );
+                trimCache ();
+            }
+            else
+            {
+                hits++;
+            }
+            image = cached;
+        }
+
+        // Painting cached image
+        final Shape oldClip = GraphicsUtils.intersectClip ( g2d, clip );
+        final int ix = x - margin;
+        final int iy = y - margin;
+        if ( ninePatch )
+        {
+            final RectangularShape rs = ( RectangularShape ) shape;
+            final int dx = ( int ) Math.floor ( rs.getWidth () ) - innerWidth;
+            final int dy = ( int ) Math.floor ( rs.getHeight () ) - innerHeight;
+            final int iw = image.getWidth ();
+            final int ih = image.getHeight ();
+            final int[] sxs = { 0, stretchX, stretchX + 1, iw };
+            final int[] dxs = { ix, ix + stretchX, ix + stretchX + 1 + dx, ix + iw + dx };
+            final int[] sys = { 0, stretchY, stretchY + 1, ih };
+            final int[] dys = { iy, iy + stretchY, iy + stretchY + 1 + dy, iy + ih + dy };
+            for ( int i = 0; i < 3; i++ )
+            {
+                for ( int j = 0; j < 3; j++ )
+                {
+                    g2d.drawImage ( image, dxs[ i ], dys[ j ], dxs[ i + 1 ], dys[ j + 1 ], sxs[ i ], sys[ j ], sxs[ i + 1 ], sys[ j + 1 ],
+                            null );
+                }
+            }
+        }
+        else
+        {
+            g2d.drawImage ( image, ix, iy, null );
+        }
+        GraphicsUtils.restoreClip ( g2d, oldClip );
+        return true;
+    }
+
+    /**
+     * Returns bits of the fractional part of the specified value.
+     *
+     * @param value value
+     * @return bits of the fractional part of the specified value
+     */
+    private static long fractionBits ( final double value )
+    {
+        return Double.doubleToLongBits ( value - Math.floor ( value ) );
+    }
+
+    /**
+     * Computes shape geometry hashes relative to the specified integer origin into lookup key.
+     *
+     * @param shape shape
+     * @param x     origin X coordinate
+     * @param y     origin Y coordinate
+     */
+    private static void computeGeometryHash ( final Shape shape, final int x, final int y )
+    {
+        final PathIterator pi = shape.getPathIterator ( null );
+        long h1 = pi.getWindingRule ();
+        long h2 = pi.getWindingRule ();
+        while ( !pi.isDone () )
+        {
+            final int type = pi.currentSegment ( coords );
+            h1 = h1 * 31 + type;
+            h2 = h2 * 1000003 + type;
+            final int points = type == PathIterator.SEG_CLOSE ? 0 : type == PathIterator.SEG_QUADTO ? 2 :
+                    type == PathIterator.SEG_CUBICTO ? 3 : 1;
+            for ( int i = 0; i < points; i++ )
+            {
+                final int px = Float.floatToIntBits ( coords[ i * 2 ] - x );
+                final int py = Float.floatToIntBits ( coords[ i * 2 + 1 ] - y );
+                h1 = h1 * 31 + px;
+                h1 = h1 * 31 + py;
+                h2 = h2 * 1000003 + px;
+                h2 = h2 * 1000003 + py;
+            }
+            pi.next ();
+        }
+        lookupKey.hash1 = h1;
+        lookupKey.hash2 = h2;
+    }
+
+    /**
+     * Renders shade image.
+     *
+     * @param g2d   graphics context shade is painted on
+     * @param shape shade shape
+     * @param tx    shape translation into image coordinates by X axis
+     * @param ty    shape translation into image coordinates by Y axis
+     * @param key   shade settings
+     * @return rendered shade image
+     */
+    private static BufferedImage renderShade ( final Graphics2D g2d, final Shape shape, final int tx, final int ty, final ShadeKey key )
+    {
+        final BufferedImage image =
+                g2d.getDeviceConfiguration ().createCompatibleImage ( key.imageWidth, key.imageHeight, Transparency.TRANSLUCENT );
+        final Graphics2D ig = image.createGraphics ();
+        ig.setRenderingHint ( RenderingHints.KEY_ANTIALIASING,
+                key.antialias ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF );
+        ig.translate ( tx, ty );
+        ig.setClip ( -tx, -ty, key.imageWidth, key.imageHeight );
+        GraphicsUtils.paintShade ( ig, shape, key.shadeType, new Color ( key.rgb, true ), key.width, null, key.subtract, key.round );
+        ig.dispose ();
+        return image;
+    }
+
+    /**
+     * Returns image size in bytes.
+     *
+     * @param image image
+     * @return image size in bytes
+     */
+    private static long getSize ( final BufferedImage image )
+    {
+        return ( long ) image.getWidth () * image.getHeight () * 4;
+    }
+
+    /**
+     * Evicts least recently used images until cache fits its size limit.
+     */
+    private static void trimCache ()
+    {
+        final Iterator<Map.Entry<ShadeKey, BufferedImage>> iterator = cache.entrySet ().iterator ();
+        while ( cacheSize > maxCacheSize && iterator.hasNext () )
+        {
+            final BufferedImage image = iterator.next ().getValue ();
+            iterator.remove ();
+            cacheSize -= getSize ( image );
+            evictions++;
+        }
+    }
+
+    /**
+     * Removes all cached shade images.
+     */
+    public static void clearCache ()
+    {
+        synchronized ( cache )
+        {
+            cache.clear ();
+            cacheSize = 0;
+        }
+    }
+
+    /**
+     * Returns current total size of cached images in bytes.
+     *
+     * @return current total size of cached images in bytes
+     */
+    public static long getCacheSize ()
+    {
+        synchronized ( cache )
+        {
+            return cacheSize;
+        }
+    }
+
+    /**
+     * Returns amount of cache hits.
+     *
+     * @return amount of cache hits
+     */
+    public static long getHits ()
+    {
+        return hits;
+    }
+
+    /**
+     * Returns amount of cache misses.
+     *
+     * @return amount of cache misses
+     */
+    public static long getMisses ()
+    {
+        return misses;
+    }
+
+    /**
+     * Returns amount of images evicted from cache due to size limit.
+     *
+     * @return amount of evicted images
+     */
+    public static long getEvictions ()
+    {
+        return evictions;
+    }
+
+    /**
+     * Shade image cache key.
+     */
+    private static final class ShadeKey
+    {
+        private ShadeType shadeType;
+        private int rgb;
+        private int width;
+        private boolean round;
+        private boolean subtract;
+        private boolean antialias;
+        private boolean ninePatch;
+        private int imageWidth;
+        private int imageHeight;
+        private long hash1;
+        private long hash2;
+
+        /**
+         * Returns copy of this key.
+         *
+         * @return copy of this key
+         */
+        private ShadeKey copy ()
+        {
+            final ShadeKey key = new ShadeKey ();
+            key.shadeType = shadeType;
+            key.rgb = rgb;
+            key.width = width;
+            key.round = round;
+            key.subtract = subtract;
+            key.antialias = antialias;
+            key.ninePatch = ninePatch;
+            key.imageWidth = imageWidth;
+            key.imageHeight = imageHeight;
+            key.hash1 = hash1;
+            key.hash2 = hash2;
+            return key;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals ( final Object obj )
+        {
+            if ( !( obj instanceof ShadeKey ) )
+            {
+                return false;
+            }
+            final ShadeKey key = ( ShadeKey ) obj;
+            return shadeType == key.shadeType && rgb == key.rgb && width == key.width && round == key.round && subtract == key.subtract &&
+                    antialias == key.antialias && ninePatch == key.ninePatch && imageWidth == key.imageWidth &&
+                    imageHeight == key.imageHeight && hash1 == key.hash1 && hash2 == key.hash2;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode ()
+        {
+            int result = shadeType != null ? shadeType.hashCode () : 0;
+            result = 31 * result + rgb;
+            result = 31 * result + width;
+            result = 31 * result + ( round ? 1 : 0 );
+            result = 31 * result + ( subtract ? 1 : 0 );
+            result = 31 * result + ( antialias ? 1 : 0 );
+            result = 31 * result + ( ninePatch ? 1 : 0 );
+            result = 31 * result + imageWidth;
+            result = 31 * result + imageHeight;
+            result = 31 * result + ( int ) ( hash1 ^ ( hash1 >>> 32 ) );
+            result = 31 * result + ( int ) ( hash2 ^ ( hash2 >>> 32 ) );
+            return result;
+        }
+    }
+}
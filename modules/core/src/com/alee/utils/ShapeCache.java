@@ -15,37 +15,54 @@
  * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
  */
 
+
 package com.alee.utils;
 
 import com.alee.utils.swing.DataProvider;
 
 import java.awt.*;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.WeakHashMap;
 
 /**
  * This utility class can be used to implement shape caching withing any painter or component.
  * This might be useful to improve component painting performance in case it uses complex shapes.
+ * <p/>
+ * Shapes are cached per component along with their settings key. Each component keeps only the latest shape for each shape ID, so
+ * outdated shapes are replaced when component settings or size change. Amount of different shape IDs cached per component is limited.
+ * <p/>
+ * To avoid any allocations on cache hit you should keep a single {@link com.alee.utils.ShapeCacheKey} instance, refill it before each
+ * request and use {@link #getShape(java.awt.Component, String, ShapeCacheKey)} together with
+ * {@link #cacheShape(java.awt.Component, String, ShapeCacheKey, java.awt.Shape)} methods.
  *
  * @author Mikle Garin
+ * @see com.alee.utils.ShapeCacheKey
  */
 
 public final class ShapeCache
 {
     /**
-     * todo 1. Improve shape settings key generation/usage performance
+     * Maximum amount of different shape IDs cached for a single component.
      */
+    public static int maxShapesPerComponent = 8;
 
     /**
-     * Separator for settings cached within single key.
+     * Shapes cache map.
      */
-    private static final String settingsSeparator = ";";
+    private static final Map<Component, ComponentShapes> shapeCache = new WeakHashMap<Component, ComponentShapes> ();
 
     /**
-     * Shapes cache map.
+     * Cache usage counter used to determine least recently used shapes.
+     */
+    private static long useCounter = 0;
+
+    /**
+     * Cache statistics.
      */
-    private static final Map<Component, Map<String, CachedShape>> shapeCache = new WeakHashMap<Component, Map<String, CachedShape>> ();
+    private static long hits = 0;
+    private static long misses = 0;
+    private static long evictions = 0;
 
     /**
      * Returns cached component shape.
@@ -62,107 +79,239 @@ public final class ShapeCache
     public static <T extends Shape> T getShape ( final Component component, final String shapeId, final DataProvider<T> shapeProvider,
                                                  final Object... settings )
     {
-        final String settingsKey = combineSettingsKey ( settings );
-        Map<String, CachedShape> cacheById = shapeCache.get ( component );
-        if ( cacheById == null )
+        return getShape ( component, shapeId, shapeProvider, createSettingsKey ( settings ) );
+    }
+
+    /**
+     * Returns cached component shape.
+     * If shape is not yet cached it will be created.
+     * If shape settings are changed from the last time it was queued it will be re-created.
+     *
+     * @param component     component for which shape is cached
+     * @param shapeId       unique shape ID
+     * @param shapeProvider shape provider
+     * @param key           shape settings key
+     * @param <T>           shape type
+     * @return cached component shape
+     */
+    public static <T extends Shape> T getShape ( final Component component, final String shapeId, final DataProvider<T> shapeProvider,
+                                                 final ShapeCacheKey key )
+    {
+        final T shape = getShape ( component, shapeId, key );
+        return shape != null ? shape : cacheShape ( component, shapeId, key, shapeProvider.provide () );
+    }
+
+    /**
+     * Returns cached component shape or null if it is not cached yet or cache entry is outdated.
+     * This method doesn't allocate anything and should be used in painting code together with
+     * {@link #cacheShape(java.awt.Component, String, ShapeCacheKey, java.awt.Shape)} method.
+     *
+     * @param component component for which shape is cached
+     * @param shapeId   unique shape ID
+     * @param key       shape settings key
+     * @param <T>       shape type
+     * @return cached component shape or null if it is not cached yet or cache entry is outdated
+     */
+    public static <T extends Shape> T getShape ( final Component component, final String shapeId, final ShapeCacheKey key )
+    {
+        final ComponentShapes shapes = shapeCache.get ( component );
+        final Shape shape = shapes != null ? shapes.get ( shapeId, key ) : null;
+        if ( shape != null )
         {
-            // Shape is not yet cached
-            final Shape shape = shapeProvider.provide ();
-            cacheById = new HashMap<String, CachedShape> ( 1 );
-            cacheById.put ( shapeId, new CachedShape ( settingsKey, shape ) );
-            shapeCache.put ( component, cacheById );
-            return ( T ) shape;
+            hits++;
         }
         else
         {
-            final CachedShape cachedShape = cacheById.get ( shapeId );
-            if ( cachedShape == null || !cachedShape.getKey ().equals ( settingsKey ) )
-            {
-                // Shape is not yet cached or cache entry is outdated
-                final Shape shape = shapeProvider.provide ();
-                cacheById.put ( shapeId, new CachedShape ( settingsKey, shape ) );
-                return ( T ) shape;
-            }
-            else
-            {
-                // Returning cached shape
-                return ( T ) cachedShape.getShape ();
-            }
+            misses++;
         }
+        return ( T ) shape;
     }
 
     /**
-     * Combines shape settings into a single key for cache map and returns it.
+     * Caches component shape under the specified ID and settings key and returns it.
+     * Shape previously cached under the same ID is replaced.
+     * Least recently used component shape is evicted if shape ID is new and component cache is full.
      *
-     * @param settings settings to combine
-     * @return key for the specified shape settings
+     * @param component component for which shape is cached
+     * @param shapeId   unique shape ID
+     * @param key       shape settings key
+     * @param shape     shape to cache
+     * @param <T>       shape type
+     * @return cached shape
      */
-    private static String combineSettingsKey ( final Object... settings )
+    public static <T extends Shape> T cacheShape ( final Component component, final String shapeId, final ShapeCacheKey key,
+                                                   final T shape )
     {
-        final StringBuilder stringBuilder = new StringBuilder ();
-        for ( final Object object : settings )
+        ComponentShapes shapes = shapeCache.get ( component );
+        if ( shapes == null )
         {
-            if ( stringBuilder.length () > 0 )
-            {
-                stringBuilder.append ( settingsSeparator );
-            }
-            stringBuilder.append ( getSettingKey ( object ) );
+            shapes = new ComponentShapes ();
+            shapeCache.put ( component, shapes );
         }
-        return stringBuilder.toString ();
+        shapes.put ( shapeId, key.copy (), shape );
+        return shape;
     }
 
     /**
-     * Returns setting string representation.
+     * Removes all shapes cached for the specified component.
      *
-     * @param setting setting to be converted
-     * @return setting string representation
+     * @param component component to clear cache for
      */
-    private static String getSettingKey ( final Object setting )
+    public static void clearCache ( final Component component )
     {
-        if ( setting instanceof Insets )
-        {
-            final Insets i = ( Insets ) setting;
-            return i.top + "," + i.left + "," + i.bottom + "," + i.right;
-        }
-        else if ( setting instanceof Rectangle )
-        {
-            final Rectangle r = ( Rectangle ) setting;
-            return r.x + "," + r.y + "," + r.width + "," + r.height;
-        }
-        else if ( setting instanceof Point )
-        {
-            final Point p = ( Point ) setting;
-            return p.x + "," + p.y;
-        }
-        else
-        {
-            return setting.toString ();
-        }
+        shapeCache.remove ( component );
+    }
+
+    /**
+     * Removes all cached shapes.
+     */
+    public static void clearCache ()
+    {
+        shapeCache.clear ();
+    }
+
+    /**
+     * Returns amount of cache hits.
+     *
+     * @return amount of cache hits
+     */
+    public static long getHits ()
+    {
+        return hits;
     }
 
     /**
-     * Cached shape class.
+     * Returns amount of cache misses.
+     *
+     * @return amount of cache misses
      */
-    private static class CachedShape
+    public static long getMisses ()
     {
-        private final String key;
-        private final Shape shape;
+        return misses;
+    }
 
-        public CachedShape ( final String key, final Shape shape )
+    /**
+     * Returns amount of shapes evicted from cache due to component cache size limit.
+     *
+     * @return amount of evicted shapes
+     */
+    public static long getEvictions ()
+    {
+        return evictions;
+    }
+
+    /**
+     * Resets cache statistics.
+     */
+    public static void resetStatistics ()
+    {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Returns settings key for the specified untyped shape settings.
+     *
+     * @param settings settings to combine
+     * @return key for the specified shape settings
+     */
+    private static ShapeCacheKey createSettingsKey ( final Object... settings )
+    {
+        return new ShapeCacheKey ( Math.max ( 1, settings.length * 2 ) ).set ( settings );
+    }
+
+    /**
+     * Bounded storage for shapes cached for a single component.
+     */
+    private static class ComponentShapes
+    {
+        private String[] ids = new String[ 2 ];
+        private ShapeCacheKey[] keys = new ShapeCacheKey[ 2 ];
+        private Shape[] shapes = new Shape[ 2 ];
+        private long[] lastUse = new long[ 2 ];
+        private int size = 0;
+
+        /**
+         * Returns cached shape or null if there is no shape with matching ID and settings.
+         *
+         * @param shapeId shape ID
+         * @param key     shape settings key
+         * @return cached shape or null if there is no shape with matching ID and settings
+         */
+        private Shape get ( final String shapeId, final ShapeCacheKey key )
         {
-            super ();
-            this.key = key;
-            this.shape = shape;
+            final int index = indexOf ( shapeId );
+            if ( index != -1 && keys[ index ].matches ( key ) )
+            {
+                lastUse[ index ] = ++useCounter;
+                return shapes[ index ];
+            }
+            return null;
         }
 
-        private String getKey ()
+        /**
+         * Caches shape, replacing outdated shape with the same ID.
+         * Least recently used shape is evicted only if shape ID is new and cache is full.
+         *
+         * @param shapeId shape ID
+         * @param key     shape settings key
+         * @param shape   shape to cache
+         */
+        private void put ( final String shapeId, final ShapeCacheKey key, final Shape shape )
         {
-            return key;
+            int index = indexOf ( shapeId );
+            if ( index == -1 )
+            {
+                final int limit = Math.max ( 1, maxShapesPerComponent );
+                if ( size < limit )
+                {
+                    if ( size == ids.length )
+                    {
+                        final int capacity = Math.min ( limit, size * 2 );
+                        ids = Arrays.copyOf ( ids, capacity );
+                        keys = Arrays.copyOf ( keys, capacity );
+                        shapes = Arrays.copyOf ( shapes, capacity );
+                        lastUse = Arrays.copyOf ( lastUse, capacity );
+                    }
+                    index = size++;
+                }
+                else
+                {
+                    int lru = 0;
+                    for ( int i = 1; i < size; i++ )
+                    {
+                        if ( lastUse[ i ] < lastUse[ lru ] )
+                        {
+                            lru = i;
+                        }
+                    }
+                    index = lru;
+                    evictions++;
+                }
+            }
+            ids[ index ] = shapeId;
+            keys[ index ] = key;
+            shapes[ index ] = shape;
+            lastUse[ index ] = ++useCounter;
         }
 
-        private Shape getShape ()
+        /**
+         * Returns index of shape with the specified ID or -1 if there is no such shape.
+         *
+         * @param shapeId shape ID
+         * @return index of shape with the specified ID or -1 if there is no such shape
+         */
+        private int indexOf ( final String shapeId )
         {
-            return shape;
+            for ( int i = 0; i < size; i++ )
+            {
+                if ( ids[ i ] == shapeId || ids[ i ].equals ( shapeId ) )
+                {
+                    return i;
+                }
+            }
+            return -1;
         }
     }
-}
\ No newline at end of file
+}
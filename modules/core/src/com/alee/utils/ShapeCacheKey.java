@@ -0,0 +1,355 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Typed settings key used by {@link com.alee.utils.ShapeCache} to check whether cached shape is still up-to-date.
+ * <p/>
+ * Key stores settings in primitive int slots, so filling and comparing it doesn't require any string building or boxing.
+ * Painters are expected to keep a single key instance and refill it using {@link #clear()} and various {@code add} methods before each
+ * cache request, which makes cache hits allocation-free. Settings which cannot be represented as integers are compared using equals.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.ShapeCache
+ */
+
+public final class ShapeCacheKey
+{
+    /**
+     * Primitive settings slots.
+     */
+    private int[] slots;
+
+    /**
+     * Amount of used primitive slots.
+     */
+    private int slotsCount;
+
+    /**
+     * Object settings slots.
+     */
+    private Object[] objects;
+
+    /**
+     * Amount of used object slots.
+     */
+    private int objectsCount;
+
+    /**
+     * Settings hash code, updated on each change.
+     */
+    private int hash;
+
+    /**
+     * Constructs new empty shape settings key.
+     */
+    public ShapeCacheKey ()
+    {
+        this ( 16 );
+    }
+
+    /**
+     * Constructs new empty shape settings key with the specified initial primitive slots capacity.
+     *
+     * @param capacity initial primitive slots capacity
+     */
+    public ShapeCacheKey ( final int capacity )
+    {
+        super ();
+        this.slots = new int[ Math.max ( 1, capacity ) ];
+        this.objects = null;
+        clear ();
+    }
+
+    /**
+     * Constructs a copy of the specified shape settings key.
+     *
+     * @param key shape settings key to copy
+     */
+    private ShapeCacheKey ( final ShapeCacheKey key )
+    {
+        super ();
+        this.slots = Arrays.copyOf ( key.slots, Math.max ( 1, key.slotsCount ) );
+        this.slotsCount = key.slotsCount;
+        this.objects = key.objectsCount > 0 ? Arrays.copyOf ( key.objects, key.objectsCount ) : null;
+        this.objectsCount = key.objectsCount;
+        this.hash = key.hash;
+    }
+
+    /**
+     * Removes all settings from this key.
+     *
+     * @return this key
+     */
+    public ShapeCacheKey clear ()
+    {
+        slotsCount = 0;
+        if ( objects != null )
+        {
+            Arrays.fill ( objects, 0, objectsCount, null );
+        }
+        objectsCount = 0;
+        hash = 1;
+        return this;
+    }
+
+    /**
+     * Replaces all settings in this key with the specified untyped settings.
+     * Known setting types are added using their primitive-based methods.
+     *
+     * @param settings untyped settings
+     * @return this key
+     */
+    public ShapeCacheKey set ( final Object... settings )
+    {
+        clear ();
+        for ( final Object setting : settings )
+        {
+            if ( setting instanceof Integer )
+            {
+                add ( ( int ) ( Integer ) setting );
+            }
+            else if ( setting instanceof Boolean )
+            {
+                add ( ( boolean ) ( Boolean ) setting );
+            }
+            else if ( setting instanceof Insets )
+            {
+                add ( ( Insets ) setting );
+            }
+            else if ( setting instanceof Rectangle )
+            {
+                add ( ( Rectangle ) setting );
+            }
+            else if ( setting instanceof Point )
+            {
+                add ( ( Point ) setting );
+            }
+            else if ( setting instanceof Dimension )
+            {
+                add ( ( Dimension ) setting );
+            }
+            else if ( setting instanceof Enum )
+            {
+                add ( ( Enum ) setting );
+            }
+            else
+            {
+                add ( setting );
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Adds integer setting.
+     *
+     * @param value setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final int value )
+    {
+        if ( slotsCount == slots.length )
+        {
+            slots = Arrays.copyOf ( slots, slots.length * 2 );
+        }
+        slots[ slotsCount++ ] = value;
+        hash = 31 * hash + value;
+        return this;
+    }
+
+    /**
+     * Adds boolean setting.
+     *
+     * @param value setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final boolean value )
+    {
+        return add ( value ? 1 : 0 );
+    }
+
+    /**
+     * Adds float setting.
+     *
+     * @param value setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final float value )
+    {
+        return add ( Float.floatToIntBits ( value ) );
+    }
+
+    /**
+     * Adds insets setting.
+     *
+     * @param insets setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final Insets insets )
+    {
+        return insets != null ? add ( insets.top ).add ( insets.left ).add ( insets.bottom ).add ( insets.right ) : addNull ( 4 );
+    }
+
+    /**
+     * Adds rectangle setting.
+     *
+     * @param rectangle setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final Rectangle rectangle )
+    {
+        return rectangle != null ? add ( rectangle.x ).add ( rectangle.y ).add ( rectangle.width ).add ( rectangle.height ) : addNull ( 4 );
+    }
+
+    /**
+     * Adds point setting.
+     *
+     * @param point setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final Point point )
+    {
+        return point != null ? add ( point.x ).add ( point.y ) : addNull ( 2 );
+    }
+
+    /**
+     * Adds dimension setting.
+     *
+     * @param dimension setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final Dimension dimension )
+    {
+        return dimension != null ? add ( dimension.width ).add ( dimension.height ) : addNull ( 2 );
+    }
+
+    /**
+     * Adds enum setting.
+     *
+     * @param value setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final Enum value )
+    {
+        return add ( value != null ? value.ordinal () : -1 );
+    }
+
+    /**
+     * Adds object setting.
+     * Objects are compared using equals, so it is better to use primitive methods whenever possible.
+     *
+     * @param value setting value
+     * @return this key
+     */
+    public ShapeCacheKey add ( final Object value )
+    {
+        if ( objects == null )
+        {
+            objects = new Object[ 4 ];
+        }
+        else if ( objectsCount == objects.length )
+        {
+            objects = Arrays.copyOf ( objects, objects.length * 2 );
+        }
+        objects[ objectsCount++ ] = value;
+        hash = 31 * hash + ( value != null ? value.hashCode () : 0 );
+        return this;
+    }
+
+    /**
+     * Adds placeholder slots for null settings.
+     *
+     * @param amount amount of slots
+     * @return this key
+     */
+    private ShapeCacheKey addNull ( final int amount )
+    {
+        for ( int i = 0; i < amount; i++ )
+        {
+            add ( Integer.MIN_VALUE );
+        }
+        return this;
+    }
+
+    /**
+     * Returns immutable copy of this key which can be stored in cache.
+     *
+     * @return immutable copy of this key
+     */
+    public ShapeCacheKey copy ()
+    {
+        return new ShapeCacheKey ( this );
+    }
+
+    /**
+     * Returns whether this key contains the same settings as the specified one.
+     *
+     * @param key key to compare with
+     * @return true if this key contains the same settings as the specified one, false otherwise
+     */
+    public boolean matches ( final ShapeCacheKey key )
+    {
+        if ( key == this )
+        {
+            return true;
+        }
+        if ( key == null || key.hash != hash || key.slotsCount != slotsCount || key.objectsCount != objectsCount )
+        {
+            return false;
+        }
+        for ( int i = 0; i < slotsCount; i++ )
+        {
+            if ( slots[ i ] != key.slots[ i ] )
+            {
+                return false;
+            }
+        }
+        for ( int i = 0; i < objectsCount; i++ )
+        {
+            final Object object = objects[ i ];
+            if ( object != key.objects[ i ] && ( object == null || !object.equals ( key.objects[ i ] ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals ( final Object obj )
+    {
+        return obj instanceof ShapeCacheKey && matches ( ( ShapeCacheKey ) obj );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode ()
+    {
+        return hash;
+    }
+}
@@ -28,7 +28,9 @@ import com.alee.utils.xml.*;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.converters.Converter;
 import com.thoughtworks.xstream.converters.SingleValueConverter;
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.io.StreamException;
 import com.thoughtworks.xstream.io.xml.DomDriver;
 
 import javax.swing.*;
@@ -53,6 +55,14 @@ public final class XmlUtils
      */
     public static boolean aliasJdkClasses = true;
 
+    /**
+     * Driver used to read and write XML.
+     * It has to be changed before XStream is initialized to take effect.
+     * By default DOM driver is used, you can switch to {@link com.alee.utils.xml.XmlStreamDriver} to avoid building DOM tree for the
+     * whole document while reading it, but make sure that your XML files and converters are read properly with it first.
+     */
+    public static HierarchicalStreamDriver xmlDriver = new DomDriver ();
+
     /**
      * Custom converters.
      */
@@ -69,6 +79,12 @@ public final class XmlUtils
      */
     private static XStream xStream = null;
 
+    /**
+     * Parsed XML documents cache.
+     * It is disabled by default, use {@link #setSnapshotCacheDirectory(java.io.File)} method to enable it.
+     */
+    private static XmlSnapshotCache snapshotCache = null;
+
     /**
      * Returns global XStream instance configured with all required aliases and converters.
      *
@@ -91,7 +107,7 @@ public final class XmlUtils
         try
         {
             // XStream instnce initialization
-            xStream = new XStream ( new DomDriver () );
+            xStream = new XStream ( xmlDriver );
             // xStream.setMode ( XStream.ID_REFERENCES );
 
             // Standart Java-classes aliases
@@ -137,6 +153,28 @@ public final class XmlUtils
         }
     }
 
+    /**
+     * Returns parsed XML documents cache or null if it is disabled.
+     *
+     * @return parsed XML documents cache or null if it is disabled
+     */
+    public static XmlSnapshotCache getSnapshotCache ()
+    {
+        return snapshotCache;
+    }
+
+    /**
+     * Sets directory for parsed XML documents cache.
+     * When set, documents read from files and URLs are cached in compact binary form and are not parsed again until they are modified.
+     * This significantly speeds up skins and dictionaries loading on subsequent application launches.
+     *
+     * @param directory cache directory, null to disable cache
+     */
+    public static void setSnapshotCacheDirectory ( final File directory )
+    {
+        snapshotCache = directory != null ? new XmlSnapshotCache ( directory ) : null;
+    }
+
     /**
      * Process the annotations of the given type and configure the XStream.
      * A call of this method will automatically turn the auto-detection mode for annotations off.
@@ -345,7 +383,24 @@ public final class XmlUtils
      */
     public static <T> T fromXML ( final URL url )
     {
-        return ( T ) getXStream ().fromXML ( url );
+        final XmlSnapshotCache cache = snapshotCache;
+        final Object object;
+        if ( cache != null )
+        {
+            try
+            {
+                object = cache.fromXML ( getXStream (), xmlDriver, url );
+            }
+            catch ( final IOException e )
+            {
+                throw new StreamException ( e );
+            }
+        }
+        else
+        {
+            object = getXStream ().fromXML ( url );
+        }
+        return ( T ) object;
     }
 
     /**
@@ -357,7 +412,24 @@ public final class XmlUtils
      */
     public static <T> T fromXML ( final File file )
     {
-        return ( T ) getXStream ().fromXML ( file );
+        final XmlSnapshotCache cache = snapshotCache;
+        final Object object;
+        if ( cache != null )
+        {
+            try
+            {
+                object = cache.fromXML ( getXStream (), xmlDriver, file );
+            }
+            catch ( final IOException e )
+            {
+                throw new StreamException ( e );
+            }
+        }
+        else
+        {
+            object = getXStream ().fromXML ( file );
+        }
+        return ( T ) object;
     }
 
     /**
@@ -439,14 +511,17 @@ public final class XmlUtils
                 InputStream is = null;
                 try
                 {
-                    is = Class.forName ( resource.getClassName () ).getResourceAsStream ( resource.getSource () );
-                    if ( is == null )
+                    // Resource URL is required to identify cached snapshot
+                    final Class<?> nearClass = Class.forName ( resource.getClassName () );
+                    final URL url = snapshotCache != null ? nearClass.getResource ( resource.getSource () ) : null;
+                    is = url == null ? nearClass.getResourceAsStream ( resource.getSource () ) : null;
+                    if ( url == null && is == null )
                     {
                         final String src = resource.getSource ();
                         final String cn = resource.getClassName ();
                         throw new RuntimeException ( "Unable to read XML file \"" + src + "\" near class \"" + cn + "\"" );
                     }
-                    return XmlUtils.fromXML ( is );
+                    return url != null ? XmlUtils.<T>fromXML ( url ) : XmlUtils.<T>fromXML ( is );
                 }
                 catch ( final ClassNotFoundException e )
                 {
@@ -18,10 +18,18 @@
 package com.alee.utils;
 
 import com.alee.managers.log.Log;
+import com.alee.utils.concurrent.DaemonThreadFactory;
 import com.alee.utils.zip.UnzipListener;
+import com.alee.utils.zip.UnzipProgressListener;
 
 import java.io.*;
-import java.util.Enumeration;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -84,9 +92,30 @@ public final class ZipUtils
      */
     public static boolean unzip ( final File archive, final File dst, final UnzipListener listener )
     {
+        return unzip ( archive, dst, listener, Runtime.getRuntime ().availableProcessors () );
+    }
+
+    /**
+     * Extracts ZIP archive contents into destination directory using the specified amount of threads.
+     * Any folder required for extraction are created before the extraction starts.
+     * <p/>
+     * Archive is opened only once and its entries are distributed across extraction threads, largest entries first.
+     * Listener is always informed from the calling thread, entries are indexed in the order they were extracted.
+     * Provide {@link com.alee.utils.zip.UnzipProgressListener} to also receive extracted bytes progress.
+     *
+     * @param archive  ZIP file
+     * @param dst      destination directory
+     * @param listener extraction process listener
+     * @param threads  maximum amount of extraction threads
+     * @return true if archive was extracted successfully
+     */
+    public static boolean unzip ( final File archive, final File dst, final UnzipListener listener, final int threads )
+    {
+        ZipFile zipFile = null;
+        ExecutorService executor = null;
         try
         {
-            final ZipFile zipFile = new ZipFile ( archive );
+            zipFile = new ZipFile ( archive );
 
             // Informing listener about zip entries amount
             if ( listener != null )
@@ -94,40 +123,107 @@ public final class ZipUtils
                 listener.sizeDetermined ( zipFile.size () );
             }
 
-            // Starting zip extraction
+            // Creating directory structure ahead of time and collecting files
+            final List<ZipEntry> directories = new ArrayList<ZipEntry> ();
+            final List<ZipEntry> files = new ArrayList<ZipEntry> ();
+            final Set<File> created = new HashSet<File> ();
+            long totalBytes = 0;
             final Enumeration entries = zipFile.entries ();
-            int index = 0;
             while ( entries.hasMoreElements () )
             {
-                // Single zip entry
                 final ZipEntry entry = ( ZipEntry ) entries.nextElement ();
-                final File extractToFile;
+                final File file = new File ( dst, entry.getName () );
+                final File directory = entry.isDirectory () ? file : file.getParentFile ();
+                if ( created.add ( directory ) )
+                {
+                    directory.mkdirs ();
+                }
                 if ( entry.isDirectory () )
                 {
-                    // Creating directories path
-                    extractToFile = new File ( dst, entry.getName () );
-                    extractToFile.mkdirs ();
+                    directories.add ( entry );
                 }
                 else
                 {
-                    // Ensures that destination file and its folders exist
-                    extractToFile = new File ( dst, entry.getName () );
-                    extractToFile.getParentFile ().mkdirs ();
-                    extractToFile.createNewFile ();
-
-                    // Copying file
-                    copyInputStream ( zipFile.getInputStream ( entry ),
-                            new BufferedOutputStream ( new FileOutputStream ( extractToFile ) ) );
+                    files.add ( entry );
+                    totalBytes += Math.max ( 0, entry.getSize () );
                 }
+            }
 
-                // Informing listener about single unzipped file
-                if ( listener != null )
+            // Informing listener about directories and total bytes amount
+            int index = 0;
+            if ( listener != null )
+            {
+                for ( final ZipEntry entry : directories )
                 {
-                    listener.fileUnzipped ( entry, extractToFile, index );
+                    listener.fileUnzipped ( entry, new File ( dst, entry.getName () ), index );
                     index++;
                 }
+                if ( listener instanceof UnzipProgressListener )
+                {
+                    ( ( UnzipProgressListener ) listener ).bytesDetermined ( totalBytes );
+                }
+            }
+
+            // Largest entries go first for better threads load balance
+            Collections.sort ( files, new Comparator<ZipEntry> ()
+            {
+                @Override
+                public int compare ( final ZipEntry e1, final ZipEntry e2 )
+                {
+                    final long s1 = e1.getSize ();
+                    final long s2 = e2.getSize ();
+                    return s1 < s2 ? 1 : s1 > s2 ? -1 : 0;
+                }
+            } );
+
+            // Starting extraction threads
+            final int workers = Math.max ( 1, Math.min ( threads, files.size () ) );
+            final UnzipTask task = new UnzipTask ( zipFile, dst, files );
+            executor = Executors.newFixedThreadPool ( workers, new DaemonThreadFactory ( "ZipUtils" ) );
+            for ( int i = 0; i < workers; i++ )
+            {
+                executor.execute ( task );
+            }
+
+            // Dispatching extraction events from the calling thread
+            final List<UnzipEvent> events = new ArrayList<UnzipEvent> ();
+            long bytes = 0;
+            int finished = 0;
+            while ( finished < workers )
+            {
+                events.add ( task.events.take () );
+                task.events.drainTo ( events );
+                long unzipped = 0;
+                for ( final UnzipEvent event : events )
+                {
+                    if ( event.file != null )
+                    {
+                        if ( listener != null )
+                        {
+                            listener.fileUnzipped ( event.entry, event.file, index );
+                        }
+                        index++;
+                    }
+                    else if ( event.bytes > 0 )
+                    {
+                        unzipped += event.bytes;
+                    }
+                    else
+                    {
+                        finished++;
+                    }
+                }
+                events.clear ();
+                if ( unzipped > 0 && listener instanceof UnzipProgressListener )
+                {
+                    bytes += unzipped;
+                    ( ( UnzipProgressListener ) listener ).bytesUnzipped ( bytes );
+                }
+            }
+            if ( task.failure != null )
+            {
+                throw task.failure;
             }
-            zipFile.close ();
             return true;
         }
         catch ( final Throwable e )
@@ -135,6 +231,24 @@ public final class ZipUtils
             Log.error ( ZipUtils.class, e );
             return false;
         }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdown ();
+            }
+            if ( zipFile != null )
+            {
+                try
+                {
+                    zipFile.close ();
+                }
+                catch ( final IOException e )
+                {
+                    Log.error ( ZipUtils.class, e );
+                }
+            }
+        }
     }
 
     /**
@@ -162,21 +276,155 @@ public final class ZipUtils
     }
 
     /**
-     * Performs data copy from input to output stream.
-     *
-     * @param in  data input stream
-     * @param out data output stream
-     * @throws IOException
+     * Zip entries extraction task shared by all extraction threads.
+     */
+    private static class UnzipTask implements Runnable
+    {
+        /**
+         * Extraction buffer size.
+         */
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        /**
+         * Extracted zip file.
+         */
+        private final ZipFile zipFile;
+
+        /**
+         * Destination directory.
+         */
+        private final File dst;
+
+        /**
+         * Zip file entries to extract.
+         */
+        private final List<ZipEntry> entries;
+
+        /**
+         * Index of the next entry to extract.
+         */
+        private final AtomicInteger next = new AtomicInteger ( 0 );
+
+        /**
+         * Extraction events queue.
+         */
+        private final LinkedBlockingQueue<UnzipEvent> events = new LinkedBlockingQueue<UnzipEvent> ();
+
+        /**
+         * First extraction failure.
+         */
+        private volatile Throwable failure = null;
+
+        /**
+         * Constructs new extraction task.
+         *
+         * @param zipFile extracted zip file
+         * @param dst     destination directory
+         * @param entries zip file entries to extract
+         */
+        public UnzipTask ( final ZipFile zipFile, final File dst, final List<ZipEntry> entries )
+        {
+            super ();
+            this.zipFile = zipFile;
+            this.dst = dst;
+            this.entries = entries;
+        }
+
+        @Override
+        public void run ()
+        {
+            try
+            {
+                final byte[] buffer = new byte[ BUFFER_SIZE ];
+                final ByteBuffer byteBuffer = ByteBuffer.allocateDirect ( BUFFER_SIZE );
+                int index;
+                while ( failure == null && ( index = next.getAndIncrement () ) < entries.size () )
+                {
+                    final ZipEntry entry = entries.get ( index );
+                    final File file = new File ( dst, entry.getName () );
+                    final InputStream in = zipFile.getInputStream ( entry );
+                    try
+                    {
+                        final FileChannel out = new FileOutputStream ( file ).getChannel ();
+                        try
+                        {
+                            int len;
+                            while ( ( len = in.read ( buffer ) ) >= 0 )
+                            {
+                                byteBuffer.clear ();
+                                byteBuffer.put ( buffer, 0, len );
+                                byteBuffer.flip ();
+                                while ( byteBuffer.hasRemaining () )
+                                {
+                                    out.write ( byteBuffer );
+                                }
+                                if ( len > 0 )
+                                {
+                                    events.add ( new UnzipEvent ( null, null, len ) );
+                                }
+                            }
+                        }
+                        finally
+                        {
+                            out.close ();
+                        }
+                    }
+                    finally
+                    {
+                        in.close ();
+                    }
+                    events.add ( new UnzipEvent ( entry, file, 0 ) );
+                }
+            }
+            catch ( final Throwable e )
+            {
+                if ( failure == null )
+                {
+                    failure = e;
+                }
+            }
+            finally
+            {
+                // Informing that this thread has finished
+                events.add ( new UnzipEvent ( null, null, 0 ) );
+            }
+        }
+    }
+
+    /**
+     * Single extraction event.
+     * It is either extracted file, extracted bytes amount or extraction thread finish event.
      */
-    private static void copyInputStream ( final InputStream in, final OutputStream out ) throws IOException
+    private static class UnzipEvent
     {
-        final byte[] buffer = new byte[ 1024 ];
-        int len;
-        while ( ( len = in.read ( buffer ) ) >= 0 )
+        /**
+         * Extracted zip entry.
+         */
+        private final ZipEntry entry;
+
+        /**
+         * Extracted file.
+         */
+        private final File file;
+
+        /**
+         * Extracted bytes amount.
+         */
+        private final int bytes;
+
+        /**
+         * Constructs new extraction event.
+         *
+         * @param entry extracted zip entry
+         * @param file  extracted file
+         * @param bytes extracted bytes amount
+         */
+        public UnzipEvent ( final ZipEntry entry, final File file, final int bytes )
         {
-            out.write ( buffer, 0, len );
+            super ();
+            this.entry = entry;
+            this.file = file;
+            this.bytes = bytes;
         }
-        in.close ();
-        out.close ();
     }
 }
\ No newline at end of file
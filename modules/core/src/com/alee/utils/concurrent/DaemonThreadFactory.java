@@ -1,6 +1,7 @@
 package com.alee.utils.concurrent;
 
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A thread factory that only produces daemon threads.
@@ -10,6 +11,36 @@ import java.util.concurrent.ThreadFactory;
 
 public class DaemonThreadFactory implements ThreadFactory
 {
+    /**
+     * Threads name prefix.
+     * Null means that default thread names will be used.
+     */
+    protected final String name;
+
+    /**
+     * Created threads counter.
+     */
+    protected final AtomicInteger counter = new AtomicInteger ( 0 );
+
+    /**
+     * Constructs new daemon thread factory.
+     */
+    public DaemonThreadFactory ()
+    {
+        this ( null );
+    }
+
+    /**
+     * Constructs new daemon thread factory which names threads using the specified prefix.
+     *
+     * @param name threads name prefix
+     */
+    public DaemonThreadFactory ( final String name )
+    {
+        super ();
+        this.name = name;
+    }
+
     /**
      * Constructs a new daemon thread.
      *
@@ -19,8 +50,8 @@ public class DaemonThreadFactory implements ThreadFactory
     @Override
     public Thread newThread ( final Runnable r )
     {
-        final Thread dThread = new Thread ( r );
+        final Thread dThread = name != null ? new Thread ( r, name + "-" + counter.incrementAndGet () ) : new Thread ( r );
         dThread.setDaemon ( true );
         return dThread;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * This interface is used to provide file content for FileUtils writeFileAtomically method.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.FileUtils#writeFileAtomically(java.io.File, FileContentWriter)
+ */
+
+public interface FileContentWriter
+{
+    /**
+     * Writes file content into the specified stream.
+     * Stream is closed by the caller after this method returns.
+     *
+     * @param out stream to write file content into
+     * @throws IOException if file content cannot be written
+     */
+    public void write ( DataOutputStream out ) throws IOException;
+}
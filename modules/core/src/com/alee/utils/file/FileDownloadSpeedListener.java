@@ -0,0 +1,35 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+/**
+ * Extended file download listener which is also informed about current download speed.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.file.FileDownloader
+ */
+
+public interface FileDownloadSpeedListener extends FileDownloadListener
+{
+    /**
+     * Called about once per second while file is being downloaded.
+     *
+     * @param bytesPerSecond average download speed over the last measured interval
+     */
+    public void speedUpdated ( long bytesPerSecond );
+}
@@ -0,0 +1,925 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.global.GlobalConstants;
+import com.alee.managers.proxy.ProxyManager;
+import com.alee.utils.FileUtils;
+import com.alee.utils.WebUtils;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Segmented file downloader.
+ * Large files are downloaded in several parallel segments using HTTP range requests if server supports them.
+ * <p/>
+ * Data is written into a pre-allocated temporary file next to the destination file and download progress is periodically stored in
+ * a separate state file, so that an interrupted download can be resumed later from where it stopped. Temporary file is moved to the
+ * destination only when download is completed and verified against the expected digest, if one was specified.
+ * <p/>
+ * {@link #download()} blocks the calling thread until download ends, while segments are downloaded on separate daemon threads, so
+ * listener might be informed from any of those threads. Unlike {@link com.alee.utils.FileUtils#downloadFile} methods which always
+ * download file in a single stream on the calling thread, this is the only way to download file in parallel or resume it.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.FileUtils#downloadFile(String, java.io.File, boolean, String, int, FileDownloadListener)
+ */
+
+public class FileDownloader
+{
+    /**
+     * Temporary file extension.
+     */
+    public static final String PART_EXTENSION = ".part";
+
+    /**
+     * Download state file extension.
+     */
+    public static final String STATE_EXTENSION = ".download";
+
+    /**
+     * Single read buffer size.
+     */
+    protected static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Download state save and speed update interval.
+     */
+    protected static final long UPDATE_INTERVAL = 1000;
+
+    /**
+     * Download settings.
+     */
+    protected final String url;
+    protected final File dstFile;
+    protected boolean encodeUrl = false;
+    protected String contentType = null;
+    protected int timeout = GlobalConstants.SHORT_TIMEOUT;
+    protected int maxSegments = 4;
+    protected long minSegmentSize = 1024 * 1024;
+    protected boolean resume = true;
+    protected String digestAlgorithm = null;
+    protected String expectedDigest = null;
+    protected FileDownloadListener listener = null;
+
+    /**
+     * Runtime variables.
+     */
+    protected final Object listenerLock = new Object ();
+    protected final AtomicLong downloaded = new AtomicLong ( 0 );
+    protected volatile long speed = 0;
+    protected volatile boolean stopped = false;
+    protected volatile Throwable failure = null;
+
+    /**
+     * Constructs new file downloader.
+     *
+     * @param url     file source url
+     * @param dstFile destination file
+     */
+    public FileDownloader ( final String url, final File dstFile )
+    {
+        super ();
+        this.url = url;
+        this.dstFile = dstFile;
+    }
+
+    /**
+     * Sets whether source url should be encoded or not.
+     *
+     * @param encodeUrl whether source url should be encoded or not
+     */
+    public void setEncodeUrl ( final boolean encodeUrl )
+    {
+        this.encodeUrl = encodeUrl;
+    }
+
+    /**
+     * Sets content type limitation.
+     *
+     * @param contentType content type limitation
+     */
+    public void setContentType ( final String contentType )
+    {
+        this.contentType = contentType;
+    }
+
+    /**
+     * Sets connection and read timeout.
+     *
+     * @param timeout connection and read timeout, zero to use default one
+     */
+    public void setTimeout ( final int timeout )
+    {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Sets maximum amount of parallel download segments.
+     *
+     * @param maxSegments maximum amount of parallel download segments
+     */
+    public void setMaxSegments ( final int maxSegments )
+    {
+        this.maxSegments = Math.max ( 1, maxSegments );
+    }
+
+    /**
+     * Sets minimum segment size in bytes.
+     * Files smaller than two segments are downloaded in a single stream.
+     *
+     * @param minSegmentSize minimum segment size in bytes
+     */
+    public void setMinSegmentSize ( final long minSegmentSize )
+    {
+        this.minSegmentSize = Math.max ( 1, minSegmentSize );
+    }
+
+    /**
+     * Sets whether interrupted download should be resumed or not.
+     *
+     * @param resume whether interrupted download should be resumed or not
+     */
+    public void setResume ( final boolean resume )
+    {
+        this.resume = resume;
+    }
+
+    /**
+     * Sets expected digest of the downloaded file.
+     *
+     * @param algorithm digest algorithm, for example "MD5" or "SHA-256"
+     * @param digest    expected hex digest
+     */
+    public void setExpectedDigest ( final String algorithm, final String digest )
+    {
+        this.digestAlgorithm = algorithm;
+        this.expectedDigest = digest;
+    }
+
+    /**
+     * Sets file download process listener.
+     *
+     * @param listener file download process listener
+     */
+    public void setListener ( final FileDownloadListener listener )
+    {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns amount of bytes downloaded so far, including bytes downloaded before download was resumed.
+     *
+     * @return amount of bytes downloaded so far
+     */
+    public long getDownloaded ()
+    {
+        return downloaded.get ();
+    }
+
+    /**
+     * Returns current download speed in bytes per second.
+     *
+     * @return current download speed in bytes per second
+     */
+    public long getSpeed ()
+    {
+        return speed;
+    }
+
+    /**
+     * Downloads file and returns it if download succeed or null if not.
+     *
+     * @return downloaded file if download succeed, null otherwise
+     */
+    public File download ()
+    {
+        final File partFile = new File ( dstFile.getPath () + PART_EXTENSION );
+        final File stateFile = new File ( dstFile.getPath () + STATE_EXTENSION );
+        URLConnection probe = null;
+        RandomAccessFile raf = null;
+        ExecutorService executor = null;
+        try
+        {
+            final URL source = new URL ( encodeUrl ? WebUtils.encodeUrl ( url ) : url );
+
+            // Checking stop flag
+            if ( shouldStop () )
+            {
+                FileUtils.deleteFile ( dstFile );
+                return null;
+            }
+
+            // Probing source, range request is used to check whether server supports ranges or not
+            probe = openConnection ( source, 0, -1 );
+
+            // Content type limitation
+            if ( contentType != null )
+            {
+                final String ct = probe.getContentType ();
+                if ( ct == null || !ct.contains ( contentType ) )
+                {
+                    disconnect ( probe );
+                    FileUtils.deleteFile ( dstFile );
+                    return null;
+                }
+            }
+
+            // Notifying about file size
+            final long total = getTotalLength ( probe );
+            final boolean ranges = total > 0 && isPartialResponse ( probe );
+            final String validator = getValidator ( probe );
+            fireSizeDetermined ( total );
+            if ( shouldStop () )
+            {
+                disconnect ( probe );
+                FileUtils.deleteFile ( dstFile );
+                return null;
+            }
+
+            // Restoring or creating download segments
+            List<Segment> segments = resume && ranges ? loadState ( stateFile, partFile, source, total, validator ) : null;
+            if ( segments == null )
+            {
+                FileUtils.deleteFile ( partFile );
+                FileUtils.deleteFile ( stateFile );
+                segments = createSegments ( ranges, total );
+            }
+            for ( final Segment segment : segments )
+            {
+                downloaded.addAndGet ( segment.done );
+            }
+
+            // Pre-allocating file
+            raf = new RandomAccessFile ( partFile, "rw" );
+            if ( total > 0 && raf.length () != total )
+            {
+                raf.setLength ( total );
+            }
+            final FileChannel channel = raf.getChannel ();
+
+            // Starting download of segments which are not completed yet
+            final CountDownLatch latch = new CountDownLatch ( segments.size () );
+            int pending = 0;
+            for ( final Segment segment : segments )
+            {
+                if ( !segment.completed )
+                {
+                    pending++;
+                }
+            }
+            if ( pending > 0 )
+            {
+                executor = Executors.newFixedThreadPool ( pending, new DaemonThreadFactory ( "FileDownloader" ) );
+            }
+            boolean probeUsed = false;
+            for ( final Segment segment : segments )
+            {
+                // Segments restored as completed are not requested again
+                if ( segment.completed )
+                {
+                    latch.countDown ();
+                    continue;
+                }
+
+                // Probe connection starts from the first byte so it can be reused for the first segment
+                final URLConnection connection = !probeUsed && segment.start == 0 && segment.done == 0 ? probe : null;
+                probeUsed |= connection != null;
+                executor.execute ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        try
+                        {
+                            downloadSegment ( source, channel, segment, connection );
+                        }
+                        catch ( final Throwable e )
+                        {
+                            if ( failure == null )
+                            {
+                                failure = e;
+                            }
+                        }
+                        finally
+                        {
+                            latch.countDown ();
+                        }
+                    }
+                } );
+            }
+            if ( !probeUsed )
+            {
+                disconnect ( probe );
+            }
+
+            // Waiting for segments, updating digest, speed and download state meanwhile
+            final MessageDigest digest = digestAlgorithm != null ? MessageDigest.getInstance ( digestAlgorithm ) : null;
+            final DigestCursor cursor = new DigestCursor ();
+            long lastTime = System.currentTimeMillis ();
+            long lastDownloaded = downloaded.get ();
+            while ( !latch.await ( UPDATE_INTERVAL / 4, TimeUnit.MILLISECONDS ) )
+            {
+                if ( digest != null )
+                {
+                    updateDigest ( digest, channel, segments, cursor );
+                }
+                final long time = System.currentTimeMillis ();
+                if ( time - lastTime >= UPDATE_INTERVAL )
+                {
+                    final long current = downloaded.get ();
+                    speed = ( current - lastDownloaded ) * 1000 / ( time - lastTime );
+                    fireSpeedUpdated ( speed );
+                    lastTime = time;
+                    lastDownloaded = current;
+                    if ( resume && ranges )
+                    {
+                        saveState ( stateFile, source, total, validator, segments );
+                    }
+                }
+            }
+
+            // Stopped download is discarded
+            if ( stopped )
+            {
+                raf.close ();
+                FileUtils.deleteFile ( partFile );
+                FileUtils.deleteFile ( stateFile );
+                FileUtils.deleteFile ( dstFile );
+                return null;
+            }
+
+            // Failed download is kept for resume
+            if ( failure != null )
+            {
+                if ( resume && ranges )
+                {
+                    saveState ( stateFile, source, total, validator, segments );
+                }
+                throw failure;
+            }
+
+            // Verifying digest
+            if ( digest != null )
+            {
+                updateDigest ( digest, channel, segments, cursor );
+                if ( !new BigInteger ( 1, digest.digest () ).equals ( new BigInteger ( expectedDigest, 16 ) ) )
+                {
+                    raf.close ();
+                    FileUtils.deleteFile ( partFile );
+                    FileUtils.deleteFile ( stateFile );
+                    throw new IOException ( "Downloaded file " + digestAlgorithm + " digest doesn't match expected one" );
+                }
+            }
+
+            // Moving downloaded file to its destination
+            raf.close ();
+            if ( dstFile.exists () && !dstFile.delete () || !partFile.renameTo ( dstFile ) )
+            {
+                throw new IOException ( "Unable to move downloaded file to " + dstFile.getAbsolutePath () );
+            }
+            FileUtils.deleteFile ( stateFile );
+
+            // Informing about completed download
+            fireFileDownloaded ( dstFile );
+            return dstFile;
+        }
+        catch ( final Throwable e )
+        {
+            // Informing about failed download
+            fireFileDownloadFailed ( e );
+            return null;
+        }
+        finally
+        {
+            if ( executor != null )
+            {
+                executor.shutdownNow ();
+            }
+            if ( raf != null )
+            {
+                try
+                {
+                    raf.close ();
+                }
+                catch ( final IOException e )
+                {
+                    //
+                }
+            }
+        }
+    }
+
+    /**
+     * Downloads single segment.
+     *
+     * @param source     file source url
+     * @param channel    destination file channel
+     * @param segment    segment to download
+     * @param connection opened connection to use or null to open a new one
+     * @throws IOException if segment download failed
+     */
+    protected void downloadSegment ( final URL source, final FileChannel channel, final Segment segment, final URLConnection connection )
+            throws IOException
+    {
+        // Nothing left to download within this segment
+        if ( segment.completed )
+        {
+            if ( connection != null )
+            {
+                disconnect ( connection );
+            }
+            return;
+        }
+
+        final URLConnection uc;
+        if ( connection != null )
+        {
+            uc = connection;
+        }
+        else
+        {
+            uc = openConnection ( source, segment.start + segment.done, segment.end );
+            if ( !isPartialResponse ( uc ) )
+            {
+                disconnect ( uc );
+                throw new IOException ( "Server ignored range request for " + source );
+            }
+        }
+        final InputStream in = uc.getInputStream ();
+        try
+        {
+            final byte[] buffer = new byte[ BUFFER_SIZE ];
+            final ByteBuffer byteBuffer = ByteBuffer.wrap ( buffer );
+            while ( !stopped && failure == null )
+            {
+                final long left = segment.end < 0 ? buffer.length : segment.end - segment.start - segment.done;
+                if ( left <= 0 )
+                {
+                    break;
+                }
+                final int read = in.read ( buffer, 0, ( int ) Math.min ( buffer.length, left ) );
+                if ( read == -1 )
+                {
+                    if ( segment.end >= 0 )
+                    {
+                        throw new EOFException ( "Unexpected end of stream at " + ( segment.start + segment.done ) + " byte" );
+                    }
+                    break;
+                }
+
+                // Writing data directly at segment position
+                byteBuffer.clear ();
+                byteBuffer.limit ( read );
+                long position = segment.start + segment.done;
+                while ( byteBuffer.hasRemaining () )
+                {
+                    position += channel.write ( byteBuffer, position );
+                }
+                segment.done += read;
+
+                // Informing about downloaded part
+                firePartDownloaded ( downloaded.addAndGet ( read ) );
+                if ( shouldStop () )
+                {
+                    stopped = true;
+                }
+            }
+            if ( !stopped && failure == null )
+            {
+                segment.completed = true;
+            }
+        }
+        finally
+        {
+            try
+            {
+                in.close ();
+            }
+            finally
+            {
+                disconnect ( uc );
+            }
+        }
+    }
+
+    /**
+     * Returns newly created download segments.
+     *
+     * @param ranges whether server supports range requests or not
+     * @param total  total file length or -1 if it is unknown
+     * @return newly created download segments
+     */
+    protected List<Segment> createSegments ( final boolean ranges, final long total )
+    {
+        final List<Segment> segments = new ArrayList<Segment> ();
+        if ( !ranges || total < minSegmentSize * 2 || maxSegments < 2 )
+        {
+            segments.add ( new Segment ( 0, total, 0 ) );
+        }
+        else
+        {
+            final int count = ( int ) Math.min ( maxSegments, total / minSegmentSize );
+            final long size = total / count;
+            for ( int i = 0; i < count; i++ )
+            {
+                segments.add ( new Segment ( i * size, i == count - 1 ? total : ( i + 1 ) * size, 0 ) );
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Updates digest with all data downloaded in order so far.
+     *
+     * @param digest   digest to update
+     * @param channel  destination file channel
+     * @param segments download segments
+     * @param cursor   digest position
+     * @throws IOException if downloaded data cannot be read
+     */
+    protected void updateDigest ( final MessageDigest digest, final FileChannel channel, final List<Segment> segments,
+                                  final DigestCursor cursor ) throws IOException
+    {
+        while ( cursor.segment < segments.size () )
+        {
+            final Segment segment = segments.get ( cursor.segment );
+            final boolean completed = segment.completed;
+            final long available = segment.start + segment.done;
+            while ( cursor.position < available )
+            {
+                cursor.buffer.clear ();
+                cursor.buffer.limit ( ( int ) Math.min ( cursor.buffer.capacity (), available - cursor.position ) );
+                final int read = channel.read ( cursor.buffer, cursor.position );
+                if ( read <= 0 )
+                {
+                    break;
+                }
+                cursor.buffer.flip ();
+                digest.update ( cursor.buffer );
+                cursor.position += read;
+            }
+            if ( completed && cursor.position >= available )
+            {
+                cursor.segment++;
+            }
+            else
+            {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns segments restored from the saved download state or null if download cannot be resumed.
+     *
+     * @param stateFile download state file
+     * @param partFile  temporary file
+     * @param source    file source url
+     * @param total     total file length
+     * @param validator file validator
+     * @return segments restored from the saved download state or null if download cannot be resumed
+     */
+    protected List<Segment> loadState ( final File stateFile, final File partFile, final URL source, final long total,
+                                        final String validator )
+    {
+        if ( !stateFile.exists () || !partFile.exists () || partFile.length () != total )
+        {
+            return null;
+        }
+        try
+        {
+            final Properties state = new Properties ();
+            final InputStream is = new FileInputStream ( stateFile );
+            try
+            {
+                state.load ( is );
+            }
+            finally
+            {
+                is.close ();
+            }
+            if ( !source.toString ().equals ( state.getProperty ( "url" ) ) ||
+                    !String.valueOf ( total ).equals ( state.getProperty ( "length" ) ) ||
+                    !validator.equals ( state.getProperty ( "validator" ) ) )
+            {
+                return null;
+            }
+            final int count = Integer.parseInt ( state.getProperty ( "segments" ) );
+            final List<Segment> segments = new ArrayList<Segment> ( count );
+            for ( int i = 0; i < count; i++ )
+            {
+                final String[] values = state.getProperty ( "segment." + i ).split ( "," );
+                segments.add ( new Segment ( Long.parseLong ( values[ 0 ] ), Long.parseLong ( values[ 1 ] ), Long.parseLong ( values[ 2 ] ) ) );
+            }
+            return segments;
+        }
+        catch ( final Throwable e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Saves current download state.
+     * Saved progress might be behind the actual one, which only causes some data to be downloaded again on resume.
+     *
+     * @param stateFile download state file
+     * @param source    file source url
+     * @param total     total file length
+     * @param validator file validator
+     * @param segments  download segments
+     * @throws IOException if state cannot be saved
+     */
+    protected void saveState ( final File stateFile, final URL source, final long total, final String validator,
+                               final List<Segment> segments ) throws IOException
+    {
+        final Properties state = new Properties ();
+        state.setProperty ( "url", source.toString () );
+        state.setProperty ( "length", String.valueOf ( total ) );
+        state.setProperty ( "validator", validator );
+        state.setProperty ( "segments", String.valueOf ( segments.size () ) );
+        for ( int i = 0; i < segments.size (); i++ )
+        {
+            final Segment segment = segments.get ( i );
+            state.setProperty ( "segment." + i, segment.start + "," + segment.end + "," + segment.done );
+        }
+        final OutputStream os = new FileOutputStream ( stateFile );
+        try
+        {
+            state.store ( os, null );
+        }
+        finally
+        {
+            os.close ();
+        }
+    }
+
+    /**
+     * Returns newly opened connection for the specified range of bytes.
+     *
+     * @param source file source url
+     * @param from   first byte position
+     * @param to     last byte position, exclusive, or -1 to request data till the end
+     * @return newly opened connection
+     * @throws IOException if connection cannot be opened
+     */
+    protected URLConnection openConnection ( final URL source, final long from, final long to ) throws IOException
+    {
+        final URLConnection uc = ProxyManager.getURLConnection ( source );
+        if ( timeout != 0 )
+        {
+            uc.setConnectTimeout ( timeout );
+            uc.setReadTimeout ( timeout );
+        }
+        if ( uc instanceof HttpURLConnection )
+        {
+            uc.setRequestProperty ( "Range", "bytes=" + from + "-" + ( to >= 0 ? String.valueOf ( to - 1 ) : "" ) );
+        }
+        return uc;
+    }
+
+    /**
+     * Returns whether connection received partial content response or not.
+     *
+     * @param uc connection
+     * @return true if connection received partial content response, false otherwise
+     * @throws IOException if response cannot be read
+     */
+    protected boolean isPartialResponse ( final URLConnection uc ) throws IOException
+    {
+        return uc instanceof HttpURLConnection && ( ( HttpURLConnection ) uc ).getResponseCode () == HttpURLConnection.HTTP_PARTIAL;
+    }
+
+    /**
+     * Returns total file length or -1 if it is unknown.
+     *
+     * @param uc connection
+     * @return total file length or -1 if it is unknown
+     * @throws IOException if response cannot be read
+     */
+    protected long getTotalLength ( final URLConnection uc ) throws IOException
+    {
+        try
+        {
+            if ( isPartialResponse ( uc ) )
+            {
+                // Content-Range: bytes 0-999/1000
+                final String range = uc.getHeaderField ( "Content-Range" );
+                final int slash = range != null ? range.lastIndexOf ( '/' ) : -1;
+                return slash != -1 ? Long.parseLong ( range.substring ( slash + 1 ).trim () ) : -1;
+            }
+            final String length = uc.getHeaderField ( "Content-Length" );
+            return length != null ? Long.parseLong ( length.trim () ) : uc.getContentLength ();
+        }
+        catch ( final NumberFormatException e )
+        {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns file validator used to check that file wasn't changed between download attempts.
+     *
+     * @param uc connection
+     * @return file validator
+     */
+    protected String getValidator ( final URLConnection uc )
+    {
+        final String etag = uc.getHeaderField ( "ETag" );
+        return etag != null ? etag : String.valueOf ( uc.getLastModified () );
+    }
+
+    /**
+     * Disconnects specified connection.
+     *
+     * @param uc connection to disconnect
+     */
+    protected void disconnect ( final URLConnection uc )
+    {
+        if ( uc instanceof HttpURLConnection )
+        {
+            ( ( HttpURLConnection ) uc ).disconnect ();
+        }
+    }
+
+    /**
+     * Returns whether download should be stopped or not.
+     *
+     * @return true if download should be stopped, false otherwise
+     */
+    protected boolean shouldStop ()
+    {
+        if ( listener != null )
+        {
+            synchronized ( listenerLock )
+            {
+                return listener.shouldStopDownload ();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Informs listener about determined file size.
+     *
+     * @param total file size
+     */
+    protected void fireSizeDetermined ( final long total )
+    {
+        if ( listener != null )
+        {
+            synchronized ( listenerLock )
+            {
+                listener.sizeDetermined ( ( int ) Math.min ( total, Integer.MAX_VALUE ) );
+            }
+        }
+    }
+
+    /**
+     * Informs listener about downloaded part.
+     *
+     * @param total total bytes downloaded so far
+     */
+    protected void firePartDownloaded ( final long total )
+    {
+        if ( listener != null )
+        {
+            synchronized ( listenerLock )
+            {
+                listener.partDownloaded ( ( int ) Math.min ( total, Integer.MAX_VALUE ) );
+            }
+        }
+    }
+
+    /**
+     * Informs listener about current download speed.
+     *
+     * @param bytesPerSecond current download speed
+     */
+    protected void fireSpeedUpdated ( final long bytesPerSecond )
+    {
+        if ( listener instanceof FileDownloadSpeedListener )
+        {
+            synchronized ( listenerLock )
+            {
+                ( ( FileDownloadSpeedListener ) listener ).speedUpdated ( bytesPerSecond );
+            }
+        }
+    }
+
+    /**
+     * Informs listener about completed download.
+     *
+     * @param file downloaded file
+     */
+    protected void fireFileDownloaded ( final File file )
+    {
+        if ( listener != null )
+        {
+            synchronized ( listenerLock )
+            {
+                listener.fileDownloaded ( file );
+            }
+        }
+    }
+
+    /**
+     * Informs listener about failed download.
+     *
+     * @param e exception that caused download to fail
+     */
+    protected void fireFileDownloadFailed ( final Throwable e )
+    {
+        if ( listener != null )
+        {
+            synchronized ( listenerLock )
+            {
+                listener.fileDownloadFailed ( e );
+            }
+        }
+    }
+
+    /**
+     * Download segment.
+     */
+    protected static class Segment
+    {
+        /**
+         * Segment start position.
+         */
+        protected final long start;
+
+        /**
+         * Segment end position, exclusive, or -1 if file length is unknown.
+         */
+        protected final long end;
+
+        /**
+         * Amount of bytes downloaded within this segment.
+         */
+        protected volatile long done;
+
+        /**
+         * Whether segment download is completed or not.
+         */
+        protected volatile boolean completed;
+
+        /**
+         * Constructs new download segment.
+         *
+         * @param start segment start position
+         * @param end   segment end position, exclusive, or -1 if file length is unknown
+         * @param done  amount of bytes already downloaded within this segment
+         */
+        public Segment ( final long start, final long end, final long done )
+        {
+            super ();
+            this.start = start;
+            this.end = end;
+            this.done = done;
+            this.completed = end >= 0 && start + done >= end;
+        }
+    }
+
+    /**
+     * Position up to which downloaded data was added into digest.
+     */
+    protected static class DigestCursor
+    {
+        protected final ByteBuffer buffer = ByteBuffer.allocate ( BUFFER_SIZE );
+        protected int segment = 0;
+        protected long position = 0;
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * File content hasher.
+ * Supports any digest algorithm provided by installed security providers, for example "MD5", "SHA-1" or "SHA-256".
+ * <p/>
+ * Directory trees are hashed in parallel and computed hashes are cached by file path, size and modification time so unchanged files
+ * are never hashed twice. Large files can also be memory-mapped instead of being copied through intermediate buffers, see
+ * {@link #setMappingThreshold(long)}.
+ * Hashes are returned as lowercase hex strings without leading zeros, same as {@link com.alee.utils.FileUtils#computeMD5(File)}.
+ * <p/>
+ * This class is thread-safe, single instance can be used to hash files from different threads simultaneously.
+ *
+ * @author Mikle Garin
+ */
+
+public class FileHasher
+{
+    /**
+     * Shared hashers cached by algorithm.
+     */
+    private static final Map<String, FileHasher> hashers = new HashMap<String, FileHasher> ();
+
+    /**
+     * Buffer size used to read files which are not memory-mapped.
+     */
+    protected static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Maximum size of a single memory-mapped region.
+     */
+    protected static final long MAPPING_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Reused read buffers.
+     */
+    protected static final ThreadLocal<ByteBuffer> buffers = new ThreadLocal<ByteBuffer> ()
+    {
+        @Override
+        protected ByteBuffer initialValue ()
+        {
+            return ByteBuffer.allocate ( BUFFER_SIZE );
+        }
+    };
+
+    /**
+     * Digest algorithm.
+     */
+    protected final String algorithm;
+
+    /**
+     * Minimum size of files which are memory-mapped for hashing.
+     * Negative value disables memory mapping, it is disabled by default.
+     */
+    protected long mappingThreshold = -1;
+
+    /**
+     * Amount of threads used to hash directory trees.
+     */
+    protected int threads = Math.max ( 2, Runtime.getRuntime ().availableProcessors () );
+
+    /**
+     * Maximum amount of cached hashes.
+     */
+    protected int cacheSize = 50000;
+
+    /**
+     * Cached hashes.
+     * Key is the absolute file path, value also holds file size and modification time to detect file changes.
+     */
+    protected final Map<String, CachedHash> cache = new LinkedHashMap<String, CachedHash> ( 16, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<String, CachedHash> eldest )
+        {
+            return size () > cacheSize;
+        }
+    };
+
+    /**
+     * Returns shared file hasher for the specified algorithm.
+     * Shared hashers also share their hashes cache and are used by {@link com.alee.utils.FileUtils} hashing methods.
+     * Memory mapping should not be enabled for shared hashers, use separate hasher instead.
+     *
+     * @param algorithm digest algorithm
+     * @return shared file hasher for the specified algorithm
+     * @throws IllegalArgumentException if algorithm is not supported
+     */
+    public static FileHasher get ( final String algorithm )
+    {
+        synchronized ( hashers )
+        {
+            FileHasher hasher = hashers.get ( algorithm );
+            if ( hasher == null )
+            {
+                hasher = new FileHasher ( algorithm );
+                hashers.put ( algorithm, hasher );
+            }
+            return hasher;
+        }
+    }
+
+    /**
+     * Constructs new file hasher.
+     *
+     * @param algorithm digest algorithm
+     * @throws IllegalArgumentException if algorithm is not supported
+     */
+    public FileHasher ( final String algorithm )
+    {
+        super ();
+        this.algorithm = algorithm;
+
+        // Checking algorithm availability right away
+        createDigest ();
+    }
+
+    /**
+     * Returns digest algorithm.
+     *
+     * @return digest algorithm
+     */
+    public String getAlgorithm ()
+    {
+        return algorithm;
+    }
+
+    /**
+     * Returns minimum size of files which are memory-mapped for hashing.
+     *
+     * @return minimum size of files which are memory-mapped for hashing
+     */
+    public long getMappingThreshold ()
+    {
+        return mappingThreshold;
+    }
+
+    /**
+     * Sets minimum size of files which are memory-mapped for hashing.
+     * Negative value disables memory mapping.
+     * <p/>
+     * Note that mapped file regions cannot be released explicitly and stay mapped until they are garbage collected.
+     * On some systems, Windows for instance, mapped file cannot be deleted, renamed or overwritten during that time.
+     *
+     * @param mappingThreshold minimum size of files which are memory-mapped for hashing
+     */
+    public void setMappingThreshold ( final long mappingThreshold )
+    {
+        this.mappingThreshold = mappingThreshold;
+    }
+
+    /**
+     * Returns amount of threads used to hash directory trees.
+     *
+     * @return amount of threads used to hash directory trees
+     */
+    public int getThreads ()
+    {
+        return threads;
+    }
+
+    /**
+     * Sets amount of threads used to hash directory trees.
+     *
+     * @param threads amount of threads used to hash directory trees
+     */
+    public void setThreads ( final int threads )
+    {
+        this.threads = Math.max ( 1, threads );
+    }
+
+    /**
+     * Returns maximum amount of cached hashes.
+     *
+     * @return maximum amount of cached hashes
+     */
+    public int getCacheSize ()
+    {
+        return cacheSize;
+    }
+
+    /**
+     * Sets maximum amount of cached hashes.
+     * Zero disables hashes caching.
+     *
+     * @param cacheSize maximum amount of cached hashes
+     */
+    public void setCacheSize ( final int cacheSize )
+    {
+        synchronized ( cache )
+        {
+            this.cacheSize = Math.max ( 0, cacheSize );
+            if ( cache.size () > this.cacheSize )
+            {
+                final Iterator<String> iterator = cache.keySet ().iterator ();
+                while ( cache.size () > this.cacheSize )
+                {
+                    iterator.next ();
+                    iterator.remove ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Clears hashes cache.
+     */
+    public void clearCache ()
+    {
+        synchronized ( cache )
+        {
+            cache.clear ();
+        }
+    }
+
+    /**
+     * Returns hash for the specified file or null if it cannot be computed.
+     *
+     * @param file file to process
+     * @return hash for the specified file or null if it cannot be computed
+     */
+    public String hash ( final File file )
+    {
+        try
+        {
+            return computeHash ( file );
+        }
+        catch ( final IOException e )
+        {
+            return null;
+        }
+    }
+
+    /**
+     * Returns hashes for all files within the specified directory tree.
+     * Files are hashed in parallel, directories are not included into the resulting map.
+     *
+     * @param root directory tree root
+     * @return hashes for all files within the specified directory tree
+     */
+    public Map<File, String> hashTree ( final File root )
+    {
+        return hashTree ( root, null );
+    }
+
+    /**
+     * Returns hashes for all accepted files within the specified directory tree.
+     * Files are hashed in parallel, directories are not included into the resulting map.
+     * Files which cannot be hashed are also not included.
+     *
+     * @param root   directory tree root
+     * @param filter files filter, it is applied to both files and directories
+     * @return hashes for all accepted files within the specified directory tree
+     */
+    public Map<File, String> hashTree ( final File root, final FileFilter filter )
+    {
+        final List<File> files = new ArrayList<File> ();
+        collectFiles ( root, filter, files );
+        return hash ( files );
+    }
+
+    /**
+     * Returns hashes for the specified files.
+     * Files are hashed in parallel, files which cannot be hashed are not included into the resulting map.
+     *
+     * @param files files to process
+     * @return hashes for the specified files
+     */
+    public Map<File, String> hash ( final Collection<File> files )
+    {
+        final Map<File, String> hashes = new LinkedHashMap<File, String> ( files.size () );
+        final int workers = Math.min ( threads, files.size () );
+        if ( workers <= 1 )
+        {
+            for ( final File file : files )
+            {
+                final String hash = hash ( file );
+                if ( hash != null )
+                {
+                    hashes.put ( file, hash );
+                }
+            }
+        }
+        else
+        {
+            final ExecutorService executor = Executors.newFixedThreadPool ( workers, new DaemonThreadFactory ( "FileHasher" ) );
+            try
+            {
+                final Map<File, Future<String>> futures = new LinkedHashMap<File, Future<String>> ( files.size () );
+                for ( final File file : files )
+                {
+                    futures.put ( file, executor.submit ( new Callable<String> ()
+                    {
+                        @Override
+                        public String call ()
+                        {
+                            return hash ( file );
+                        }
+                    } ) );
+                }
+                for ( final Map.Entry<File, Future<String>> entry : futures.entrySet () )
+                {
+                    final String hash = entry.getValue ().get ();
+                    if ( hash != null )
+                    {
+                        hashes.put ( entry.getKey (), hash );
+                    }
+                }
+            }
+            catch ( final InterruptedException e )
+            {
+                Thread.currentThread ().interrupt ();
+            }
+            catch ( final ExecutionException e )
+            {
+                throw new RuntimeException ( e.getCause () );
+            }
+            finally
+            {
+                executor.shutdownNow ();
+            }
+        }
+        return hashes;
+    }
+
+    /**
+     * Returns hash for the specified file, either cached or computed.
+     *
+     * @param file file to process
+     * @return hash for the specified file
+     * @throws IOException if file cannot be read
+     */
+    protected String computeHash ( final File file ) throws IOException
+    {
+        // Checking cache first
+        final String path = file.getAbsolutePath ();
+        final long length = file.length ();
+        final long modified = file.lastModified ();
+        synchronized ( cache )
+        {
+            final CachedHash cached = cache.get ( path );
+            if ( cached != null && cached.length == length && cached.modified == modified )
+            {
+                return cached.hash;
+            }
+        }
+
+        // Computing hash
+        final MessageDigest digest = createDigest ();
+        final FileInputStream is = new FileInputStream ( file );
+        try
+        {
+            final FileChannel channel = is.getChannel ();
+            final long size = channel.size ();
+            if ( mappingThreshold >= 0 && size >= mappingThreshold )
+            {
+                // Mapping large files region by region
+                for ( long position = 0; position < size; position += MAPPING_SIZE )
+                {
+                    digest.update ( channel.map ( FileChannel.MapMode.READ_ONLY, position, Math.min ( MAPPING_SIZE, size - position ) ) );
+                }
+            }
+            else
+            {
+                // Reading smaller files through reused buffer
+                final ByteBuffer buffer = buffers.get ();
+                buffer.clear ();
+                while ( channel.read ( buffer ) != -1 )
+                {
+                    buffer.flip ();
+                    digest.update ( buffer );
+                    buffer.clear ();
+                }
+            }
+        }
+        finally
+        {
+            is.close ();
+        }
+        final String hash = new BigInteger ( 1, digest.digest () ).toString ( 16 );
+
+        // Caching hash only if file wasn't modified meanwhile
+        if ( cacheSize > 0 && file.length () == length && file.lastModified () == modified )
+        {
+            synchronized ( cache )
+            {
+                cache.put ( path, new CachedHash ( length, modified, hash ) );
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Collects all accepted files within the specified directory tree.
+     *
+     * @param file   file or directory to process
+     * @param filter files filter
+     * @param files  collected files
+     */
+    protected void collectFiles ( final File file, final FileFilter filter, final List<File> files )
+    {
+        if ( file.isDirectory () )
+        {
+            final File[] children = filter != null ? file.listFiles ( filter ) : file.listFiles ();
+            if ( children != null )
+            {
+                for ( final File child : children )
+                {
+                    collectFiles ( child, filter, files );
+                }
+            }
+        }
+        else if ( file.isFile () )
+        {
+            files.add ( file );
+        }
+    }
+
+    /**
+     * Returns new message digest.
+     *
+     * @return new message digest
+     * @throws IllegalArgumentException if algorithm is not supported
+     */
+    protected MessageDigest createDigest ()
+    {
+        try
+        {
+            return MessageDigest.getInstance ( algorithm );
+        }
+        catch ( final NoSuchAlgorithmException e )
+        {
+            throw new IllegalArgumentException ( "Unsupported digest algorithm: " + algorithm, e );
+        }
+    }
+
+    /**
+     * Cached file hash.
+     */
+    protected static class CachedHash
+    {
+        /**
+         * File size at the moment hash was computed.
+         */
+        protected final long length;
+
+        /**
+         * File modification time at the moment hash was computed.
+         */
+        protected final long modified;
+
+        /**
+         * File hash.
+         */
+        protected final String hash;
+
+        /**
+         * Constructs new cached file hash.
+         *
+         * @param length   file size
+         * @param modified file modification time
+         * @param hash     file hash
+         */
+        public CachedHash ( final long length, final long modified, final String hash )
+        {
+            super ();
+            this.length = length;
+            this.modified = modified;
+            this.hash = hash;
+        }
+    }
+}
@@ -0,0 +1,321 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.utils.FileUtils;
+
+import javax.swing.filechooser.FileSystemView;
+import java.io.File;
+
+/**
+ * Cached file system information about single file.
+ * Basic file attributes are read once when metadata is created, system-specific information is requested lazily on demand.
+ * <p/>
+ * Metadata instances are provided by {@link com.alee.utils.FileUtils#getFileMetadata(java.io.File)} method which takes care of
+ * their caching and validation, so file renderers can read all required file information from a single object.
+ *
+ * @author Mikle Garin
+ */
+
+public final class FileMetadata
+{
+    /**
+     * Cached file system view.
+     */
+    private static final FileSystemView fsv = FileSystemView.getFileSystemView ();
+
+    /**
+     * Described file.
+     */
+    private final File file;
+
+    /**
+     * Whether file is actually a file or not.
+     */
+    private final boolean isFile;
+
+    /**
+     * Whether file is a directory or not.
+     */
+    private final boolean isDirectory;
+
+    /**
+     * Whether file is hidden or not.
+     */
+    private final boolean isHidden;
+
+    /**
+     * File last modification time.
+     */
+    private final long lastModified;
+
+    /**
+     * File length.
+     */
+    private final long length;
+
+    /**
+     * Last time this metadata was checked to be up-to-date.
+     */
+    private volatile long validationTime;
+
+    /**
+     * Lazily requested system-specific information.
+     */
+    private Boolean isDrive;
+    private Boolean isComputer;
+    private Boolean isCdDrive;
+    private String displayName;
+    private String typeDescription;
+    private boolean typeDescriptionLoaded = false;
+    private String displaySize;
+    private String displayDate;
+    private FileDescription description;
+    private String descriptionFileSize;
+
+    /**
+     * Constructs metadata for the specified file reading its basic attributes.
+     *
+     * @param file file to read metadata for
+     */
+    public FileMetadata ( final File file )
+    {
+        super ();
+        this.file = file;
+        this.isDirectory = file.isDirectory ();
+        this.isFile = !isDirectory && file.isFile ();
+        this.isHidden = file.getAbsoluteFile ().getParentFile () != null && file.isHidden ();
+        this.lastModified = file.lastModified ();
+        this.length = isFile ? file.length () : 0;
+        this.validationTime = System.currentTimeMillis ();
+    }
+
+    /**
+     * Returns described file.
+     *
+     * @return described file
+     */
+    public File getFile ()
+    {
+        return file;
+    }
+
+    /**
+     * Returns whether file is actually a file (and not a directory, disk or some system folder) or not.
+     *
+     * @return true if file is actually a file, false otherwise
+     */
+    public boolean isFile ()
+    {
+        return isFile;
+    }
+
+    /**
+     * Returns whether file is directory or not.
+     *
+     * @return true if file is directory, false otherwise
+     */
+    public boolean isDirectory ()
+    {
+        return isDirectory;
+    }
+
+    /**
+     * Returns whether file is hidden or not.
+     *
+     * @return true if file is hidden, false otherwise
+     */
+    public boolean isHidden ()
+    {
+        return isHidden;
+    }
+
+    /**
+     * Returns file last modification time.
+     *
+     * @return file last modification time
+     */
+    public long getLastModified ()
+    {
+        return lastModified;
+    }
+
+    /**
+     * Returns file length.
+     *
+     * @return file length
+     */
+    public long getLength ()
+    {
+        return length;
+    }
+
+    /**
+     * Returns whether file points to system hard drive or not.
+     *
+     * @return true if file points to system hard drive, false otherwise
+     */
+    public synchronized boolean isDrive ()
+    {
+        if ( isDrive == null )
+        {
+            isDrive = fsv.isDrive ( file );
+        }
+        return isDrive;
+    }
+
+    /**
+     * Returns whether file points to "My computer" node or not.
+     *
+     * @return true if file points to "My computer" node, false otherwise
+     */
+    public synchronized boolean isComputer ()
+    {
+        if ( isComputer == null )
+        {
+            isComputer = fsv.isComputerNode ( file );
+        }
+        return isComputer;
+    }
+
+    /**
+     * Returns whether file points to system CD/DVD/Bluray drive or not.
+     * This method bases on file type description and might not work on some systems which does not provide it.
+     *
+     * @return true if file points to system CD, DVD or Bluray drive, false otherwise
+     */
+    public synchronized boolean isCdDrive ()
+    {
+        if ( isCdDrive == null )
+        {
+            if ( file.getParent () == null )
+            {
+                final String sysDes = getTypeDescription ();
+                final String des = sysDes != null ? sysDes.toLowerCase () : file.getName ();
+                isCdDrive = des.contains ( "cd" ) || des.contains ( "dvd" ) || des.contains ( "blu-ray" ) || des.contains ( "bluray" );
+            }
+            else
+            {
+                isCdDrive = false;
+            }
+        }
+        return isCdDrive;
+    }
+
+    /**
+     * Returns file name to display.
+     *
+     * @return file name to display
+     */
+    public synchronized String getDisplayName ()
+    {
+        if ( displayName == null )
+        {
+            final String name = fsv.getSystemDisplayName ( file );
+            displayName = name == null || name.trim ().equals ( "" ) ? getTypeDescription () : name;
+        }
+        return displayName;
+    }
+
+    /**
+     * Returns file type description.
+     *
+     * @return file type description
+     */
+    public synchronized String getTypeDescription ()
+    {
+        if ( !typeDescriptionLoaded )
+        {
+            typeDescription = fsv.getSystemTypeDescription ( file );
+            typeDescriptionLoaded = true;
+        }
+        return typeDescription;
+    }
+
+    /**
+     * Returns file size to display.
+     *
+     * @return file size to display
+     */
+    public synchronized String getDisplaySize ()
+    {
+        if ( displaySize == null )
+        {
+            displaySize = FileUtils.getFileSizeString ( length );
+        }
+        return displaySize;
+    }
+
+    /**
+     * Returns file modification date to display.
+     *
+     * @return file modification date to display
+     */
+    public synchronized String getDisplayDate ()
+    {
+        if ( displayDate == null )
+        {
+            displayDate = FileUtils.getDisplayDate ( lastModified );
+        }
+        return displayDate;
+    }
+
+    /**
+     * Returns complete file description.
+     * Description is cached until it is requested with a different file size.
+     *
+     * @param fileSize file size on disk
+     * @return complete file description
+     */
+    public synchronized FileDescription getDescription ( final String fileSize )
+    {
+        if ( description == null || ( fileSize == null ? descriptionFileSize != null : !fileSize.equals ( descriptionFileSize ) ) )
+        {
+            description = FileUtils.createFileDescription ( file, fileSize );
+            descriptionFileSize = fileSize;
+        }
+        return description;
+    }
+
+    /**
+     * Returns whether this metadata is still up-to-date or not.
+     * File modification time, length and hidden state are checked only if metadata wasn't validated within the specified delay.
+     * Hidden state is checked separately since changing file attributes doesn't change its modification time.
+     *
+     * @param delay delay between file checks
+     * @return true if this metadata is still up-to-date, false otherwise
+     */
+    public boolean isUpToDate ( final long delay )
+    {
+        final long time = System.currentTimeMillis ();
+        if ( time - validationTime < delay )
+        {
+            return true;
+        }
+        else if ( file.lastModified () == lastModified && ( !isFile || file.length () == length ) &&
+                ( file.getAbsoluteFile ().getParentFile () != null && file.isHidden () ) == isHidden )
+        {
+            validationTime = time;
+            return true;
+        }
+        else
+        {
+            return false;
+        }
+    }
+}
@@ -18,6 +18,7 @@
 package com.alee.utils.filefilter;
 
 import com.alee.managers.language.LanguageManager;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.io.File;
@@ -33,7 +34,7 @@ public class AllFilesFilter extends AbstractFileFilter
     /**
      * Filter icon.
      */
-    public static final ImageIcon ICON = new ImageIcon ( AllFilesFilter.class.getResource ( "icons/file.png" ) );
+    public static final ImageIcon ICON = IconRegistry.getIcon ( AllFilesFilter.class, "icons/file.png" );
 
     /**
      * {@inheritDoc}
@@ -18,6 +18,7 @@
 package com.alee.utils.filefilter;
 
 import com.alee.managers.language.LanguageManager;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.io.File;
@@ -33,7 +34,7 @@ public class DirectoriesFilter extends AbstractFileFilter
     /**
      * Filter icon.
      */
-    public static final ImageIcon ICON = new ImageIcon ( DirectoriesFilter.class.getResource ( "icons/folder.png" ) );
+    public static final ImageIcon ICON = IconRegistry.getIcon ( DirectoriesFilter.class, "icons/folder.png" );
 
     /**
      * {@inheritDoc}
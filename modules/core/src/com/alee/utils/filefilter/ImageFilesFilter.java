@@ -20,6 +20,7 @@ package com.alee.utils.filefilter;
 import com.alee.global.GlobalConstants;
 import com.alee.managers.language.LanguageManager;
 import com.alee.utils.FileUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.io.File;
@@ -35,7 +36,7 @@ public class ImageFilesFilter extends AbstractFileFilter
     /**
      * Filter icon.
      */
-    public static final ImageIcon ICON = new ImageIcon ( ImageFilesFilter.class.getResource ( "icons/image.png" ) );
+    public static final ImageIcon ICON = IconRegistry.getIcon ( ImageFilesFilter.class, "icons/image.png" );
 
     /**
      * {@inheritDoc}
@@ -18,6 +18,7 @@
 package com.alee.utils.filefilter;
 
 import com.alee.managers.language.LanguageManager;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.io.File;
@@ -33,7 +34,7 @@ public class NonHiddenFilter extends AbstractFileFilter
     /**
      * Filter icon.
      */
-    public static final ImageIcon ICON = new ImageIcon ( DirectoriesFilter.class.getResource ( "icons/nonhidden.png" ) );
+    public static final ImageIcon ICON = IconRegistry.getIcon ( DirectoriesFilter.class, "icons/nonhidden.png" );
 
     /**
      * {@inheritDoc}
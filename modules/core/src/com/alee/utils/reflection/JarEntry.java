@@ -19,6 +19,7 @@ package com.alee.utils.reflection;
 
 import com.alee.utils.FileUtils;
 import com.alee.utils.TextUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.util.ArrayList;
@@ -33,11 +34,11 @@ public class JarEntry
 {
     public static final String ID_PREFIX = "JE";
 
-    public static ImageIcon jarIcon = new ImageIcon ( JarEntry.class.getResource ( "icons/jar.png" ) );
-    public static ImageIcon packageIcon = new ImageIcon ( JarEntry.class.getResource ( "icons/package.png" ) );
-    public static ImageIcon classIcon = new ImageIcon ( JarEntry.class.getResource ( "icons/class.png" ) );
-    public static ImageIcon javaIcon = new ImageIcon ( JarEntry.class.getResource ( "icons/java.png" ) );
-    public static ImageIcon fileIcon = new ImageIcon ( JarEntry.class.getResource ( "icons/file.png" ) );
+    public static ImageIcon jarIcon = IconRegistry.getIcon ( JarEntry.class, "icons/jar.png" );
+    public static ImageIcon packageIcon = IconRegistry.getIcon ( JarEntry.class, "icons/package.png" );
+    public static ImageIcon classIcon = IconRegistry.getIcon ( JarEntry.class, "icons/class.png" );
+    public static ImageIcon javaIcon = IconRegistry.getIcon ( JarEntry.class, "icons/java.png" );
+    public static ImageIcon fileIcon = IconRegistry.getIcon ( JarEntry.class, "icons/file.png" );
 
     private String id;
     private JarEntryType type;
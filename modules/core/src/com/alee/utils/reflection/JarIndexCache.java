@@ -0,0 +1,374 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils.reflection;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.FileUtils;
+import com.alee.utils.ReflectUtils;
+import com.alee.utils.file.FileContentWriter;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+
+/**
+ * Persistent cache of JAR archive indices.
+ * <p>
+ * Index contains central directory records of all archive entries and is stored within the cache directory under archive identity.
+ * Local archives are identified by their path and downloaded archives by the URL they were downloaded from, so each archive has
+ * only one index file which is simply overwritten once archive changes.
+ * <p>
+ * Index also stores archive key to check whether it is still valid. Local archive key consists of its length and last modification
+ * time, so it can be checked without reading archive content. Downloaded archives are stored in new temporary files each time, so
+ * their key consists of length and content checksum instead.
+ * <p>
+ * Amount of stored indices is limited, least recently used indices are removed once that limit is exceeded.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.ReflectUtils#setJarIndexCacheDirectory(java.io.File)
+ */
+
+public class JarIndexCache
+{
+    /**
+     * Index file header marker.
+     */
+    private static final int INDEX_MARKER = 0x574A4958;
+
+    /**
+     * Index format version.
+     * Should be increased whenever index format changes to ignore outdated indices.
+     */
+    private static final int INDEX_VERSION = 3;
+
+    /**
+     * Index files extension.
+     */
+    public static final String INDEX_EXTENSION = ".jix";
+
+    /**
+     * Index files filter.
+     */
+    protected static final FileFilter INDEX_FILTER = new FileFilter ()
+    {
+        @Override
+        public boolean accept ( final File file )
+        {
+            return file.getName ().endsWith ( INDEX_EXTENSION );
+        }
+    };
+
+    /**
+     * Cache directory.
+     */
+    protected final File directory;
+
+    /**
+     * Maximum amount of stored indices.
+     */
+    protected volatile int maxIndices = 1000;
+
+    /**
+     * Amount of indices read from cache.
+     */
+    protected final AtomicInteger hits = new AtomicInteger ( 0 );
+
+    /**
+     * Amount of indices read from archives.
+     */
+    protected final AtomicInteger misses = new AtomicInteger ( 0 );
+
+    /**
+     * Constructs new index cache within the specified directory.
+     *
+     * @param directory cache directory
+     */
+    public JarIndexCache ( final File directory )
+    {
+        super ();
+        this.directory = directory;
+    }
+
+    /**
+     * Returns cache directory.
+     *
+     * @return cache directory
+     */
+    public File getDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns maximum amount of stored indices.
+     *
+     * @return maximum amount of stored indices
+     */
+    public int getMaxIndices ()
+    {
+        return maxIndices;
+    }
+
+    /**
+     * Sets maximum amount of stored indices.
+     * Least recently used indices are removed once this limit is exceeded.
+     *
+     * @param maxIndices maximum amount of stored indices
+     */
+    public void setMaxIndices ( final int maxIndices )
+    {
+        this.maxIndices = maxIndices;
+    }
+
+    /**
+     * Returns amount of indices read from cache.
+     *
+     * @return amount of indices read from cache
+     */
+    public int getHits ()
+    {
+        return hits.get ();
+    }
+
+    /**
+     * Returns amount of indices read from archives.
+     *
+     * @return amount of indices read from archives
+     */
+    public int getMisses ()
+    {
+        return misses.get ();
+    }
+
+    /**
+     * Removes all indices from the cache directory.
+     */
+    public void clear ()
+    {
+        for ( final File file : FileUtils.listFiles ( directory, INDEX_FILTER ) )
+        {
+            file.delete ();
+        }
+    }
+
+    /**
+     * Returns all entries of the specified JAR archive.
+     * Entries are read from cached index if it exists, otherwise they are read from archive central directory and cached.
+     *
+     * @param jarFile JAR archive file
+     * @return all entries of the specified JAR archive
+     * @throws IOException if archive cannot be read
+     */
+    public List<ZipEntry> getEntries ( final File jarFile ) throws IOException
+    {
+        return getEntries ( jarFile, null );
+    }
+
+    /**
+     * Returns all entries of the specified JAR archive.
+     * Entries are read from cached index if it exists, otherwise they are read from archive central directory and cached.
+     *
+     * @param jarFile JAR archive file
+     * @param source  URL archive was downloaded from, null for local archives
+     * @return all entries of the specified JAR archive
+     * @throws IOException if archive cannot be read
+     */
+    public List<ZipEntry> getEntries ( final File jarFile, final String source ) throws IOException
+    {
+        // Reading archive directly if it cannot be identified
+        final String key = getKey ( jarFile, source );
+        final String identity = source != null ? source : jarFile.getAbsolutePath ();
+        final String name = key != null ? FileUtils.computeMD5 ( new ByteArrayInputStream ( identity.getBytes ( "UTF-8" ) ) ) : null;
+        if ( name == null )
+        {
+            misses.incrementAndGet ();
+            return ReflectUtils.readJarEntries ( jarFile );
+        }
+
+        // Reading existing index
+        final File indexFile = new File ( directory, name + INDEX_EXTENSION );
+        if ( indexFile.exists () )
+        {
+            try
+            {
+                final List<ZipEntry> entries = readIndex ( key, indexFile );
+                if ( entries != null )
+                {
+                    // Marking index as recently used
+                    indexFile.setLastModified ( System.currentTimeMillis () );
+                    hits.incrementAndGet ();
+                    return entries;
+                }
+            }
+            catch ( final IOException e )
+            {
+                // Index is damaged, archive will be read again
+                Log.warn ( this, "Unable to read JAR index: " + indexFile.getAbsolutePath (), e );
+                indexFile.delete ();
+            }
+        }
+
+        // Reading archive into new index
+        misses.incrementAndGet ();
+        final List<ZipEntry> entries = ReflectUtils.readJarEntries ( jarFile );
+        try
+        {
+            writeIndex ( key, indexFile, entries );
+            trim ();
+        }
+        catch ( final IOException e )
+        {
+            Log.warn ( this, "Unable to write JAR index: " + indexFile.getAbsolutePath (), e );
+        }
+        return entries;
+    }
+
+    /**
+     * Returns key identifying the specified JAR archive state or null if archive doesn't exist.
+     * Local archive key is based on its length and last modification time, so archive content is not read to compute it.
+     * Downloaded archive key is based on its length and content checksum since each download is stored in a new file.
+     *
+     * @param jarFile JAR archive file
+     * @param source  URL archive was downloaded from, null for local archives
+     * @return key identifying the specified JAR archive state or null if archive doesn't exist
+     */
+    protected String getKey ( final File jarFile, final String source )
+    {
+        final long lastModified = jarFile.lastModified ();
+        if ( lastModified == 0 )
+        {
+            return null;
+        }
+        if ( source != null )
+        {
+            final String checksum = FileUtils.computeMD5 ( jarFile );
+            return checksum != null ? jarFile.length () + "|" + checksum : null;
+        }
+        return jarFile.length () + "|" + lastModified;
+    }
+
+    /**
+     * Removes least recently used indices if their amount exceeds the limit.
+     */
+    protected void trim ()
+    {
+        FileUtils.trimDirectory ( directory, INDEX_FILTER, maxIndices, -1 );
+    }
+
+    /**
+     * Returns entries read from the specified index file or null if index doesn't belong to the archive.
+     *
+     * @param key       archive key
+     * @param indexFile index file
+     * @return entries read from the specified index file or null if index doesn't belong to the archive
+     * @throws IOException if index cannot be read or is damaged
+     */
+    protected List<ZipEntry> readIndex ( final String key, final File indexFile ) throws IOException
+    {
+        final DataInputStream in = new DataInputStream ( new BufferedInputStream ( new FileInputStream ( indexFile ) ) );
+        try
+        {
+            if ( in.readInt () != INDEX_MARKER || in.readInt () != INDEX_VERSION || !in.readUTF ().equals ( key ) )
+            {
+                return null;
+            }
+            final int count = in.readInt ();
+            if ( count < 0 )
+            {
+                throw new IOException ( "Invalid entries count: " + count );
+            }
+            final List<ZipEntry> entries = new ArrayList<ZipEntry> ( Math.min ( count, 1024 ) );
+            for ( int i = 0; i < count; i++ )
+            {
+                final ZipEntry entry = new ZipEntry ( in.readUTF () );
+                final long time = in.readLong ();
+                if ( time != -1 )
+                {
+                    entry.setTime ( time );
+                }
+                final long size = in.readLong ();
+                if ( size != -1 )
+                {
+                    entry.setSize ( size );
+                }
+                final long compressedSize = in.readLong ();
+                if ( compressedSize != -1 )
+                {
+                    entry.setCompressedSize ( compressedSize );
+                }
+                final long crc = in.readLong ();
+                if ( crc != -1 )
+                {
+                    entry.setCrc ( crc );
+                }
+                final int method = in.readInt ();
+                if ( method != -1 )
+                {
+                    entry.setMethod ( method );
+                }
+                entries.add ( entry );
+            }
+            return entries;
+        }
+        catch ( final IllegalArgumentException e )
+        {
+            // Entry values are invalid
+            throw new IOException ( "Damaged index entry", e );
+        }
+        finally
+        {
+            in.close ();
+        }
+    }
+
+    /**
+     * Writes index into the specified file.
+     * Index is written into temporary file first so that other processes never read partially written index.
+     *
+     * @param key       archive key
+     * @param indexFile index file
+     * @param entries   archive entries
+     * @throws IOException if index cannot be written
+     */
+    protected void writeIndex ( final String key, final File indexFile, final List<ZipEntry> entries ) throws IOException
+    {
+        FileUtils.writeFileAtomically ( indexFile, new FileContentWriter ()
+        {
+            @Override
+            public void write ( final DataOutputStream out ) throws IOException
+            {
+                out.writeInt ( INDEX_MARKER );
+                out.writeInt ( INDEX_VERSION );
+                out.writeUTF ( key );
+                out.writeInt ( entries.size () );
+                for ( final ZipEntry entry : entries )
+                {
+                    out.writeUTF ( entry.getName () );
+                    out.writeLong ( entry.getTime () );
+                    out.writeLong ( entry.getSize () );
+                    out.writeLong ( entry.getCompressedSize () );
+                    out.writeLong ( entry.getCrc () );
+                    out.writeInt ( entry.getMethod () );
+                }
+            }
+        } );
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import com.alee.managers.log.Log;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.*;
+
+/**
+ * Build-time tool which packs icons from each resource package into a single atlas image and its index.
+ * Packed atlases are used by {@link com.alee.utils.swing.IconRegistry} to load all icons of a package with a single image decode.
+ * <p/>
+ * Original icon files are kept in place so that any code loading them directly still works.
+ * Usage: {@code java com.alee.utils.swing.IconAtlasPacker <resources directory> [<resources directory> ...]}
+ *
+ * @author Mikle Garin
+ */
+
+public final class IconAtlasPacker
+{
+    /**
+     * Maximum width and height of the packed icon.
+     * Larger images are not worth packing as they are rarely used as icons.
+     */
+    private static final int MAX_ICON_SIZE = 128;
+
+    /**
+     * Minimum amount of icons in the package to create an atlas for it.
+     */
+    private static final int MIN_ICONS = 2;
+
+    /**
+     * PNG chunks affecting icon colors.
+     */
+    private static final List<String> COLOR_SPACE_CHUNKS = Arrays.asList ( "iCCP", "gAMA", "cHRM", "sRGB" );
+
+    /**
+     * Packs icons within the specified resource directories.
+     *
+     * @param args resource directories
+     */
+    public static void main ( final String[] args )
+    {
+        try
+        {
+            int total = 0;
+            for ( final String arg : args )
+            {
+                total += packTree ( new File ( arg ) );
+            }
+            Log.info ( IconAtlasPacker.class, "Icon atlases created: " + total );
+        }
+        catch ( final Throwable e )
+        {
+            // Any failure must be reported through exit code, otherwise build would silently continue without atlases
+            Log.error ( IconAtlasPacker.class, e );
+            System.exit ( 1 );
+        }
+    }
+
+    /**
+     * Packs icons within the specified directory and all its subdirectories.
+     *
+     * @param directory resource directory
+     * @return amount of created atlases
+     * @throws IOException if icons cannot be read or atlas cannot be written
+     */
+    public static int packTree ( final File directory ) throws IOException
+    {
+        int total = pack ( directory ) ? 1 : 0;
+        final File[] children = directory.listFiles ();
+        if ( children != null )
+        {
+            for ( final File child : children )
+            {
+                if ( child.isDirectory () )
+                {
+                    total += packTree ( child );
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Packs icons located directly within the specified directory.
+     *
+     * @param directory resource directory
+     * @return true if atlas was created, false otherwise
+     * @throws IOException if icons cannot be read or atlas cannot be written
+     */
+    public static boolean pack ( final File directory ) throws IOException
+    {
+        // Collecting icons
+        final List<Icon> icons = new ArrayList<Icon> ();
+        final File[] files = directory.listFiles ();
+        if ( files != null )
+        {
+            for ( final File file : files )
+            {
+                final String name = file.getName ();
+                if ( file.isFile () && name.toLowerCase ( Locale.ROOT ).endsWith ( ".png" ) && !name.equals ( IconRegistry.ATLAS_IMAGE ) &&
+                        !hasColorSpaceChunks ( file ) )
+                {
+                    final BufferedImage image = ImageIO.read ( file );
+                    if ( image != null && image.getWidth () <= MAX_ICON_SIZE && image.getHeight () <= MAX_ICON_SIZE )
+                    {
+                        icons.add ( new Icon ( name, image ) );
+                    }
+                }
+            }
+        }
+        if ( icons.size () < MIN_ICONS )
+        {
+            return false;
+        }
+
+        // Placing icons onto shelves, tallest icons first
+        Collections.sort ( icons, new Comparator<Icon> ()
+        {
+            @Override
+            public int compare ( final Icon i1, final Icon i2 )
+            {
+                final int h = i2.image.getHeight () - i1.image.getHeight ();
+                return h != 0 ? h : i1.name.compareTo ( i2.name );
+            }
+        } );
+        long area = 0;
+        int maxWidth = 0;
+        for ( final Icon icon : icons )
+        {
+            area += icon.image.getWidth () * icon.image.getHeight ();
+            maxWidth = Math.max ( maxWidth, icon.image.getWidth () );
+        }
+        final int atlasWidth = Math.max ( maxWidth, ( int ) Math.ceil ( Math.sqrt ( area ) * 1.1 ) );
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        for ( final Icon icon : icons )
+        {
+            if ( x + icon.image.getWidth () > atlasWidth )
+            {
+                x = 0;
+                y += shelfHeight;
+                shelfHeight = 0;
+            }
+            icon.x = x;
+            icon.y = y;
+            x += icon.image.getWidth ();
+            shelfHeight = Math.max ( shelfHeight, icon.image.getHeight () );
+        }
+        final int atlasHeight = y + shelfHeight;
+
+        // Copying icon pixels into atlas
+        final BufferedImage atlas = new BufferedImage ( atlasWidth, atlasHeight, BufferedImage.TYPE_INT_ARGB );
+        final Properties index = new Properties ();
+        for ( final Icon icon : icons )
+        {
+            final int w = icon.image.getWidth ();
+            final int h = icon.image.getHeight ();
+            atlas.setRGB ( icon.x, icon.y, w, h, icon.image.getRGB ( 0, 0, w, h, null, 0, w ), 0, w );
+            index.setProperty ( icon.name, icon.x + "," + icon.y + "," + w + "," + h );
+        }
+
+        // Writing atlas image and index
+        ImageIO.write ( atlas, "png", new File ( directory, IconRegistry.ATLAS_IMAGE ) );
+        final OutputStream os = new FileOutputStream ( new File ( directory, IconRegistry.ATLAS_INDEX ) );
+        try
+        {
+            index.store ( os, "Icons atlas index: name=x,y,width,height" );
+        }
+        finally
+        {
+            os.close ();
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the specified PNG file contains color space chunks or not.
+     * Such icons are not packed since their colors might differ when decoded by Toolkit which is used to load separate icons.
+     *
+     * @param file PNG file
+     * @return true if the specified PNG file contains color space chunks, false otherwise
+     * @throws IOException if file cannot be read
+     */
+    private static boolean hasColorSpaceChunks ( final File file ) throws IOException
+    {
+        final DataInputStream in = new DataInputStream ( new BufferedInputStream ( new FileInputStream ( file ) ) );
+        try
+        {
+            // Skipping PNG signature
+            in.readLong ();
+
+            // Checking chunks which precede image data
+            while ( true )
+            {
+                final int length = in.readInt ();
+                final byte[] type = new byte[ 4 ];
+                in.readFully ( type );
+                final String chunk = new String ( type, "ISO-8859-1" );
+                if ( chunk.equals ( "IDAT" ) )
+                {
+                    return false;
+                }
+                if ( COLOR_SPACE_CHUNKS.contains ( chunk ) )
+                {
+                    return true;
+                }
+                in.skipBytes ( length + 4 );
+            }
+        }
+        catch ( final EOFException e )
+        {
+            return false;
+        }
+        finally
+        {
+            in.close ();
+        }
+    }
+
+    /**
+     * Single packed icon.
+     */
+    private static final class Icon
+    {
+        /**
+         * Icon file name.
+         */
+        private final String name;
+
+        /**
+         * Icon image.
+         */
+        private final BufferedImage image;
+
+        /**
+         * Icon position within the atlas.
+         */
+        private int x;
+        private int y;
+
+        /**
+         * Constructs new packed icon.
+         *
+         * @param name  icon file name
+         * @param image icon image
+         */
+        public Icon ( final String name, final BufferedImage image )
+        {
+            super ();
+            this.name = name;
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,359 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import com.alee.managers.log.Log;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.*;
+
+/**
+ * Central registry of icons bundled as resources.
+ * <p/>
+ * Icons provided by this registry are loaded lazily, only when their image is actually requested for the first time. If resource
+ * package contains an icon atlas created by {@link com.alee.utils.swing.IconAtlasPacker} then the whole atlas is decoded and icons are
+ * copied out of it, otherwise each icon is loaded from its own resource. Decoded atlas image is only softly referenced and is released
+ * completely once all of its icons are copied, so it doesn't stay in memory along with the copies.
+ * <p/>
+ * Each request returns a separate icon instance, so changing its description or image doesn't affect other icons. Only the loaded
+ * image is shared between icons with the same resource id, it should be treated as read-only.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.swing.LazyImageIcon
+ * @see com.alee.utils.swing.IconAtlasPacker
+ */
+
+public final class IconRegistry
+{
+    /**
+     * Atlas image file name.
+     */
+    public static final String ATLAS_IMAGE = "icons-atlas.png";
+
+    /**
+     * Atlas index file name.
+     */
+    public static final String ATLAS_INDEX = "icons-atlas.properties";
+
+    /**
+     * Loaded images by their icon resource ids.
+     * Null value means that image cannot be loaded.
+     */
+    private static final Map<String, Image> images = new HashMap<String, Image> ();
+
+    /**
+     * Loaded atlases by their resource packages.
+     * Null value means that resource package doesn't have an atlas.
+     */
+    private static final Map<String, Atlas> atlases = new HashMap<String, Atlas> ();
+
+    /**
+     * Returns lazy icon for the resource located near the specified class.
+     * This is a lazy replacement for {@code new ImageIcon ( nearClass.getResource ( path ) )} call.
+     *
+     * @param nearClass class near which resource is located
+     * @param path      resource path relative to the class package or absolute resource path
+     * @return lazy icon for the resource located near the specified class
+     */
+    public static ImageIcon getIcon ( final Class nearClass, final String path )
+    {
+        return getIcon ( getId ( nearClass, path ), nearClass.getClassLoader () );
+    }
+
+    /**
+     * Returns lazy icon for the specified resource id.
+     *
+     * @param id icon resource id, full resource path without leading slash
+     * @return lazy icon for the specified resource id
+     */
+    public static ImageIcon getIcon ( final String id )
+    {
+        return getIcon ( id, IconRegistry.class.getClassLoader () );
+    }
+
+    /**
+     * Returns lazy icon for the specified resource id.
+     *
+     * @param id          icon resource id, full resource path without leading slash
+     * @param classLoader class loader used to load icon resources
+     * @return lazy icon for the specified resource id
+     */
+    public static ImageIcon getIcon ( final String id, final ClassLoader classLoader )
+    {
+        return new LazyImageIcon ( id, classLoader );
+    }
+
+    /**
+     * Returns icon resource id for the resource located near the specified class.
+     *
+     * @param nearClass class near which resource is located
+     * @param path      resource path relative to the class package or absolute resource path
+     * @return icon resource id
+     */
+    public static String getId ( final Class nearClass, final String path )
+    {
+        if ( path.startsWith ( "/" ) )
+        {
+            return path.substring ( 1 );
+        }
+        final String name = nearClass.getName ();
+        final int dot = name.lastIndexOf ( '.' );
+        return dot != -1 ? name.substring ( 0, dot ).replace ( '.', '/' ) + "/" + path : path;
+    }
+
+    /**
+     * Returns image for the specified icon resource id or null if it cannot be loaded.
+     * Image is loaded only once and then shared between all icons with the same resource id.
+     *
+     * @param id          icon resource id
+     * @param classLoader class loader used to load icon resources
+     * @return image for the specified icon resource id or null if it cannot be loaded
+     */
+    static Image getImage ( final String id, final ClassLoader classLoader )
+    {
+        synchronized ( images )
+        {
+            if ( images.containsKey ( id ) )
+            {
+                return images.get ( id );
+            }
+        }
+
+        // Image is loaded outside of the lock so that icons from different packages are loaded independently
+        final Image image = loadImage ( id, classLoader );
+        synchronized ( images )
+        {
+            if ( images.containsKey ( id ) )
+            {
+                return images.get ( id );
+            }
+            images.put ( id, image );
+            return image;
+        }
+    }
+
+    /**
+     * Returns loaded image for the specified icon resource id or null if it cannot be loaded.
+     * Image is taken from the resource package atlas if it is available.
+     *
+     * @param id          icon resource id
+     * @param classLoader class loader used to load icon resources
+     * @return loaded image for the specified icon resource id or null if it cannot be loaded
+     */
+    private static Image loadImage ( final String id, final ClassLoader classLoader )
+    {
+        final ClassLoader loader = classLoader != null ? classLoader : ClassLoader.getSystemClassLoader ();
+
+        // Trying to slice image out of the package atlas
+        final int slash = id.lastIndexOf ( '/' );
+        final String pkg = id.substring ( 0, slash + 1 );
+        final Atlas atlas = getAtlas ( pkg, loader );
+        if ( atlas != null )
+        {
+            final Image image = atlas.getImage ( id.substring ( slash + 1 ) );
+            if ( image != null )
+            {
+                return image;
+            }
+        }
+
+        // Loading separate image
+        final URL url = loader.getResource ( id );
+        if ( url == null )
+        {
+            Log.error ( IconRegistry.class, "Unable to find icon resource: " + id );
+            return null;
+        }
+        return Toolkit.getDefaultToolkit ().createImage ( url );
+    }
+
+    /**
+     * Returns atlas for the specified resource package or null if it doesn't have one.
+     *
+     * @param pkg    resource package path
+     * @param loader class loader used to load atlas resources
+     * @return atlas for the specified resource package or null if it doesn't have one
+     */
+    private static Atlas getAtlas ( final String pkg, final ClassLoader loader )
+    {
+        synchronized ( atlases )
+        {
+            if ( atlases.containsKey ( pkg ) )
+            {
+                return atlases.get ( pkg );
+            }
+            Atlas atlas = null;
+            final URL index = loader.getResource ( pkg + ATLAS_INDEX );
+            final URL image = loader.getResource ( pkg + ATLAS_IMAGE );
+            if ( index != null && image != null )
+            {
+                try
+                {
+                    atlas = new Atlas ( readIndex ( index ), image );
+                }
+                catch ( final IOException e )
+                {
+                    Log.error ( IconRegistry.class, e );
+                }
+            }
+            atlases.put ( pkg, atlas );
+            return atlas;
+        }
+    }
+
+    /**
+     * Returns atlas index read from the specified resource.
+     *
+     * @param url atlas index resource
+     * @return atlas index
+     * @throws IOException if index cannot be read
+     */
+    private static Properties readIndex ( final URL url ) throws IOException
+    {
+        final Properties index = new Properties ();
+        final InputStream is = url.openStream ();
+        try
+        {
+            index.load ( is );
+        }
+        finally
+        {
+            is.close ();
+        }
+        return index;
+    }
+
+    /**
+     * Packed icons atlas.
+     * Atlas image is decoded when icon is requested from it and decoded image is not available anymore.
+     */
+    private static final class Atlas
+    {
+        /**
+         * Atlas index, icon file name to its "x,y,width,height" bounds.
+         */
+        private final Properties index;
+
+        /**
+         * Atlas image resource.
+         */
+        private final URL url;
+
+        /**
+         * Names of images which were not yet copied out of this atlas.
+         */
+        private final Set<String> remaining;
+
+        /**
+         * Softly referenced decoded atlas image.
+         * It is released once all images are copied out of this atlas.
+         */
+        private SoftReference<BufferedImage> image;
+
+        /**
+         * Whether atlas image cannot be decoded or not.
+         */
+        private boolean broken;
+
+        /**
+         * Constructs new atlas.
+         *
+         * @param index atlas index
+         * @param url   atlas image resource
+         */
+        public Atlas ( final Properties index, final URL url )
+        {
+            super ();
+            this.index = index;
+            this.url = url;
+            this.remaining = new HashSet<String> ( index.stringPropertyNames () );
+        }
+
+        /**
+         * Returns image copied out of this atlas or null if atlas doesn't contain specified image.
+         * Image is copied instead of using subimage to avoid sharing the whole atlas raster between icons.
+         *
+         * @param name image file name
+         * @return image copied out of this atlas or null if atlas doesn't contain specified image
+         */
+        public synchronized Image getImage ( final String name )
+        {
+            final String bounds = index.getProperty ( name );
+            if ( bounds == null || broken )
+            {
+                return null;
+            }
+            BufferedImage atlas = image != null ? image.get () : null;
+            if ( atlas == null )
+            {
+                try
+                {
+                    // Memory cache is used to avoid temporary files creation
+                    final InputStream is = url.openStream ();
+                    try
+                    {
+                        atlas = ImageIO.read ( new MemoryCacheImageInputStream ( is ) );
+                    }
+                    finally
+                    {
+                        is.close ();
+                    }
+                }
+                catch ( final IOException e )
+                {
+                    Log.error ( IconRegistry.class, e );
+                }
+                if ( atlas == null )
+                {
+                    broken = true;
+                    return null;
+                }
+            }
+
+            // Releasing atlas image once all images are copied out of it
+            remaining.remove ( name );
+            if ( remaining.isEmpty () )
+            {
+                image = null;
+            }
+            else if ( image == null || image.get () != atlas )
+            {
+                image = new SoftReference<BufferedImage> ( atlas );
+            }
+
+            final String[] values = bounds.split ( "," );
+            final int width = Integer.parseInt ( values[ 2 ] );
+            final int height = Integer.parseInt ( values[ 3 ] );
+            final BufferedImage slice = atlas.getSubimage ( Integer.parseInt ( values[ 0 ] ), Integer.parseInt ( values[ 1 ] ), width, height );
+            final ColorModel colorModel = slice.getColorModel ();
+            final WritableRaster raster = colorModel.createCompatibleWritableRaster ( width, height );
+            slice.copyData ( raster );
+            return new BufferedImage ( colorModel, raster, colorModel.isAlphaPremultiplied (), null );
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.swing;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.ImageObserver;
+
+/**
+ * Image icon which loads its image only when it is actually requested, usually on the first paint.
+ * Image is provided by {@link com.alee.utils.swing.IconRegistry} which uses packed icon atlases when those are available and shares
+ * loaded image between all icons with the same resource id.
+ * <p/>
+ * This icon can be used anywhere in place of a usual image icon created from a resource url.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.swing.IconRegistry
+ */
+
+public class LazyImageIcon extends ImageIcon
+{
+    /**
+     * Icon resource id.
+     */
+    protected final String id;
+
+    /**
+     * Class loader used to load icon resources.
+     */
+    protected transient ClassLoader classLoader;
+
+    /**
+     * Whether icon image was already resolved or not.
+     */
+    protected volatile boolean resolved;
+
+    /**
+     * Constructs new lazy image icon.
+     *
+     * @param id          icon resource id, full resource path without leading slash
+     * @param classLoader class loader used to load icon resources
+     */
+    public LazyImageIcon ( final String id, final ClassLoader classLoader )
+    {
+        super ();
+        this.id = id;
+        this.classLoader = classLoader;
+        this.resolved = false;
+        setDescription ( id );
+    }
+
+    /**
+     * Returns icon resource id.
+     *
+     * @return icon resource id
+     */
+    public String getId ()
+    {
+        return id;
+    }
+
+    /**
+     * Returns whether icon image was already loaded or not.
+     *
+     * @return true if icon image was already loaded, false otherwise
+     */
+    public boolean isResolved ()
+    {
+        return resolved;
+    }
+
+    /**
+     * Loads icon image if it wasn't loaded yet.
+     */
+    protected void resolve ()
+    {
+        if ( !resolved )
+        {
+            synchronized ( this )
+            {
+                if ( !resolved )
+                {
+                    final Image image = IconRegistry.getImage ( id, classLoader );
+                    if ( image != null )
+                    {
+                        super.setImage ( image );
+                    }
+                    classLoader = null;
+                    resolved = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Image getImage ()
+    {
+        resolve ();
+        return super.getImage ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setImage ( final Image image )
+    {
+        synchronized ( this )
+        {
+            classLoader = null;
+            resolved = true;
+            super.setImage ( image );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getImageLoadStatus ()
+    {
+        resolve ();
+        return super.getImageLoadStatus ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setImageObserver ( final ImageObserver observer )
+    {
+        resolve ();
+        super.setImageObserver ( observer );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIconWidth ()
+    {
+        resolve ();
+        return super.getIconWidth ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIconHeight ()
+    {
+        resolve ();
+        return super.getIconHeight ();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void paintIcon ( final Component c, final Graphics g, final int x, final int y )
+    {
+        resolve ();
+        super.paintIcon ( c, g, x, y );
+    }
+}
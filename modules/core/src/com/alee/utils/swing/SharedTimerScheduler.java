@@ -0,0 +1,287 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils.swing;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Default WebTimer scheduling backend.
+ * <p/>
+ * It multiplexes scheduling of all timers over a single daemon thread backed by a delay queue instead of keeping a separate sleeping
+ * thread for each running timer. Due tasks are handed over to a small bounded pool of daemon worker threads, so a timer action that
+ * blocks doesn't stall scheduling itself. When all workers are busy due tasks are queued until one of the workers is free. All Event
+ * Dispatch Thread calls requested within the same moment are merged into a single invokeLater batch.
+ * <p/>
+ * Since scheduler threads are daemon ones, an additional lightweight non-daemon thread is kept alive while there is at least one running
+ * timer which doesn't use daemon thread. That keeps the old WebTimer behavior where such timer prevents JVM from shutting down.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.swing.WebTimer
+ * @see com.alee.utils.swing.TimerScheduler
+ */
+public class SharedTimerScheduler implements TimerScheduler
+{
+    /**
+     * Shared scheduler instance.
+     */
+    private static SharedTimerScheduler instance;
+
+    /**
+     * Default amount of worker threads.
+     */
+    public static int defaultWorkersAmount = Math.max ( 2, Runtime.getRuntime ().availableProcessors () );
+
+    /**
+     * Tasks scheduling executor.
+     * It only hands due tasks over to the workers executor.
+     */
+    protected final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Tasks workers executor.
+     * It keeps a limited amount of threads and queues due tasks while all of them are busy.
+     */
+    protected final ThreadPoolExecutor workers;
+
+    /**
+     * Tasks awaiting dispatch into Event Dispatch Thread.
+     */
+    protected final ConcurrentLinkedQueue<Runnable> edtQueue = new ConcurrentLinkedQueue<Runnable> ();
+
+    /**
+     * Whether or not Event Dispatch Thread batch call is already requested.
+     */
+    protected final AtomicBoolean edtDispatchRequested = new AtomicBoolean ( false );
+
+    /**
+     * Event Dispatch Thread batch call.
+     */
+    protected final Runnable edtDispatcher = new Runnable ()
+    {
+        @Override
+        public void run ()
+        {
+            dispatchEdtQueue ();
+        }
+    };
+
+    /**
+     * Running non-daemon timers and their current execution IDs.
+     * It is also used as a lock for keep-alive thread.
+     */
+    protected final Map<WebTimer, Integer> nonDaemonTimers = new HashMap<WebTimer, Integer> ();
+
+    /**
+     * Thread that keeps JVM alive while non-daemon timers are running.
+     */
+    protected Thread keepAliveThread = null;
+
+    /**
+     * Returns shared scheduler instance.
+     *
+     * @return shared scheduler instance
+     */
+    public static synchronized SharedTimerScheduler getInstance ()
+    {
+        if ( instance == null )
+        {
+            instance = new SharedTimerScheduler ( WebTimer.defaultThreadName );
+        }
+        return instance;
+    }
+
+    /**
+     * Constructs new timer scheduler.
+     *
+     * @param name scheduler threads name prefix
+     */
+    public SharedTimerScheduler ( final String name )
+    {
+        this ( name, defaultWorkersAmount );
+    }
+
+    /**
+     * Constructs new timer scheduler.
+     *
+     * @param name          scheduler threads name prefix
+     * @param workersAmount maximum amount of worker threads
+     */
+    public SharedTimerScheduler ( final String name, final int workersAmount )
+    {
+        super ();
+        executor = new ScheduledThreadPoolExecutor ( 1, new DaemonThreadFactory ( name + "-scheduler" ) );
+        executor.setRemoveOnCancelPolicy ( true );
+        final int amount = Math.max ( 1, workersAmount );
+        workers = new ThreadPoolExecutor ( amount, amount, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable> (),
+                new DaemonThreadFactory ( name ) );
+        workers.allowCoreThreadTimeOut ( true );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Future<?> schedule ( final Runnable task, final long delay )
+    {
+        return executor.schedule ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                workers.execute ( task );
+            }
+        }, Math.max ( 0, delay ), TimeUnit.MILLISECONDS );
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void invokeLater ( final Runnable task )
+    {
+        edtQueue.add ( task );
+        if ( edtDispatchRequested.compareAndSet ( false, true ) )
+        {
+            SwingUtilities.invokeLater ( edtDispatcher );
+        }
+    }
+
+    /**
+     * Executes all tasks awaiting in Event Dispatch Thread queue.
+     * Tasks added while this batch is being executed will be dispatched in the next one.
+     */
+    protected void dispatchEdtQueue ()
+    {
+        edtDispatchRequested.set ( false );
+        int left = edtQueue.size ();
+        Runnable task;
+        while ( left-- > 0 && ( task = edtQueue.poll () ) != null )
+        {
+            try
+            {
+                task.run ();
+            }
+            catch ( final Throwable e )
+            {
+                // Single timer failure should not affect other timers in batch
+                Log.error ( this, e );
+            }
+        }
+        if ( !edtQueue.isEmpty () && edtDispatchRequested.compareAndSet ( false, true ) )
+        {
+            SwingUtilities.invokeLater ( edtDispatcher );
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void timerStarted ( final WebTimer timer, final int execution )
+    {
+        if ( !timer.isUseDaemonThread () )
+        {
+            synchronized ( nonDaemonTimers )
+            {
+                nonDaemonTimers.put ( timer, execution );
+                if ( keepAliveThread == null )
+                {
+                    keepAliveThread = new Thread ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            keepAlive ();
+                        }
+                    }, WebTimer.defaultThreadName + "-keepAlive" );
+                    keepAliveThread.setDaemon ( false );
+                    keepAliveThread.start ();
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void timerStopped ( final WebTimer timer, final int execution )
+    {
+        synchronized ( nonDaemonTimers )
+        {
+            // Stale execution should not unregister timer which was already restarted
+            final Integer current = nonDaemonTimers.get ( timer );
+            if ( current != null && current == execution )
+            {
+                nonDaemonTimers.remove ( timer );
+                nonDaemonTimers.notifyAll ();
+            }
+        }
+    }
+
+    /**
+     * Keeps calling thread alive while there are running non-daemon timers.
+     */
+    protected void keepAlive ()
+    {
+        synchronized ( nonDaemonTimers )
+        {
+            while ( !nonDaemonTimers.isEmpty () )
+            {
+                try
+                {
+                    nonDaemonTimers.wait ();
+                }
+                catch ( final InterruptedException e )
+                {
+                    break;
+                }
+            }
+            keepAliveThread = null;
+        }
+    }
+
+    /**
+     * Returns amount of worker threads currently alive.
+     *
+     * @return amount of worker threads currently alive
+     */
+    public int getThreadsAmount ()
+    {
+        return workers.getPoolSize ();
+    }
+
+    /**
+     * Returns amount of tasks currently awaiting execution.
+     * Cancelled tasks are removed from the queue right away, so they are not counted.
+     *
+     * @return amount of tasks currently awaiting execution
+     */
+    public int getQueuedTasksAmount ()
+    {
+        return executor.getQueue ().size () + workers.getQueue ().size ();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.utils.swing;
+
+import java.util.concurrent.Future;
+
+/**
+ * This interface represents scheduling backend used by WebTimer to execute its cycles.
+ * <p/>
+ * Backend is responsible for running delayed timer tasks and for dispatching timer actions into Event Dispatch Thread.
+ * Timer itself still handles all cycles, limits and listeners logic, so backend should only care about the execution.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.swing.WebTimer
+ * @see com.alee.utils.swing.SharedTimerScheduler
+ */
+public interface TimerScheduler
+{
+    /**
+     * Schedules task execution after the specified delay in milliseconds.
+     * Task should be executed in a non-EDT thread.
+     *
+     * @param task  task to execute
+     * @param delay execution delay in milliseconds
+     * @return scheduled task future
+     */
+    public Future<?> schedule ( Runnable task, long delay );
+
+    /**
+     * Dispatches task into Event Dispatch Thread.
+     * Tasks dispatched at the same time might be merged into a single Event Dispatch Thread call.
+     *
+     * @param task task to dispatch
+     */
+    public void invokeLater ( Runnable task );
+
+    /**
+     * Informs backend that the specified timer has started its execution.
+     *
+     * @param timer     started timer
+     * @param execution unique (within one timer instance) execution ID
+     */
+    public void timerStarted ( WebTimer timer, int execution );
+
+    /**
+     * Informs backend that the specified timer has finished its execution.
+     * Backend should ignore this call if timer has already started another execution since the specified one.
+     *
+     * @param timer     finished timer
+     * @param execution unique (within one timer instance) execution ID
+     */
+    public void timerStopped ( WebTimer timer, int execution );
+}
@@ -29,11 +29,13 @@ import java.util.ArrayList;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
- * This timer is a small extension for standart javax.swing.Timer. Instead of running in a single queue it creates separate Threads for
- * each timer and does not affect event-dispatching thread, until events are dispatched. This basically means that you can use any number
- * of Timer instances and you can run them alltogether without having any issues.
+ * This timer is a small extension for standart javax.swing.Timer. Instead of running in a single queue on event-dispatching thread it
+ * uses a pluggable scheduling backend and does not affect event-dispatching thread, until events are dispatched. By default all timers
+ * are multiplexed over a small shared pool of threads, so you can use any number of Timer instances and you can run them alltogether
+ * without having any issues.
  * <p/>
  * Also this Timer implementation offers a variety of additional features and improvements which standard timer doesn't have (for example
  * you can dispatch events in a separate non-EDT thread and as a result avoid using EDT at all where it is not necessary).
@@ -41,6 +43,7 @@ import java.util.Map;
  * @author Mikle Garin
  * @see javax.swing.Timer
  * @see com.alee.utils.swing.TimerActionListener
+ * @see com.alee.utils.swing.TimerScheduler
  */
 public class WebTimer
 {
@@ -59,6 +62,12 @@ public class WebTimer
      */
     public static boolean useEdtByDefault = true;
 
+    /**
+     * Default scheduling backend for all timers.
+     * Null means that shared scheduler instance is used.
+     */
+    public static TimerScheduler defaultScheduler = null;
+
     /**
      * Timer event listeners list.
      */
@@ -95,9 +104,15 @@ public class WebTimer
     protected int cycleCount = 0;
 
     /**
-     * Last timer thread.
+     * Last timer execution.
+     */
+    protected TimerExecution exec = null;
+
+    /**
+     * Scheduling backend used by this timer.
+     * Null means that default scheduler is used.
      */
-    protected Thread exec = null;
+    protected TimerScheduler scheduler = null;
 
     /**
      * Delay between timer cycles in milliseconds.
@@ -587,10 +602,6 @@ public class WebTimer
     public WebTimer setName ( final String name )
     {
         this.name = name;
-        if ( exec != null )
-        {
-            exec.setName ( name );
-        }
         return this;
     }
 
@@ -750,11 +761,11 @@ public class WebTimer
      */
     public synchronized boolean isRunning ()
     {
-        return exec != null && exec.isAlive ();
+        return exec != null && !exec.finished;
     }
 
     /**
-     * Starts timer execution thread.
+     * Starts timer execution.
      */
     protected synchronized void startExec ()
     {
@@ -764,105 +775,37 @@ public class WebTimer
             return;
         }
 
-        // Saving current thread unique id
+        // Saving current execution unique id
         lastId = id;
         id++;
 
-        // Starting new cycling thread
-        final int currentId = lastId;
-        exec = new Thread ( new Runnable ()
-        {
-            @Override
-            public void run ()
-            {
-                // Adding a live thread into map
-                setAlive ( currentId, true );
-
-                try
-                {
-                    // Initial delay
-                    final long actualInitialDelay = getInitialDelay () < 0 ? getDelay () : getInitialDelay ();
-                    if ( actualInitialDelay > 0 )
-                    {
-                        sleepStart = System.currentTimeMillis ();
-                        sleepTime = actualInitialDelay;
-                        Thread.sleep ( actualInitialDelay );
-                    }
-
-                    // Checking if we sould stop execution
-                    if ( shouldContinue ( -1, currentId ) )
-                    {
-                        // Clearing cycles count
-                        cycleCount = 0;
-
-                        // Starting cycles execution
-                        if ( repeats )
-                        {
-                            // Repeated events
-                            while ( shouldContinue ( cycleCount, currentId ) )
-                            {
-                                // Firing events
-                                fireActionPerformed ( currentId );
-
-                                // Incrementing cycles count
-                                cycleCount++;
-
-                                // Checking if we sould stop execution due to changes through events
-                                if ( !shouldContinue ( cycleCount, currentId ) )
-                                {
-                                    break;
-                                }
-
-                                // Waiting for next execution
-                                if ( getDelay () > 0 )
-                                {
-                                    final long currentDelay = getDelay ();
-                                    sleepStart = System.currentTimeMillis ();
-                                    sleepTime = currentDelay;
-                                    Thread.sleep ( currentDelay );
-                                }
-                            }
-                        }
-                        else
-                        {
-                            // Single event
-                            fireActionPerformed ( currentId );
+        // Adding a live execution into map
+        setAlive ( lastId, true );
 
-                            // Incrementing cycles count
-                            cycleCount++;
-                        }
-                    }
-                }
-                catch ( final InterruptedException e )
-                {
-                    // Execution interrupted
-                }
-
-                // Removing finished thread from map
-                cleanUp ( currentId );
-            }
-        }, name );
-        exec.setDaemon ( useDaemonThread );
-        exec.start ();
+        // Scheduling first cycle
+        exec = new TimerExecution ( lastId, getActualScheduler () );
+        exec.scheduler.timerStarted ( this, lastId );
+        exec.schedule ( getInitialDelay () < 0 ? getDelay () : getInitialDelay () );
     }
 
     /**
-     * Returns whether thread with specified ID should continue execution or not.
+     * Returns whether execution with specified ID should continue or not.
      *
      * @param cycle cycle number
-     * @param id    execution thread ID
-     * @return true if thread with specified ID should continue execution, false otherwise
+     * @param id    execution ID
+     * @return true if execution with specified ID should continue, false otherwise
      */
     protected boolean shouldContinue ( final int cycle, final int id )
     {
-        return running.get ( id ) && !Thread.currentThread ().isInterrupted () && ( cyclesLimit <= 0 || cyclesLimit > cycle );
+        final Boolean alive = running.get ( id );
+        return alive != null && alive && !Thread.currentThread ().isInterrupted () && ( cyclesLimit <= 0 || cyclesLimit > cycle );
     }
 
     /**
-     * Sets whether thread under specified ID is alive or not.
+     * Sets whether execution under specified ID is alive or not.
      *
-     * @param id    thread ID
-     * @param alive whether thread is alive or not
+     * @param id    execution ID
+     * @param alive whether execution is alive or not
      */
     protected void setAlive ( final int id, final boolean alive )
     {
@@ -870,9 +813,9 @@ public class WebTimer
     }
 
     /**
-     * Cleans thread ID cache.
+     * Cleans execution ID cache.
      *
-     * @param id thread ID
+     * @param id execution ID
      */
     protected void cleanUp ( final int id )
     {
@@ -884,21 +827,36 @@ public class WebTimer
      */
     protected synchronized void stopExec ()
     {
-        if ( exec != null )
+        if ( exec != null && !exec.finished )
         {
-            // Interrupt thread
-            exec.interrupt ();
+            final TimerExecution execution = exec;
 
             // Stop execution from inside
-            setAlive ( lastId, false );
+            setAlive ( execution.id, false );
 
-            // Depedning on behavior we might join current execution thread
-            if ( !nonBlockingStop )
+            // Cancel next scheduled cycle
+            if ( execution.future != null )
+            {
+                execution.future.cancel ( false );
+            }
+
+            // Depending on behavior we might wait for current cycle actions to complete
+            // Execution is detached right away if called from the thread running timer actions to allow restarts from listeners
+            final Thread executor = execution.executor;
+            if ( executor == null || executor == Thread.currentThread () )
+            {
+                execution.finish ();
+            }
+            else if ( !nonBlockingStop )
             {
                 try
                 {
                     // Wait for execution to stop
-                    exec.join ();
+                    while ( execution.executor != null )
+                    {
+                        wait ();
+                    }
+                    execution.finish ();
                 }
                 catch ( final InterruptedException e )
                 {
@@ -908,6 +866,52 @@ public class WebTimer
         }
     }
 
+    /**
+     * Returns scheduling backend used by this timer.
+     * Null means that default scheduler is used.
+     *
+     * @return scheduling backend used by this timer
+     */
+    public TimerScheduler getScheduler ()
+    {
+        return scheduler;
+    }
+
+    /**
+     * Sets scheduling backend used by this timer.
+     * Null means that default scheduler will be used.
+     * This option should be set before starting timer to have any effect.
+     *
+     * @param scheduler scheduling backend
+     * @return this timer
+     */
+    public WebTimer setScheduler ( final TimerScheduler scheduler )
+    {
+        this.scheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * Returns scheduling backend which is actually used to run this timer.
+     *
+     * @return scheduling backend which is actually used to run this timer
+     */
+    protected TimerScheduler getActualScheduler ()
+    {
+        if ( scheduler != null )
+        {
+            return scheduler;
+        }
+        else if ( defaultScheduler != null )
+        {
+            return defaultScheduler;
+        }
+        else
+        {
+            return SharedTimerScheduler.getInstance ();
+        }
+    }
+
     /**
      * Adds new action listener.
      * You can use TimerActionListener instead of simple ActionListener to simplify interaction with timer.
@@ -1017,6 +1021,106 @@ public class WebTimer
         }
     }
 
+    /**
+     * Fires action events in Event Dispatch Thread for the specified execution.
+     * Unlike {@link #fireActionPerformed(int)} this method doesn't block the calling thread, execution continues once actions are fired.
+     *
+     * @param execution timer execution
+     */
+    protected void fireActionPerformedLater ( final TimerExecution execution )
+    {
+        if ( listeners.size () > 0 )
+        {
+            // Event
+            final ActionEvent actionEvent = createActionEvent ();
+
+            // Working with local array
+            final List<ActionListener> listenerList = CollectionUtils.copy ( listeners );
+
+            // Dispatch event in chosen way
+            if ( coalesce )
+            {
+                // Merge all events into single call to event dispatch thread
+                execution.scheduler.invokeLater ( new Runnable ()
+                {
+                    @Override
+                    public void run ()
+                    {
+                        // Check execution stop
+                        if ( execution.startActions ( cycleCount ) )
+                        {
+                            try
+                            {
+                                for ( final ActionListener listener : listenerList )
+                                {
+                                    listener.actionPerformed ( actionEvent );
+                                }
+                            }
+                            finally
+                            {
+                                execution.completeActions ();
+                            }
+                        }
+                    }
+                } );
+            }
+            else
+            {
+                // Make separate event calls to event dispatch thread
+                fireActionPerformedLater ( execution, actionEvent, listenerList, 0 );
+            }
+        }
+        else
+        {
+            // Simply proceed to the next cycle
+            if ( execution.startActions ( cycleCount ) )
+            {
+                execution.completeActions ();
+            }
+        }
+    }
+
+    /**
+     * Fires action event for the listener at the specified index in a separate Event Dispatch Thread call.
+     * Next listener call is dispatched once this one is completed.
+     *
+     * @param execution    timer execution
+     * @param actionEvent  action event
+     * @param listenerList listeners to fire event for
+     * @param index        index of listener to fire event for
+     */
+    protected void fireActionPerformedLater ( final TimerExecution execution, final ActionEvent actionEvent,
+                                              final List<ActionListener> listenerList, final int index )
+    {
+        execution.scheduler.invokeLater ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Check execution stop
+                if ( execution.startActions ( cycleCount ) )
+                {
+                    try
+                    {
+                        listenerList.get ( index ).actionPerformed ( actionEvent );
+                    }
+                    finally
+                    {
+                        if ( index < listenerList.size () - 1 && shouldContinue ( cycleCount, execution.id ) )
+                        {
+                            execution.suspendActions ();
+                            fireActionPerformedLater ( execution, actionEvent, listenerList, index + 1 );
+                        }
+                        else
+                        {
+                            execution.completeActions ();
+                        }
+                    }
+                }
+            }
+        } );
+    }
+
     /**
      * Returns action event.
      *
@@ -1554,4 +1658,234 @@ public class WebTimer
         repeat.start ();
         return repeat;
     }
+
+    /**
+     * Single timer execution from its start and until it is stopped or runs out of cycles.
+     * Each cycle of this execution is scheduled separately through the timer scheduling backend.
+     */
+    protected class TimerExecution implements Runnable
+    {
+        /**
+         * Unique (within one timer instance) execution ID.
+         */
+        protected final int id;
+
+        /**
+         * Scheduling backend this execution was started with.
+         * It is used till the end of execution even if timer scheduler is changed in the meantime.
+         */
+        protected final TimerScheduler scheduler;
+
+        /**
+         * Next scheduled cycle future.
+         */
+        protected Future<?> future = null;
+
+        /**
+         * Whether first cycle was already started or not.
+         */
+        protected boolean started = false;
+
+        /**
+         * Thread which is currently running timer actions.
+         */
+        protected volatile Thread executor = null;
+
+        /**
+         * Whether this execution is finished or not.
+         */
+        protected volatile boolean finished = false;
+
+        /**
+         * Whether this execution is still registered in scheduling backend or not.
+         */
+        protected boolean registered = true;
+
+        /**
+         * Constructs new timer execution.
+         *
+         * @param id        unique execution ID
+         * @param scheduler scheduling backend
+         */
+        public TimerExecution ( final int id, final TimerScheduler scheduler )
+        {
+            super ();
+            this.id = id;
+            this.scheduler = scheduler;
+        }
+
+        /**
+         * Schedules next cycle of this execution.
+         *
+         * @param delay delay before cycle actions in milliseconds
+         */
+        protected void schedule ( final long delay )
+        {
+            if ( delay > 0 )
+            {
+                sleepStart = System.currentTimeMillis ();
+                sleepTime = delay;
+            }
+            future = scheduler.schedule ( this, delay );
+        }
+
+        /**
+         * Runs scheduled cycle.
+         */
+        @Override
+        public void run ()
+        {
+            synchronized ( WebTimer.this )
+            {
+                if ( finished )
+                {
+                    return;
+                }
+                if ( !started )
+                {
+                    // Checking if we sould stop execution
+                    if ( !shouldContinue ( -1, id ) )
+                    {
+                        finish ();
+                        return;
+                    }
+
+                    // Clearing cycles count
+                    cycleCount = 0;
+                    started = true;
+                }
+            }
+
+            // Firing events
+            if ( useEventDispatchThread )
+            {
+                fireActionPerformedLater ( this );
+            }
+            else if ( startActions ( cycleCount ) )
+            {
+                try
+                {
+                    fireActionPerformed ( id );
+                    completeActions ();
+                }
+                catch ( final Throwable e )
+                {
+                    Log.error ( WebTimer.this, e );
+                    synchronized ( WebTimer.this )
+                    {
+                        suspendActions ();
+                        finish ();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Marks current thread as the one running timer actions.
+         * Returns false and finishes execution if timer actions should not be performed anymore.
+         *
+         * @param cycle current cycle number
+         * @return true if timer actions should be performed, false otherwise
+         */
+        protected boolean startActions ( final int cycle )
+        {
+            synchronized ( WebTimer.this )
+            {
+                if ( finished )
+                {
+                    return false;
+                }
+                if ( !shouldContinue ( cycle, id ) )
+                {
+                    finish ();
+                    return false;
+                }
+                executor = Thread.currentThread ();
+                return true;
+            }
+        }
+
+        /**
+         * Informs that timer actions are not running at the moment.
+         */
+        protected void suspendActions ()
+        {
+            synchronized ( WebTimer.this )
+            {
+                executor = null;
+                if ( finished )
+                {
+                    unregister ();
+                }
+                WebTimer.this.notifyAll ();
+            }
+        }
+
+        /**
+         * Completes current cycle and schedules the next one if needed.
+         */
+        protected void completeActions ()
+        {
+            synchronized ( WebTimer.this )
+            {
+                suspendActions ();
+                if ( !finished )
+                {
+                    // Incrementing cycles count
+                    cycleCount++;
+
+                    // Waiting for next execution
+                    if ( repeats && shouldContinue ( cycleCount, id ) )
+                    {
+                        schedule ( getDelay () );
+                    }
+                    else
+                    {
+                        finish ();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Finishes this execution.
+         */
+        protected void finish ()
+        {
+            synchronized ( WebTimer.this )
+            {
+                if ( !finished )
+                {
+                    finished = true;
+                    if ( future != null )
+                    {
+                        future.cancel ( false );
+                    }
+
+                    // Removing finished execution from map
+                    cleanUp ( id );
+
+                    // Execution stays registered while its actions are running, so restart from timer actions has no unregistered gap
+                    if ( executor == null )
+                    {
+                        unregister ();
+                    }
+                    WebTimer.this.notifyAll ();
+                }
+            }
+        }
+
+        /**
+         * Informs scheduling backend that this execution has finished.
+         * Backend ignores this call if timer was restarted since this execution was started.
+         */
+        protected void unregister ()
+        {
+            if ( registered )
+            {
+                registered = false;
+                scheduler.timerStopped ( WebTimer.this, id );
+            }
+        }
+    }
 }
@@ -0,0 +1,441 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.xml;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.FileUtils;
+import com.alee.utils.file.FileContentWriter;
+import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.io.HierarchicalStreamDriver;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamReader;
+import com.thoughtworks.xstream.io.binary.BinaryStreamWriter;
+import com.thoughtworks.xstream.io.copy.HierarchicalStreamCopier;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Persistent cache of parsed XML documents.
+ * <p>
+ * When XML resource is read for the first time its structure is stored in compact XStream binary format within the cache directory.
+ * Next time the same unmodified resource is requested, even within another application launch, its structure is read from the binary
+ * snapshot and XML parsing is skipped completely. Snapshot contains document nodes rather than unmarshalled objects, so it stays valid
+ * when classes and converters change and is unmarshalled exactly the same way XML is.
+ * <p>
+ * Snapshots are identified by resource location, its last modification time and its length.
+ * Resources which do not provide modification time are always parsed from XML.
+ *
+ * @author Mikle Garin
+ * @see com.alee.utils.XmlUtils#setSnapshotCacheDirectory(java.io.File)
+ */
+
+public class XmlSnapshotCache
+{
+    /**
+     * Snapshot file header marker.
+     */
+    private static final int SNAPSHOT_MARKER = 0x57584D4C;
+
+    /**
+     * Snapshot format version.
+     * Should be increased whenever snapshot format changes to ignore outdated snapshots.
+     */
+    private static final int SNAPSHOT_VERSION = 1;
+
+    /**
+     * Snapshot files extension.
+     */
+    public static final String SNAPSHOT_EXTENSION = ".xsb";
+
+    /**
+     * Cache directory.
+     */
+    protected final File directory;
+
+    /**
+     * Amount of documents read from snapshots.
+     */
+    protected final AtomicInteger hits = new AtomicInteger ( 0 );
+
+    /**
+     * Amount of documents parsed from XML.
+     */
+    protected final AtomicInteger misses = new AtomicInteger ( 0 );
+
+    /**
+     * Constructs new snapshot cache within the specified directory.
+     *
+     * @param directory cache directory
+     */
+    public XmlSnapshotCache ( final File directory )
+    {
+        super ();
+        this.directory = directory;
+    }
+
+    /**
+     * Returns cache directory.
+     *
+     * @return cache directory
+     */
+    public File getDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns amount of documents read from snapshots.
+     *
+     * @return amount of documents read from snapshots
+     */
+    public int getHits ()
+    {
+        return hits.get ();
+    }
+
+    /**
+     * Returns amount of documents parsed from XML.
+     *
+     * @return amount of documents parsed from XML
+     */
+    public int getMisses ()
+    {
+        return misses.get ();
+    }
+
+    /**
+     * Removes all snapshots from the cache directory.
+     */
+    public void clear ()
+    {
+        final File[] files = directory.listFiles ();
+        if ( files != null )
+        {
+            for ( final File file : files )
+            {
+                if ( file.getName ().endsWith ( SNAPSHOT_EXTENSION ) )
+                {
+                    file.delete ();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns object deserialized from the specified XML file.
+     *
+     * @param xStream XStream instance
+     * @param driver  XML driver
+     * @param file    XML file
+     * @return deserialized object
+     * @throws IOException if XML cannot be read
+     */
+    public Object fromXML ( final XStream xStream, final HierarchicalStreamDriver driver, final File file ) throws IOException
+    {
+        final long lastModified = file.lastModified ();
+        final String key = lastModified > 0 ? file.getAbsolutePath () + "|" + lastModified + "|" + file.length () : null;
+        return fromXML ( xStream, driver, new XmlSource ( key )
+        {
+            @Override
+            public InputStream openStream () throws IOException
+            {
+                return new FileInputStream ( file );
+            }
+        } );
+    }
+
+    /**
+     * Returns object deserialized from XML at the specified URL.
+     *
+     * @param xStream XStream instance
+     * @param driver  XML driver
+     * @param url     XML URL
+     * @return deserialized object
+     * @throws IOException if XML cannot be read
+     */
+    public Object fromXML ( final XStream xStream, final HierarchicalStreamDriver driver, final URL url ) throws IOException
+    {
+        // Local files are checked directly to avoid opening file stream just to retrieve its modification time
+        if ( url.getProtocol ().equals ( "file" ) )
+        {
+            try
+            {
+                return fromXML ( xStream, driver, new File ( url.toURI () ) );
+            }
+            catch ( final URISyntaxException e )
+            {
+                // Such URL will be processed as any other URL
+            }
+            catch ( final IllegalArgumentException e )
+            {
+                // Such URL will be processed as any other URL
+            }
+        }
+
+        final URLConnection connection = url.openConnection ();
+        final long lastModified = connection.getLastModified ();
+        final String key = lastModified > 0 ? url.toExternalForm () + "|" + lastModified + "|" + connection.getContentLength () : null;
+        return fromXML ( xStream, driver, new XmlSource ( key )
+        {
+            @Override
+            public InputStream openStream () throws IOException
+            {
+                return connection.getInputStream ();
+            }
+
+            @Override
+            public void release ()
+            {
+                if ( connection instanceof HttpURLConnection )
+                {
+                    ( ( HttpURLConnection ) connection ).disconnect ();
+                }
+            }
+        } );
+    }
+
+    /**
+     * Returns object deserialized from the specified XML source.
+     *
+     * @param xStream XStream instance
+     * @param driver  XML driver
+     * @param source  XML source
+     * @return deserialized object
+     * @throws IOException if XML cannot be read
+     */
+    protected Object fromXML ( final XStream xStream, final HierarchicalStreamDriver driver, final XmlSource source ) throws IOException
+    {
+        // Parsing XML directly if resource cannot be identified
+        final String key = source.getKey ();
+        if ( key == null )
+        {
+            misses.incrementAndGet ();
+            final InputStream is = source.openStream ();
+            try
+            {
+                return xStream.unmarshal ( driver.createReader ( is ) );
+            }
+            finally
+            {
+                is.close ();
+            }
+        }
+
+        // Reading existing snapshot
+        final File snapshotFile = getSnapshotFile ( key );
+        if ( snapshotFile.exists () )
+        {
+            try
+            {
+                final HierarchicalStreamReader reader = readSnapshot ( key, snapshotFile );
+                if ( reader != null )
+                {
+                    try
+                    {
+                        final Object result = xStream.unmarshal ( reader );
+                        hits.incrementAndGet ();
+                        source.release ();
+                        return result;
+                    }
+                    finally
+                    {
+                        reader.close ();
+                    }
+                }
+            }
+            catch ( final Throwable e )
+            {
+                // Snapshot is damaged, XML will be parsed again
+                Log.warn ( this, "Unable to read XML snapshot: " + snapshotFile.getAbsolutePath (), e );
+                snapshotFile.delete ();
+            }
+        }
+
+        // Parsing XML into new snapshot
+        misses.incrementAndGet ();
+        final byte[] snapshot = createSnapshot ( driver, source );
+        try
+        {
+            writeSnapshot ( key, snapshotFile, snapshot );
+        }
+        catch ( final Throwable e )
+        {
+            Log.warn ( this, "Unable to write XML snapshot: " + snapshotFile.getAbsolutePath (), e );
+        }
+        return xStream.unmarshal ( new BinaryStreamReader ( new ByteArrayInputStream ( snapshot ) ) );
+    }
+
+    /**
+     * Returns snapshot file for the specified resource key.
+     *
+     * @param key resource key
+     * @return snapshot file for the specified resource key
+     */
+    protected File getSnapshotFile ( final String key )
+    {
+        try
+        {
+            final byte[] digest = MessageDigest.getInstance ( "MD5" ).digest ( key.getBytes ( "UTF-8" ) );
+            final StringBuilder name = new StringBuilder ( digest.length * 2 + SNAPSHOT_EXTENSION.length () );
+            for ( final byte b : digest )
+            {
+                name.append ( Character.forDigit ( ( b >> 4 ) & 0xF, 16 ) );
+                name.append ( Character.forDigit ( b & 0xF, 16 ) );
+            }
+            return new File ( directory, name.append ( SNAPSHOT_EXTENSION ).toString () );
+        }
+        catch ( final NoSuchAlgorithmException e )
+        {
+            throw new RuntimeException ( e );
+        }
+        catch ( final UnsupportedEncodingException e )
+        {
+            throw new RuntimeException ( e );
+        }
+    }
+
+    /**
+     * Returns reader for the specified snapshot file or null if snapshot doesn't belong to the resource.
+     *
+     * @param key          resource key
+     * @param snapshotFile snapshot file
+     * @return reader for the specified snapshot file or null if snapshot doesn't belong to the resource
+     * @throws IOException if snapshot cannot be read
+     */
+    protected HierarchicalStreamReader readSnapshot ( final String key, final File snapshotFile ) throws IOException
+    {
+        final DataInputStream in = new DataInputStream ( new BufferedInputStream ( new FileInputStream ( snapshotFile ) ) );
+        boolean valid = false;
+        try
+        {
+            valid = in.readInt () == SNAPSHOT_MARKER && in.readInt () == SNAPSHOT_VERSION && in.readUTF ().equals ( key );
+            return valid ? new BinaryStreamReader ( in ) : null;
+        }
+        finally
+        {
+            if ( !valid )
+            {
+                in.close ();
+            }
+        }
+    }
+
+    /**
+     * Returns snapshot of the XML document structure.
+     *
+     * @param driver XML driver
+     * @param source XML source
+     * @return snapshot of the XML document structure
+     * @throws IOException if XML cannot be read
+     */
+    protected byte[] createSnapshot ( final HierarchicalStreamDriver driver, final XmlSource source ) throws IOException
+    {
+        final InputStream is = source.openStream ();
+        try
+        {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream ( 4096 );
+            final BinaryStreamWriter writer = new BinaryStreamWriter ( bytes );
+            new HierarchicalStreamCopier ().copy ( driver.createReader ( is ), writer );
+            writer.flush ();
+            return bytes.toByteArray ();
+        }
+        finally
+        {
+            is.close ();
+        }
+    }
+
+    /**
+     * Writes snapshot into the specified file.
+     * Snapshot is written into temporary file first so that other processes never read partially written snapshot.
+     *
+     * @param key          resource key
+     * @param snapshotFile snapshot file
+     * @param snapshot     snapshot data
+     * @throws IOException if snapshot cannot be written
+     */
+    protected void writeSnapshot ( final String key, final File snapshotFile, final byte[] snapshot ) throws IOException
+    {
+        FileUtils.writeFileAtomically ( snapshotFile, new FileContentWriter ()
+        {
+            @Override
+            public void write ( final DataOutputStream out ) throws IOException
+            {
+                out.writeInt ( SNAPSHOT_MARKER );
+                out.writeInt ( SNAPSHOT_VERSION );
+                out.writeUTF ( key );
+                out.write ( snapshot );
+            }
+        } );
+    }
+
+    /**
+     * XML source description.
+     */
+    protected abstract static class XmlSource
+    {
+        /**
+         * Resource key or null if resource cannot be identified.
+         */
+        private final String key;
+
+        /**
+         * Constructs new XML source description.
+         *
+         * @param key resource key or null if resource cannot be identified
+         */
+        public XmlSource ( final String key )
+        {
+            super ();
+            this.key = key;
+        }
+
+        /**
+         * Returns resource key or null if resource cannot be identified.
+         *
+         * @return resource key or null if resource cannot be identified
+         */
+        public String getKey ()
+        {
+            return key;
+        }
+
+        /**
+         * Returns new XML input stream.
+         *
+         * @return new XML input stream
+         * @throws IOException if stream cannot be opened
+         */
+        public abstract InputStream openStream () throws IOException;
+
+        /**
+         * Releases resources when XML was read from the snapshot instead.
+         */
+        public void release ()
+        {
+            // Nothing to release by default
+        }
+    }
+}
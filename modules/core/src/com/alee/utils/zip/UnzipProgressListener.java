@@ -0,0 +1,41 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.zip;
+
+/**
+ * The listener interface for receiving unzip operation events including extracted bytes progress.
+ *
+ * @author Mikle Garin
+ */
+
+public interface UnzipProgressListener extends UnzipListener
+{
+    /**
+     * Notifies about total uncompressed size of zip file entries.
+     *
+     * @param bytes total uncompressed size in bytes
+     */
+    public void bytesDetermined ( long bytes );
+
+    /**
+     * Notifies about extracted data.
+     *
+     * @param bytes total amount of bytes extracted so far
+     */
+    public void bytesUnzipped ( long bytes );
+}
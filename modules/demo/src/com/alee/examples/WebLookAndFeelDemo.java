@@ -61,6 +61,7 @@ import com.alee.managers.version.VersionManager;
 import com.alee.utils.*;
 import com.alee.utils.reflection.JarEntry;
 import com.alee.utils.swing.AncestorAdapter;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
@@ -78,13 +79,13 @@ import java.util.Map;
 
 public class WebLookAndFeelDemo extends WebFrame
 {
-    public static final ImageIcon infoIcon = new ImageIcon ( WebLookAndFeelDemo.class.getResource ( "icons/info.png" ) );
-    public static final ImageIcon legendIcon = new ImageIcon ( WebLookAndFeelDemo.class.getResource ( "icons/legend.png" ) );
-    public static final ImageIcon animationIcon = new ImageIcon ( WebLookAndFeelDemo.class.getResource ( "icons/animate.png" ) );
-    public static final ImageIcon tabNamesIcon = new ImageIcon ( WebLookAndFeelDemo.class.getResource ( "icons/showTabNames.png" ) );
-    public static final ImageIcon orientationIcon = new ImageIcon ( WebLookAndFeelDemo.class.getResource ( "icons/orientation.png" ) );
-    public static final ImageIcon enabledIcon = new ImageIcon ( WebLookAndFeelDemo.class.getResource ( "icons/enabled.png" ) );
-    public static final ImageIcon disabledIcon = new ImageIcon ( WebLookAndFeelDemo.class.getResource ( "icons/disabled.png" ) );
+    public static final ImageIcon infoIcon = IconRegistry.getIcon ( WebLookAndFeelDemo.class, "icons/info.png" );
+    public static final ImageIcon legendIcon = IconRegistry.getIcon ( WebLookAndFeelDemo.class, "icons/legend.png" );
+    public static final ImageIcon animationIcon = IconRegistry.getIcon ( WebLookAndFeelDemo.class, "icons/animate.png" );
+    public static final ImageIcon tabNamesIcon = IconRegistry.getIcon ( WebLookAndFeelDemo.class, "icons/showTabNames.png" );
+    public static final ImageIcon orientationIcon = IconRegistry.getIcon ( WebLookAndFeelDemo.class, "icons/orientation.png" );
+    public static final ImageIcon enabledIcon = IconRegistry.getIcon ( WebLookAndFeelDemo.class, "icons/enabled.png" );
+    public static final ImageIcon disabledIcon = IconRegistry.getIcon ( WebLookAndFeelDemo.class, "icons/disabled.png" );
 
     public static final String WEBLAF_SITE = "http://weblookandfeel.com/";
     public static final String WEBLAF_EMAIL = "mgarin@alee.com";
@@ -19,6 +19,7 @@ package com.alee.examples.content;
 
 import com.alee.examples.content.presentation.PresentationStep;
 import com.alee.utils.ThreadUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.net.URL;
@@ -37,10 +38,10 @@ public abstract class DefaultExample implements Example
     /**
      * Mouse buttons icons.
      */
-    public static final ImageIcon lmb = new ImageIcon ( DefaultExample.class.getResource ( "icons/mouse/lmb.png" ) );
-    public static final ImageIcon mmb = new ImageIcon ( DefaultExample.class.getResource ( "icons/mouse/mmb.png" ) );
-    public static final ImageIcon rmb = new ImageIcon ( DefaultExample.class.getResource ( "icons/mouse/rmb.png" ) );
-    public static final ImageIcon cursor = new ImageIcon ( DefaultExample.class.getResource ( "icons/mouse/cursor.png" ) );
+    public static final ImageIcon lmb = IconRegistry.getIcon ( DefaultExample.class, "icons/mouse/lmb.png" );
+    public static final ImageIcon mmb = IconRegistry.getIcon ( DefaultExample.class, "icons/mouse/mmb.png" );
+    public static final ImageIcon rmb = IconRegistry.getIcon ( DefaultExample.class, "icons/mouse/rmb.png" );
+    public static final ImageIcon cursor = IconRegistry.getIcon ( DefaultExample.class, "icons/mouse/cursor.png" );
 
     /**
      * Example icons cache.
@@ -80,6 +80,7 @@ import com.alee.utils.*;
 import com.alee.utils.file.FileDownloadListener;
 import com.alee.utils.reflection.JarEntry;
 import com.alee.utils.reflection.JarStructure;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
@@ -100,9 +101,9 @@ import java.util.List;
 public class ExamplesManager
 {
     // Example manager icons
-    private static final ImageIcon presentationIcon = new ImageIcon ( ExamplesManager.class.getResource ( "icons/presentation.png" ) );
-    private static final ImageIcon logoIcon = new ImageIcon ( ExamplesManager.class.getResource ( "icons/logo.png" ) );
-    private static final ImageIcon linkIcon = new ImageIcon ( ExamplesManager.class.getResource ( "icons/link.png" ) );
+    private static final ImageIcon presentationIcon = IconRegistry.getIcon ( ExamplesManager.class, "icons/presentation.png" );
+    private static final ImageIcon logoIcon = IconRegistry.getIcon ( ExamplesManager.class, "icons/logo.png" );
+    private static final ImageIcon linkIcon = IconRegistry.getIcon ( ExamplesManager.class, "icons/link.png" );
 
     // Loaded example groups
     private static List<ExampleGroup> exampleGroups = null;
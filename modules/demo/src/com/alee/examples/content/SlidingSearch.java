@@ -31,6 +31,7 @@ import com.alee.managers.tooltip.WebCustomTooltipStyle;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.ImageUtils;
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -45,7 +46,7 @@ import java.awt.image.BufferedImage;
 
 public class SlidingSearch
 {
-    public static final ImageIcon searchIcon = new ImageIcon ( SlidingSearch.class.getResource ( "icons/search.png" ) );
+    public static final ImageIcon searchIcon = IconRegistry.getIcon ( SlidingSearch.class, "icons/search.png" );
 
     private boolean searchShown = false;
 
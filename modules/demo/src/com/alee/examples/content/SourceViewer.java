@@ -58,6 +58,7 @@ import com.alee.utils.compare.Filter;
 import com.alee.utils.reflection.JarEntry;
 import com.alee.utils.reflection.JarEntryType;
 import com.alee.utils.reflection.JarStructure;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.WebTimer;
 import org.fife.ui.rsyntaxtextarea.*;
 import org.fife.ui.rtextarea.RTextScrollPane;
@@ -80,8 +81,8 @@ import java.util.zip.ZipFile;
 
 public class SourceViewer extends WebPanel
 {
-    public static final ImageIcon browseIcon = new ImageIcon ( SourceViewer.class.getResource ( "icons/browse.png" ) );
-    public static final ImageIcon classSearchIcon = new ImageIcon ( SourceViewer.class.getResource ( "icons/classSearch.png" ) );
+    public static final ImageIcon browseIcon = IconRegistry.getIcon ( SourceViewer.class, "icons/browse.png" );
+    public static final ImageIcon classSearchIcon = IconRegistry.getIcon ( SourceViewer.class, "icons/classSearch.png" );
 
     private static final String SETTINGS_PREFIX = "SourceViewer.";
 
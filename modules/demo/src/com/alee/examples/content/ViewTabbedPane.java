@@ -26,6 +26,7 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.TextUtils;
 import com.alee.utils.reflection.JarEntry;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -42,7 +43,7 @@ import java.util.List;
 
 public class ViewTabbedPane extends WebTabbedPane
 {
-    public static final ImageIcon REMOVE_ICON = new ImageIcon ( ViewTabbedPane.class.getResource ( "icons/remove.png" ) );
+    public static final ImageIcon REMOVE_ICON = IconRegistry.getIcon ( ViewTabbedPane.class, "icons/remove.png" );
 
     public static final String ID_PREFIX = "VTP";
 
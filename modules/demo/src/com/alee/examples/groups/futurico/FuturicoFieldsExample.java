@@ -25,6 +25,7 @@ import com.alee.laf.button.WebButton;
 import com.alee.laf.text.WebPasswordField;
 import com.alee.laf.text.WebTextField;
 import com.alee.utils.NinePatchUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -35,8 +36,8 @@ import java.awt.*;
 
 public class FuturicoFieldsExample extends DefaultExample
 {
-    public static final ImageIcon searchIcon = new ImageIcon ( FuturicoFieldsExample.class.getResource ( "icons/field/search.png" ) );
-    public static final ImageIcon pSearchIcon = new ImageIcon ( FuturicoFieldsExample.class.getResource ( "icons/field/psearch.png" ) );
+    public static final ImageIcon searchIcon = IconRegistry.getIcon ( FuturicoFieldsExample.class, "icons/field/search.png" );
+    public static final ImageIcon pSearchIcon = IconRegistry.getIcon ( FuturicoFieldsExample.class, "icons/field/psearch.png" );
 
     @Override
     public String getTitle ()
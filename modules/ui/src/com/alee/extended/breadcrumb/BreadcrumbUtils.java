@@ -21,7 +21,7 @@ import com.alee.global.StyleConstants;
 import com.alee.utils.ColorUtils;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.ShapeCache;
-import com.alee.utils.swing.DataProvider;
+import com.alee.utils.ShapeCacheKey;
 
 import javax.swing.*;
 import java.awt.*;
@@ -48,6 +48,18 @@ public final class BreadcrumbUtils
     private static final String BORDER_SHAPE = "border";
     private static final String FILL_SHAPE = "fill";
 
+    /**
+     * Shape settings keys reused for shape cache requests within each painting thread.
+     */
+    private static final ThreadLocal<ShapeCacheKey> shapeSettings = new ThreadLocal<ShapeCacheKey> ()
+    {
+        @Override
+        protected ShapeCacheKey initialValue ()
+        {
+            return new ShapeCacheKey ();
+        }
+    };
+
     /**
      * Breadcrumb element background paint constants.
      */
@@ -217,14 +229,10 @@ public final class BreadcrumbUtils
     public static Shape getBorderShape ( final JComponent element, final int w, final int h, final int overlap, final int shadeWidth,
                                          final boolean ltr )
     {
-        return ShapeCache.getShape ( element, BORDER_SHAPE, new DataProvider<Shape> ()
-        {
-            @Override
-            public Shape provide ()
-            {
-                return createBorderShape ( w, h, overlap, shadeWidth, ltr );
-            }
-        }, w, h, overlap, shadeWidth, ltr );
+        final ShapeCacheKey settings = shapeSettings.get ().clear ().add ( w ).add ( h ).add ( overlap ).add ( shadeWidth ).add ( ltr );
+        final Shape shape = ShapeCache.getShape ( element, BORDER_SHAPE, settings );
+        return shape != null ? shape :
+                ShapeCache.cacheShape ( element, BORDER_SHAPE, settings, createBorderShape ( w, h, overlap, shadeWidth, ltr ) );
     }
 
     /**
@@ -273,14 +281,12 @@ public final class BreadcrumbUtils
                                        final int overlap, final int shadeWidth, final int round, final boolean encloseLast,
                                        final boolean ltr )
     {
-        return ShapeCache.getShape ( element, FILL_SHAPE, new DataProvider<Shape> ()
-        {
-            @Override
-            public Shape provide ()
-            {
-                return createFillShape ( element, type, w, h, overlap, shadeWidth, round, encloseLast, ltr );
-            }
-        }, type, w, h, overlap, shadeWidth, round, encloseLast, ltr );
+        final ShapeCacheKey settings = shapeSettings.get ().clear ().add ( type ).add ( w ).add ( h ).add ( overlap ).add ( shadeWidth )
+                .add ( round ).add ( encloseLast ).add ( ltr );
+        final Shape shape = ShapeCache.getShape ( element, FILL_SHAPE, settings );
+        return shape != null ? shape :
+                ShapeCache.cacheShape ( element, FILL_SHAPE, settings, createFillShape ( element, type, w, h, overlap, shadeWidth, round,
+                        encloseLast, ltr ) );
     }
 
     /**
@@ -32,6 +32,7 @@ import com.alee.utils.FileUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.file.FileComparator;
 import com.alee.utils.swing.AncestorAdapter;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.AncestorEvent;
@@ -46,9 +47,9 @@ import java.util.Arrays;
 
 public class WebFileBreadcrumb extends WebBreadcrumb
 {
-    public static ImageIcon typeIcon = new ImageIcon ( WebFileBreadcrumb.class.getResource ( "icons/file/type.png" ) );
-    public static ImageIcon dateIcon = new ImageIcon ( WebFileBreadcrumb.class.getResource ( "icons/file/date.png" ) );
-    public static ImageIcon sizeIcon = new ImageIcon ( WebFileBreadcrumb.class.getResource ( "icons/file/size.png" ) );
+    public static ImageIcon typeIcon = IconRegistry.getIcon ( WebFileBreadcrumb.class, "icons/file/type.png" );
+    public static ImageIcon dateIcon = IconRegistry.getIcon ( WebFileBreadcrumb.class, "icons/file/date.png" );
+    public static ImageIcon sizeIcon = IconRegistry.getIcon ( WebFileBreadcrumb.class, "icons/file/size.png" );
 
     private boolean displayFileIcon = WebFileBreadcrumbStyle.displayFileIcon;
     private boolean displayFileName = WebFileBreadcrumbStyle.displayFileName;
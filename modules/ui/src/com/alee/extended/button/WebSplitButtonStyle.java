@@ -18,6 +18,7 @@
 package com.alee.extended.button;
 
 import com.alee.laf.menu.PopupMenuWay;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 
@@ -32,7 +33,7 @@ public class WebSplitButtonStyle
     /**
      * Split button icon.
      */
-    public static ImageIcon splitIcon = new ImageIcon ( WebSplitButtonStyle.class.getResource ( "icons/splitIcon.png" ) );
+    public static ImageIcon splitIcon = IconRegistry.getIcon ( WebSplitButtonStyle.class, "icons/splitIcon.png" );
 
     /**
      * Gap between split icon and split part sides.
@@ -38,6 +38,7 @@ import com.alee.utils.ColorUtils;
 import com.alee.utils.ImageUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.swing.ChooserListener;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -62,7 +63,7 @@ public class WebColorChooserField extends WebTextField
     /**
      * Used icons.
      */
-    public static final ImageIcon eyedropperIcon = new ImageIcon ( WebColorChooserField.class.getResource ( "icons/eyedropper.png" ) );
+    public static final ImageIcon eyedropperIcon = IconRegistry.getIcon ( WebColorChooserField.class, "icons/eyedropper.png" );
 
     /**
      * Color display type.
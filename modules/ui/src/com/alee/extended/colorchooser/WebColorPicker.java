@@ -19,6 +19,7 @@ package com.alee.extended.colorchooser;
 
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -35,8 +36,8 @@ import java.util.List;
 
 public class WebColorPicker extends JComponent
 {
-    public static final ImageIcon DEFAULT_ICON = new ImageIcon ( WebColorPicker.class.getResource ( "icons/default.png" ) );
-    public static final ImageIcon SWITCH_ICON = new ImageIcon ( WebColorPicker.class.getResource ( "icons/switch.png" ) );
+    public static final ImageIcon DEFAULT_ICON = IconRegistry.getIcon ( WebColorPicker.class, "icons/default.png" );
+    public static final ImageIcon SWITCH_ICON = IconRegistry.getIcon ( WebColorPicker.class, "icons/switch.png" );
 
     private List<ActionListener> actionListeners = new ArrayList<ActionListener> ( 1 );
 
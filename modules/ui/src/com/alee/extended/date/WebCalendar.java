@@ -33,6 +33,7 @@ import com.alee.utils.CollectionUtils;
 import com.alee.utils.CompareUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.TimeUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -58,10 +59,10 @@ public class WebCalendar extends WebPanel
     /**
      * Used icons.
      */
-    public static final ImageIcon previousSkipIcon = new ImageIcon ( WebCalendar.class.getResource ( "icons/previous_skip.png" ) );
-    public static final ImageIcon previousIcon = new ImageIcon ( WebCalendar.class.getResource ( "icons/previous.png" ) );
-    public static final ImageIcon nextIcon = new ImageIcon ( WebCalendar.class.getResource ( "icons/next.png" ) );
-    public static final ImageIcon nextSkipIcon = new ImageIcon ( WebCalendar.class.getResource ( "icons/next_skip.png" ) );
+    public static final ImageIcon previousSkipIcon = IconRegistry.getIcon ( WebCalendar.class, "icons/previous_skip.png" );
+    public static final ImageIcon previousIcon = IconRegistry.getIcon ( WebCalendar.class, "icons/previous.png" );
+    public static final ImageIcon nextIcon = IconRegistry.getIcon ( WebCalendar.class, "icons/next.png" );
+    public static final ImageIcon nextSkipIcon = IconRegistry.getIcon ( WebCalendar.class, "icons/next_skip.png" );
 
     /**
      * Date selection listeners.
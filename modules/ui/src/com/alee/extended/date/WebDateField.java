@@ -30,6 +30,7 @@ import com.alee.utils.SizeUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.laf.ShapeProvider;
 import com.alee.utils.swing.Customizer;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.SizeMethods;
 
 import javax.swing.*;
@@ -60,7 +61,7 @@ public class WebDateField extends WebFormattedTextField implements ShapeProvider
     /**
      * Used icons.
      */
-    public static final ImageIcon selectDateIcon = new ImageIcon ( WebDateField.class.getResource ( "icons/date.png" ) );
+    public static final ImageIcon selectDateIcon = IconRegistry.getIcon ( WebDateField.class, "icons/date.png" );
 
     /**
      * Date selection listeners.
@@ -26,6 +26,7 @@ import com.alee.managers.language.LanguageManager;
 import com.alee.managers.language.LanguageMethods;
 import com.alee.managers.language.updaters.LanguageUpdater;
 import com.alee.utils.TextUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -36,10 +37,10 @@ import java.awt.*;
 
 public class WebDockableFrame extends WebPanel implements LanguageMethods
 {
-    public static final ImageIcon dockTop = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_top.png" ) );
-    public static final ImageIcon dockLeft = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_left.png" ) );
-    public static final ImageIcon dockRight = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_right.png" ) );
-    public static final ImageIcon dockBottom = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_bottom.png" ) );
+    public static final ImageIcon dockTop = IconRegistry.getIcon ( WebDockablePane.class, "icons/dock_top.png" );
+    public static final ImageIcon dockLeft = IconRegistry.getIcon ( WebDockablePane.class, "icons/dock_left.png" );
+    public static final ImageIcon dockRight = IconRegistry.getIcon ( WebDockablePane.class, "icons/dock_right.png" );
+    public static final ImageIcon dockBottom = IconRegistry.getIcon ( WebDockablePane.class, "icons/dock_bottom.png" );
 
     public static final String ID_PREFIX = "WDF";
 
@@ -27,6 +27,7 @@ import com.alee.laf.panel.WebPanel;
 import com.alee.laf.tabbedpane.TabbedPaneStyle;
 import com.alee.laf.tabbedpane.WebTabbedPane;
 import com.alee.laf.text.WebTextArea;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -100,9 +101,9 @@ public class WebDockablePane extends WebPanel
         }
     }
 
-    private static final ImageIcon top = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_top_.png" ) );
-    private static final ImageIcon left = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_left_.png" ) );
-    private static final ImageIcon right = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_right_.png" ) );
+    private static final ImageIcon top = IconRegistry.getIcon ( WebDockablePane.class, "icons/dock_top_.png" );
+    private static final ImageIcon left = IconRegistry.getIcon ( WebDockablePane.class, "icons/dock_left_.png" );
+    private static final ImageIcon right = IconRegistry.getIcon ( WebDockablePane.class, "icons/dock_right_.png" );
     // private static ImageIcon bottom = new ImageIcon ( WebDockablePane.class.getResource ( "icons/dock_bottom_.png" ) );
 
     public static void main ( final String[] args )
@@ -28,6 +28,7 @@ import com.alee.managers.hotkey.HotkeyManager;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.filefilter.AbstractFileFilter;
 import com.alee.utils.swing.DialogOptions;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -50,10 +51,10 @@ public class WebDirectoryChooser extends WebDialog implements DialogOptions
     /**
      * Icons.
      */
-    protected static final ImageIcon ICON = new ImageIcon ( WebDirectoryChooser.class.getResource ( "icons/dir_icon.png" ) );
-    protected static final ImageIcon SETTINGS_ICON = new ImageIcon ( WebDirectoryChooser.class.getResource ( "icons/settings.png" ) );
-    protected static final ImageIcon OK_ICON = new ImageIcon ( WebDirectoryChooser.class.getResource ( "icons/ok.png" ) );
-    protected static final ImageIcon CANCEL_ICON = new ImageIcon ( WebDirectoryChooser.class.getResource ( "icons/cancel.png" ) );
+    protected static final ImageIcon ICON = IconRegistry.getIcon ( WebDirectoryChooser.class, "icons/dir_icon.png" );
+    protected static final ImageIcon SETTINGS_ICON = IconRegistry.getIcon ( WebDirectoryChooser.class, "icons/settings.png" );
+    protected static final ImageIcon OK_ICON = IconRegistry.getIcon ( WebDirectoryChooser.class, "icons/ok.png" );
+    protected static final ImageIcon CANCEL_ICON = IconRegistry.getIcon ( WebDirectoryChooser.class, "icons/cancel.png" );
 
     /**
      * UI components.
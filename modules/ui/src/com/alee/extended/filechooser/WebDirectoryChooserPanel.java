@@ -35,6 +35,7 @@ import com.alee.managers.tooltip.TooltipManager;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.filefilter.AbstractFileFilter;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.TreeSelectionEvent;
@@ -59,14 +60,11 @@ public class WebDirectoryChooserPanel extends WebPanel
     /**
      * Used icons.
      */
-    protected static final ImageIcon FOLDER_UP_ICON =
-            new ImageIcon ( WebDirectoryChooserPanel.class.getResource ( "icons/folder_up.png" ) );
-    protected static final ImageIcon FOLDER_HOME_ICON =
-            new ImageIcon ( WebDirectoryChooserPanel.class.getResource ( "icons/folder_home.png" ) );
-    protected static final ImageIcon FOLDER_NEW_ICON =
-            new ImageIcon ( WebDirectoryChooserPanel.class.getResource ( "icons/folder_new.png" ) );
-    protected static final ImageIcon REFRESH_ICON = new ImageIcon ( WebDirectoryChooserPanel.class.getResource ( "icons/refresh.png" ) );
-    protected static final ImageIcon REMOVE_ICON = new ImageIcon ( WebDirectoryChooserPanel.class.getResource ( "icons/remove.png" ) );
+    protected static final ImageIcon FOLDER_UP_ICON = IconRegistry.getIcon ( WebDirectoryChooserPanel.class, "icons/folder_up.png" );
+    protected static final ImageIcon FOLDER_HOME_ICON = IconRegistry.getIcon ( WebDirectoryChooserPanel.class, "icons/folder_home.png" );
+    protected static final ImageIcon FOLDER_NEW_ICON = IconRegistry.getIcon ( WebDirectoryChooserPanel.class, "icons/folder_new.png" );
+    protected static final ImageIcon REFRESH_ICON = IconRegistry.getIcon ( WebDirectoryChooserPanel.class, "icons/refresh.png" );
+    protected static final ImageIcon REMOVE_ICON = IconRegistry.getIcon ( WebDirectoryChooserPanel.class, "icons/remove.png" );
 
     /**
      * Directory chooser listeners.
@@ -29,6 +29,7 @@ import com.alee.laf.scroll.WebScrollPane;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.filefilter.AbstractFileFilter;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -43,7 +44,7 @@ import java.util.List;
 
 public class WebFileChooserField extends WebPanel
 {
-    public static final ImageIcon CROSS_ICON = new ImageIcon ( WebFileChooserField.class.getResource ( "icons/cross.png" ) );
+    public static final ImageIcon CROSS_ICON = IconRegistry.getIcon ( WebFileChooserField.class, "icons/cross.png" );
 
     private final List<FilesSelectionListener> listeners = new ArrayList<FilesSelectionListener> ( 1 );
 
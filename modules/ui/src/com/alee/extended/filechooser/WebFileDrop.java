@@ -26,6 +26,7 @@ import com.alee.managers.language.LanguageMethods;
 import com.alee.managers.language.updaters.LanguageUpdater;
 import com.alee.utils.*;
 import com.alee.utils.filefilter.AbstractFileFilter;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
@@ -51,7 +52,7 @@ public class WebFileDrop extends WebPanel implements LanguageMethods
     /**
      * Remove file icon.
      */
-    public static final ImageIcon CROSS_ICON = new ImageIcon ( WebFileDrop.class.getResource ( "icons/cross.png" ) );
+    public static final ImageIcon CROSS_ICON = IconRegistry.getIcon ( WebFileDrop.class, "icons/cross.png" );
 
     protected static final BasicStroke dashStroke =
             new BasicStroke ( 3, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND, 1f, new float[]{ 8f, 8f }, 0f );
@@ -28,6 +28,7 @@ import com.alee.utils.DragUtils;
 import com.alee.utils.FileUtils;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.swing.AncestorAdapter;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
@@ -50,7 +51,7 @@ import java.util.List;
 
 public class WebFilePlate extends WebPanel
 {
-    public static final ImageIcon CROSS_ICON = new ImageIcon ( WebFilePlate.class.getResource ( "icons/cross.png" ) );
+    public static final ImageIcon CROSS_ICON = IconRegistry.getIcon ( WebFilePlate.class, "icons/cross.png" );
 
     protected final List<ActionListener> closeListeners = new ArrayList<ActionListener> ( 1 );
 
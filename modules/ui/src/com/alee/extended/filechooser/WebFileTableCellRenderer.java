@@ -19,6 +19,7 @@ package com.alee.extended.filechooser;
 
 import com.alee.laf.table.renderers.WebTableCellRenderer;
 import com.alee.utils.FileUtils;
+import com.alee.utils.file.FileMetadata;
 
 import javax.swing.*;
 import java.awt.*;
@@ -42,7 +43,8 @@ public class WebFileTableCellRenderer extends WebTableCellRenderer
 
         final File file = ( File ) value;
         final String columnId = ( String ) table.getColumnModel ().getColumn ( column ).getIdentifier ();
-        final boolean isFile = FileUtils.isFile ( file );
+        final FileMetadata metadata = FileUtils.getFileMetadata ( file );
+        final boolean isFile = metadata.isFile ();
         if ( columnId.equals ( WebFileTableModel.NUMBER_COLUMN ) )
         {
             setIcon ( null );
@@ -52,13 +54,13 @@ public class WebFileTableCellRenderer extends WebTableCellRenderer
         else if ( columnId.equals ( WebFileTableModel.NAME_COLUMN ) )
         {
             setIcon ( FileUtils.getFileIcon ( file ) );
-            setText ( FileUtils.getDisplayFileName ( file ) );
+            setText ( metadata.getDisplayName () );
             setHorizontalAlignment ( LEADING );
         }
         else if ( columnId.equals ( WebFileTableModel.SIZE_COLUMN ) )
         {
             setIcon ( null );
-            setText ( isFile ? FileUtils.getDisplayFileSize ( file ) : "" );
+            setText ( isFile ? metadata.getDisplaySize () : "" );
             setHorizontalAlignment ( LEADING );
         }
         else if ( columnId.equals ( WebFileTableModel.EXTENSION_COLUMN ) )
@@ -70,13 +72,13 @@ public class WebFileTableCellRenderer extends WebTableCellRenderer
         else if ( columnId.equals ( WebFileTableModel.CREATION_DATE_COLUMN ) )
         {
             setIcon ( null );
-            setText ( FileUtils.getDisplayFileCreationDate ( file ) );
+            setText ( metadata.getDisplayDate () );
             setHorizontalAlignment ( LEADING );
         }
         else if ( columnId.equals ( WebFileTableModel.MODIFICATION_DATE_COLUMN ) )
         {
             setIcon ( null );
-            setText ( FileUtils.getDisplayFileModificationDate ( file ) );
+            setText ( metadata.getDisplayDate () );
             setHorizontalAlignment ( LEADING );
         }
 
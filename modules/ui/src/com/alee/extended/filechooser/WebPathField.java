@@ -40,6 +40,7 @@ import com.alee.utils.FileUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.SystemUtils;
 import com.alee.utils.filefilter.AbstractFileFilter;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.CaretEvent;
@@ -72,9 +73,9 @@ public class WebPathField extends WebPanel
     /**
      * Used icons.
      */
-    protected static final ImageIcon down = new ImageIcon ( WebPathField.class.getResource ( "icons/down.png" ) );
-    protected static final ImageIcon left = new ImageIcon ( WebPathField.class.getResource ( "icons/left.png" ) );
-    protected static final ImageIcon right = new ImageIcon ( WebPathField.class.getResource ( "icons/right.png" ) );
+    protected static final ImageIcon down = IconRegistry.getIcon ( WebPathField.class, "icons/down.png" );
+    protected static final ImageIcon left = IconRegistry.getIcon ( WebPathField.class, "icons/left.png" );
+    protected static final ImageIcon right = IconRegistry.getIcon ( WebPathField.class, "icons/right.png" );
 
     /**
      * Custom property used to store file icon into button.
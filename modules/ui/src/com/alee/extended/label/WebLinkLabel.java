@@ -21,6 +21,7 @@ import com.alee.laf.label.WebLabel;
 import com.alee.managers.hotkey.Hotkey;
 import com.alee.utils.*;
 import com.alee.utils.swing.AncestorAdapter;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.AncestorEvent;
@@ -49,8 +50,8 @@ public class WebLinkLabel extends WebLabel
     /**
      * Used icons.
      */
-    public static final ImageIcon LINK_ICON = new ImageIcon ( WebLinkLabel.class.getResource ( "icons/link.png" ) );
-    public static final ImageIcon EMAIL_ICON = new ImageIcon ( WebLinkLabel.class.getResource ( "icons/email.png" ) );
+    public static final ImageIcon LINK_ICON = IconRegistry.getIcon ( WebLinkLabel.class, "icons/link.png" );
+    public static final ImageIcon EMAIL_ICON = IconRegistry.getIcon ( WebLinkLabel.class, "icons/email.png" );
 
     /**
      * ExecutorService to limit simultaneously running threads.
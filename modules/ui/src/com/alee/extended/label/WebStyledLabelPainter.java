@@ -26,8 +26,12 @@ import com.sun.java.swing.plaf.windows.WindowsLookAndFeel;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.font.FontRenderContext;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Mikle Garin
@@ -42,6 +46,7 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
     protected boolean ignoreColorSettings = WebStyledLabelStyle.ignoreColorSettings;
     protected float scriptFontRatio = WebStyledLabelStyle.scriptFontRatio;
     protected String truncatedTextSuffix = WebStyledLabelStyle.truncatedTextSuffix;
+    protected int layoutCacheSize = WebStyledLabelStyle.layoutCacheSize;
 
     /**
      * Runtime variables.
@@ -49,6 +54,21 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
     protected final List<TextRange> textRanges = new ArrayList<TextRange> ();
     protected boolean retrievingPreferredSize = false;
     protected boolean truncated = false;
+    protected List<TextRun> recordedRuns = null;
+
+    /**
+     * Cached text layouts.
+     * Layouts are stored by all label settings affecting them, so the same label (for example a cell renderer) can reuse layouts
+     * calculated for any of the recently displayed texts without measuring and wrapping them again, both for sizing and painting.
+     */
+    protected final Map<LayoutKey, Layout> layoutCache = new LinkedHashMap<LayoutKey, Layout> ( 16, 0.75f, true )
+    {
+        @Override
+        protected boolean removeEldestEntry ( final Map.Entry<LayoutKey, Layout> eldest )
+        {
+            return size () > layoutCacheSize;
+        }
+    };
 
     /**
      * Returns preferred row count.
@@ -133,6 +153,36 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
         repaint ();
     }
 
+    /**
+     * Returns maximum amount of cached text layouts.
+     *
+     * @return maximum amount of cached text layouts
+     */
+    public int getLayoutCacheSize ()
+    {
+        return layoutCacheSize;
+    }
+
+    /**
+     * Sets maximum amount of cached text layouts.
+     * Zero or negative value disables layouts caching.
+     *
+     * @param size maximum amount of cached text layouts
+     */
+    public void setLayoutCacheSize ( final int size )
+    {
+        this.layoutCacheSize = size;
+        layoutCache.clear ();
+    }
+
+    /**
+     * Clears cached text layouts.
+     */
+    public void clearLayoutCache ()
+    {
+        layoutCache.clear ();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -243,19 +293,98 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
      * @param w     painted text max width
      * @return painted rows amount
      */
-    protected int paintStyledTextImpl ( final E label, final Graphics2D g, final int textX, int textY, final int w )
+    protected int paintStyledTextImpl ( final E label, final Graphics2D g, final int textX, final int textY, final int w )
     {
-        final Insets insets = label.getInsets ();
-        final int labelHeight = getLabelHeight ( label, insets );
-        final int startX = getStartX ( label, textX, insets );
-        final int endX = w + startX;
+        // Measuring is never cached since it is performed for various widths
+        if ( g == null || layoutCacheSize <= 0 )
+        {
+            return paintStyledTextLayout ( label, g, textX, textY, w );
+        }
+
+        // Painting text runs from cached layout if possible
+        final LayoutKey key = new LayoutKey ( label );
+        final int mnemonicIndex = getMnemonicIndex ( label );
+        Layout layout = layoutCache.get ( key );
+        if ( layout != null && layout.runs != null && layout.runsX == textX && layout.runsY == textY && layout.runsWidth == w &&
+                layout.runsMnemonicIndex == mnemonicIndex )
+        {
+            // Text ranges are rebuilt if needed since runs colors and decorations are taken from them
+            if ( textRanges.isEmpty () )
+            {
+                StyledLabelUtils.buildTextRanges ( label, textRanges );
+            }
+            for ( final TextRun run : layout.runs )
+            {
+                paintRun ( label, g, run );
+            }
+            truncated = layout.runsTruncated;
+            return layout.runsRowCount;
+        }
 
-        int mnemonicIndex = label.getDisplayedMnemonicIndex ();
+        // Calculating layout and recording painted text runs
+        final int rowCount;
+        final List<TextRun> runs = new ArrayList<TextRun> ();
+        recordedRuns = runs;
+        try
+        {
+            rowCount = paintStyledTextLayout ( label, g, textX, textY, w );
+        }
+        finally
+        {
+            recordedRuns = null;
+        }
+
+        // Caching painted text runs
+        if ( layout == null )
+        {
+            layout = new Layout ();
+            layoutCache.put ( key, layout );
+        }
+        layout.runs = runs.toArray ( new TextRun[ runs.size () ] );
+        layout.runsX = textX;
+        layout.runsY = textY;
+        layout.runsWidth = w;
+        layout.runsMnemonicIndex = mnemonicIndex;
+        layout.runsTruncated = truncated;
+        layout.runsRowCount = rowCount;
+        return rowCount;
+    }
+
+    /**
+     * Returns displayed mnemonic index or -1 if mnemonic is hidden.
+     *
+     * @param label painted label
+     * @return displayed mnemonic index or -1 if mnemonic is hidden
+     */
+    protected int getMnemonicIndex ( final E label )
+    {
         if ( UIManager.getLookAndFeel () instanceof WebLookAndFeel && WebLookAndFeel.isMnemonicHidden () ||
                 UIManager.getLookAndFeel () instanceof WindowsLookAndFeel && WindowsLookAndFeel.isMnemonicHidden () )
         {
-            mnemonicIndex = -1;
+            return -1;
         }
+        return label.getDisplayedMnemonicIndex ();
+    }
+
+    /**
+     * Calculates styled text layout and paints it if graphics context is specified.
+     * Painted text runs are also added into recorded runs list if it is set.
+     *
+     * @param label painted label
+     * @param g     graphics context, null to only calculate layout
+     * @param textX text X coordinate
+     * @param textY text Y coordinate
+     * @param w     painted text max width
+     * @return painted rows amount
+     */
+    protected int paintStyledTextLayout ( final E label, final Graphics2D g, final int textX, int textY, final int w )
+    {
+        final Insets insets = label.getInsets ();
+        final int labelHeight = getLabelHeight ( label, insets );
+        final int startX = getStartX ( label, textX, insets );
+        final int endX = w + startX;
+
+        final int mnemonicIndex = getMnemonicIndex ( label );
 
         int y;
         int x = startX;
@@ -391,10 +520,7 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
                 fm2 = nextFm2;
             }
 
-            if ( g != null )
-            {
-                g.setFont ( font );
-            }
+            final Font runFont = font;
 
             boolean stop = false;
             String s = textRange.text.substring ( Math.min ( nextRowStartIndex, textRange.text.length () ) );
@@ -570,64 +696,7 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
                 {
                     y -= fm.getHeight () - fm2.getHeight ();
                 }
-
-                if ( style != null && style.getBackground () != null )
-                {
-                    g.setColor ( style.getBackground () );
-                    g.fillRect ( x, y - fm2.getHeight (), strWidth, fm2.getHeight () + 4 );
-                }
-
-                Color textColor = ( style != null && !ignoreColorSettings && style.getForeground () != null ) ? style.getForeground () :
-                        label.getForeground ();
-                if ( !label.isEnabled () )
-                {
-                    textColor = UIManager.getColor ( "Label.disabledForeground" );
-                }
-                g.setColor ( textColor );
-
-                if ( displayMnemonic )
-                {
-                    SwingUtils.drawStringUnderlineCharAt ( g, s, mneIndex, x, y );
-                }
-                else
-                {
-                    SwingUtils.drawString ( g, s, x, y );
-                }
-
-                if ( style != null )
-                {
-                    if ( style.isStrikeThrough () )
-                    {
-                        final int lineY = y + ( fm2.getDescent () - fm2.getAscent () ) / 2;
-                        g.drawLine ( x, lineY, x + strWidth - 1, lineY );
-                    }
-                    if ( style.isDoubleStrikeThrough () )
-                    {
-                        final int lineY = y + ( fm2.getDescent () - fm2.getAscent () ) / 2;
-                        g.drawLine ( x, lineY - 1, x + strWidth - 1, lineY - 1 );
-                        g.drawLine ( x, lineY + 1, x + strWidth - 1, lineY + 1 );
-                    }
-                    if ( style.isUnderlined () )
-                    {
-                        final int lineY = y + 1;
-                        g.drawLine ( x, lineY, x + strWidth - 1, lineY );
-                    }
-                    if ( style.isWaved () )
-                    {
-                        final int waveY = y + 1;
-                        for ( int waveX = x; waveX < x + strWidth; waveX += 4 )
-                        {
-                            if ( waveX + 2 <= x + strWidth - 1 )
-                            {
-                                g.drawLine ( waveX, waveY + 2, waveX + 2, waveY );
-                            }
-                            if ( waveX + 4 <= x + strWidth - 1 )
-                            {
-                                g.drawLine ( waveX + 3, waveY + 1, waveX + 4, waveY + 2 );
-                            }
-                        }
-                    }
-                }
+                paintRun ( label, g, new TextRun ( i, runFont, fm2, s, x, y, strWidth, displayMnemonic ? mneIndex : -1 ) );
             }
             // end of actual painting
 
@@ -813,11 +882,7 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
         }
         paintWidth = Math.min ( paintWidth, rightMostX - leftAlignmentX );
 
-        int mnemonicIndex = label.getDisplayedMnemonicIndex ();
-        if ( UIManager.getLookAndFeel () instanceof WindowsLookAndFeel && WindowsLookAndFeel.isMnemonicHidden () )
-        {
-            mnemonicIndex = -1;
-        }
+        final int mnemonicIndex = getMnemonicIndex ( label );
 
         int charDisplayed = 0;
         boolean displayMnemonic;
@@ -885,7 +950,7 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
                 fm2 = nextFm2;
             }
 
-            g.setFont ( font );
+            final Font runFont = font;
 
             String s = textRange.text.substring ( Math.min ( nextRowStartIndex, textRange.text.length () ) );
             if ( startOffset > 0 && x == textX && s.startsWith ( " " ) )
@@ -1031,67 +1096,93 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
             {
                 y -= fm.getHeight () - fm2.getHeight ();
             }
+            paintRun ( label, g, new TextRun ( i, runFont, fm2, s, x, y, strWidth, displayMnemonic ? mneIndex : -1 ) );
 
-            if ( style != null && style.getBackground () != null )
-            {
-                g.setColor ( style.getBackground () );
-                g.fillRect ( x, y - fm2.getHeight (), strWidth, fm2.getHeight () + 4 );
-            }
+            // End of actual painting
+            x += strWidth;
+        }
+    }
+
+    /**
+     * Paints single text run.
+     * Run colors and decorations are taken from its current style range, so they are always up-to-date even for cached runs.
+     *
+     * @param label painted label
+     * @param g     graphics context
+     * @param run   text run to paint
+     */
+    protected void paintRun ( final E label, final Graphics2D g, final TextRun run )
+    {
+        if ( recordedRuns != null )
+        {
+            recordedRuns.add ( run );
+        }
+
+        final StyleRange style = run.range < textRanges.size () ? textRanges.get ( run.range ).styleRange : null;
+        final FontMetrics fm = run.fontMetrics;
+        final String s = run.text;
+        final int x = run.x;
+        final int y = run.y;
+        final int strWidth = run.width;
+
+        g.setFont ( run.font );
+
+        if ( style != null && style.getBackground () != null )
+        {
+            g.setColor ( style.getBackground () );
+            g.fillRect ( x, y - fm.getHeight (), strWidth, fm.getHeight () + 4 );
+        }
+
+        Color textColor = ( style != null && !ignoreColorSettings && style.getForeground () != null ) ? style.getForeground () :
+                label.getForeground ();
+        if ( !label.isEnabled () )
+        {
+            textColor = UIManager.getColor ( "Label.disabledForeground" );
+        }
+        g.setColor ( textColor );
+
+        if ( run.mnemonicIndex != -1 )
+        {
+            SwingUtils.drawStringUnderlineCharAt ( g, s, run.mnemonicIndex, x, y );
+        }
+        else
+        {
+            SwingUtils.drawString ( g, s, x, y );
+        }
 
-            Color textColor = ( style != null && !ignoreColorSettings && style.getForeground () != null ) ? style.getForeground () :
-                    label.getForeground ();
-            if ( !label.isEnabled () )
+        if ( style != null )
+        {
+            if ( style.isStrikeThrough () )
             {
-                textColor = UIManager.getColor ( "Label.disabledForeground" );
+                final int lineY = y + ( fm.getDescent () - fm.getAscent () ) / 2;
+                g.drawLine ( x, lineY, x + strWidth - 1, lineY );
             }
-            g.setColor ( textColor );
-
-            if ( displayMnemonic )
+            if ( style.isDoubleStrikeThrough () )
             {
-                SwingUtils.drawStringUnderlineCharAt ( g, s, mneIndex, x, y );
+                final int lineY = y + ( fm.getDescent () - fm.getAscent () ) / 2;
+                g.drawLine ( x, lineY - 1, x + strWidth - 1, lineY - 1 );
+                g.drawLine ( x, lineY + 1, x + strWidth - 1, lineY + 1 );
             }
-            else
+            if ( style.isUnderlined () )
             {
-                SwingUtils.drawString ( g, s, x, y );
+                final int lineY = y + 1;
+                g.drawLine ( x, lineY, x + strWidth - 1, lineY );
             }
-
-            if ( style != null )
+            if ( style.isWaved () )
             {
-                if ( style.isStrikeThrough () )
+                final int waveY = y + 1;
+                for ( int waveX = x; waveX < x + strWidth; waveX += 4 )
                 {
-                    final int lineY = y + ( fm2.getDescent () - fm2.getAscent () ) / 2;
-                    g.drawLine ( x, lineY, x + strWidth - 1, lineY );
-                }
-                if ( style.isDoubleStrikeThrough () )
-                {
-                    final int lineY = y + ( fm2.getDescent () - fm2.getAscent () ) / 2;
-                    g.drawLine ( x, lineY - 1, x + strWidth - 1, lineY - 1 );
-                    g.drawLine ( x, lineY + 1, x + strWidth - 1, lineY + 1 );
-                }
-                if ( style.isUnderlined () )
-                {
-                    final int lineY = y + 1;
-                    g.drawLine ( x, lineY, x + strWidth - 1, lineY );
-                }
-                if ( style.isWaved () )
-                {
-                    final int waveY = y + 1;
-                    for ( int waveX = x; waveX < x + strWidth; waveX += 4 )
+                    if ( waveX + 2 <= x + strWidth - 1 )
                     {
-                        if ( waveX + 2 <= x + strWidth - 1 )
-                        {
-                            g.drawLine ( waveX, waveY + 2, waveX + 2, waveY );
-                        }
-                        if ( waveX + 4 <= x + strWidth - 1 )
-                        {
-                            g.drawLine ( waveX + 3, waveY + 1, waveX + 4, waveY + 2 );
-                        }
+                        g.drawLine ( waveX, waveY + 2, waveX + 2, waveY );
+                    }
+                    if ( waveX + 4 <= x + strWidth - 1 )
+                    {
+                        g.drawLine ( waveX + 3, waveY + 1, waveX + 4, waveY + 2 );
                     }
                 }
             }
-
-            // End of actual painting
-            x += strWidth;
         }
     }
 
@@ -1161,9 +1252,37 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
     @Override
     public Dimension getPreferredSize ( final E label )
     {
+        // Using cached layout if possible
+        final LayoutKey key = layoutCacheSize > 0 ? new LayoutKey ( label ) : null;
+        if ( key != null )
+        {
+            final Layout layout = layoutCache.get ( key );
+            if ( layout != null && layout.size != null )
+            {
+                // Text ranges are rebuilt since they reference style ranges which contain visual settings as well
+                StyledLabelUtils.buildTextRanges ( label, textRanges );
+                preferredRowCount = layout.rowCount;
+                return new Dimension ( layout.size );
+            }
+        }
+
+        // Calculating layout
         retrievingPreferredSize = true;
         final Dimension ps = getPreferredSizeImpl ( label );
         retrievingPreferredSize = false;
+
+        // Caching calculated layout
+        if ( key != null )
+        {
+            Layout layout = layoutCache.get ( key );
+            if ( layout == null )
+            {
+                layout = new Layout ();
+                layoutCache.put ( key, layout );
+            }
+            layout.size = new Dimension ( ps );
+            layout.rowCount = preferredRowCount;
+        }
         return ps;
     }
 
@@ -1601,4 +1720,147 @@ public class WebStyledLabelPainter<E extends WebStyledLabel> extends WebLabelPai
         preferredRowCount = limited;
         return x;
     }
-}
\ No newline at end of file
+
+    /**
+     * Text layout cache key.
+     * It contains all label settings which affect text layout, colors and other purely visual settings are not included.
+     */
+    protected class LayoutKey
+    {
+        protected final String text;
+        protected final int[] styles;
+        protected final Font font;
+        protected final FontRenderContext frc;
+        protected final int[] settings;
+        protected final float scriptRatio;
+        protected final String suffix;
+        protected final int hashCode;
+
+        /**
+         * Constructs new text layout cache key for the current label state.
+         *
+         * @param label label to construct key for
+         */
+        public LayoutKey ( final E label )
+        {
+            super ();
+
+            text = label.getText ();
+
+            final List<StyleRange> styleRanges = label.getStyleRangesImpl ();
+            styles = new int[ styleRanges.size () * 4 ];
+            int index = 0;
+            for ( final StyleRange range : styleRanges )
+            {
+                styles[ index++ ] = range.getStartIndex ();
+                styles[ index++ ] = range.getLength ();
+                styles[ index++ ] = range.getStyle ();
+                styles[ index++ ] = ( range.isSuperscript () ? 1 : 0 ) | ( range.isSubscript () ? 2 : 0 );
+            }
+
+            font = StyledLabelUtils.getFont ( label );
+            frc = label.getFontMetrics ( font ).getFontRenderContext ();
+
+            final Insets insets = label.getInsets ();
+            final Icon icon = label.getIcon ();
+            settings = new int[]{ label.getWidth (), label.getHeight (), insets.top, insets.left, insets.bottom, insets.right,
+                    label.isLineWrap () ? 1 : 0, label.getPreferredWidth (), label.getRows (), label.getMinimumRows (),
+                    label.getMaximumRows (), label.getRowGap (), icon != null ? icon.getIconWidth () : -1,
+                    icon != null ? icon.getIconHeight () : -1, label.getIconTextGap (), label.getHorizontalTextPosition (),
+                    label.getHorizontalAlignment (), label.getComponentOrientation ().isLeftToRight () ? 1 : 0 };
+
+            scriptRatio = scriptFontRatio;
+            suffix = truncatedTextSuffix;
+
+            int hash = text != null ? text.hashCode () : 0;
+            hash = 31 * hash + Arrays.hashCode ( styles );
+            hash = 31 * hash + font.hashCode ();
+            hash = 31 * hash + Arrays.hashCode ( settings );
+            hashCode = hash;
+        }
+
+        @Override
+        public boolean equals ( final Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( !( obj instanceof WebStyledLabelPainter.LayoutKey ) )
+            {
+                return false;
+            }
+            final WebStyledLabelPainter<?>.LayoutKey other = ( WebStyledLabelPainter<?>.LayoutKey ) obj;
+            return hashCode == other.hashCode && Arrays.equals ( settings, other.settings ) && Arrays.equals ( styles, other.styles ) &&
+                    ( text == null ? other.text == null : text.equals ( other.text ) ) && font.equals ( other.font ) &&
+                    frc.equals ( other.frc ) && scriptRatio == other.scriptRatio &&
+                    ( suffix == null ? other.suffix == null : suffix.equals ( other.suffix ) );
+        }
+
+        @Override
+        public int hashCode ()
+        {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Cached text layout.
+     * Preferred size and painted text runs are calculated separately, so either of them might be missing.
+     * Text runs are only valid for the text location, width and mnemonic they were painted with.
+     */
+    protected static class Layout
+    {
+        protected Dimension size;
+        protected int rowCount;
+        protected TextRun[] runs;
+        protected int runsX;
+        protected int runsY;
+        protected int runsWidth;
+        protected int runsMnemonicIndex;
+        protected boolean runsTruncated;
+        protected int runsRowCount;
+    }
+
+    /**
+     * Single painted piece of text with the same style.
+     * It contains everything calculated while wrapping and clipping text, so it can be painted again without measuring the text.
+     */
+    protected static class TextRun
+    {
+        protected final int range;
+        protected final Font font;
+        protected final FontMetrics fontMetrics;
+        protected final String text;
+        protected final int x;
+        protected final int y;
+        protected final int width;
+        protected final int mnemonicIndex;
+
+        /**
+         * Constructs new text run.
+         *
+         * @param range         index of the text range this run belongs to
+         * @param font          run font
+         * @param fontMetrics   run font metrics
+         * @param text          run text
+         * @param x             run X coordinate
+         * @param y             run baseline Y coordinate
+         * @param width         run width
+         * @param mnemonicIndex index of the underlined mnemonic character within the run or -1 if there is none
+         */
+        public TextRun ( final int range, final Font font, final FontMetrics fontMetrics, final String text, final int x, final int y,
+                         final int width, final int mnemonicIndex )
+        {
+            super ();
+            this.range = range;
+            this.font = font;
+            this.fontMetrics = fontMetrics;
+            this.text = text;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.mnemonicIndex = mnemonicIndex;
+        }
+    }
+}
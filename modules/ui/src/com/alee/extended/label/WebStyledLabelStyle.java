@@ -51,4 +51,9 @@ public final class WebStyledLabelStyle
      * Truncated text suffix.
      */
     public static String truncatedTextSuffix = "...";
+
+    /**
+     * Maximum amount of cached text layouts per label.
+     */
+    public static int layoutCacheSize = 128;
 }
\ No newline at end of file
@@ -24,6 +24,7 @@ import com.alee.laf.label.WebLabel;
 import com.alee.managers.settings.SettingsManager;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.WebTimer;
 
 import javax.swing.*;
@@ -37,8 +38,8 @@ import java.awt.event.ActionListener;
 
 public class WebTipLabel extends JComponent implements SwingConstants, ActionListener
 {
-    public static final ImageIcon HIDE_ICON = new ImageIcon ( WebTipLabel.class.getResource ( "icons/hide.png" ) );
-    public static final ImageIcon HIDE_DARK_ICON = new ImageIcon ( WebTipLabel.class.getResource ( "icons/hide_dark.png" ) );
+    public static final ImageIcon HIDE_ICON = IconRegistry.getIcon ( WebTipLabel.class, "icons/hide.png" );
+    public static final ImageIcon HIDE_DARK_ICON = IconRegistry.getIcon ( WebTipLabel.class, "icons/hide_dark.png" );
 
     public static final String SETTINGS_GROUP = "WebTipLabel";
 
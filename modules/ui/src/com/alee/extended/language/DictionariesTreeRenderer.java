@@ -21,6 +21,7 @@ import com.alee.laf.tree.WebTreeCellRenderer;
 import com.alee.laf.tree.WebTreeElement;
 import com.alee.managers.language.LanguageManager;
 import com.alee.managers.language.data.*;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.tree.DefaultMutableTreeNode;
@@ -36,11 +37,11 @@ public class DictionariesTreeRenderer extends WebTreeCellRenderer
     /**
      * Various node icons
      */
-    private static ImageIcon multidicIcon = new ImageIcon ( DictionariesTreeRenderer.class.getResource ( "icons/multidic.png" ) );
-    private static ImageIcon dicIcon = new ImageIcon ( DictionariesTreeRenderer.class.getResource ( "icons/dic.png" ) );
-    private static ImageIcon recordIcon = new ImageIcon ( DictionariesTreeRenderer.class.getResource ( "icons/record.png" ) );
-    private static ImageIcon textIcon = new ImageIcon ( DictionariesTreeRenderer.class.getResource ( "icons/text.png" ) );
-    private static ImageIcon tooltipIcon = new ImageIcon ( DictionariesTreeRenderer.class.getResource ( "icons/tooltip.png" ) );
+    private static ImageIcon multidicIcon = IconRegistry.getIcon ( DictionariesTreeRenderer.class, "icons/multidic.png" );
+    private static ImageIcon dicIcon = IconRegistry.getIcon ( DictionariesTreeRenderer.class, "icons/dic.png" );
+    private static ImageIcon recordIcon = IconRegistry.getIcon ( DictionariesTreeRenderer.class, "icons/record.png" );
+    private static ImageIcon textIcon = IconRegistry.getIcon ( DictionariesTreeRenderer.class, "icons/text.png" );
+    private static ImageIcon tooltipIcon = IconRegistry.getIcon ( DictionariesTreeRenderer.class, "icons/tooltip.png" );
 
     /**
      * Returns custom tree cell renderer component.
@@ -22,30 +22,63 @@ import com.alee.utils.FileUtils;
 import com.alee.utils.ImageUtils;
 import com.alee.utils.concurrent.DaemonThreadFactory;
 import com.alee.utils.file.FileThumbnailProvider;
+import com.alee.utils.file.ThumbnailCache;
 
 import javax.swing.*;
 import java.awt.*;
 import java.io.File;
 import java.util.Map;
 import java.util.WeakHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Mikle Garin
  */
 
-public class ThumbnailGenerator implements Runnable
+public class ThumbnailGenerator implements Runnable, Comparable<ThumbnailGenerator>
 {
     /**
      * todo 1. Issues might appear on enable state change while generators are running
      */
 
+    /**
+     * Amount of thumbnail generation threads.
+     */
+    protected static final int GENERATOR_THREADS = Math.max ( 1, Math.min ( 4, Runtime.getRuntime ().availableProcessors () ) );
+
+    /**
+     * Amount of cells outside of the visible area for which thumbnails are still generated.
+     * This makes slight scrolling look smoother.
+     */
+    protected static final int VISIBLE_AREA_MARGIN = 10;
+
     /**
      * Executor service for thumbnails generation.
      * It was made static to be shared by different file lists and avoid overload.
+     * Most recently queued generators are executed first since they were queued for the cells which were painted last.
      */
-    protected static final ExecutorService executorService = Executors.newSingleThreadExecutor ( new DaemonThreadFactory () );
+    protected static final ThreadPoolExecutor executorService;
+
+    static
+    {
+        executorService = new ThreadPoolExecutor ( GENERATOR_THREADS, GENERATOR_THREADS, 5, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<Runnable> (), new DaemonThreadFactory ( "ThumbnailGenerator" ) );
+        executorService.allowCoreThreadTimeOut ( true );
+    }
+
+    /**
+     * Generators queue order counter.
+     */
+    protected static final AtomicLong queueCounter = new AtomicLong ( 0 );
+
+    /**
+     * Persistent thumbnails cache.
+     * It is disabled by default, use {@link #setThumbnailCacheDirectory(java.io.File)} method to enable it.
+     */
+    protected static ThumbnailCache thumbnailCache = null;
 
     /**
      * Map containing references to running thumbnail generators.
@@ -68,11 +101,21 @@ public class ThumbnailGenerator implements Runnable
      */
     private final FileElement element;
 
+    /**
+     * Index of the element cell at the time generation was queued, -1 if it is unknown.
+     */
+    private final int index;
+
     /**
      * Whether should generate disabled state thumbnail or not.
      */
     private final boolean disabled;
 
+    /**
+     * Generator queue order.
+     */
+    private final long order;
+
     /**
      * Whether generation was aborted or not.
      */
@@ -86,11 +129,26 @@ public class ThumbnailGenerator implements Runnable
      * @param disabled whether should generate disabled state thumbnail or not
      */
     public ThumbnailGenerator ( final WebFileList list, final FileElement element, final boolean disabled )
+    {
+        this ( list, element, -1, disabled );
+    }
+
+    /**
+     * Constructs thumbnail generator for the specified file element.
+     *
+     * @param list     file list this generator is working for
+     * @param element  element to queue thumbnail generation for
+     * @param index    index of the element cell, -1 if it is unknown
+     * @param disabled whether should generate disabled state thumbnail or not
+     */
+    public ThumbnailGenerator ( final WebFileList list, final FileElement element, final int index, final boolean disabled )
     {
         super ();
         this.list = list;
         this.element = element;
+        this.index = index;
         this.disabled = disabled;
+        this.order = queueCounter.incrementAndGet ();
         this.aborted = false;
     }
 
@@ -143,6 +201,15 @@ public class ThumbnailGenerator implements Runnable
         this.aborted = true;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int compareTo ( final ThumbnailGenerator generator )
+    {
+        return order > generator.order ? -1 : order < generator.order ? 1 : 0;
+    }
+
     /**
      * Starts thumbnail generation.
      */
@@ -156,6 +223,14 @@ public class ThumbnailGenerator implements Runnable
             return;
         }
 
+        // Skipping generation for cells which were scrolled out of the visible area while generator was queued
+        // Cleanup will reset element queue state so generation will be queued again as soon as the cell is painted
+        if ( index != -1 && !list.isCellInVisibleArea ( index, VISIBLE_AREA_MARGIN ) )
+        {
+            cleanup ();
+            return;
+        }
+
         // Creating thumbnail
         createThumbnail ( element.getFile (), list.isGenerateThumbnails () );
 
@@ -249,7 +324,7 @@ public class ThumbnailGenerator implements Runnable
             // If thumbnail was already specified we should re-use it
             // It will save us a lot of time if we simply need to generate disabled state in addition to enabled one
             final ImageIcon thumb = element.getEnabledThumbnail () != null ? element.getEnabledThumbnail () :
-                    ImageUtils.createThumbnailIcon ( file.getAbsolutePath (), WebFileListCellRenderer.thumbSize );
+                    createImageThumbnail ( file, WebFileListCellRenderer.thumbSize );
             if ( thumb != null )
             {
                 // Applying standard image thumbnail
@@ -268,6 +343,33 @@ public class ThumbnailGenerator implements Runnable
         }
     }
 
+    /**
+     * Returns image file thumbnail.
+     * Thumbnail is taken from the persistent cache if it is enabled and contains it.
+     *
+     * @param file image file
+     * @param size thumbnail size
+     * @return image file thumbnail
+     */
+    private ImageIcon createImageThumbnail ( final File file, final int size )
+    {
+        final ThumbnailCache cache = thumbnailCache;
+        if ( cache != null )
+        {
+            final ImageIcon cached = cache.load ( file, size );
+            if ( cached != null )
+            {
+                return cached;
+            }
+        }
+        final ImageIcon thumb = ImageUtils.createThumbnailIcon ( file.getAbsolutePath (), size );
+        if ( cache != null && thumb != null && !aborted )
+        {
+            cache.store ( file, size, thumb );
+        }
+        return thumb;
+    }
+
     private void applyThumbnail ( final ImageIcon thumb )
     {
         // Process abort check here
@@ -367,6 +469,20 @@ public class ThumbnailGenerator implements Runnable
      * @param disabled whether should generate disabled state thumbnail or not
      */
     public static void queueThumbnailLoad ( final WebFileList list, final FileElement element, final boolean disabled )
+    {
+        queueThumbnailLoad ( list, element, -1, disabled );
+    }
+
+    /**
+     * Adds specified element into thumbnails generation queue.
+     * Generation will be skipped if the element cell is scrolled out of the visible list area before generation starts.
+     *
+     * @param list     file list this generator is working for
+     * @param element  element to queue thumbnail generation for
+     * @param index    index of the element cell, -1 if it is unknown
+     * @param disabled whether should generate disabled state thumbnail or not
+     */
+    public static void queueThumbnailLoad ( final WebFileList list, final FileElement element, final int index, final boolean disabled )
     {
         // Updating thumbnail load state
         synchronized ( element.getLock () )
@@ -378,9 +494,9 @@ public class ThumbnailGenerator implements Runnable
         // Queueing thumbnail generation
         synchronized ( generatorsLock )
         {
-            final ThumbnailGenerator generator = new ThumbnailGenerator ( list, element, disabled );
+            final ThumbnailGenerator generator = new ThumbnailGenerator ( list, element, index, disabled );
             generators.put ( element, generator );
-            executorService.submit ( generator );
+            executorService.execute ( generator );
         }
     }
 
@@ -410,4 +526,25 @@ public class ThumbnailGenerator implements Runnable
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns persistent thumbnails cache or null if it is disabled.
+     *
+     * @return persistent thumbnails cache or null if it is disabled
+     */
+    public static ThumbnailCache getThumbnailCache ()
+    {
+        return thumbnailCache;
+    }
+
+    /**
+     * Sets persistent thumbnails cache directory.
+     * When set, image thumbnails are saved into that directory and are not generated again until image file is modified.
+     *
+     * @param directory thumbnails cache directory, null to disable persistent cache
+     */
+    public static void setThumbnailCacheDirectory ( final File directory )
+    {
+        thumbnailCache = directory != null ? new ThumbnailCache ( directory ) : null;
+    }
+}
@@ -80,6 +80,13 @@ public class WebFileList extends WebList
      */
     protected WebScrollPane scrollView = null;
 
+    /**
+     * Visible cells range.
+     * It is updated on each list paint and used by thumbnail generators to skip cells which are not visible anymore.
+     */
+    protected volatile int firstVisibleIndex = -1;
+    protected volatile int lastVisibleIndex = -1;
+
     /**
      * Constructs empty file list.
      */
@@ -339,6 +346,35 @@ public class WebFileList extends WebList
         }
     }
 
+    /**
+     * Returns whether cell with the specified index is within visible list area or not.
+     * This method is safe to call from any thread, it uses visible cells range updated on the latest list paint.
+     * It will always return true if list was not painted yet.
+     *
+     * @param index  cell index
+     * @param margin amount of cells outside of the visible area which are also considered visible
+     * @return true if cell with the specified index is within visible list area, false otherwise
+     */
+    public boolean isCellInVisibleArea ( final int index, final int margin )
+    {
+        final int first = firstVisibleIndex;
+        final int last = lastVisibleIndex;
+        return first == -1 || last == -1 || index >= first - margin && index <= last + margin;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void paintComponent ( final Graphics g )
+    {
+        // Updating visible cells range
+        firstVisibleIndex = getFirstVisibleIndex ();
+        lastVisibleIndex = getLastVisibleIndex ();
+
+        super.paintComponent ( g );
+    }
+
     /**
      * Returns displayed directory.
      * Returned File might be null in case custom files list was set or no data is loaded into list yet.
@@ -253,7 +253,7 @@ public class WebFileListCellRenderer extends WebListCellRenderer
             {
                 if ( !element.isThumbnailQueued () && !element.isDisabledThumbnailQueued () )
                 {
-                    ThumbnailGenerator.queueThumbnailLoad ( fileList, element, false );
+                    ThumbnailGenerator.queueThumbnailLoad ( fileList, element, index, false );
                 }
             }
 
@@ -274,7 +274,7 @@ public class WebFileListCellRenderer extends WebListCellRenderer
             {
                 if ( !element.isDisabledThumbnailQueued () )
                 {
-                    ThumbnailGenerator.queueThumbnailLoad ( fileList, element, true );
+                    ThumbnailGenerator.queueThumbnailLoad ( fileList, element, index, true );
                 }
             }
 
@@ -286,7 +286,7 @@ public class WebFileListCellRenderer extends WebListCellRenderer
         if ( fileList.getEditedCell () != index )
         {
             // Settings description
-            final FileDescription fileDescription = FileUtils.getFileDescription ( file, imageSize );
+            final FileDescription fileDescription = FileUtils.getFileMetadata ( file ).getDescription ( imageSize );
             nameLabel.setText ( fileDescription.getName () );
 
             // Updating tile view additional description
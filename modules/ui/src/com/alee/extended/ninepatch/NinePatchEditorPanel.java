@@ -49,6 +49,7 @@ import com.alee.utils.*;
 import com.alee.utils.ninepatch.NinePatchInterval;
 import com.alee.utils.ninepatch.NinePatchIntervalType;
 import com.alee.utils.swing.DialogOptions;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -82,35 +83,33 @@ public class NinePatchEditorPanel extends WebPanel
     // todo Should make proper toolbar elements enable/disable
     // todo Multi-image editing
 
-    public static final ImageIcon OPEN_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/open.png" ) );
-    public static final ImageIcon SAVE_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/save.png" ) );
-    public static final ImageIcon SAVE_AS_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/saveas.png" ) );
-    public static final ImageIcon UNDO_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/undo.png" ) );
-    public static final ImageIcon REDO_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/redo.png" ) );
-
-    public static final ImageIcon COPY_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/copy.png" ) );
-    public static final ImageIcon PASTE_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/paste.png" ) );
-    public static final ImageIcon ROTATE_CCW_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/rotate_ccw.png" ) );
-    public static final ImageIcon ROTATE_CW_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/rotate_cw.png" ) );
-    public static final ImageIcon ROTATE_180_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/rotate_180.png" ) );
-
-    public static final ImageIcon GUIDES_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/guides.png" ) );
-    public static final ImageIcon RULER_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/ruler.png" ) );
-    public static final ImageIcon STRETCH_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/stretch.png" ) );
-    public static final ImageIcon CONTENT_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/content.png" ) );
-    public static final ImageIcon RULER_CURSOR_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/ruler_cursor.png" ) );
-    public static final ImageIcon AREA_CURSOR_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/area_cursor.png" ) );
-    public static final ImageIcon MIN_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/min.png" ) );
-    public static final ImageIcon MAX_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/max.png" ) );
-
-    public static final ImageIcon ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/icon.png" ) );
-    public static final ImageIcon SHOW_ICON_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/show_icon.png" ) );
-    public static final ImageIcon SHOW_TEXT_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/show_text.png" ) );
-    public static final ImageIcon FOREGROUND_COLOR_ICON =
-            new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/foreground_color.png" ) );
-    public static final ImageIcon TRANSPARENT_ICON = new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/transparent.png" ) );
-    public static final ImageIcon BACKGROUND_COLOR_ICON =
-            new ImageIcon ( NinePatchEditorPanel.class.getResource ( "icons/background_color.png" ) );
+    public static final ImageIcon OPEN_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/open.png" );
+    public static final ImageIcon SAVE_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/save.png" );
+    public static final ImageIcon SAVE_AS_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/saveas.png" );
+    public static final ImageIcon UNDO_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/undo.png" );
+    public static final ImageIcon REDO_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/redo.png" );
+
+    public static final ImageIcon COPY_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/copy.png" );
+    public static final ImageIcon PASTE_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/paste.png" );
+    public static final ImageIcon ROTATE_CCW_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/rotate_ccw.png" );
+    public static final ImageIcon ROTATE_CW_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/rotate_cw.png" );
+    public static final ImageIcon ROTATE_180_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/rotate_180.png" );
+
+    public static final ImageIcon GUIDES_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/guides.png" );
+    public static final ImageIcon RULER_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/ruler.png" );
+    public static final ImageIcon STRETCH_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/stretch.png" );
+    public static final ImageIcon CONTENT_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/content.png" );
+    public static final ImageIcon RULER_CURSOR_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/ruler_cursor.png" );
+    public static final ImageIcon AREA_CURSOR_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/area_cursor.png" );
+    public static final ImageIcon MIN_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/min.png" );
+    public static final ImageIcon MAX_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/max.png" );
+
+    public static final ImageIcon ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/icon.png" );
+    public static final ImageIcon SHOW_ICON_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/show_icon.png" );
+    public static final ImageIcon SHOW_TEXT_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/show_text.png" );
+    public static final ImageIcon FOREGROUND_COLOR_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/foreground_color.png" );
+    public static final ImageIcon TRANSPARENT_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/transparent.png" );
+    public static final ImageIcon BACKGROUND_COLOR_ICON = IconRegistry.getIcon ( NinePatchEditorPanel.class, "icons/background_color.png" );
 
     private final List<ChangeListener> changeListeners = new ArrayList<ChangeListener> ( 1 );
 
@@ -30,6 +30,7 @@ import com.alee.laf.rootpane.WebDialog;
 import com.alee.managers.language.LanguageManager;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -46,10 +47,10 @@ import java.util.List;
 
 public class WebExtendedOptionPane extends WebDialog
 {
-    public static final ImageIcon INFORMATION_ICON = new ImageIcon ( WebExtendedOptionPane.class.getResource ( "icons/information.png" ) );
-    public static final ImageIcon WARNING_ICON = new ImageIcon ( WebExtendedOptionPane.class.getResource ( "icons/warning.png" ) );
-    public static final ImageIcon ERROR_ICON = new ImageIcon ( WebExtendedOptionPane.class.getResource ( "icons/error.png" ) );
-    public static final ImageIcon QUESTION_ICON = new ImageIcon ( WebExtendedOptionPane.class.getResource ( "icons/question.png" ) );
+    public static final ImageIcon INFORMATION_ICON = IconRegistry.getIcon ( WebExtendedOptionPane.class, "icons/information.png" );
+    public static final ImageIcon WARNING_ICON = IconRegistry.getIcon ( WebExtendedOptionPane.class, "icons/warning.png" );
+    public static final ImageIcon ERROR_ICON = IconRegistry.getIcon ( WebExtendedOptionPane.class, "icons/error.png" );
+    public static final ImageIcon QUESTION_ICON = IconRegistry.getIcon ( WebExtendedOptionPane.class, "icons/question.png" );
 
     public static final int YES_NO_OPTION = WebOptionPane.YES_NO_OPTION;
     public static final int YES_NO_CANCEL_OPTION = WebOptionPane.YES_NO_CANCEL_OPTION;
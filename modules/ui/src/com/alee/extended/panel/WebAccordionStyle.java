@@ -19,6 +19,7 @@ package com.alee.extended.panel;
 
 import com.alee.global.StyleConstants;
 import com.alee.utils.ImageUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 
@@ -48,7 +49,7 @@ public final class WebAccordionStyle
     /**
      * Collapsed state icon.
      */
-    public static ImageIcon expandIcon = new ImageIcon ( WebAccordionStyle.class.getResource ( "icons/arrow.png" ) );
+    public static ImageIcon expandIcon = IconRegistry.getIcon ( WebAccordionStyle.class, "icons/arrow.png" );
 
     /**
      * Expanded state icon.
@@ -19,6 +19,7 @@ package com.alee.extended.panel;
 
 import com.alee.global.StyleConstants;
 import com.alee.utils.ImageUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -37,7 +38,7 @@ public final class WebCollapsiblePaneStyle
     /**
      * Collapsed state icon.
      */
-    public static ImageIcon expandIcon = new ImageIcon ( WebCollapsiblePane.class.getResource ( "icons/arrow.png" ) );
+    public static ImageIcon expandIcon = IconRegistry.getIcon ( WebCollapsiblePane.class, "icons/arrow.png" );
 
     /**
      * Expanded state icon.
@@ -18,6 +18,7 @@
 package com.alee.extended.statusbar;
 
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -30,7 +31,7 @@ import java.awt.event.MouseEvent;
 
 public class WebCursorTracker extends WebStatusLabel
 {
-    public static final ImageIcon CURSOR_ICON = new ImageIcon ( WebCursorTracker.class.getResource ( "icons/cursor.png" ) );
+    public static final ImageIcon CURSOR_ICON = IconRegistry.getIcon ( WebCursorTracker.class, "icons/cursor.png" );
 
     private AWTEventListener listener = null;
 
@@ -18,6 +18,7 @@
 package com.alee.extended.statusbar;
 
 import com.alee.global.StyleConstants;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -31,7 +32,7 @@ public final class WebMemoryBarStyle
     /**
      * Allocated mark border color
      */
-    public static ImageIcon memoryIcon = new ImageIcon ( WebMemoryBarStyle.class.getResource ( "icons/memory.png" ) );
+    public static ImageIcon memoryIcon = IconRegistry.getIcon ( WebMemoryBarStyle.class, "icons/memory.png" );
 
     /**
      * Allocated mark border color
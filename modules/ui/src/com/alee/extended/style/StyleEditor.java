@@ -63,6 +63,7 @@ import com.alee.managers.style.skin.CustomSkin;
 import com.alee.managers.tooltip.TooltipManager;
 import com.alee.utils.*;
 import com.alee.utils.swing.DocumentEventRunnable;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.IntDocumentChangeListener;
 import com.alee.utils.swing.IntTextDocument;
 import com.alee.utils.swing.WebTimer;
@@ -98,11 +99,11 @@ public class StyleEditor extends WebFrame
      * todo 2. Add JavaDoc
      */
 
-    private static final ImageIcon info = new ImageIcon ( StyleEditor.class.getResource ( "icons/status/info.png" ) );
-    private static final ImageIcon ok = new ImageIcon ( StyleEditor.class.getResource ( "icons/status/ok.png" ) );
-    private static final ImageIcon error = new ImageIcon ( StyleEditor.class.getResource ( "icons/status/error.png" ) );
+    private static final ImageIcon info = IconRegistry.getIcon ( StyleEditor.class, "icons/status/info.png" );
+    private static final ImageIcon ok = IconRegistry.getIcon ( StyleEditor.class, "icons/status/ok.png" );
+    private static final ImageIcon error = IconRegistry.getIcon ( StyleEditor.class, "icons/status/error.png" );
 
-    private static final ImageIcon tabIcon = new ImageIcon ( StyleEditor.class.getResource ( "icons/editor/tab.png" ) );
+    private static final ImageIcon tabIcon = IconRegistry.getIcon ( StyleEditor.class, "icons/editor/tab.png" );
 
     private static final BufferedImage magnifier =
             ImageUtils.getBufferedImage ( new ImageIcon ( StyleEditor.class.getResource ( "icons/editor/magnifierImage.png" ) ) );
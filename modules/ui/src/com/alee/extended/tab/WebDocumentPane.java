@@ -31,6 +31,7 @@ import com.alee.utils.TextUtils;
 import com.alee.utils.general.Pair;
 import com.alee.utils.swing.AncestorAdapter;
 import com.alee.utils.swing.Customizer;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.AncestorEvent;
@@ -68,8 +69,8 @@ public class WebDocumentPane<T extends DocumentData> extends WebPanel
     /**
      * Used icons.
      */
-    public static final ImageIcon closeTabIcon = new ImageIcon ( PaneData.class.getResource ( "icons/close.png" ) );
-    public static final ImageIcon closeTabRolloverIcon = new ImageIcon ( PaneData.class.getResource ( "icons/close-rollover.png" ) );
+    public static final ImageIcon closeTabIcon = IconRegistry.getIcon ( PaneData.class, "icons/close.png" );
+    public static final ImageIcon closeTabRolloverIcon = IconRegistry.getIcon ( PaneData.class, "icons/close-rollover.png" );
 
     /**
      * Constant key used to put pane element data into the UI component.
@@ -29,6 +29,7 @@ import javax.swing.*;
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreeNode;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Special model for asynchronous tree that provides asynchronous data loading.
@@ -83,7 +84,9 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
     protected E rootNode = null;
 
     /**
-     * Lock object for cache changes.
+     * Lock object for nodes by ID cache changes.
+     * Other caches are concurrent and raw childs lists are modified under their parent node lock, so operations on unrelated
+     * subtrees are not serialized.
      */
     protected final Object cacheLock = new Object ();
 
@@ -91,14 +94,14 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
      * Nodes cached states (parent ID -> childs cached state).
      * If child nodes for some parent node are cached then this map contains "true" value under that parent node ID as a key.
      */
-    protected final Map<String, Boolean> nodeCached = new HashMap<String, Boolean> ();
+    protected final Map<String, Boolean> nodeCached = new ConcurrentHashMap<String, Boolean> ();
 
     /**
      * Cache for childs nodes returned by data provider (parent ID -> list of raw child nodes).
      * This map contains raw childs which weren't affected by sorting and filtering operations.
      * If childs needs to be re-sorted or re-filtered they are simply taken from the cache and re-organized once again.
      */
-    protected final Map<String, List<E>> rawNodeChildsCache = new HashMap<String, List<E>> ();
+    protected final Map<String, List<E>> rawNodeChildsCache = new ConcurrentHashMap<String, List<E>> ();
 
     /**
      * Direct nodes cache (node ID -> node).
@@ -107,9 +110,10 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
     protected final DoubleMap<String, E> nodeById = new DoubleMap<String, E> ();
 
     /**
-     * Lock object for busy state changes.
+     * Queued childs load tasks (parent node -> load task).
+     * Used to cancel loads which were not yet started when node is collapsed.
      */
-    protected final Object busyLock = new Object ();
+    protected final Map<E, Runnable> loadTasks = new ConcurrentHashMap<E, Runnable> ();
 
     /**
      * Constructs default asynchronous tree model using custom data provider.
@@ -261,10 +265,23 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
      */
     public boolean areChildsLoaded ( final E node )
     {
-        synchronized ( cacheLock )
+        final Boolean cached = nodeCached.get ( node.getId () );
+        return cached != null && cached;
+    }
+
+    /**
+     * Returns raw childs of the specified node which are not affected by sorting and filtering.
+     * Returned list is a copy so it can be safely iterated outside of the event dispatch thread.
+     *
+     * @param parent node to process
+     * @return raw childs of the specified node or null if they are not loaded yet
+     */
+    public List<E> getRawChilds ( final E parent )
+    {
+        synchronized ( parent )
         {
-            final Boolean cached = nodeCached.get ( node.getId () );
-            return cached != null && cached;
+            final List<E> childs = rawNodeChildsCache.get ( parent.getId () );
+            return childs != null ? CollectionUtils.copy ( childs ) : null;
         }
     }
 
@@ -294,25 +311,25 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
      */
     protected void clearNodeChildsCache ( final E node, final boolean clearNode )
     {
-        synchronized ( cacheLock )
+        // Clears node cache
+        if ( clearNode )
         {
-            // Clears node cache
-            if ( clearNode )
+            synchronized ( cacheLock )
             {
                 nodeById.remove ( node.getId () );
             }
+        }
 
-            // Clears node childs cached state
-            nodeCached.remove ( node.getId () );
+        // Clears node childs cached state
+        nodeCached.remove ( node.getId () );
 
-            // Clears node raw childs cache
-            final List<E> children = rawNodeChildsCache.remove ( node.getId () );
+        // Clears node raw childs cache
+        final List<E> children = rawNodeChildsCache.remove ( node.getId () );
 
-            // Clears chld nodes cache
-            if ( children != null )
-            {
-                clearNodeChildsCache ( children, true );
-            }
+        // Clears chld nodes cache
+        if ( children != null )
+        {
+            clearNodeChildsCache ( children, true );
         }
     }
 
@@ -324,12 +341,9 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
      */
     protected void clearNodeChildsCache ( final List<E> nodes, final boolean clearNodes )
     {
-        synchronized ( cacheLock )
+        for ( final E node : nodes )
         {
-            for ( final E node : nodes )
-            {
-                clearNodeChildsCache ( node, clearNodes );
-            }
+            clearNodeChildsCache ( node, clearNodes );
         }
     }
 
@@ -341,12 +355,9 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
      */
     protected void clearNodeChildsCache ( final E[] nodes, final boolean clearNodes )
     {
-        synchronized ( cacheLock )
+        for ( final E node : nodes )
         {
-            for ( final E node : nodes )
-            {
-                clearNodeChildsCache ( node, clearNodes );
-            }
+            clearNodeChildsCache ( node, clearNodes );
         }
     }
 
@@ -394,7 +405,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         // loop.enter/exit
 
         // Checking if the node is busy already
-        synchronized ( busyLock )
+        synchronized ( parent )
         {
             if ( parent.isLoading () )
             {
@@ -412,17 +423,18 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
 
         // todo This should actually be called on node reload?
         // Removing all old childs if such exist
+        // All childs are removed at once and a single removal event is fired for them
         final int childCount = parent.getChildCount ();
         if ( childCount > 0 )
         {
             final int[] indices = new int[ childCount ];
             final Object[] childs = new Object[ childCount ];
-            for ( int i = childCount - 1; i >= 0; i-- )
+            for ( int i = 0; i < childCount; i++ )
             {
                 indices[ i ] = i;
                 childs[ i ] = parent.getChildAt ( i );
-                parent.remove ( i );
             }
+            parent.removeAllChildren ();
             nodesWereRemoved ( parent, indices, childs );
         }
 
@@ -431,11 +443,14 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         {
             // Executing childs load in a separate thread to avoid locking EDT
             // This queue will also take care of amount of threads to execute async trees requests
-            AsyncTreeQueue.execute ( tree, new Runnable ()
+            final Runnable loadTask = new Runnable ()
             {
                 @Override
                 public void run ()
                 {
+                    // Load is started and cannot be cancelled anymore
+                    loadTasks.remove ( parent );
+
                     // Loading childs
                     dataProvider.loadChilds ( parent, new ChildsListener<E> ()
                     {
@@ -443,20 +458,14 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                         public void childsLoadCompleted ( final List<E> childs )
                         {
                             // Caching raw childs
-                            synchronized ( cacheLock )
-                            {
-                                rawNodeChildsCache.put ( parent.getId (), childs );
-                                cacheNodesById ( childs );
-                            }
+                            rawNodeChildsCache.put ( parent.getId (), childs );
+                            cacheNodesById ( childs );
 
                             // Filtering and sorting raw childs
                             final List<E> realChilds = filterAndSort ( parent, childs );
 
                             // Updating cache
-                            synchronized ( cacheLock )
-                            {
-                                nodeCached.put ( parent.getId (), true );
-                            }
+                            nodeCached.put ( parent.getId (), true );
 
                             // Performing UI updates and event notification in EDT
                             SwingUtils.invokeLater ( new Runnable ()
@@ -472,7 +481,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                                     }
 
                                     // Releasing node busy state
-                                    synchronized ( busyLock )
+                                    synchronized ( parent )
                                     {
                                         parent.setState ( AsyncNodeState.loaded );
                                         nodeChanged ( parent );
@@ -488,11 +497,8 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                         public void childsLoadFailed ( final Throwable cause )
                         {
                             // Caching childs
-                            synchronized ( cacheLock )
-                            {
-                                rawNodeChildsCache.put ( parent.getId (), new ArrayList<E> ( 0 ) );
-                                nodeCached.put ( parent.getId (), true );
-                            }
+                            rawNodeChildsCache.put ( parent.getId (), new ArrayList<E> ( 0 ) );
+                            nodeCached.put ( parent.getId (), true );
 
                             // Performing event notification in EDT
                             SwingUtils.invokeLater ( new Runnable ()
@@ -501,7 +507,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                                 public void run ()
                                 {
                                     // Releasing node busy state
-                                    synchronized ( busyLock )
+                                    synchronized ( parent )
                                     {
                                         parent.setState ( AsyncNodeState.failed );
                                         parent.setFailureCause ( cause );
@@ -515,7 +521,9 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                         }
                     } );
                 }
-            } );
+            };
+            loadTasks.put ( parent, loadTask );
+            AsyncTreeQueue.execute ( tree, loadTask );
             return 0;
         }
         else
@@ -527,20 +535,14 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                 public void childsLoadCompleted ( final List<E> childs )
                 {
                     // Caching raw childs
-                    synchronized ( cacheLock )
-                    {
-                        rawNodeChildsCache.put ( parent.getId (), childs );
-                        cacheNodesById ( childs );
-                    }
+                    rawNodeChildsCache.put ( parent.getId (), childs );
+                    cacheNodesById ( childs );
 
                     // Filtering and sorting raw childs
                     final List<E> realChilds = filterAndSort ( parent, childs );
 
                     // Updating cache
-                    synchronized ( cacheLock )
-                    {
-                        nodeCached.put ( parent.getId (), true );
-                    }
+                    nodeCached.put ( parent.getId (), true );
 
                     // Checking if any nodes loaded
                     if ( realChilds != null && realChilds.size () > 0 )
@@ -550,7 +552,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                     }
 
                     // Releasing node busy state
-                    synchronized ( busyLock )
+                    synchronized ( parent )
                     {
                         parent.setState ( AsyncNodeState.loaded );
                         nodeChanged ( parent );
@@ -564,14 +566,11 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                 public void childsLoadFailed ( final Throwable cause )
                 {
                     // Caching childs
-                    synchronized ( cacheLock )
-                    {
-                        rawNodeChildsCache.put ( parent.getId (), new ArrayList<E> ( 0 ) );
-                        nodeCached.put ( parent.getId (), true );
-                    }
+                    rawNodeChildsCache.put ( parent.getId (), new ArrayList<E> ( 0 ) );
+                    nodeCached.put ( parent.getId (), true );
 
                     // Releasing node busy state
-                    synchronized ( busyLock )
+                    synchronized ( parent )
                     {
                         parent.setState ( AsyncNodeState.failed );
                         parent.setFailureCause ( cause );
@@ -586,6 +585,34 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
     }
 
+    /**
+     * Cancels queued childs loads for the specified node and all of its child nodes.
+     * Only loads which were not yet started are cancelled, cancelled nodes are returned into waiting state so their childs will be
+     * requested again when they are expanded.
+     *
+     * @param node node to cancel childs loads for
+     */
+    public void cancelChildsLoad ( final E node )
+    {
+        if ( loadTasks.isEmpty () )
+        {
+            return;
+        }
+        for ( final Map.Entry<E, Runnable> entry : loadTasks.entrySet () )
+        {
+            final E parent = entry.getKey ();
+            if ( ( parent == node || parent.isNodeAncestor ( node ) ) && AsyncTreeQueue.cancel ( tree, entry.getValue () ) )
+            {
+                loadTasks.remove ( parent );
+                synchronized ( parent )
+                {
+                    parent.setState ( AsyncNodeState.waiting );
+                    nodeChanged ( parent );
+                }
+            }
+        }
+    }
+
     /**
      * Sets child nodes for the specified node.
      * This method might be used to manually change tree node childs without causing any structure corruptions.
@@ -596,7 +623,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
     public void setChildNodes ( final E parent, final List<E> childs )
     {
         // Check if the node is busy already
-        synchronized ( busyLock )
+        synchronized ( parent )
         {
             if ( parent.isLoading () )
             {
@@ -610,20 +637,14 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
 
         // Caching raw childs
-        synchronized ( cacheLock )
-        {
-            rawNodeChildsCache.put ( parent.getId (), childs );
-            cacheNodesById ( childs );
-        }
+        rawNodeChildsCache.put ( parent.getId (), childs );
+        cacheNodesById ( childs );
 
         // Filtering and sorting raw childs
         final List<E> realChilds = filterAndSort ( parent, childs );
 
         // Updating cache
-        synchronized ( cacheLock )
-        {
-            nodeCached.put ( parent.getId (), true );
-        }
+        nodeCached.put ( parent.getId (), true );
 
         // Performing UI updates in EDT
         SwingUtils.invokeLater ( new Runnable ()
@@ -643,7 +664,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
                 }
 
                 // Release node busy state
-                synchronized ( busyLock )
+                synchronized ( parent )
                 {
                     parent.setState ( AsyncNodeState.loaded );
                     nodeChanged ( parent );
@@ -671,7 +692,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
 
         // Adding new raw childs
-        synchronized ( cacheLock )
+        synchronized ( parent )
         {
             List<E> cachedChilds = rawNodeChildsCache.get ( parent.getId () );
             if ( cachedChilds == null )
@@ -718,7 +739,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
 
         // Removing raw childs
-        synchronized ( cacheLock )
+        synchronized ( parentNode )
         {
             final List<E> childs = rawNodeChildsCache.get ( parentNode.getId () );
             if ( childs != null )
@@ -771,7 +792,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
 
         // Inserting new raw childs
-        synchronized ( cacheLock )
+        synchronized ( parentNode )
         {
             List<E> childs = rawNodeChildsCache.get ( parentNode.getId () );
             if ( childs == null )
@@ -811,7 +832,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
 
         // Inserting new raw childs
-        synchronized ( cacheLock )
+        synchronized ( parent )
         {
             List<E> childs = rawNodeChildsCache.get ( parent.getId () );
             if ( childs == null )
@@ -851,7 +872,7 @@ public class AsyncTreeModel<E extends AsyncUniqueNode> extends WebTreeModel<E>
         }
 
         // Inserting new raw childs
-        synchronized ( cacheLock )
+        synchronized ( parent )
         {
             List<E> childs = rawNodeChildsCache.get ( parent.getId () );
             if ( childs == null )
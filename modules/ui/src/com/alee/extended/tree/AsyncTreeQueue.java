@@ -19,13 +19,21 @@ package com.alee.extended.tree;
 
 import com.alee.utils.concurrent.DaemonThreadFactory;
 
+import java.util.LinkedList;
 import java.util.Map;
 import java.util.WeakHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Asynchronous tree childs loading queue.
+ * <p/>
+ * All queues share a single bounded thread pool instead of creating separate pools for each tree.
+ * Each queue keeps its own pending tasks and schedules them into the shared pool one by one, so a tree with lots of pending
+ * requests does not block requests of other trees - tasks from different queues are interleaved within the shared pool.
+ * Pending tasks can be cancelled before they are started.
  *
  * @author Mikle Garin
  */
@@ -43,20 +51,51 @@ public final class AsyncTreeQueue
      */
     public static boolean separateLimitForEachTree = true;
 
+    /**
+     * Maximum threads amount in the pool shared by all asynchronous tree queues.
+     * This value is used only when the shared pool is created, so it should be changed before any asynchronous tree is used.
+     */
+    public static int sharedThreadsAmount = Math.max ( 4, Runtime.getRuntime ().availableProcessors () * 2 );
+
     /**
      * Currently cached queues list.
      */
     private static final Map<WebAsyncTree, AsyncTreeQueue> queues = new WeakHashMap<WebAsyncTree, AsyncTreeQueue> ();
 
     /**
-     * Lock for ExecutorService calls synchronization.
+     * Thread pool shared by all queues.
+     */
+    private static ThreadPoolExecutor sharedExecutor = null;
+
+    /**
+     * Lock for queue state synchronization.
      */
     private final Object lock = new Object ();
 
     /**
-     * ExecutorService to limit simultaneously running threads.
+     * Tasks waiting for execution.
+     */
+    private final LinkedList<Runnable> pending = new LinkedList<Runnable> ();
+
+    /**
+     * Amount of workers from this queue currently scheduled or running in the shared pool.
+     */
+    private int active = 0;
+
+    /**
+     * Amount of workers from this queue scheduled in the shared pool which haven't yet picked their task.
+     */
+    private int scheduled = 0;
+
+    /**
+     * Maximum amount of simultaneously running tasks from this queue, zero means no limit.
      */
-    private ExecutorService executorService = Executors.newFixedThreadPool ( threadsAmount, new DaemonThreadFactory () );
+    private int maximumThreadsAmount = threadsAmount;
+
+    /**
+     * Whether this queue was shut down or not.
+     */
+    private boolean shutdown = false;
 
     /**
      * Sets maximum threads amount for the specified asynchronous tree.
@@ -80,6 +119,18 @@ public final class AsyncTreeQueue
         getInstance ( asyncTree ).execute ( runnable );
     }
 
+    /**
+     * Cancels runnable execution if it wasn't started yet.
+     *
+     * @param asyncTree asynchronous tree to process
+     * @param runnable  runnable to cancel
+     * @return true if runnable execution was cancelled, false if it is already running or was never queued
+     */
+    public static boolean cancel ( final WebAsyncTree asyncTree, final Runnable runnable )
+    {
+        return getInstance ( asyncTree ).cancel ( runnable );
+    }
+
     /**
      * Returns an instance of queue for the specified asynchronous tree.
      * This method might return the same queue for all trees depending on "separateLimitForEachTree" variable value.
@@ -105,7 +156,7 @@ public final class AsyncTreeQueue
      * @param asyncTree asynchronous tree to process
      * @return an instance of queue for the specified asynchronous tree
      */
-    private static AsyncTreeQueue getInstanceImpl ( final WebAsyncTree asyncTree )
+    private static synchronized AsyncTreeQueue getInstanceImpl ( final WebAsyncTree asyncTree )
     {
         AsyncTreeQueue queue = queues.get ( asyncTree );
         if ( queue == null )
@@ -134,6 +185,23 @@ public final class AsyncTreeQueue
         }
     }
 
+    /**
+     * Returns thread pool shared by all queues.
+     *
+     * @return thread pool shared by all queues
+     */
+    private static synchronized ThreadPoolExecutor getSharedExecutor ()
+    {
+        if ( sharedExecutor == null )
+        {
+            final int threads = Math.max ( 1, sharedThreadsAmount );
+            sharedExecutor = new ThreadPoolExecutor ( threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable> (),
+                    new DaemonThreadFactory ( "AsyncTreeQueue" ) );
+            sharedExecutor.allowCoreThreadTimeOut ( true );
+        }
+        return sharedExecutor;
+    }
+
     /**
      * Constructs new queue.
      */
@@ -151,32 +219,20 @@ public final class AsyncTreeQueue
     {
         synchronized ( lock )
         {
-            if ( executorService != null )
-            {
-                executorService.shutdown ();
-            }
-            if ( amount > 0 )
-            {
-                executorService = Executors.newFixedThreadPool ( amount, new DaemonThreadFactory () );
-            }
-            else
-            {
-                executorService = null;
-            }
+            maximumThreadsAmount = amount;
+            schedule ();
         }
     }
 
     /**
      * Shutdowns this queue.
+     * Tasks which were already queued will still be executed, but new ones will be rejected.
      */
     public void shutdown ()
     {
         synchronized ( lock )
         {
-            if ( executorService != null )
-            {
-                executorService.shutdown ();
-            }
+            shutdown = true;
         }
     }
 
@@ -189,14 +245,89 @@ public final class AsyncTreeQueue
     {
         synchronized ( lock )
         {
-            if ( executorService != null )
+            if ( shutdown )
+            {
+                throw new RejectedExecutionException ( "Queue was shut down" );
+            }
+            pending.add ( runnable );
+            schedule ();
+        }
+    }
+
+    /**
+     * Cancels runnable execution if it wasn't started yet.
+     *
+     * @param runnable runnable to cancel
+     * @return true if runnable execution was cancelled, false if it is already running or was never queued
+     */
+    public boolean cancel ( final Runnable runnable )
+    {
+        synchronized ( lock )
+        {
+            return pending.remove ( runnable );
+        }
+    }
+
+    /**
+     * Returns amount of tasks waiting for execution.
+     *
+     * @return amount of tasks waiting for execution
+     */
+    public int getPendingCount ()
+    {
+        synchronized ( lock )
+        {
+            return pending.size ();
+        }
+    }
+
+    /**
+     * Schedules pending tasks into the shared pool while this queue threads limit allows it.
+     * Should be called under the queue lock.
+     */
+    private void schedule ()
+    {
+        while ( pending.size () > scheduled && ( maximumThreadsAmount <= 0 || active < maximumThreadsAmount ) )
+        {
+            active++;
+            scheduled++;
+            getSharedExecutor ().execute ( new Worker () );
+        }
+    }
+
+    /**
+     * Shared pool task that executes a single pending task from this queue.
+     * Executing one task at a time and rescheduling afterwards places the next task of this queue at the end of the shared pool
+     * queue, which gives fair chances to all queues.
+     */
+    private final class Worker implements Runnable
+    {
+        @Override
+        public void run ()
+        {
+            final Runnable task;
+            synchronized ( lock )
+            {
+                scheduled--;
+                task = pending.poll ();
+                if ( task == null )
+                {
+                    active--;
+                    return;
+                }
+            }
+            try
             {
-                executorService.execute ( runnable );
+                task.run ();
             }
-            else
+            finally
             {
-                new Thread ( runnable, "AsyncTreeQueue" ).start ();
+                synchronized ( lock )
+                {
+                    active--;
+                    schedule ();
+                }
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -200,6 +200,22 @@ public class ExTreeModel<E extends UniqueNode> extends WebTreeModel<E>
         }
     }
 
+    /**
+     * Returns raw childs of the specified node which are not affected by sorting and filtering.
+     * Returned list is a copy so it can be safely iterated outside of the event dispatch thread.
+     *
+     * @param parent node to process
+     * @return raw childs of the specified node or null if they are not loaded yet
+     */
+    public List<E> getRawChilds ( final E parent )
+    {
+        synchronized ( cacheLock )
+        {
+            final List<E> childs = rawNodeChildsCache.get ( parent.getId () );
+            return childs != null ? CollectionUtils.copy ( childs ) : null;
+        }
+    }
+
     /**
      * Reloads node childs.
      *
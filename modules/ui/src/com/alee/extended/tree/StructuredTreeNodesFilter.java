@@ -18,23 +18,38 @@
 package com.alee.extended.tree;
 
 import com.alee.laf.tree.UniqueNode;
+import com.alee.laf.tree.WebTree;
 import com.alee.utils.compare.Filter;
 import com.alee.utils.text.DefaultTextProvider;
 import com.alee.utils.text.TextProvider;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.StringTokenizer;
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Special smart tree filter that doesn't filter out parent nodes which has childs that are accepted by filter.
  * This can be used in any kind of filter fields to provide a proper visual feedback in tree.
+ * <p/>
+ * When tree is specified filter indexes its raw structure once and performs each search over that index in a single pass.
+ * Results for the current search request are cached, so filtering the tree itself only performs simple lookups.
+ * If new request only refines the previous one (for example when user continues typing) only previous matches are checked.
+ * Search can also be prepared outside of the event dispatch thread using {@link #prepare()} method.
+ * <p/>
+ * Index and search results are built without holding any locks and are published once they are ready, so preparing search in
+ * background never blocks nodes checks performed on the event dispatch thread.
  *
  * @author Mikle Garin
  */
 
 public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E>
 {
+    /**
+     * Amount of nodes checked between search cancellation checks.
+     */
+    protected static final int CANCELLATION_CHECK_STEP = 4096;
+
     /**
      * Original tree filter.
      */
@@ -45,30 +60,68 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
      */
     protected TextProvider<E> textProvider;
 
+    /**
+     * Tree which raw structure is indexed by this filter.
+     */
+    protected WeakReference<WebTree<E>> tree;
+
+    /**
+     * Raw tree structure search index.
+     */
+    protected final AtomicReference<StructuredTreeNodesIndex<E>> index = new AtomicReference<StructuredTreeNodesIndex<E>> ();
+
+    /**
+     * Tree structure version, incremented each time index is cleared.
+     * It is used to drop indexes which were being built while tree structure was changed.
+     */
+    protected final AtomicInteger structureVersion = new AtomicInteger ( 0 );
+
+    /**
+     * Search request for which current index was last checked for nodes with newly loaded childs.
+     * Index is checked only once per search request since that check has to retrieve raw childs of each unloaded node.
+     */
+    protected volatile SearchRequest checkedRequest;
+
+    /**
+     * Last search result.
+     */
+    protected volatile SearchResult<E> searchResult;
+
     /**
      * Accept states by node IDs cache.
+     * It is only used for nodes which are not indexed yet.
+     */
+    protected final Map<String, Boolean> acceptStatesCache = new HashMap<String, Boolean> ();
+
+    /**
+     * Last created search request.
      */
-    protected Map<String, Boolean> acceptStatesCache = new HashMap<String, Boolean> ();
+    protected volatile SearchRequest lastSearchRequest;
+
+    /**
+     * Search request for which accept states are cached.
+     */
+    protected SearchRequest acceptStatesRequest;
 
     /**
      * Whether should match case or not.
      */
-    protected boolean matchCase = false;
+    protected volatile boolean matchCase = false;
 
     /**
      * Whether should use space character as requests separator or not.
      */
-    protected boolean useSpaceAsSeparator = false;
+    protected volatile boolean useSpaceAsSeparator = false;
 
     /**
      * Whether should search from node text beginning or not.
      */
-    protected boolean searchFromStart = false;
+    protected volatile boolean searchFromStart = false;
 
     /**
      * Search request text.
      */
-    protected String searchText = "";
+    protected volatile String searchText = "";
 
     /**
      * Returns original tree filter.
@@ -88,6 +141,11 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setOriginalFilter ( final Filter<E> filter )
     {
         this.originalFilter = filter;
+        searchResult = null;
+        synchronized ( acceptStatesCache )
+        {
+            acceptStatesCache.clear ();
+        }
     }
 
     /**
@@ -109,6 +167,32 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     public void setTextProvider ( final TextProvider<E> textProvider )
     {
         this.textProvider = textProvider != null ? textProvider : new DefaultTextProvider ();
+        clearCache ();
+    }
+
+    /**
+     * Returns tree which raw structure is indexed by this filter.
+     *
+     * @return tree which raw structure is indexed by this filter
+     */
+    public WebTree<E> getTree ()
+    {
+        return tree != null ? tree.get () : null;
+    }
+
+    /**
+     * Sets tree which raw structure should be indexed by this filter.
+     * Only WebExTree and WebAsyncTree structures can be indexed, filter checks nodes directly for any other tree.
+     *
+     * @param tree tree which raw structure should be indexed by this filter
+     */
+    public void setTree ( final WebTree<E> tree )
+    {
+        if ( getTree () != tree )
+        {
+            this.tree = tree != null ? new WeakReference<WebTree<E>> ( tree ) : null;
+            clearCache ();
+        }
     }
 
     /**
@@ -192,15 +276,23 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     }
 
     /**
-     * Clears accept states cache.
+     * Clears accept states cache and raw tree structure index.
+     * This should be called whenever tree structure is changed.
      */
     public void clearCache ()
     {
-        acceptStatesCache.clear ();
+        structureVersion.incrementAndGet ();
+        index.set ( null );
+        checkedRequest = null;
+        searchResult = null;
+        synchronized ( acceptStatesCache )
+        {
+            acceptStatesCache.clear ();
+        }
     }
 
     /**
-     * Clears specific node accept state cache.
+     * Clears specific node accept state cache and updates its indexed text.
      */
     public void clearCache ( final E node )
     {
@@ -208,11 +300,37 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     }
 
     /**
-     * Clears specific node accept state cache.
+     * Clears specific node accept state cache and updates its indexed text.
+     * Search results made before text update are considered outdated since index modification count changes.
      */
     public void clearCache ( final String nodeId )
     {
-        acceptStatesCache.remove ( nodeId );
+        synchronized ( acceptStatesCache )
+        {
+            acceptStatesCache.remove ( nodeId );
+        }
+        final StructuredTreeNodesIndex<E> index = this.index.get ();
+        if ( index != null )
+        {
+            final int position = index.indexOf ( nodeId );
+            if ( position != -1 )
+            {
+                index.updateText ( nodeId, textProvider.provide ( index.getNode ( position ) ) );
+            }
+        }
+    }
+
+    /**
+     * Prepares search result for the current search settings so that following nodes checks are simple lookups.
+     * This method can be called outside of the event dispatch thread to keep UI responsive while searching.
+     * Search stops early if search settings are changed in the meantime since its result is not needed anymore.
+     *
+     * @return true if search result for the current settings is prepared, false if search was superseded
+     */
+    public boolean prepare ()
+    {
+        final SearchRequest request = createSearchRequest ();
+        return request.isEmpty () || !isIndexable ( getTree () ) || search ( request, true ) != null;
     }
 
     /**
@@ -221,11 +339,11 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     @Override
     public boolean accept ( final E node )
     {
-        if ( originalFilter == null || originalFilter.accept ( node ) )
+        if ( acceptOriginal ( node ) )
         {
             // Structured nodes filtering
-            final String searchRequest = matchCase ? searchText : searchText.toLowerCase ();
-            return searchRequest.equals ( "" ) || acceptIncludingChilds ( node, searchRequest );
+            final SearchRequest request = createSearchRequest ();
+            return request.isEmpty () || acceptIncludingChilds ( node, request );
         }
         else
         {
@@ -233,74 +351,375 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
         }
     }
 
+    /**
+     * Returns whether the specified node is accepted by original tree filter or not.
+     * Nodes rejected by original filter are hidden together with their childs, so their childs never make parents visible.
+     *
+     * @param node node to check
+     * @return true if the specified node is accepted by original tree filter, false otherwise
+     */
+    protected boolean acceptOriginal ( final E node )
+    {
+        final Filter<E> filter = originalFilter;
+        return filter == null || filter.accept ( node );
+    }
+
+    /**
+     * Returns search request for the current search settings.
+     *
+     * @return search request for the current search settings
+     */
+    protected SearchRequest createSearchRequest ()
+    {
+        final String searchText = this.searchText;
+        final SearchRequest last = lastSearchRequest;
+        if ( last != null && last.searchText == searchText && last.matchCase == matchCase &&
+                last.useSpaceAsSeparator == useSpaceAsSeparator && last.searchFromStart == searchFromStart )
+        {
+            return last;
+        }
+        lastSearchRequest = new SearchRequest ( searchText, matchCase, useSpaceAsSeparator, searchFromStart );
+        return lastSearchRequest;
+    }
+
+    /**
+     * Returns whether search for the specified request is not needed anymore because search settings were changed.
+     *
+     * @param request search request
+     * @return true if search for the specified request is not needed anymore, false otherwise
+     */
+    protected boolean isCancelled ( final SearchRequest request )
+    {
+        return !request.equals ( createSearchRequest () );
+    }
+
     /**
      * Returns whether the specified node or any of its childs match the filter or not.
      *
-     * @param node          node to match
-     * @param searchRequest search request text
+     * @param node    node to match
+     * @param request search request
      * @return true if the specified node or any of its childs match the filter, false otherwise
      */
-    protected boolean acceptIncludingChilds ( final E node, final String searchRequest )
+    protected boolean acceptIncludingChilds ( final E node, final SearchRequest request )
     {
-        if ( acceptNode ( node, searchRequest ) )
+        // Using search result for indexed nodes
+        final SearchResult<E> result = search ( request, false );
+        if ( result != null )
         {
-            return true;
+            final int position = result.index.indexOf ( node.getId () );
+            if ( position != -1 )
+            {
+                return result.accepted.get ( position );
+            }
         }
-        for ( int i = 0; i < node.getChildCount (); i++ )
+
+        // Checking nodes which are not indexed yet directly
+        synchronized ( acceptStatesCache )
         {
-            if ( acceptIncludingChilds ( ( E ) node.getChildAt ( i ), searchRequest ) )
+            if ( !request.equals ( acceptStatesRequest ) )
             {
-                return true;
+                acceptStatesCache.clear ();
+                acceptStatesRequest = request;
+            }
+            final Boolean accept = acceptStatesCache.get ( node.getId () );
+            if ( accept != null )
+            {
+                return accept;
             }
         }
-        return false;
+        boolean accept = acceptNodeImpl ( node, request );
+        if ( !accept )
+        {
+            for ( final E child : getChilds ( node ) )
+            {
+                if ( acceptOriginal ( child ) && acceptIncludingChilds ( child, request ) )
+                {
+                    accept = true;
+                    break;
+                }
+            }
+        }
+        synchronized ( acceptStatesCache )
+        {
+            if ( request.equals ( acceptStatesRequest ) )
+            {
+                acceptStatesCache.put ( node.getId (), accept );
+            }
+        }
+        return accept;
     }
 
     /**
-     * Returns whether the specified node matches the filter or not.
-     * This method might return cached value if it exists, otherwise it will retrieve and cache a new value.
+     * Returns search result for the specified request or null if it cannot be provided.
+     * Previous result is returned if it is still actual, otherwise indexed nodes are checked once and matches are aggregated bottom-up.
+     * If request refines the previous one only nodes matched by the previous request are checked.
+     * Only nodes accepted by original tree filter are matched and matches are never aggregated through nodes it rejects.
      *
-     * @param node          node to match
-     * @param searchRequest search request text
-     * @return true if the specified node matches the filter, false otherwise
+     * @param request     search request
+     * @param cancellable whether search should stop as soon as search settings are changed or not
+     * @return search result for the specified request or null if it cannot be provided
      */
-    protected boolean acceptNode ( final E node, final String searchRequest )
+    protected SearchResult<E> search ( final SearchRequest request, final boolean cancellable )
     {
-        Boolean accept = acceptStatesCache.get ( node.getId () );
-        if ( accept == null )
+        // Retrieving actual index
+        final StructuredTreeNodesIndex<E> index = getIndex ( request, cancellable );
+        if ( index == null )
         {
-            accept = acceptNodeImpl ( node, searchRequest );
-            acceptStatesCache.put ( node.getId (), accept );
+            return null;
         }
-        return accept;
+
+        // Returning previous result if it is still actual
+        final SearchResult<E> previous = searchResult;
+        final boolean sameIndex = previous != null && previous.index == index && previous.modCount == index.getModCount ();
+        if ( sameIndex && previous.request.equals ( request ) )
+        {
+            return previous;
+        }
+
+        // Checking only nodes matched by the previous request if this one simply refines it
+        final int modCount = index.getModCount ();
+        final int size = index.size ();
+        final BitSet matches = new BitSet ( size );
+        final boolean refinement = sameIndex && request.isRefinementOf ( previous.request );
+        int checked = 0;
+        for ( int i = refinement ? previous.matches.nextSetBit ( 0 ) : 0; i >= 0 && i < size;
+              i = refinement ? previous.matches.nextSetBit ( i + 1 ) : i + 1 )
+        {
+            if ( cancellable && ++checked % CANCELLATION_CHECK_STEP == 0 && isCancelled ( request ) )
+            {
+                return null;
+            }
+            if ( acceptText ( index.getText ( i, request.matchCase ), request ) && acceptOriginal ( index.getNode ( i ) ) )
+            {
+                matches.set ( i );
+            }
+        }
+
+        // Aggregating matches bottom-up so that all parents of matched nodes are accepted as well
+        // Parent rejected by original filter hides the whole branch, so aggregation stops there
+        final BitSet accepted = new BitSet ( size );
+        final BitSet rejected = new BitSet ( size );
+        for ( int i = matches.nextSetBit ( 0 ); i >= 0; i = matches.nextSetBit ( i + 1 ) )
+        {
+            accepted.set ( i );
+            int position = index.getParent ( i );
+            while ( position != StructuredTreeNodesIndex.NO_PARENT && !accepted.get ( position ) && !rejected.get ( position ) )
+            {
+                if ( !acceptOriginal ( index.getNode ( position ) ) )
+                {
+                    rejected.set ( position );
+                    break;
+                }
+                accepted.set ( position );
+                position = index.getParent ( position );
+            }
+        }
+
+        // Publishing result, it is simply replaced if another thread has finished the same search
+        final SearchResult<E> result = new SearchResult<E> ( index, modCount, request, matches, accepted );
+        searchResult = result;
+        return result;
     }
 
     /**
-     * Returns whether the specified node matches the filter or not.
+     * Returns whether the specified tree raw structure can be indexed or not.
      *
-     * @param node          node to match
-     * @param searchRequest search request text
-     * @return true if the specified node matches the filter, false otherwise
+     * @param tree tree to check
+     * @return true if the specified tree raw structure can be indexed, false otherwise
+     */
+    protected boolean isIndexable ( final WebTree<E> tree )
+    {
+        return ( tree instanceof WebExTree || tree instanceof WebAsyncTree ) && tree.getModel () != null &&
+                tree.getModel ().getRoot () != null;
+    }
+
+    /**
+     * Returns actual raw tree structure index or null if tree structure cannot be indexed.
+     * Index is rebuilt if any of the nodes which childs were not loaded at the indexing time has loaded them since.
+     * That is checked only once for each search request, nodes loaded later on are checked directly until the next request.
+     * <p/>
+     * New index is built without holding any locks and then published only if tree structure wasn't changed in the meantime.
+     *
+     * @param request     search request
+     * @param cancellable whether indexing should stop as soon as search settings are changed or not
+     * @return actual raw tree structure index or null if tree structure cannot be indexed, was changed or indexing was cancelled
      */
-    protected boolean acceptNodeImpl ( final E node, final String searchRequest )
+    protected StructuredTreeNodesIndex<E> getIndex ( final SearchRequest request, final boolean cancellable )
     {
-        final String nodeText = matchCase ? textProvider.provide ( node ) : textProvider.provide ( node ).toLowerCase ();
-        if ( useSpaceAsSeparator )
+        final int version = structureVersion.get ();
+        final StructuredTreeNodesIndex<E> current = index.get ();
+        if ( current != null && ( request.equals ( checkedRequest ) || !hasLoadedChilds ( current ) ) )
+        {
+            checkedRequest = request;
+            return current;
+        }
+        final WebTree<E> tree = getTree ();
+        if ( !isIndexable ( tree ) )
+        {
+            return null;
+        }
+        final StructuredTreeNodesIndex<E> created = createIndex ( tree.getRootNode (), cancellable ? request : null );
+        if ( created == null )
+        {
+            return null;
+        }
+        index.compareAndSet ( current, created );
+        if ( structureVersion.get () != version )
         {
-            final StringTokenizer tokenizer = new StringTokenizer ( searchRequest, " ", false );
-            while ( tokenizer.hasMoreTokens () )
+            // Tree structure was changed while index was built
+            index.compareAndSet ( created, null );
+            return null;
+        }
+        checkedRequest = request;
+        return created;
+    }
+
+    /**
+     * Returns whether any of the nodes which childs were not loaded at the indexing time has loaded them since or not.
+     *
+     * @param index raw tree structure index
+     * @return true if any of the nodes which childs were not loaded at the indexing time has loaded them since, false otherwise
+     */
+    protected boolean hasLoadedChilds ( final StructuredTreeNodesIndex<E> index )
+    {
+        final BitSet unloaded = index.getUnloaded ();
+        for ( int i = unloaded.nextSetBit ( 0 ); i >= 0; i = unloaded.nextSetBit ( i + 1 ) )
+        {
+            if ( getRawChilds ( index.getNode ( i ) ) != null )
             {
-                if ( accept ( nodeText, tokenizer.nextToken (), searchFromStart ) )
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns newly created raw tree structure index or null if indexing was cancelled.
+     *
+     * @param root    tree root node
+     * @param request search request which cancels indexing once it is outdated, null if indexing cannot be cancelled
+     * @return newly created raw tree structure index or null if indexing was cancelled
+     */
+    protected StructuredTreeNodesIndex<E> createIndex ( final E root, final SearchRequest request )
+    {
+        final StructuredTreeNodesIndex<E> index = new StructuredTreeNodesIndex<E> ();
+        index.add ( root, textProvider.provide ( root ), StructuredTreeNodesIndex.NO_PARENT );
+        for ( int i = 0; i < index.size (); i++ )
+        {
+            if ( request != null && ( i + 1 ) % CANCELLATION_CHECK_STEP == 0 && isCancelled ( request ) )
+            {
+                return null;
+            }
+            final List<E> childs = getRawChilds ( index.getNode ( i ) );
+            if ( childs != null )
+            {
+                for ( final E child : childs )
                 {
-                    return true;
+                    index.add ( child, textProvider.provide ( child ), i );
                 }
             }
-            return false;
+            else if ( !isLeaf ( index.getNode ( i ) ) )
+            {
+                index.setUnloaded ( i );
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns whether the specified node is a leaf in the indexed tree model or not.
+     * Leaf nodes never have raw childs cached by tree models, so they are not considered as unloaded.
+     *
+     * @param node node to process
+     * @return true if the specified node is a leaf in the indexed tree model, false otherwise
+     */
+    protected boolean isLeaf ( final E node )
+    {
+        final WebTree<E> tree = getTree ();
+        return tree != null && tree.getModel () != null && tree.getModel ().isLeaf ( node );
+    }
+
+    /**
+     * Returns raw childs of the specified node or null if they are not loaded yet or cannot be retrieved.
+     * Filtered tree nodes are always of the filter node type, so tree models childs lists can be safely used as such.
+     *
+     * @param node node to process
+     * @return raw childs of the specified node or null if they are not loaded yet or cannot be retrieved
+     */
+    @SuppressWarnings ( "unchecked" )
+    protected List<E> getRawChilds ( final E node )
+    {
+        final WebTree<E> tree = getTree ();
+        if ( tree instanceof WebExTree )
+        {
+            return ( ( WebExTree<E> ) tree ).getExModel ().getRawChilds ( node );
+        }
+        else if ( tree instanceof WebAsyncTree )
+        {
+            final AsyncTreeModel<AsyncUniqueNode> model = ( ( WebAsyncTree<AsyncUniqueNode> ) tree ).getAsyncModel ();
+            return ( List<E> ) model.getRawChilds ( ( AsyncUniqueNode ) node );
         }
         else
         {
-            return accept ( nodeText, searchRequest, searchFromStart );
+            return null;
+        }
+    }
+
+    /**
+     * Returns raw childs of the specified node if they are available or its current childs otherwise.
+     * Filtered tree nodes are always of the filter node type, so tree node childs can be safely used as such.
+     *
+     * @param node node to process
+     * @return raw childs of the specified node if they are available or its current childs otherwise
+     */
+    @SuppressWarnings ( "unchecked" )
+    protected List<E> getChilds ( final E node )
+    {
+        final List<E> rawChilds = getRawChilds ( node );
+        if ( rawChilds != null )
+        {
+            return rawChilds;
+        }
+        final List<E> childs = new ArrayList<E> ( node.getChildCount () );
+        for ( int i = 0; i < node.getChildCount (); i++ )
+        {
+            childs.add ( ( E ) node.getChildAt ( i ) );
         }
+        return childs;
+    }
+
+    /**
+     * Returns whether the specified node matches the filter or not.
+     * Only the specified request settings are used, so concurrent search settings changes don't affect the result.
+     *
+     * @param node    node to match
+     * @param request search request
+     * @return true if the specified node matches the filter, false otherwise
+     */
+    protected boolean acceptNodeImpl ( final E node, final SearchRequest request )
+    {
+        final String text = textProvider.provide ( node );
+        final String nodeText = text == null ? "" : request.matchCase ? text : text.toLowerCase ();
+        return acceptText ( nodeText, request );
+    }
+
+    /**
+     * Returns whether the specified normalized node text matches search request or not.
+     *
+     * @param nodeText normalized node text
+     * @param request  search request
+     * @return true if the specified normalized node text matches search request, false otherwise
+     */
+    protected boolean acceptText ( final String nodeText, final SearchRequest request )
+    {
+        for ( final String token : request.tokens )
+        {
+            if ( accept ( nodeText, token, request.searchFromStart ) )
+            {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -315,4 +734,196 @@ public class StructuredTreeNodesFilter<E extends UniqueNode> implements Filter<E
     {
         return searchFromStart ? nodeText.startsWith ( searchRequest ) : nodeText.contains ( searchRequest );
     }
-}
\ No newline at end of file
+
+    /**
+     * Immutable snapshot of search settings.
+     */
+    protected static class SearchRequest
+    {
+        /**
+         * Search request text.
+         */
+        protected final String searchText;
+
+        /**
+         * Normalized search request text.
+         */
+        protected final String text;
+
+        /**
+         * Single search requests.
+         */
+        protected final String[] tokens;
+
+        /**
+         * Whether should match case or not.
+         */
+        protected final boolean matchCase;
+
+        /**
+         * Whether should use space character as requests separator or not.
+         */
+        protected final boolean useSpaceAsSeparator;
+
+        /**
+         * Whether should search from node text beginning or not.
+         */
+        protected final boolean searchFromStart;
+
+        /**
+         * Constructs new search request.
+         *
+         * @param searchText          search request text
+         * @param matchCase           whether should match case or not
+         * @param useSpaceAsSeparator whether should use space character as requests separator or not
+         * @param searchFromStart     whether should search from node text beginning or not
+         */
+        public SearchRequest ( final String searchText, final boolean matchCase, final boolean useSpaceAsSeparator,
+                               final boolean searchFromStart )
+        {
+            super ();
+            this.searchText = searchText;
+            this.text = searchText == null ? "" : matchCase ? searchText : searchText.toLowerCase ();
+            this.matchCase = matchCase;
+            this.useSpaceAsSeparator = useSpaceAsSeparator;
+            this.searchFromStart = searchFromStart;
+            if ( useSpaceAsSeparator )
+            {
+                final StringTokenizer tokenizer = new StringTokenizer ( text, " ", false );
+                tokens = new String[ tokenizer.countTokens () ];
+                for ( int i = 0; i < tokens.length; i++ )
+                {
+                    tokens[ i ] = tokenizer.nextToken ();
+                }
+            }
+            else
+            {
+                tokens = new String[]{ text };
+            }
+        }
+
+        /**
+         * Returns whether this request is empty or not.
+         *
+         * @return true if this request is empty, false otherwise
+         */
+        public boolean isEmpty ()
+        {
+            return text.equals ( "" );
+        }
+
+        /**
+         * Returns whether this request only narrows down results of the specified one or not.
+         * That is true when each single request contains one of the previous single requests.
+         *
+         * @param previous previous search request
+         * @return true if this request only narrows down results of the specified one, false otherwise
+         */
+        public boolean isRefinementOf ( final SearchRequest previous )
+        {
+            if ( matchCase != previous.matchCase || useSpaceAsSeparator != previous.useSpaceAsSeparator ||
+                    searchFromStart != previous.searchFromStart )
+            {
+                return false;
+            }
+            for ( final String token : tokens )
+            {
+                boolean refines = false;
+                for ( final String previousToken : previous.tokens )
+                {
+                    if ( searchFromStart ? token.startsWith ( previousToken ) : token.contains ( previousToken ) )
+                    {
+                        refines = true;
+                        break;
+                    }
+                }
+                if ( !refines )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean equals ( final Object object )
+        {
+            if ( object == this )
+            {
+                return true;
+            }
+            if ( !( object instanceof SearchRequest ) )
+            {
+                return false;
+            }
+            final SearchRequest other = ( SearchRequest ) object;
+            return text.equals ( other.text ) && matchCase == other.matchCase && useSpaceAsSeparator == other.useSpaceAsSeparator &&
+                    searchFromStart == other.searchFromStart;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int hashCode ()
+        {
+            return text.hashCode () * 8 + ( matchCase ? 4 : 0 ) + ( useSpaceAsSeparator ? 2 : 0 ) + ( searchFromStart ? 1 : 0 );
+        }
+    }
+
+    /**
+     * Search result for a single search request over the specific index.
+     *
+     * @param <N> indexed node type
+     */
+    protected static class SearchResult<N extends UniqueNode>
+    {
+        /**
+         * Index used for the search.
+         */
+        protected final StructuredTreeNodesIndex<N> index;
+
+        /**
+         * Index modification count at the search time.
+         */
+        protected final int modCount;
+
+        /**
+         * Search request.
+         */
+        protected final SearchRequest request;
+
+        /**
+         * Positions of nodes which match search request themselves.
+         */
+        protected final BitSet matches;
+
+        /**
+         * Positions of nodes which match search request themselves or have matching childs.
+         */
+        protected final BitSet accepted;
+
+        /**
+         * Constructs new search result.
+         *
+         * @param index    index used for the search
+         * @param modCount index modification count at the search time
+         * @param request  search request
+         * @param matches  positions of nodes which match search request themselves
+         * @param accepted positions of nodes which match search request themselves or have matching childs
+         */
+        public SearchResult ( final StructuredTreeNodesIndex<N> index, final int modCount, final SearchRequest request,
+                              final BitSet matches, final BitSet accepted )
+        {
+            super ();
+            this.index = index;
+            this.modCount = modCount;
+            this.request = request;
+            this.matches = matches;
+            this.accepted = accepted;
+        }
+    }
+}
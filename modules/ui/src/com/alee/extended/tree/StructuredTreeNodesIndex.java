@@ -0,0 +1,258 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+package com.alee.extended.tree;
+
+import com.alee.laf.tree.UniqueNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flat search index of the raw tree structure used by StructuredTreeNodesFilter.
+ * Nodes are stored in breadth-first order together with their normalized texts and parent positions.
+ * That allows search results to be aggregated bottom-up in a single pass without walking the tree again.
+ * <p/>
+ * Index structure is never changed once it is built, so it can be safely searched from any thread.
+ * Only node texts can be updated later, each update increments index modification count.
+ *
+ * @param <E> indexed node type
+ * @author Mikle Garin
+ * @see StructuredTreeNodesFilter
+ */
+
+public class StructuredTreeNodesIndex<E extends UniqueNode>
+{
+    /**
+     * Parent position of the root node.
+     */
+    public static final int NO_PARENT = -1;
+
+    /**
+     * Indexed nodes.
+     */
+    protected final List<E> nodes;
+
+    /**
+     * Nodes text.
+     */
+    protected String[] texts;
+
+    /**
+     * Lower-cased nodes text.
+     */
+    protected String[] lowerCaseTexts;
+
+    /**
+     * Parent node positions.
+     */
+    protected int[] parents;
+
+    /**
+     * Positions of nodes which childs were not loaded yet at the indexing time.
+     */
+    protected final BitSet unloaded = new BitSet ();
+
+    /**
+     * Node positions by node IDs.
+     */
+    protected final Map<String, Integer> positions = new HashMap<String, Integer> ();
+
+    /**
+     * Indexed nodes count.
+     */
+    protected int size = 0;
+
+    /**
+     * Node texts modification count.
+     */
+    protected volatile int modCount = 0;
+
+    /**
+     * Constructs new empty index.
+     */
+    public StructuredTreeNodesIndex ()
+    {
+        this ( 64 );
+    }
+
+    /**
+     * Constructs new empty index.
+     *
+     * @param capacity initial nodes capacity
+     */
+    public StructuredTreeNodesIndex ( final int capacity )
+    {
+        super ();
+        nodes = new ArrayList<E> ( capacity );
+        texts = new String[ capacity ];
+        lowerCaseTexts = new String[ capacity ];
+        parents = new int[ capacity ];
+    }
+
+    /**
+     * Adds node into index and returns its position.
+     *
+     * @param node   node to add
+     * @param text   node text
+     * @param parent parent node position or {@link #NO_PARENT}
+     * @return added node position
+     */
+    public int add ( final E node, final String text, final int parent )
+    {
+        if ( size == texts.length )
+        {
+            final int capacity = size * 2;
+            texts = Arrays.copyOf ( texts, capacity );
+            lowerCaseTexts = Arrays.copyOf ( lowerCaseTexts, capacity );
+            parents = Arrays.copyOf ( parents, capacity );
+        }
+        final int position = size++;
+        nodes.add ( node );
+        parents[ position ] = parent;
+        setText ( position, text );
+        positions.put ( node.getId (), position );
+        return position;
+    }
+
+    /**
+     * Marks node at the specified position as the one which childs were not loaded yet.
+     *
+     * @param position node position
+     */
+    public void setUnloaded ( final int position )
+    {
+        unloaded.set ( position );
+    }
+
+    /**
+     * Returns positions of nodes which childs were not loaded yet at the indexing time.
+     *
+     * @return positions of nodes which childs were not loaded yet at the indexing time
+     */
+    public BitSet getUnloaded ()
+    {
+        return unloaded;
+    }
+
+    /**
+     * Updates text of the node with the specified ID.
+     *
+     * @param nodeId node ID
+     * @param text   new node text
+     * @return true if node is indexed and its text has changed, false otherwise
+     */
+    public boolean updateText ( final String nodeId, final String text )
+    {
+        final int position = indexOf ( nodeId );
+        if ( position != -1 && !texts[ position ].equals ( text != null ? text : "" ) )
+        {
+            setText ( position, text );
+            modCount++;
+            return true;
+        }
+        else
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Sets node text at the specified position.
+     *
+     * @param position node position
+     * @param text     node text
+     */
+    protected void setText ( final int position, final String text )
+    {
+        final String t = text != null ? text : "";
+        texts[ position ] = t;
+        lowerCaseTexts[ position ] = t.toLowerCase ();
+    }
+
+    /**
+     * Returns indexed nodes count.
+     *
+     * @return indexed nodes count
+     */
+    public int size ()
+    {
+        return size;
+    }
+
+    /**
+     * Returns position of the node with the specified ID or -1 if it is not indexed.
+     *
+     * @param nodeId node ID
+     * @return position of the node with the specified ID or -1 if it is not indexed
+     */
+    public int indexOf ( final String nodeId )
+    {
+        final Integer position = positions.get ( nodeId );
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Returns node at the specified position.
+     *
+     * @param position node position
+     * @return node at the specified position
+     */
+    public E getNode ( final int position )
+    {
+        return nodes.get ( position );
+    }
+
+    /**
+     * Returns node texts modification count.
+     * It can be used to check whether search result made over this index is still actual or not.
+     *
+     * @return node texts modification count
+     */
+    public int getModCount ()
+    {
+        return modCount;
+    }
+
+    /**
+     * Returns node text at the specified position.
+     *
+     * @param position  node position
+     * @param matchCase whether should return original text or lower-cased one
+     * @return node text at the specified position
+     */
+    public String getText ( final int position, final boolean matchCase )
+    {
+        return matchCase ? texts[ position ] : lowerCaseTexts[ position ];
+    }
+
+    /**
+     * Returns parent position of the node at the specified position.
+     *
+     * @param position node position
+     * @return parent position of the node at the specified position or {@link #NO_PARENT} for the root node
+     */
+    public int getParent ( final int position )
+    {
+        return parents[ position ];
+    }
+}
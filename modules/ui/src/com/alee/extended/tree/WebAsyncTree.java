@@ -379,6 +379,20 @@ public class WebAsyncTree<E extends AsyncUniqueNode> extends WebTree<E> implemen
         return model != null && model instanceof AsyncTreeModel;
     }
 
+    /**
+     * {@inheritDoc}
+     * Cancels queued childs loads within the collapsed node since their results are not required anymore.
+     */
+    @Override
+    public void fireTreeCollapsed ( final TreePath path )
+    {
+        super.fireTreeCollapsed ( path );
+        if ( isAsyncModel () )
+        {
+            getAsyncModel ().cancelChildsLoad ( getNodeForPath ( path ) );
+        }
+    }
+
     /**
      * Sets maximum threads amount for this asynchronous tree.
      * Separate threads are used for childs loading, data updates and other actions which should be performed asynchronously.
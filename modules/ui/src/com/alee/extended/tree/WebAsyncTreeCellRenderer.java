@@ -20,6 +20,7 @@ package com.alee.extended.tree;
 import com.alee.laf.tree.WebTreeCellRenderer;
 import com.alee.laf.tree.WebTreeElement;
 import com.alee.utils.ImageUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.util.Map;
@@ -40,7 +41,7 @@ public class WebAsyncTreeCellRenderer extends WebTreeCellRenderer
     /**
      * Special failed state icon.
      */
-    public static final ImageIcon failedStateIcon = new ImageIcon ( AsyncUniqueNode.class.getResource ( "icons/failed.png" ) );
+    public static final ImageIcon failedStateIcon = IconRegistry.getIcon ( AsyncUniqueNode.class, "icons/failed.png" );
 
     /**
      * User failed icons cache.
@@ -19,6 +19,7 @@ package com.alee.extended.tree;
 
 import com.alee.laf.tree.WebTreeElement;
 import com.alee.utils.FileUtils;
+import com.alee.utils.file.FileMetadata;
 
 import javax.swing.*;
 import java.io.File;
@@ -67,7 +68,8 @@ public class WebFileTreeCellRenderer extends WebAsyncTreeCellRenderer
         }
         else if ( file != null )
         {
-            String name = FileUtils.getDisplayFileName ( file );
+            final FileMetadata metadata = FileUtils.getFileMetadata ( file );
+            String name = metadata.getDisplayName ();
             if ( name != null && !name.trim ().equals ( "" ) )
             {
                 setText ( name );
@@ -81,7 +83,7 @@ public class WebFileTreeCellRenderer extends WebAsyncTreeCellRenderer
                 }
                 else
                 {
-                    setText ( FileUtils.getFileDescription ( file, null ).getDescription () );
+                    setText ( metadata.getDescription ( null ).getDescription () );
                 }
             }
         }
@@ -26,19 +26,28 @@ import com.alee.laf.tree.TreeState;
 import com.alee.laf.tree.UniqueNode;
 import com.alee.laf.tree.WebTree;
 import com.alee.managers.hotkey.Hotkey;
+import com.alee.utils.SwingUtils;
 import com.alee.utils.compare.Filter;
+import com.alee.utils.concurrent.DaemonThreadFactory;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.swing.StringDocumentChangeListener;
 import com.alee.utils.text.TextProvider;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
 import javax.swing.text.Document;
+import javax.swing.tree.TreeModel;
 import java.awt.*;
 import java.awt.event.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.lang.ref.WeakReference;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Special filter field that can be attached to any WebAsyncTree.
@@ -52,12 +61,17 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
     /**
      * Used icons.
      */
-    public static final ImageIcon settingsIcon = new ImageIcon ( WebTreeFilterField.class.getResource ( "icons/filter/settings.png" ) );
-    public static final ImageIcon matchCaseIcon = new ImageIcon ( WebTreeFilterField.class.getResource ( "icons/filter/matchCase.png" ) );
+    public static final ImageIcon settingsIcon = IconRegistry.getIcon ( WebTreeFilterField.class, "icons/filter/settings.png" );
+    public static final ImageIcon matchCaseIcon = IconRegistry.getIcon ( WebTreeFilterField.class, "icons/filter/matchCase.png" );
     public static final ImageIcon useSpaceAsSeparatorIcon =
-            new ImageIcon ( WebTreeFilterField.class.getResource ( "icons/filter/useSpaceAsSeparator.png" ) );
+            IconRegistry.getIcon ( WebTreeFilterField.class, "icons/filter/useSpaceAsSeparator.png" );
     public static final ImageIcon searchFromStartIcon =
-            new ImageIcon ( WebTreeFilterField.class.getResource ( "icons/filter/searchFromStart.png" ) );
+            IconRegistry.getIcon ( WebTreeFilterField.class, "icons/filter/searchFromStart.png" );
+
+    /**
+     * Thread pool shared by all filter fields to prepare filtering results outside of the event dispatch thread.
+     */
+    private static ThreadPoolExecutor filteringExecutor;
 
     /**
      * Async tree to which this field should apply filtering.
@@ -89,6 +103,26 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
      */
     protected PropertyChangeListener filterChangeListener;
 
+    /**
+     * Tree model listener that keeps filter index up-to-date.
+     */
+    protected TreeModelListener treeModelListener;
+
+    /**
+     * Currently listened tree model.
+     */
+    protected TreeModel treeModel;
+
+    /**
+     * Number of the latest scheduled filtering request.
+     */
+    protected volatile int filteringRequest = 0;
+
+    /**
+     * Whether field is currently updating tree filtering or not.
+     */
+    protected boolean filtering = false;
+
     /**
      * Whether should automatically handle tree state on filter changes or not.
      */
@@ -221,7 +255,7 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             public void actionPerformed ( final ActionEvent e )
             {
                 filter.setMatchCase ( matchCaseItem.isSelected () );
-                updateFiltering ();
+                scheduleFiltering ();
             }
         } );
         settingsMenu.add ( matchCaseItem );
@@ -234,7 +268,7 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             public void actionPerformed ( final ActionEvent e )
             {
                 filter.setUseSpaceAsSeparator ( useSpaceAsSeparatorItem.isSelected () );
-                updateFiltering ();
+                scheduleFiltering ();
             }
         } );
         settingsMenu.add ( useSpaceAsSeparatorItem );
@@ -247,7 +281,7 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             public void actionPerformed ( final ActionEvent e )
             {
                 filter.setSearchFromStart ( searchFromStartItem.isSelected () );
-                updateFiltering ();
+                scheduleFiltering ();
             }
         } );
         settingsMenu.add ( searchFromStartItem );
@@ -265,7 +299,7 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             public void documentChanged ( final String newValue, final DocumentEvent e )
             {
                 filter.setSearchText ( newValue );
-                updateFiltering ();
+                scheduleFiltering ();
             }
         };
         updateDocumentListener ();
@@ -294,6 +328,58 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
             }
         } );
 
+        // Tree model listener to keep filter index up-to-date
+        treeModelListener = new TreeModelListener ()
+        {
+            @Override
+            public void treeNodesChanged ( final TreeModelEvent e )
+            {
+                // Updating text of changed nodes
+                final Object[] children = e.getChildren ();
+                if ( children != null )
+                {
+                    for ( final Object child : children )
+                    {
+                        filter.clearCache ( ( ( UniqueNode ) child ).getId () );
+                    }
+                }
+                else
+                {
+                    filter.clearCache ( ( ( UniqueNode ) e.getTreePath ().getLastPathComponent () ).getId () );
+                }
+            }
+
+            @Override
+            public void treeNodesInserted ( final TreeModelEvent e )
+            {
+                structureChanged ();
+            }
+
+            @Override
+            public void treeNodesRemoved ( final TreeModelEvent e )
+            {
+                structureChanged ();
+            }
+
+            @Override
+            public void treeStructureChanged ( final TreeModelEvent e )
+            {
+                structureChanged ();
+            }
+
+            /**
+             * Resets filter index on structure changes which weren't caused by this field.
+             */
+            private void structureChanged ()
+            {
+                if ( !filtering )
+                {
+                    filter.clearCache ();
+                }
+            }
+        };
+        updateTreeModelListener ();
+
         // Model change listener to properly update field filter
         dataProviderChangeListener = new PropertyChangeListener ()
         {
@@ -335,6 +421,26 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         document.addDocumentListener ( documentListener );
     }
 
+    /**
+     * Updates tree model listener.
+     */
+    protected void updateTreeModelListener ()
+    {
+        // Removing listener from old model
+        if ( treeModel != null )
+        {
+            treeModel.removeTreeModelListener ( treeModelListener );
+        }
+
+        // Adding listener to new model
+        final WebTree<E> tree = getTree ();
+        treeModel = tree != null ? tree.getModel () : null;
+        if ( treeModel != null && treeModelListener != null )
+        {
+            treeModel.addTreeModelListener ( treeModelListener );
+        }
+    }
+
     /**
      * Sets tree to which this field applies filtering.
      *
@@ -397,6 +503,10 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         final WebTree<E> tree = getTree ();
         if ( tree != null )
         {
+            // Updating indexed tree and its model listener
+            filter.setTree ( tree );
+            updateTreeModelListener ();
+
             if ( tree instanceof WebAsyncTree )
             {
                 final WebAsyncTree asyncTree = ( WebAsyncTree ) tree;
@@ -494,8 +604,43 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         this.defaultTreeStateBehavior = defaultTreeStateBehavior;
     }
 
+    /**
+     * Schedules tree filtering update.
+     * Search is performed outside of the event dispatch thread and tree filtering is updated once it is finished.
+     * Requests superseded by newer ones before their search is finished are simply dropped.
+     */
+    public void scheduleFiltering ()
+    {
+        final int request = ++filteringRequest;
+        final StructuredTreeNodesFilter<E> filter = this.filter;
+        getFilteringExecutor ().execute ( new Runnable ()
+        {
+            @Override
+            public void run ()
+            {
+                // Skipping requests which were superseded while waiting in queue
+                if ( request == filteringRequest && filter.prepare () )
+                {
+                    SwingUtils.invokeLater ( new Runnable ()
+                    {
+                        @Override
+                        public void run ()
+                        {
+                            // Applying only the latest request results
+                            if ( request == filteringRequest )
+                            {
+                                updateFiltering ();
+                            }
+                        }
+                    } );
+                }
+            }
+        } );
+    }
+
     /**
      * Updates tree filtering.
+     * Search for the current request is performed right away if it wasn't prepared yet.
      */
     public void updateFiltering ()
     {
@@ -503,55 +648,57 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         final WebTree<E> tree = getTree ();
         if ( tree != null )
         {
-            if ( tree instanceof WebAsyncTree )
+            filtering = true;
+            try
             {
-                // todo Restore/expand behavior
-
-                // Cleaning up filter cache
-                filter.clearCache ();
+                if ( tree instanceof WebAsyncTree )
+                {
+                    // todo Restore/expand behavior
 
-                // Updating tree filtering
-                ( ( WebAsyncTree ) tree ).updateSortingAndFiltering ();
-            }
-            else if ( tree instanceof WebExTree )
-            {
-                // Save tree state before filtering
-                if ( defaultTreeStateBehavior )
+                    // Updating tree filtering
+                    ( ( WebAsyncTree ) tree ).updateSortingAndFiltering ();
+                }
+                else if ( tree instanceof WebExTree )
                 {
-                    if ( !isEmpty () && treeState == null )
+                    // Save tree state before filtering
+                    if ( defaultTreeStateBehavior )
                     {
-                        treeState = tree.getTreeState ();
-                        visibleRect = tree.getVisibleRect ();
+                        if ( !isEmpty () && treeState == null )
+                        {
+                            treeState = tree.getTreeState ();
+                            visibleRect = tree.getVisibleRect ();
+                        }
                     }
-                }
 
-                // Cleaning up filter cache
-                filter.clearCache ();
-
-                // Updating tree filtering
-                ( ( WebExTree ) tree ).updateSortingAndFiltering ();
+                    // Updating tree filtering
+                    ( ( WebExTree ) tree ).updateSortingAndFiltering ();
 
-                // Restore tree state or expand tree
-                if ( defaultTreeStateBehavior )
-                {
-                    if ( isEmpty () )
+                    // Restore tree state or expand tree
+                    if ( defaultTreeStateBehavior )
                     {
-                        // Restore tree state
-                        if ( treeState != null )
+                        if ( isEmpty () )
                         {
-                            tree.setTreeState ( treeState );
-                            tree.scrollRectToVisible ( visibleRect );
-                            treeState = null;
-                            visibleRect = null;
+                            // Restore tree state
+                            if ( treeState != null )
+                            {
+                                tree.setTreeState ( treeState );
+                                tree.scrollRectToVisible ( visibleRect );
+                                treeState = null;
+                                visibleRect = null;
+                            }
+                        }
+                        else
+                        {
+                            // Expand all
+                            tree.expandAll ();
                         }
-                    }
-                    else
-                    {
-                        // Expand all
-                        tree.expandAll ();
                     }
                 }
             }
+            finally
+            {
+                filtering = false;
+            }
         }
     }
 
@@ -596,6 +743,22 @@ public class WebTreeFilterField<E extends UniqueNode> extends WebTextField
         return tree != null ? tree.get () : null;
     }
 
+    /**
+     * Returns thread pool shared by all filter fields.
+     *
+     * @return thread pool shared by all filter fields
+     */
+    private static synchronized ThreadPoolExecutor getFilteringExecutor ()
+    {
+        if ( filteringExecutor == null )
+        {
+            filteringExecutor = new ThreadPoolExecutor ( 1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable> (),
+                    new DaemonThreadFactory ( "WebTreeFilterField" ) );
+            filteringExecutor.allowCoreThreadTimeOut ( true );
+        }
+        return filteringExecutor;
+    }
+
     /**
      * Returns whether this tree filter field is empty or not.
      *
@@ -21,6 +21,7 @@ import com.alee.extended.layout.TableLayout;
 import com.alee.laf.panel.WebPanel;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
@@ -37,8 +38,8 @@ import java.util.List;
 
 public class LineColorChooser extends WebPanel
 {
-    public static final ImageIcon LEFT_ICON = new ImageIcon ( LineColorChooser.class.getResource ( "icons/left.png" ) );
-    public static final ImageIcon RIGHT_ICON = new ImageIcon ( LineColorChooser.class.getResource ( "icons/right.png" ) );
+    public static final ImageIcon LEFT_ICON = IconRegistry.getIcon ( LineColorChooser.class, "icons/left.png" );
+    public static final ImageIcon RIGHT_ICON = IconRegistry.getIcon ( LineColorChooser.class, "icons/right.png" );
 
     private final List<ChangeListener> changeListeners = new ArrayList<ChangeListener> ( 1 );
 
@@ -21,6 +21,7 @@ import com.alee.extended.layout.TableLayout;
 import com.alee.laf.panel.WebPanel;
 import com.alee.utils.CollectionUtils;
 import com.alee.utils.ImageUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
@@ -40,7 +41,7 @@ import java.util.List;
 
 public class PaletteColorChooser extends WebPanel
 {
-    public static final ImageIcon LOOP_ICON = new ImageIcon ( PaletteColorChooser.class.getResource ( "icons/loop.png" ) );
+    public static final ImageIcon LOOP_ICON = IconRegistry.getIcon ( PaletteColorChooser.class, "icons/loop.png" );
 
     private List<ChangeListener> changeListeners = new ArrayList<ChangeListener> ( 1 );
 
@@ -20,6 +20,7 @@ package com.alee.laf.colorchooser;
 import com.alee.laf.rootpane.WebDialog;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.swing.DialogOptions;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -33,8 +34,7 @@ import java.awt.event.WindowEvent;
 
 public class WebColorChooserDialog extends WebDialog implements DialogOptions
 {
-    public static final ImageIcon COLOR_CHOOSER_ICON =
-            new ImageIcon ( WebColorChooserDialog.class.getResource ( "icons/color_chooser.png" ) );
+    public static final ImageIcon COLOR_CHOOSER_ICON = IconRegistry.getIcon ( WebColorChooserDialog.class, "icons/color_chooser.png" );
 
     private final WebColorChooser colorChooser;
 
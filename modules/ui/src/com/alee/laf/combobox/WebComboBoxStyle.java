@@ -19,6 +19,7 @@ package com.alee.laf.combobox;
 
 import com.alee.global.StyleConstants;
 import com.alee.utils.ImageUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -34,7 +35,7 @@ public final class WebComboBoxStyle
     /**
      * Expand icon.
      */
-    public static ImageIcon expandIcon = new ImageIcon ( WebComboBoxStyle.class.getResource ( "icons/arrow.png" ) );
+    public static ImageIcon expandIcon = IconRegistry.getIcon ( WebComboBoxStyle.class, "icons/arrow.png" );
 
     /**
      * Collapse icon.
@@ -23,6 +23,7 @@ import com.alee.laf.WebFonts;
 import com.alee.laf.button.WebButton;
 import com.alee.laf.label.WebLabel;
 import com.alee.utils.LafUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.plaf.basic.BasicInternalFrameTitlePane;
@@ -34,10 +35,10 @@ import java.awt.*;
 
 public class WebInternalFrameTitlePane extends BasicInternalFrameTitlePane
 {
-    public static final ImageIcon iconifyIcon = new ImageIcon ( WebInternalFrameTitlePane.class.getResource ( "icons/minimize.png" ) );
-    public static final ImageIcon maximizeIcon = new ImageIcon ( WebInternalFrameTitlePane.class.getResource ( "icons/maximize.png" ) );
-    public static final ImageIcon restoreIcon = new ImageIcon ( WebInternalFrameTitlePane.class.getResource ( "icons/restore.png" ) );
-    public static final ImageIcon closeIcon = new ImageIcon ( WebInternalFrameTitlePane.class.getResource ( "icons/close.png" ) );
+    public static final ImageIcon iconifyIcon = IconRegistry.getIcon ( WebInternalFrameTitlePane.class, "icons/minimize.png" );
+    public static final ImageIcon maximizeIcon = IconRegistry.getIcon ( WebInternalFrameTitlePane.class, "icons/maximize.png" );
+    public static final ImageIcon restoreIcon = IconRegistry.getIcon ( WebInternalFrameTitlePane.class, "icons/restore.png" );
+    public static final ImageIcon closeIcon = IconRegistry.getIcon ( WebInternalFrameTitlePane.class, "icons/close.png" );
 
     public WebInternalFrameTitlePane ( final JInternalFrame f )
     {
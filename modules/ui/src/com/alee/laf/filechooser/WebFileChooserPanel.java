@@ -59,6 +59,7 @@ import com.alee.utils.filefilter.NonHiddenFilter;
 import com.alee.utils.swing.AncestorAdapter;
 import com.alee.utils.swing.DataProvider;
 import com.alee.utils.swing.DefaultFileFilterListCellRenderer;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.text.FileNameProvider;
 
 import javax.swing.*;
@@ -92,21 +93,21 @@ public class WebFileChooserPanel extends WebPanel
     /**
      * Used icons.
      */
-    public static final ImageIcon BACKWARD_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/backward.png" ) );
-    public static final ImageIcon FORWARD_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/forward.png" ) );
-    public static final ImageIcon HISTORY_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/history.png" ) );
-    public static final ImageIcon FOLDER_UP_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/folder_up.png" ) );
-    public static final ImageIcon FOLDER_HOME_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/folder_home.png" ) );
-    public static final ImageIcon FOLDER_NEW_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/folder_new.png" ) );
-    public static final ImageIcon REFRESH_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/refresh.png" ) );
-    public static final ImageIcon REMOVE_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/remove.png" ) );
-    public static final ImageIcon VIEW_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/view.png" ) );
-    public static final ImageIcon VIEW_ICONS_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/icons.png" ) );
-    public static final ImageIcon VIEW_TILES_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/tiles.png" ) );
-    public static final ImageIcon VIEW_TABLE_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/table.png" ) );
-    public static final ImageIcon SETTINGS_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/settings.png" ) );
-    public static final ImageIcon APPROVE_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/approve.png" ) );
-    public static final ImageIcon CANCEL_ICON = new ImageIcon ( WebFileChooserPanel.class.getResource ( "icons/cancel.png" ) );
+    public static final ImageIcon BACKWARD_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/backward.png" );
+    public static final ImageIcon FORWARD_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/forward.png" );
+    public static final ImageIcon HISTORY_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/history.png" );
+    public static final ImageIcon FOLDER_UP_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/folder_up.png" );
+    public static final ImageIcon FOLDER_HOME_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/folder_home.png" );
+    public static final ImageIcon FOLDER_NEW_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/folder_new.png" );
+    public static final ImageIcon REFRESH_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/refresh.png" );
+    public static final ImageIcon REMOVE_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/remove.png" );
+    public static final ImageIcon VIEW_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/view.png" );
+    public static final ImageIcon VIEW_ICONS_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/icons.png" );
+    public static final ImageIcon VIEW_TILES_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/tiles.png" );
+    public static final ImageIcon VIEW_TABLE_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/table.png" );
+    public static final ImageIcon SETTINGS_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/settings.png" );
+    public static final ImageIcon APPROVE_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/approve.png" );
+    public static final ImageIcon CANCEL_ICON = IconRegistry.getIcon ( WebFileChooserPanel.class, "icons/cancel.png" );
 
     /**
      * File name provider.
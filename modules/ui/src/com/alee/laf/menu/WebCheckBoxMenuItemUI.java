@@ -17,6 +17,8 @@
 
 package com.alee.laf.menu;
 
+import com.alee.utils.swing.IconRegistry;
+
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 import java.awt.*;
@@ -32,8 +34,8 @@ public class WebCheckBoxMenuItemUI extends WebMenuItemUI
     /**
      * Used icons.
      */
-    protected static final ImageIcon boxIcon = new ImageIcon ( WebCheckBoxMenuItemUI.class.getResource ( "icons/box.png" ) );
-    protected static final ImageIcon boxCheckIcon = new ImageIcon ( WebCheckBoxMenuItemUI.class.getResource ( "icons/boxCheck.png" ) );
+    protected static final ImageIcon boxIcon = IconRegistry.getIcon ( WebCheckBoxMenuItemUI.class, "icons/box.png" );
+    protected static final ImageIcon boxCheckIcon = IconRegistry.getIcon ( WebCheckBoxMenuItemUI.class, "icons/boxCheck.png" );
 
     /**
      * Style settings.
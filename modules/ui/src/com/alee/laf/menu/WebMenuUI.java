@@ -23,6 +23,7 @@ import com.alee.global.StyleConstants;
 import com.alee.laf.WebLookAndFeel;
 import com.alee.utils.*;
 import com.alee.utils.swing.BorderMethods;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -47,8 +48,8 @@ public class WebMenuUI extends BasicMenuUI implements BorderMethods
     /**
      * Used icons.
      */
-    public static final ImageIcon arrowRightIcon = new ImageIcon ( WebMenuUI.class.getResource ( "icons/arrowRight.png" ) );
-    public static final ImageIcon arrowLeftIcon = new ImageIcon ( WebMenuUI.class.getResource ( "icons/arrowLeft.png" ) );
+    public static final ImageIcon arrowRightIcon = IconRegistry.getIcon ( WebMenuUI.class, "icons/arrowRight.png" );
+    public static final ImageIcon arrowLeftIcon = IconRegistry.getIcon ( WebMenuUI.class, "icons/arrowLeft.png" );
 
     /**
      * Style settings.
@@ -17,6 +17,8 @@
 
 package com.alee.laf.menu;
 
+import com.alee.utils.swing.IconRegistry;
+
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
 import java.awt.*;
@@ -32,9 +34,8 @@ public class WebRadioButtonMenuItemUI extends WebMenuItemUI
     /**
      * Used icons.
      */
-    protected static final ImageIcon radioIcon = new ImageIcon ( WebRadioButtonMenuItemUI.class.getResource ( "icons/radio.png" ) );
-    protected static final ImageIcon radioCheckIcon =
-            new ImageIcon ( WebRadioButtonMenuItemUI.class.getResource ( "icons/radioCheck.png" ) );
+    protected static final ImageIcon radioIcon = IconRegistry.getIcon ( WebRadioButtonMenuItemUI.class, "icons/radio.png" );
+    protected static final ImageIcon radioCheckIcon = IconRegistry.getIcon ( WebRadioButtonMenuItemUI.class, "icons/radioCheck.png" );
 
     /**
      * Style settings.
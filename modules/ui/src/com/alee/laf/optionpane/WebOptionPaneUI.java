@@ -23,6 +23,7 @@ import com.alee.laf.button.WebButton;
 import com.alee.managers.language.LM;
 import com.alee.utils.LafUtils;
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -38,10 +39,10 @@ import java.awt.event.HierarchyListener;
 
 public class WebOptionPaneUI extends BasicOptionPaneUI
 {
-    public static final ImageIcon INFORMATION_ICON = new ImageIcon ( WebOptionPaneUI.class.getResource ( "icons/information.png" ) );
-    public static final ImageIcon WARNING_ICON = new ImageIcon ( WebOptionPaneUI.class.getResource ( "icons/warning.png" ) );
-    public static final ImageIcon ERROR_ICON = new ImageIcon ( WebOptionPaneUI.class.getResource ( "icons/error.png" ) );
-    public static final ImageIcon QUESTION_ICON = new ImageIcon ( WebOptionPaneUI.class.getResource ( "icons/question.png" ) );
+    public static final ImageIcon INFORMATION_ICON = IconRegistry.getIcon ( WebOptionPaneUI.class, "icons/information.png" );
+    public static final ImageIcon WARNING_ICON = IconRegistry.getIcon ( WebOptionPaneUI.class, "icons/warning.png" );
+    public static final ImageIcon ERROR_ICON = IconRegistry.getIcon ( WebOptionPaneUI.class, "icons/error.png" );
+    public static final ImageIcon QUESTION_ICON = IconRegistry.getIcon ( WebOptionPaneUI.class, "icons/question.png" );
 
     @SuppressWarnings ("UnusedParameters")
     public static ComponentUI createUI ( final JComponent c )
@@ -19,6 +19,7 @@ package com.alee.laf.rootpane;
 
 import com.alee.extended.window.WindowResizeAdapter;
 import com.alee.utils.SwingUtils;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import java.awt.*;
@@ -29,7 +30,7 @@ import java.awt.*;
 
 public class WebResizeCorner extends JComponent
 {
-    public static final ImageIcon cornerIcon = new ImageIcon ( WebResizeCorner.class.getResource ( "icons/corner.png" ) );
+    public static final ImageIcon cornerIcon = IconRegistry.getIcon ( WebResizeCorner.class, "icons/corner.png" );
 
     private static final Dimension preferredSize = new Dimension ( cornerIcon.getIconWidth (), cornerIcon.getIconHeight () );
 
@@ -26,6 +26,7 @@ import com.alee.laf.label.WebLabel;
 import com.alee.laf.panel.WebPanel;
 import com.alee.utils.*;
 import com.alee.utils.ninepatch.NinePatchIcon;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -53,14 +54,14 @@ public class WebRootPaneUI extends BasicRootPaneUI implements SwingConstants
     /**
      * Root pane styling icons.
      */
-    public static ImageIcon minimizeIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/minimize.png" ) );
-    public static ImageIcon minimizeActiveIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/minimize_active.png" ) );
-    public static ImageIcon maximizeIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/maximize.png" ) );
-    public static ImageIcon maximizeActiveIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/maximize_active.png" ) );
-    public static ImageIcon restoreIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/restore.png" ) );
-    public static ImageIcon restoreActiveIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/restore_active.png" ) );
-    public static ImageIcon closeIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/close.png" ) );
-    public static ImageIcon closeActiveIcon = new ImageIcon ( WebRootPaneUI.class.getResource ( "icons/close_active.png" ) );
+    public static ImageIcon minimizeIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/minimize.png" );
+    public static ImageIcon minimizeActiveIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/minimize_active.png" );
+    public static ImageIcon maximizeIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/maximize.png" );
+    public static ImageIcon maximizeActiveIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/maximize_active.png" );
+    public static ImageIcon restoreIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/restore.png" );
+    public static ImageIcon restoreActiveIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/restore_active.png" );
+    public static ImageIcon closeIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/close.png" );
+    public static ImageIcon closeActiveIcon = IconRegistry.getIcon ( WebRootPaneUI.class, "icons/close_active.png" );
 
     /**
      * Style settings.
@@ -25,6 +25,7 @@ import com.alee.utils.LafUtils;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.laf.ShapeProvider;
 import com.alee.utils.swing.BorderMethods;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -40,8 +41,8 @@ import java.awt.event.FocusEvent;
 
 public class WebSpinnerUI extends BasicSpinnerUI implements ShapeProvider, BorderMethods
 {
-    private static final ImageIcon UP_ICON = new ImageIcon ( WebSpinnerUI.class.getResource ( "icons/up.png" ) );
-    private static final ImageIcon DOWN_ICON = new ImageIcon ( WebSpinnerUI.class.getResource ( "icons/down.png" ) );
+    private static final ImageIcon UP_ICON = IconRegistry.getIcon ( WebSpinnerUI.class, "icons/up.png" );
+    private static final ImageIcon DOWN_ICON = IconRegistry.getIcon ( WebSpinnerUI.class, "icons/down.png" );
 
     private boolean drawBorder = WebSpinnerStyle.drawBorder;
     private boolean drawFocus = WebSpinnerStyle.drawFocus;
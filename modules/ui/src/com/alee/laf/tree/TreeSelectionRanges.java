@@ -0,0 +1,429 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.laf.tree;
+
+import javax.swing.*;
+import javax.swing.event.TreeSelectionEvent;
+import javax.swing.tree.TreePath;
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * Sorted ranges of consecutive selected tree rows.
+ * Ranges are rebuilt from the tree selection only when they are invalidated, small selection changes are applied incrementally.
+ * This allows tree UI to find selection within any rows range without going through the whole selection.
+ *
+ * @author Mikle Garin
+ * @see com.alee.laf.tree.WebTreeUI
+ */
+
+public class TreeSelectionRanges
+{
+    /**
+     * Maximum amount of changed paths applied incrementally, larger changes simply invalidate ranges.
+     */
+    protected static final int MAX_INCREMENTAL_CHANGES = 64;
+
+    /**
+     * Unknown range extent marker.
+     */
+    protected static final int UNKNOWN = Integer.MIN_VALUE;
+
+    /**
+     * Tree which selection is tracked.
+     */
+    protected final JTree tree;
+
+    /**
+     * Ranges first rows.
+     */
+    protected int[] starts = new int[ 16 ];
+
+    /**
+     * Ranges last rows.
+     */
+    protected int[] ends = new int[ 16 ];
+
+    /**
+     * Ranges minimum row bounds X coordinates or {@link #UNKNOWN} if not computed yet.
+     */
+    protected int[] minX = new int[ 16 ];
+
+    /**
+     * Ranges maximum row bounds X coordinates or {@link #UNKNOWN} if not computed yet.
+     */
+    protected int[] maxX = new int[ 16 ];
+
+    /**
+     * Amount of ranges.
+     */
+    protected int count = 0;
+
+    /**
+     * Whether ranges are valid or not.
+     */
+    protected boolean valid = false;
+
+    /**
+     * Constructs new selection ranges for the specified tree.
+     *
+     * @param tree tree which selection is tracked
+     */
+    public TreeSelectionRanges ( final JTree tree )
+    {
+        super ();
+        this.tree = tree;
+    }
+
+    /**
+     * Invalidates ranges, they will be rebuilt from the tree selection when requested next time.
+     * This should be called whenever tree rows or their bounds change.
+     */
+    public void invalidate ()
+    {
+        valid = false;
+    }
+
+    /**
+     * Invalidates only rows horizontal bounds, for example when nodes were changed.
+     */
+    public void invalidateBounds ()
+    {
+        Arrays.fill ( minX, 0, count, UNKNOWN );
+        Arrays.fill ( maxX, 0, count, UNKNOWN );
+    }
+
+    /**
+     * Applies selection change.
+     *
+     * @param e tree selection event
+     */
+    public void selectionChanged ( final TreeSelectionEvent e )
+    {
+        if ( valid )
+        {
+            final TreePath[] paths = e.getPaths ();
+            if ( paths.length <= MAX_INCREMENTAL_CHANGES )
+            {
+                for ( int i = 0; i < paths.length; i++ )
+                {
+                    final int row = tree.getRowForPath ( paths[ i ] );
+                    if ( row != -1 )
+                    {
+                        if ( e.isAddedPath ( i ) )
+                        {
+                            add ( row );
+                        }
+                        else
+                        {
+                            remove ( row );
+                        }
+                    }
+                }
+            }
+            else
+            {
+                valid = false;
+            }
+        }
+    }
+
+    /**
+     * Returns amount of ranges.
+     *
+     * @return amount of ranges
+     */
+    public int getCount ()
+    {
+        validate ();
+        return count;
+    }
+
+    /**
+     * Returns first row of the range at the specified index.
+     *
+     * @param index range index
+     * @return first row of the range at the specified index
+     */
+    public int getStart ( final int index )
+    {
+        return starts[ index ];
+    }
+
+    /**
+     * Returns last row of the range at the specified index.
+     *
+     * @param index range index
+     * @return last row of the range at the specified index
+     */
+    public int getEnd ( final int index )
+    {
+        return ends[ index ];
+    }
+
+    /**
+     * Returns index of the first range which ends at or after the specified row.
+     * Returned index is equal to ranges amount if there is no such range.
+     *
+     * @param row row index
+     * @return index of the first range which ends at or after the specified row
+     */
+    public int indexOf ( final int row )
+    {
+        validate ();
+        int low = 0;
+        int high = count;
+        while ( low < high )
+        {
+            final int mid = ( low + high ) >>> 1;
+            if ( ends[ mid ] < row )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns bounds containing all rows of the range at the specified index.
+     * Full line bounds only require top and bottom rows bounds and take the whole tree width.
+     * Otherwise horizontal bounds of the range rows are computed once and then kept until range or rows are changed.
+     *
+     * @param index    range index
+     * @param fullLine whether range should take the whole tree width or not
+     * @return bounds containing all rows of the range at the specified index
+     */
+    public Rectangle getBounds ( final int index, final boolean fullLine )
+    {
+        final Rectangle top = tree.getRowBounds ( starts[ index ] );
+        final Rectangle bottom = tree.getRowBounds ( ends[ index ] );
+        if ( top == null || bottom == null )
+        {
+            return null;
+        }
+        final int height = bottom.y + bottom.height - top.y;
+        if ( fullLine )
+        {
+            final Insets insets = tree.getInsets ();
+            return new Rectangle ( insets.left, top.y, tree.getWidth () - insets.left - insets.right, height );
+        }
+        if ( minX[ index ] == UNKNOWN )
+        {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE + 1;
+            for ( int row = starts[ index ]; row <= ends[ index ]; row++ )
+            {
+                final Rectangle b = tree.getRowBounds ( row );
+                if ( b != null )
+                {
+                    min = Math.min ( min, b.x );
+                    max = Math.max ( max, b.x + b.width );
+                }
+            }
+            minX[ index ] = min;
+            maxX[ index ] = max;
+        }
+        return new Rectangle ( minX[ index ], top.y, maxX[ index ] - minX[ index ], height );
+    }
+
+    /**
+     * Rebuilds ranges from the tree selection if they are invalid.
+     */
+    protected void validate ()
+    {
+        if ( !valid )
+        {
+            count = 0;
+            final int[] rows = tree.getSelectionRows ();
+            if ( rows != null && rows.length > 0 )
+            {
+                Arrays.sort ( rows );
+                for ( final int row : rows )
+                {
+                    if ( row < 0 )
+                    {
+                        continue;
+                    }
+                    if ( count > 0 && ends[ count - 1 ] + 1 >= row )
+                    {
+                        ends[ count - 1 ] = Math.max ( ends[ count - 1 ], row );
+                    }
+                    else
+                    {
+                        insert ( count, row, row );
+                    }
+                }
+            }
+            valid = true;
+        }
+    }
+
+    /**
+     * Adds selected row.
+     *
+     * @param row selected row
+     */
+    protected void add ( final int row )
+    {
+        final int index = indexOf ( row - 1 );
+        if ( index < count && starts[ index ] <= row + 1 )
+        {
+            if ( row >= starts[ index ] && row <= ends[ index ] )
+            {
+                // Row is already selected
+                return;
+            }
+            if ( row == starts[ index ] - 1 )
+            {
+                // Extending range upwards
+                starts[ index ] = row;
+                extendBounds ( index, row );
+            }
+            else
+            {
+                // Extending range downwards and merging it with the next one if needed
+                ends[ index ] = row;
+                extendBounds ( index, row );
+                if ( index + 1 < count && starts[ index + 1 ] == row + 1 )
+                {
+                    ends[ index ] = ends[ index + 1 ];
+                    if ( minX[ index ] != UNKNOWN && minX[ index + 1 ] != UNKNOWN )
+                    {
+                        minX[ index ] = Math.min ( minX[ index ], minX[ index + 1 ] );
+                        maxX[ index ] = Math.max ( maxX[ index ], maxX[ index + 1 ] );
+                    }
+                    else
+                    {
+                        minX[ index ] = maxX[ index ] = UNKNOWN;
+                    }
+                    delete ( index + 1 );
+                }
+            }
+        }
+        else
+        {
+            insert ( index, row, row );
+        }
+    }
+
+    /**
+     * Removes deselected row.
+     *
+     * @param row deselected row
+     */
+    protected void remove ( final int row )
+    {
+        final int index = indexOf ( row );
+        if ( index < count && starts[ index ] <= row )
+        {
+            if ( starts[ index ] == ends[ index ] )
+            {
+                delete ( index );
+            }
+            else if ( row == starts[ index ] )
+            {
+                starts[ index ]++;
+                minX[ index ] = maxX[ index ] = UNKNOWN;
+            }
+            else if ( row == ends[ index ] )
+            {
+                ends[ index ]--;
+                minX[ index ] = maxX[ index ] = UNKNOWN;
+            }
+            else
+            {
+                final int end = ends[ index ];
+                ends[ index ] = row - 1;
+                minX[ index ] = maxX[ index ] = UNKNOWN;
+                insert ( index + 1, row + 1, end );
+            }
+        }
+    }
+
+    /**
+     * Extends known horizontal bounds of the range with the specified row bounds.
+     *
+     * @param index range index
+     * @param row   row index
+     */
+    protected void extendBounds ( final int index, final int row )
+    {
+        if ( minX[ index ] != UNKNOWN )
+        {
+            final Rectangle b = tree.getRowBounds ( row );
+            if ( b != null )
+            {
+                minX[ index ] = Math.min ( minX[ index ], b.x );
+                maxX[ index ] = Math.max ( maxX[ index ], b.x + b.width );
+            }
+        }
+    }
+
+    /**
+     * Inserts new range at the specified index.
+     *
+     * @param index range index
+     * @param start range first row
+     * @param end   range last row
+     */
+    protected void insert ( final int index, final int start, final int end )
+    {
+        if ( count == starts.length )
+        {
+            final int capacity = starts.length * 2;
+            starts = Arrays.copyOf ( starts, capacity );
+            ends = Arrays.copyOf ( ends, capacity );
+            minX = Arrays.copyOf ( minX, capacity );
+            maxX = Arrays.copyOf ( maxX, capacity );
+        }
+        final int moved = count - index;
+        if ( moved > 0 )
+        {
+            System.arraycopy ( starts, index, starts, index + 1, moved );
+            System.arraycopy ( ends, index, ends, index + 1, moved );
+            System.arraycopy ( minX, index, minX, index + 1, moved );
+            System.arraycopy ( maxX, index, maxX, index + 1, moved );
+        }
+        starts[ index ] = start;
+        ends[ index ] = end;
+        minX[ index ] = maxX[ index ] = UNKNOWN;
+        count++;
+    }
+
+    /**
+     * Deletes range at the specified index.
+     *
+     * @param index range index
+     */
+    protected void delete ( final int index )
+    {
+        final int moved = count - index - 1;
+        if ( moved > 0 )
+        {
+            System.arraycopy ( starts, index + 1, starts, index, moved );
+            System.arraycopy ( ends, index + 1, ends, index, moved );
+            System.arraycopy ( minX, index + 1, minX, index, moved );
+            System.arraycopy ( maxX, index + 1, maxX, index, moved );
+        }
+        count--;
+    }
+}
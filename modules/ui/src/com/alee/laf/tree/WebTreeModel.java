@@ -21,6 +21,7 @@ import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.MutableTreeNode;
 import javax.swing.tree.TreePath;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -72,10 +73,12 @@ public class WebTreeModel<E extends DefaultMutableTreeNode> extends DefaultTreeM
      */
     public void insertNodesInto ( final List<E> children, final E parent, final int index )
     {
-        for ( int i = children.size () - 1; i >= 0; i-- )
+        final List<MutableTreeNode> tail = detachTail ( parent, index );
+        for ( final E child : children )
         {
-            parent.insert ( children.get ( i ), index );
+            parent.add ( child );
         }
+        attachTail ( parent, tail );
 
         final int[] indices = new int[ children.size () ];
         for ( int i = 0; i < children.size (); i++ )
@@ -95,10 +98,12 @@ public class WebTreeModel<E extends DefaultMutableTreeNode> extends DefaultTreeM
      */
     public void insertNodesInto ( final E[] children, final E parent, final int index )
     {
-        for ( int i = children.length - 1; i >= 0; i-- )
+        final List<MutableTreeNode> tail = detachTail ( parent, index );
+        for ( final E child : children )
         {
-            parent.insert ( children[ i ], index );
+            parent.add ( child );
         }
+        attachTail ( parent, tail );
 
         final int[] indices = new int[ children.length ];
         for ( int i = 0; i < children.length; i++ )
@@ -109,6 +114,47 @@ public class WebTreeModel<E extends DefaultMutableTreeNode> extends DefaultTreeM
         nodesWereInserted ( parent, indices );
     }
 
+    /**
+     * Detaches and returns parent node childs starting from the specified index.
+     * Used to insert nodes by appending them, which avoids shifting existing childs on each separate insertion.
+     *
+     * @param parent parent node
+     * @param index  index of the first child to detach
+     * @return detached childs
+     */
+    protected List<MutableTreeNode> detachTail ( final E parent, final int index )
+    {
+        final int count = parent.getChildCount () - index;
+        if ( count <= 0 )
+        {
+            return null;
+        }
+        final MutableTreeNode[] tail = new MutableTreeNode[ count ];
+        for ( int i = count - 1; i >= 0; i-- )
+        {
+            tail[ i ] = ( MutableTreeNode ) parent.getChildAt ( index + i );
+            parent.remove ( index + i );
+        }
+        return Arrays.asList ( tail );
+    }
+
+    /**
+     * Appends previously detached childs back to the parent node.
+     *
+     * @param parent parent node
+     * @param tail   detached childs
+     */
+    protected void attachTail ( final E parent, final List<MutableTreeNode> tail )
+    {
+        if ( tail != null )
+        {
+            for ( final MutableTreeNode child : tail )
+            {
+                parent.add ( child );
+            }
+        }
+    }
+
     /**
      * Removes specified nodes from tree structure.
      *
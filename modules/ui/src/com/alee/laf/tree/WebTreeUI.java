@@ -23,12 +23,10 @@ import com.alee.laf.WebLookAndFeel;
 import com.alee.managers.tooltip.ToolTipProvider;
 import com.alee.utils.*;
 import com.alee.utils.ninepatch.NinePatchIcon;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
-import javax.swing.event.TreeExpansionEvent;
-import javax.swing.event.TreeExpansionListener;
-import javax.swing.event.TreeSelectionEvent;
-import javax.swing.event.TreeSelectionListener;
+import javax.swing.event.*;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.plaf.basic.BasicTreeUI;
 import javax.swing.tree.*;
@@ -53,24 +51,32 @@ public class WebTreeUI extends BasicTreeUI
     /**
      * Expand and collapse control icons.
      */
-    public static ImageIcon EXPAND_ICON = new ImageIcon ( WebTreeUI.class.getResource ( "icons/expand.png" ) );
-    public static ImageIcon COLLAPSE_ICON = new ImageIcon ( WebTreeUI.class.getResource ( "icons/collapse.png" ) );
+    public static ImageIcon EXPAND_ICON = IconRegistry.getIcon ( WebTreeUI.class, "icons/expand.png" );
+    public static ImageIcon COLLAPSE_ICON = IconRegistry.getIcon ( WebTreeUI.class, "icons/collapse.png" );
     public static ImageIcon DISABLED_EXPAND_ICON = ImageUtils.createDisabledCopy ( EXPAND_ICON );
     public static ImageIcon DISABLED_COLLAPSE_ICON = ImageUtils.createDisabledCopy ( COLLAPSE_ICON );
 
     /**
      * Default node icons.
      */
-    public static ImageIcon ROOT_ICON = new ImageIcon ( WebTreeUI.class.getResource ( "icons/root.png" ) );
-    public static ImageIcon CLOSED_ICON = new ImageIcon ( WebTreeUI.class.getResource ( "icons/closed.png" ) );
-    public static ImageIcon OPEN_ICON = new ImageIcon ( WebTreeUI.class.getResource ( "icons/open.png" ) );
-    public static ImageIcon LEAF_ICON = new ImageIcon ( WebTreeUI.class.getResource ( "icons/leaf.png" ) );
+    public static ImageIcon ROOT_ICON = IconRegistry.getIcon ( WebTreeUI.class, "icons/root.png" );
+    public static ImageIcon CLOSED_ICON = IconRegistry.getIcon ( WebTreeUI.class, "icons/closed.png" );
+    public static ImageIcon OPEN_ICON = IconRegistry.getIcon ( WebTreeUI.class, "icons/open.png" );
+    public static ImageIcon LEAF_ICON = IconRegistry.getIcon ( WebTreeUI.class, "icons/leaf.png" );
 
     /**
      * Default drop line gradient fractions.
      */
     protected static final float[] fractions = { 0, 0.25f, 0.75f, 1f };
 
+    /**
+     * Tree properties which affect rows or their bounds.
+     */
+    protected static final List<String> ROWS_PROPERTIES =
+            Arrays.asList ( JTree.TREE_MODEL_PROPERTY, JTree.ROOT_VISIBLE_PROPERTY, JTree.ROW_HEIGHT_PROPERTY, JTree.CELL_RENDERER_PROPERTY,
+                    JTree.LARGE_MODEL_PROPERTY, JTree.SHOWS_ROOT_HANDLES_PROPERTY, JTree.SELECTION_MODEL_PROPERTY, "font",
+                    "componentOrientation" );
+
     /**
      * Style settings.
      */
@@ -98,6 +104,7 @@ public class WebTreeUI extends BasicTreeUI
     protected PropertyChangeListener dropLocationChangeListener;
     protected TreeSelectionListener treeSelectionListener;
     protected TreeExpansionListener treeExpansionListener;
+    protected TreeSelectionRanges selectionRanges;
     protected MouseAdapter mouseAdapter;
 
     /**
@@ -131,6 +138,9 @@ public class WebTreeUI extends BasicTreeUI
     @Override
     public void installUI ( final JComponent c )
     {
+        // Selection ranges are used by listeners installed in super call
+        selectionRanges = new TreeSelectionRanges ( ( JTree ) c );
+
         super.installUI ( c );
 
         this.leftToRight = tree.getComponentOrientation ().isLeftToRight ();
@@ -197,6 +207,9 @@ public class WebTreeUI extends BasicTreeUI
             @Override
             public void valueChanged ( final TreeSelectionEvent e )
             {
+                // Updating selection ranges
+                selectionRanges.selectionChanged ( e );
+
                 // Optimized selection repaint
                 repaintSelection ();
 
@@ -215,12 +228,14 @@ public class WebTreeUI extends BasicTreeUI
             @Override
             public void treeExpanded ( final TreeExpansionEvent event )
             {
+                selectionRanges.invalidate ();
                 repaintSelection ();
             }
 
             @Override
             public void treeCollapsed ( final TreeExpansionEvent event )
             {
+                selectionRanges.invalidate ();
                 repaintSelection ();
             }
         };
@@ -1125,13 +1140,13 @@ public class WebTreeUI extends BasicTreeUI
 
     /**
      * Repaints all rectangles containing tree selections.
-     * This method is optimized to repaint only those area which are actually has selection in them.
+     * This method is optimized to repaint only those area which are actually has selection in them and are visible.
      */
     protected void repaintSelection ()
     {
         if ( tree.getSelectionCount () > 0 )
         {
-            for ( final Rectangle rect : getSelectionRects () )
+            for ( final Rectangle rect : getSelectionRects ( tree.getVisibleRect () ) )
             {
                 tree.repaint ( rect );
             }
@@ -1145,6 +1160,21 @@ public class WebTreeUI extends BasicTreeUI
      * @return list of tree selections bounds
      */
     protected List<Rectangle> getSelectionRects ()
+    {
+        return getSelectionRects ( null );
+    }
+
+    /**
+     * Returns list of tree selections bounds intersecting specified area.
+     * This method takes selection style into account.
+     * <p/>
+     * Only rows within the specified area are checked, so this method doesn't depend on the total amount of selected rows.
+     * Grouped selection bounds still include all rows of the group, including those outside of the area.
+     *
+     * @param area area to look for selections in, null to return all selections bounds
+     * @return list of tree selections bounds intersecting specified area
+     */
+    protected List<Rectangle> getSelectionRects ( final Rectangle area )
     {
         // Return empty selection rects when custom selection painting is disabled
         if ( selectionStyle == TreeSelectionStyle.none )
@@ -1153,61 +1183,117 @@ public class WebTreeUI extends BasicTreeUI
         }
 
         // Checking that selection exists
-        final int[] rows = tree.getSelectionRows ();
-        if ( rows == null || rows.length == 0 )
+        if ( selectionRanges.getCount () == 0 )
         {
             return Collections.emptyList ();
         }
 
-        // Sorting selected rows
-        Arrays.sort ( rows );
+        // Rows range within the area
+        final int firstRow;
+        final int lastRow;
+        if ( area != null )
+        {
+            if ( area.isEmpty () )
+            {
+                return Collections.emptyList ();
+            }
+            firstRow = tree.getClosestRowForLocation ( 0, area.y );
+            lastRow = tree.getClosestRowForLocation ( 0, area.y + area.height - 1 );
+        }
+        else
+        {
+            firstRow = 0;
+            lastRow = Integer.MAX_VALUE;
+        }
 
         // Calculating selection rects
-        final List<Rectangle> selections = new ArrayList<Rectangle> ( tree.getSelectionCount () );
-        final Insets insets = tree.getInsets ();
-        Rectangle maxRect = null;
-        int lastRow = -1;
-        for ( final int row : rows )
+        final List<Rectangle> selections = new ArrayList<Rectangle> ();
+        final boolean fullLine = isFullLineSelection ();
+        final int count = selectionRanges.getCount ();
+        for ( int i = selectionRanges.indexOf ( firstRow ); i < count && selectionRanges.getStart ( i ) <= lastRow; i++ )
         {
             if ( selectionStyle == TreeSelectionStyle.single )
             {
                 // Required bounds
-                selections.add ( tree.getRowBounds ( row ) );
+                final int last = Math.min ( lastRow, selectionRanges.getEnd ( i ) );
+                for ( int row = Math.max ( firstRow, selectionRanges.getStart ( i ) ); row <= last; row++ )
+                {
+                    selections.add ( tree.getRowBounds ( row ) );
+                }
             }
             else
             {
-                if ( lastRow != -1 && lastRow + 1 != row )
+                // Group bounds
+                final Rectangle b = selectionRanges.getBounds ( i, fullLine );
+                if ( b != null )
                 {
-                    // Save determined group
-                    selections.add ( maxRect );
-
-                    // Reset counting
-                    maxRect = null;
-                    lastRow = -1;
+                    selections.add ( b );
                 }
-                if ( lastRow == -1 || lastRow + 1 == row )
-                {
-                    // Required bounds
-                    final Rectangle b = tree.getRowBounds ( row );
-                    if ( isFullLineSelection () )
-                    {
-                        b.x = insets.left;
-                        b.width = tree.getWidth () - insets.left - insets.right;
-                    }
+            }
+        }
+        return selections;
+    }
 
-                    // Increase rect
-                    maxRect = lastRow == -1 ? b : GeometryUtils.getContainingRect ( maxRect, b );
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected TreeModelListener createTreeModelListener ()
+    {
+        final TreeModelListener listener = super.createTreeModelListener ();
+        return new TreeModelListener ()
+        {
+            @Override
+            public void treeNodesChanged ( final TreeModelEvent e )
+            {
+                listener.treeNodesChanged ( e );
+                selectionRanges.invalidateBounds ();
+            }
 
-                    // Remember last row
-                    lastRow = row;
-                }
+            @Override
+            public void treeNodesInserted ( final TreeModelEvent e )
+            {
+                listener.treeNodesInserted ( e );
+                selectionRanges.invalidate ();
             }
-        }
-        if ( maxRect != null )
+
+            @Override
+            public void treeNodesRemoved ( final TreeModelEvent e )
+            {
+                listener.treeNodesRemoved ( e );
+                selectionRanges.invalidate ();
+            }
+
+            @Override
+            public void treeStructureChanged ( final TreeModelEvent e )
+            {
+                listener.treeStructureChanged ( e );
+                selectionRanges.invalidate ();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected PropertyChangeListener createPropertyChangeListener ()
+    {
+        final PropertyChangeListener listener = super.createPropertyChangeListener ();
+        return new PropertyChangeListener ()
         {
-            selections.add ( maxRect );
-        }
-        return selections;
+            @Override
+            public void propertyChange ( final PropertyChangeEvent evt )
+            {
+                listener.propertyChange ( evt );
+
+                // Rows or their bounds might have changed
+                if ( ROWS_PROPERTIES.contains ( evt.getPropertyName () ) )
+                {
+                    selectionRanges.invalidate ();
+                }
+            }
+        };
     }
 
     /**
@@ -1266,8 +1352,9 @@ public class WebTreeUI extends BasicTreeUI
     {
         if ( tree.getSelectionCount () > 0 )
         {
-            // Draw final selections
-            final List<Rectangle> selections = getSelectionRects ();
+            // Draw final selections within painted area
+            final Rectangle clip = g2d.getClipBounds ();
+            final List<Rectangle> selections = getSelectionRects ( clip != null ? clip : tree.getVisibleRect () );
             for ( final Rectangle rect : selections )
             {
                 // Bounds fix
@@ -232,6 +232,7 @@ public abstract class DefaultFocusTracker implements FocusTracker
             customChildren = new ArrayList<WeakReference<Component>> ( 1 );
         }
         customChildren.add ( new WeakReference<Component> ( customChild ) );
+        FocusManager.focusTrackerChanged ( this );
     }
 
     /**
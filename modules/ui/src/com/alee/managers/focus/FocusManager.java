@@ -27,10 +27,16 @@ import java.awt.event.FocusEvent;
 import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This manager allows you to track certain component their childs focus state by adding your custom FocusTracker or global focus
  * listeners to track component focus state.
+ * <p/>
+ * On each focus change only trackers registered on previous and new focus owners and their ancestors are checked, since trackers
+ * cannot be involved into focus changes of components outside of their tracked component. The only exception are trackers which have
+ * custom involvement rules - custom FocusTracker implementations and DefaultFocusTracker with custom children, those are checked on
+ * each focus change.
  *
  * @author Mikle Garin
  */
@@ -47,6 +53,27 @@ public class FocusManager
      */
     protected static final Map<Component, Map<FocusTracker, Boolean>> trackers = new WeakHashMap<Component, Map<FocusTracker, Boolean>> ();
 
+    /**
+     * Components which have trackers with custom involvement rules.
+     * Trackers of these components are checked on each focus change.
+     */
+    protected static final Map<Component, Boolean> unboundTrackers = new WeakHashMap<Component, Boolean> ();
+
+    /**
+     * Total time spent on informing focus trackers in nanoseconds.
+     */
+    protected static final AtomicLong focusDispatchTime = new AtomicLong ( 0 );
+
+    /**
+     * Total amount of focus changes trackers were informed about.
+     */
+    protected static final AtomicLong focusDispatchCount = new AtomicLong ( 0 );
+
+    /**
+     * Longest time spent on informing focus trackers about single focus change in nanoseconds.
+     */
+    protected static volatile long maxFocusDispatchTime = 0;
+
     /**
      * Global focus listeners lock.
      */
@@ -127,52 +154,196 @@ public class FocusManager
                         Log.debug ( this, "Focus changed: " + oldName + " --> " + newName );
                     }
 
-                    // Checking all added trackers
-                    // Iterating through registered components
-                    for ( final Map.Entry<Component, Map<FocusTracker, Boolean>> entry : getTrackersCopy ().entrySet () )
+                    // Informing involved trackers
+                    final long start = System.nanoTime ();
+                    try
+                    {
+                        dispatchFocusChange ( oldFocus, newFocus );
+                    }
+                    finally
+                    {
+                        final long time = System.nanoTime () - start;
+                        focusDispatchTime.addAndGet ( time );
+                        focusDispatchCount.incrementAndGet ();
+                        if ( time > maxFocusDispatchTime )
+                        {
+                            maxFocusDispatchTime = time;
+                        }
+                    }
+                }
+            } );
+        }
+    }
+
+    /**
+     * Informs trackers which might be involved into focus change.
+     *
+     * @param oldFocus previously focused component
+     * @param newFocus currently focused component
+     */
+    protected static void dispatchFocusChange ( final Component oldFocus, final Component newFocus )
+    {
+        // Collecting components which trackers might be involved
+        final Set<Component> components = Collections.newSetFromMap ( new IdentityHashMap<Component, Boolean> () );
+        synchronized ( trackersLock )
+        {
+            collectTrackedAncestors ( oldFocus, components );
+            collectTrackedAncestors ( newFocus, components );
+            components.addAll ( unboundTrackers.keySet () );
+        }
+
+        // Checking trackers of those components
+        for ( final Component tracked : components )
+        {
+            if ( tracked != null )
+            {
+                // Retrieving component trackers and their cached states
+                final List<FocusTracker> focusTrackers;
+                final List<Boolean> states;
+                synchronized ( trackersLock )
+                {
+                    final Map<FocusTracker, Boolean> ct = trackers.get ( tracked );
+                    if ( ct == null || ct.isEmpty () )
+                    {
+                        continue;
+                    }
+                    focusTrackers = new ArrayList<FocusTracker> ( ct.size () );
+                    states = new ArrayList<Boolean> ( ct.size () );
+                    for ( final Map.Entry<FocusTracker, Boolean> entry : ct.entrySet () )
+                    {
+                        focusTrackers.add ( entry.getKey () );
+                        states.add ( entry.getValue () );
+                    }
+                }
+
+                // Iterating through registered component trackers
+                for ( int i = 0; i < focusTrackers.size (); i++ )
+                {
+                    // Skip if tracker is disabled
+                    final FocusTracker focusTracker = focusTrackers.get ( i );
+                    if ( focusTracker != null && focusTracker.isTrackingEnabled () )
                     {
-                        // Retrieving tracked component
-                        final Component tracked = entry.getKey ();
-                        if ( tracked != null )
+                        // Checking whether or not component is related to this focus change
+                        final boolean isOldFocused = focusTracker.isInvolved ( oldFocus, tracked );
+                        final boolean isNewFocused = focusTracker.isInvolved ( newFocus, tracked );
+
+                        // Informing object only if it is involved in changes
+                        if ( isOldFocused || isNewFocused )
                         {
-                            // Iterating through registered component trackers
-                            for ( final Map.Entry<FocusTracker, Boolean> innerEntry : entry.getValue ().entrySet () )
+                            // Informing about focus changes if needed
+                            final Boolean trackerStateCache = states.get ( i );
+                            if ( trackerStateCache == null || trackerStateCache != isNewFocused )
                             {
-                                // Skip if tracker is disabled
-                                final FocusTracker focusTracker = innerEntry.getKey ();
-                                if ( focusTracker.isTrackingEnabled () )
-                                {
-                                    // Checking whether or not component is related to this focus change
-                                    final boolean isOldFocused = focusTracker.isInvolved ( oldFocus, tracked );
-                                    final boolean isNewFocused = focusTracker.isInvolved ( newFocus, tracked );
+                                // Informing tracker about focus change
+                                focusTracker.focusChanged ( isNewFocused );
 
-                                    // Informing object only if it is involved in changes
-                                    if ( isOldFocused || isNewFocused )
+                                // Caching focus state
+                                synchronized ( trackersLock )
+                                {
+                                    final Map<FocusTracker, Boolean> ct = trackers.get ( tracked );
+                                    if ( ct != null && ct.containsKey ( focusTracker ) )
                                     {
-                                        // Informing about focus changes if needed
-                                        final Boolean trackerStateCache = innerEntry.getValue ();
-                                        if ( trackerStateCache == null || trackerStateCache != isNewFocused )
-                                        {
-                                            // Informing tracker about focus change
-                                            focusTracker.focusChanged ( isNewFocused );
-
-                                            // Caching focus state
-                                            synchronized ( trackersLock )
-                                            {
-                                                final Map<FocusTracker, Boolean> ct = trackers.get ( tracked );
-                                                if ( ct != null && ct.containsKey ( focusTracker ) )
-                                                {
-                                                    ct.put ( focusTracker, isNewFocused );
-                                                }
-                                            }
-                                        }
+                                        ct.put ( focusTracker, isNewFocused );
                                     }
                                 }
                             }
                         }
                     }
                 }
-            } );
+            }
+        }
+    }
+
+    /**
+     * Collects specified component and its ancestors which have registered trackers.
+     * Ancestors are collected up to the component window, same as components tree is checked by trackers.
+     * Should be called under the trackers lock.
+     *
+     * @param component  component to process
+     * @param components collected components
+     */
+    protected static void collectTrackedAncestors ( final Component component, final Set<Component> components )
+    {
+        Component current = component;
+        while ( current != null )
+        {
+            if ( trackers.containsKey ( current ) )
+            {
+                components.add ( current );
+            }
+            current = current instanceof Window ? null : current.getParent ();
+        }
+    }
+
+    /**
+     * Returns focus trackers dispatch statistics.
+     * Returned array contains total dispatch time in nanoseconds, amount of dispatched focus changes and longest dispatch time in
+     * nanoseconds.
+     *
+     * @return focus trackers dispatch statistics
+     */
+    public static long[] getFocusDispatchStatistics ()
+    {
+        return new long[]{ focusDispatchTime.get (), focusDispatchCount.get (), maxFocusDispatchTime };
+    }
+
+    /**
+     * Returns average time spent on informing focus trackers about single focus change in nanoseconds.
+     *
+     * @return average time spent on informing focus trackers about single focus change in nanoseconds
+     */
+    public static long getAverageFocusDispatchTime ()
+    {
+        final long count = focusDispatchCount.get ();
+        return count > 0 ? focusDispatchTime.get () / count : 0;
+    }
+
+    /**
+     * Resets focus trackers dispatch statistics.
+     */
+    public static void resetFocusDispatchStatistics ()
+    {
+        focusDispatchTime.set ( 0 );
+        focusDispatchCount.set ( 0 );
+        maxFocusDispatchTime = 0;
+    }
+
+    /**
+     * Marks components which have the specified tracker registered as components with custom involvement rules.
+     * Called by trackers when their involvement rules change, for example when custom children are added into DefaultFocusTracker.
+     *
+     * @param focusTracker focus tracker which involvement rules has changed
+     */
+    public static void focusTrackerChanged ( final FocusTracker focusTracker )
+    {
+        synchronized ( trackersLock )
+        {
+            for ( final Map.Entry<Component, Map<FocusTracker, Boolean>> entry : trackers.entrySet () )
+            {
+                if ( entry.getValue ().containsKey ( focusTracker ) && isUnbound ( focusTracker ) )
+                {
+                    unboundTrackers.put ( entry.getKey (), true );
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether the specified tracker might be involved into focus changes outside of its tracked component or not.
+     *
+     * @param focusTracker focus tracker
+     * @return true if the specified tracker might be involved into focus changes outside of its tracked component, false otherwise
+     */
+    protected static boolean isUnbound ( final FocusTracker focusTracker )
+    {
+        if ( focusTracker instanceof DefaultFocusTracker )
+        {
+            final List<WeakReference<Component>> customChildren = ( ( DefaultFocusTracker ) focusTracker ).getWeakCustomChildren ();
+            return customChildren != null && customChildren.size () > 0;
+        }
+        else
+        {
+            return true;
         }
     }
 
@@ -287,6 +458,10 @@ public class FocusManager
                 trackers.put ( component, componentTrackers );
             }
             componentTrackers.put ( focusTracker, focusTracker.isInvolved ( getFocusOwner (), component ) );
+            if ( isUnbound ( focusTracker ) )
+            {
+                unboundTrackers.put ( component, true );
+            }
         }
     }
 
@@ -307,6 +482,7 @@ public class FocusManager
                 componentTrackers.remove ( focusTracker );
                 if ( componentTrackers.size () == 0 )
                 {
+                    unboundTrackers.remove ( entry.getKey () );
                     iterator.remove ();
                 }
             }
@@ -328,6 +504,7 @@ public class FocusManager
                 allTrackers.clear ();
             }
             trackers.remove ( component );
+            unboundTrackers.remove ( component );
         }
     }
 }
\ No newline at end of file
@@ -27,6 +27,9 @@ import java.io.Serializable;
 
 /**
  * Single hotkey settings description class.
+ * <p/>
+ * Hotkey data can be modified after it was registered in HotkeyManager, manager is informed about key code and modifiers changes
+ * and will match key events against the new values right away.
  *
  * @author Mikle Garin
  */
@@ -132,7 +135,7 @@ public class HotkeyData implements Serializable, Cloneable
     public HotkeyData ( final KeyStroke keyStroke )
     {
         super ();
-        setModifiers ( keyStroke.getModifiers () );
+        applyModifiers ( keyStroke.getModifiers () );
         this.keyCode = keyStroke.getKeyCode ();
         this.hashCode = null;
     }
@@ -155,7 +158,7 @@ public class HotkeyData implements Serializable, Cloneable
     public void setCtrl ( final boolean ctrl )
     {
         isCtrl = ctrl;
-        this.hashCode = null;
+        fireHotkeyChanged ();
     }
 
     /**
@@ -176,7 +179,7 @@ public class HotkeyData implements Serializable, Cloneable
     public void setAlt ( final boolean alt )
     {
         isAlt = alt;
-        this.hashCode = null;
+        fireHotkeyChanged ();
     }
 
     /**
@@ -197,7 +200,7 @@ public class HotkeyData implements Serializable, Cloneable
     public void setShift ( final boolean shift )
     {
         isShift = shift;
-        this.hashCode = null;
+        fireHotkeyChanged ();
     }
 
     /**
@@ -218,7 +221,7 @@ public class HotkeyData implements Serializable, Cloneable
     public void setKeyCode ( final Integer keyCode )
     {
         this.keyCode = keyCode;
-        this.hashCode = null;
+        fireHotkeyChanged ();
     }
 
     /**
@@ -292,12 +295,32 @@ public class HotkeyData implements Serializable, Cloneable
      * @param modifiers modifiers
      */
     public void setModifiers ( final int modifiers )
+    {
+        applyModifiers ( modifiers );
+        fireHotkeyChanged ();
+    }
+
+    /**
+     * Applies hotkey modifiers without informing HotkeyManager.
+     *
+     * @param modifiers modifiers
+     */
+    private void applyModifiers ( final int modifiers )
     {
         isCtrl = SwingUtils.isCtrl ( modifiers );
         isAlt = SwingUtils.isAlt ( modifiers );
         isShift = SwingUtils.isShift ( modifiers );
     }
 
+    /**
+     * Resets cached hash code and informs HotkeyManager that this hotkey was changed, so it can re-index hotkeys using it.
+     */
+    protected void fireHotkeyChanged ()
+    {
+        this.hashCode = null;
+        HotkeyManager.hotkeyDataChanged ( this );
+    }
+
     /**
      * Indicates whether other hotkey is equal to this one.
      *
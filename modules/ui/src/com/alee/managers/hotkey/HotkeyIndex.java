@@ -0,0 +1,292 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.hotkey;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * Hotkeys index used by HotkeyManager to quickly find hotkeys registered for specific key stroke.
+ * Index key combines key code and modifiers into a single primitive value, so lookups do not create any objects.
+ * <p/>
+ * Hotkeys are referenced weakly since they are strongly referenced by their components, so index doesn't prevent them from being
+ * garbage collected. Index entries are immutable arrays which are replaced on each change, so they can be safely iterated without
+ * holding any locks. Slots which no longer contain any hotkeys are freed, so index doesn't grow with collected or unregistered
+ * components. This class is not synchronized by itself.
+ *
+ * @author Mikle Garin
+ */
+
+final class HotkeyIndex
+{
+    /**
+     * Empty entry.
+     */
+    private static final Reference[] EMPTY = new Reference[ 0 ];
+
+    /**
+     * Initial index capacity.
+     */
+    private static final int CAPACITY = 64;
+
+    /**
+     * Index keys.
+     */
+    private long[] keys = new long[ CAPACITY ];
+
+    /**
+     * Index entries, null for unused slots.
+     */
+    private Reference[][] entries = new Reference[ CAPACITY ][];
+
+    /**
+     * Amount of used slots.
+     */
+    private int size = 0;
+
+    /**
+     * Returns index key for the specified hotkey data or -1 if hotkey is not set.
+     *
+     * @param hotkeyData hotkey data
+     * @return index key for the specified hotkey data or -1 if hotkey is not set
+     */
+    public static long key ( final HotkeyData hotkeyData )
+    {
+        if ( hotkeyData == null || hotkeyData.getKeyCode () == null )
+        {
+            return -1;
+        }
+        return key ( hotkeyData.getKeyCode (), hotkeyData.isCtrl (), hotkeyData.isAlt (), hotkeyData.isShift () );
+    }
+
+    /**
+     * Returns index key for the specified key code and modifiers.
+     *
+     * @param keyCode key code
+     * @param ctrl    whether ctrl (or system shortcut modifier) is pressed
+     * @param alt     whether alt is pressed
+     * @param shift   whether shift is pressed
+     * @return index key for the specified key code and modifiers
+     */
+    public static long key ( final int keyCode, final boolean ctrl, final boolean alt, final boolean shift )
+    {
+        return ( ( long ) keyCode & 0xFFFFFFFFL ) << 3 | ( ctrl ? 4 : 0 ) | ( alt ? 2 : 0 ) | ( shift ? 1 : 0 );
+    }
+
+    /**
+     * Returns weak references to hotkeys registered under the specified key or null if there are none.
+     * Returned array should not be modified.
+     *
+     * @param key index key
+     * @return weak references to hotkeys registered under the specified key or null if there are none
+     */
+    public Reference[] get ( final long key )
+    {
+        final Reference[] entry = entries[ slot ( key ) ];
+        return entry != null && entry.length > 0 ? entry : null;
+    }
+
+    /**
+     * Adds hotkey under the specified key.
+     *
+     * @param key        index key
+     * @param hotkeyInfo hotkey to add
+     */
+    public void add ( final long key, final HotkeyInfo hotkeyInfo )
+    {
+        int slot = slot ( key );
+        if ( entries[ slot ] == null )
+        {
+            if ( ( size + 1 ) * 2 > keys.length )
+            {
+                // Dropping collected hotkeys first and growing only if that didn't free enough slots
+                rebuild ( keys.length );
+                if ( ( size + 1 ) * 2 > keys.length )
+                {
+                    rebuild ( keys.length * 2 );
+                }
+                slot = slot ( key );
+            }
+            keys[ slot ] = key;
+            entries[ slot ] = EMPTY;
+            size++;
+        }
+        final Reference[] alive = alive ( entries[ slot ], null, 1 );
+        alive[ alive.length - 1 ] = new Reference ( hotkeyInfo );
+        entries[ slot ] = alive;
+    }
+
+    /**
+     * Removes hotkey from the specified key.
+     * Slot is freed if there are no hotkeys left under the specified key.
+     *
+     * @param key        index key
+     * @param hotkeyInfo hotkey to remove
+     */
+    public void remove ( final long key, final HotkeyInfo hotkeyInfo )
+    {
+        final int slot = slot ( key );
+        final Reference[] old = entries[ slot ];
+        if ( old != null )
+        {
+            final Reference[] alive = alive ( old, hotkeyInfo, 0 );
+            if ( alive.length > 0 )
+            {
+                entries[ slot ] = alive;
+            }
+            else
+            {
+                delete ( slot );
+            }
+        }
+    }
+
+    /**
+     * Returns references to hotkeys which are still alive with the specified amount of additional free positions at the end.
+     *
+     * @param references hotkey references
+     * @param excluded   hotkey to exclude, might be null
+     * @param free       amount of additional free positions
+     * @return references to hotkeys which are still alive with the specified amount of additional free positions at the end
+     */
+    private static Reference[] alive ( final Reference[] references, final HotkeyInfo excluded, final int free )
+    {
+        int alive = 0;
+        for ( final Reference reference : references )
+        {
+            final HotkeyInfo hotkeyInfo = reference.get ();
+            if ( hotkeyInfo != null && hotkeyInfo != excluded )
+            {
+                alive++;
+            }
+        }
+        if ( alive + free == 0 )
+        {
+            return EMPTY;
+        }
+        final Reference[] result = new Reference[ alive + free ];
+        int index = 0;
+        for ( final Reference reference : references )
+        {
+            final HotkeyInfo hotkeyInfo = reference.get ();
+            if ( hotkeyInfo != null && hotkeyInfo != excluded )
+            {
+                result[ index++ ] = reference;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns preferred slot for the specified key.
+     *
+     * @param key index key
+     * @return preferred slot for the specified key
+     */
+    private int home ( final long key )
+    {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return ( int ) ( hash ^ hash >>> 32 ) & ( keys.length - 1 );
+    }
+
+    /**
+     * Returns slot for the specified key.
+     * That is either the slot that contains that key or a free slot where it can be placed.
+     *
+     * @param key index key
+     * @return slot for the specified key
+     */
+    private int slot ( final long key )
+    {
+        final int mask = keys.length - 1;
+        int slot = home ( key );
+        while ( entries[ slot ] != null && keys[ slot ] != key )
+        {
+            slot = ( slot + 1 ) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Frees the specified slot.
+     * Following slots are shifted back if needed so that all remaining keys are still reachable from their preferred slots.
+     *
+     * @param slot slot to free
+     */
+    private void delete ( final int slot )
+    {
+        final int mask = keys.length - 1;
+        int free = slot;
+        entries[ free ] = null;
+        size--;
+        for ( int i = ( slot + 1 ) & mask; entries[ i ] != null; i = ( i + 1 ) & mask )
+        {
+            final int home = home ( keys[ i ] );
+            if ( free <= i ? home <= free || home > i : home <= free && home > i )
+            {
+                keys[ free ] = keys[ i ];
+                entries[ free ] = entries[ i ];
+                entries[ i ] = null;
+                free = i;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds index with the specified capacity dropping references to collected hotkeys and slots left without any hotkeys.
+     *
+     * @param capacity new index capacity
+     */
+    private void rebuild ( final int capacity )
+    {
+        final long[] oldKeys = keys;
+        final Reference[][] oldEntries = entries;
+        keys = new long[ capacity ];
+        entries = new Reference[ capacity ][];
+        size = 0;
+        for ( int i = 0; i < oldKeys.length; i++ )
+        {
+            if ( oldEntries[ i ] != null )
+            {
+                final Reference[] alive = alive ( oldEntries[ i ], null, 0 );
+                if ( alive.length > 0 )
+                {
+                    final int slot = slot ( oldKeys[ i ] );
+                    keys[ slot ] = oldKeys[ i ];
+                    entries[ slot ] = alive;
+                    size++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Weak reference to indexed hotkey.
+     */
+    static final class Reference extends WeakReference<HotkeyInfo>
+    {
+        /**
+         * Constructs new weak reference to the specified hotkey.
+         *
+         * @param hotkeyInfo referenced hotkey
+         */
+        public Reference ( final HotkeyInfo hotkeyInfo )
+        {
+            super ( hotkeyInfo );
+        }
+    }
+}
@@ -53,6 +53,9 @@ public class HotkeyInfo
     // Hotkey action
     private HotkeyRunnable action = null;
 
+    // Key under which this hotkey is indexed in HotkeyManager, -1 if it is not indexed
+    long indexKey = -1;
+
     public HotkeyInfo ()
     {
         super ();
@@ -118,6 +121,7 @@ public class HotkeyInfo
     public HotkeyInfo setHotkeyData ( final HotkeyData hotkeyData )
     {
         this.hotkeyData = hotkeyData;
+        HotkeyManager.updateHotkeyIndex ( this );
         return this;
     }
 
@@ -45,6 +45,9 @@ import java.util.List;
  * <p/>
  * All hotkeys are stored into WeakHashMap so hotkeys will be removed as soon as the component for which hotkey is registered gets
  * finalized. HotkeyInfo also keeps a weak reference to both top and hotkey components.
+ * <p/>
+ * Registered hotkeys are also indexed by their key code and modifiers, so key events are matched only against hotkeys registered
+ * for the pressed key stroke. HotkeyData informs this manager about its changes, so registered hotkeys are re-indexed automatically.
  *
  * @author Mikle Garin
  */
@@ -118,6 +121,11 @@ public class HotkeyManager
     protected static Map<JComponent, WeakReference<List<HotkeyCondition>>> containerConditions =
             new WeakHashMap<JComponent, WeakReference<List<HotkeyCondition>>> ();
 
+    /**
+     * Registered hotkeys index by key code and modifiers.
+     */
+    protected static final HotkeyIndex hotkeysIndex = new HotkeyIndex ();
+
     /**
      * Initialization mark.
      */
@@ -226,19 +234,12 @@ public class HotkeyManager
      */
     protected static boolean hotkeyForEventExists ( final KeyEvent keyEvent )
     {
-        final int hotkeyHash = SwingUtils.hotkeyToString ( keyEvent ).hashCode ();
-        for ( final HotkeyInfo hotkeyInfo : globalHotkeys )
+        final HotkeyIndex.Reference[] candidates = getIndexedHotkeys ( keyEvent );
+        if ( candidates != null )
         {
-            if ( hotkeyInfo.getHotkeyData ().hashCode () == hotkeyHash )
+            for ( final HotkeyIndex.Reference candidate : candidates )
             {
-                return true;
-            }
-        }
-        for ( final Map.Entry<Component, List<HotkeyInfo>> entry : copyComponentHotkeys ().entrySet () )
-        {
-            for ( final HotkeyInfo hotkeyInfo : entry.getValue () )
-            {
-                if ( hotkeyInfo.getHotkeyData ().hashCode () == hotkeyHash )
+                if ( candidate.get () != null )
                 {
                     return true;
                 }
@@ -254,20 +255,125 @@ public class HotkeyManager
      */
     protected static void processHotkeys ( final KeyEvent e )
     {
-        final Map<Component, List<HotkeyInfo>> hotkeysCopy = copyComponentHotkeys ();
-        for ( final HotkeyInfo hotkeyInfo : globalHotkeys )
+        final HotkeyIndex.Reference[] candidates = getIndexedHotkeys ( e );
+        if ( candidates != null )
         {
-            processHotkey ( e, hotkeyInfo );
+            for ( final HotkeyIndex.Reference candidate : candidates )
+            {
+                final HotkeyInfo hotkeyInfo = candidate.get ();
+                if ( hotkeyInfo != null )
+                {
+                    processHotkey ( e, hotkeyInfo );
+                }
+            }
         }
-        for ( final Map.Entry<Component, List<HotkeyInfo>> entry : hotkeysCopy.entrySet () )
+    }
+
+    /**
+     * Returns weak references to hotkeys registered for key stroke of the specified key event or null if there are none.
+     *
+     * @param e key event
+     * @return weak references to hotkeys registered for key stroke of the specified key event or null if there are none
+     */
+    protected static HotkeyIndex.Reference[] getIndexedHotkeys ( final KeyEvent e )
+    {
+        final long key = HotkeyIndex.key ( e.getKeyCode (), SwingUtils.isShortcut ( e ), SwingUtils.isAlt ( e ), SwingUtils.isShift ( e ) );
+        synchronized ( sync )
         {
-            for ( final HotkeyInfo hotkeyInfo : entry.getValue () )
+            return hotkeysIndex.get ( key );
+        }
+    }
+
+    /**
+     * Updates index for the specified hotkey if it is registered.
+     * This method is called when hotkey data is changed.
+     *
+     * @param hotkeyInfo hotkey information
+     */
+    protected static void updateHotkeyIndex ( final HotkeyInfo hotkeyInfo )
+    {
+        synchronized ( sync )
+        {
+            if ( hotkeyInfo.indexKey != -1 )
+            {
+                unindexHotkey ( hotkeyInfo );
+                indexHotkey ( hotkeyInfo );
+            }
+        }
+    }
+
+    /**
+     * Re-indexes all registered hotkeys which use the specified hotkey data.
+     * This method is called by HotkeyData whenever its key code or modifiers are changed.
+     *
+     * @param hotkeyData changed hotkey data
+     */
+    protected static void hotkeyDataChanged ( final HotkeyData hotkeyData )
+    {
+        synchronized ( sync )
+        {
+            for ( final WeakReference<List<HotkeyInfo>> reference : hotkeys.values () )
+            {
+                final List<HotkeyInfo> componentHotkeys = reference != null ? reference.get () : null;
+                if ( componentHotkeys != null )
+                {
+                    reindexHotkeys ( componentHotkeys, hotkeyData );
+                }
+            }
+            reindexHotkeys ( globalHotkeys, hotkeyData );
+        }
+    }
+
+    /**
+     * Re-indexes hotkeys from the specified list which use the specified hotkey data.
+     * Should be called under the sync lock.
+     *
+     * @param hotkeyInfos hotkeys to check
+     * @param hotkeyData  changed hotkey data
+     */
+    protected static void reindexHotkeys ( final List<HotkeyInfo> hotkeyInfos, final HotkeyData hotkeyData )
+    {
+        for ( final HotkeyInfo hotkeyInfo : hotkeyInfos )
+        {
+            if ( hotkeyInfo.getHotkeyData () == hotkeyData )
             {
-                processHotkey ( e, hotkeyInfo );
+                unindexHotkey ( hotkeyInfo );
+                indexHotkey ( hotkeyInfo );
             }
         }
     }
 
+    /**
+     * Adds hotkey into index.
+     * Should be called under the sync lock.
+     *
+     * @param hotkeyInfo hotkey information
+     */
+    protected static void indexHotkey ( final HotkeyInfo hotkeyInfo )
+    {
+        final long key = HotkeyIndex.key ( hotkeyInfo.getHotkeyData () );
+        if ( key != -1 && hotkeyInfo.indexKey == -1 )
+        {
+            hotkeysIndex.add ( key, hotkeyInfo );
+            hotkeyInfo.indexKey = key;
+        }
+    }
+
+    /**
+     * Removes hotkey from index.
+     * Should be called under the sync lock.
+     *
+     * @param hotkeyInfo hotkey information
+     */
+    protected static void unindexHotkey ( final HotkeyInfo hotkeyInfo )
+    {
+        if ( hotkeyInfo.indexKey != -1 )
+        {
+            hotkeysIndex.remove ( hotkeyInfo.indexKey, hotkeyInfo );
+            hotkeyInfo.indexKey = -1;
+        }
+    }
+
     /**
      * Processes single hotkey.
      *
@@ -318,17 +424,29 @@ public class HotkeyManager
         }
     }
 
+    /**
+     * Returns whether the specified component meets conditions of all its ancestor containers or not.
+     * Only actual ancestors of the component are checked, their conditions are stored within their client properties.
+     *
+     * @param forComponent hotkey component
+     * @return true if the specified component meets conditions of all its ancestor containers, false otherwise
+     */
     protected static boolean meetsParentConditions ( final Component forComponent )
     {
-        for ( final Map.Entry<JComponent, List<HotkeyCondition>> entry : copyContainerConditions ().entrySet () )
+        for ( Container parent = forComponent.getParent (); parent != null; parent = parent.getParent () )
         {
-            if ( entry.getKey ().isAncestorOf ( forComponent ) )
+            if ( parent instanceof JComponent )
             {
-                for ( final HotkeyCondition condition : entry.getValue () )
+                final Object conditions = ( ( JComponent ) parent ).getClientProperty ( CONTAINER_HOTKEY_CONDITIONS_LIST_KEY );
+                if ( conditions != null )
                 {
-                    if ( !condition.checkCondition ( forComponent ) )
+                    final List<?> list = ( List<?> ) conditions;
+                    for ( int i = 0; i < list.size (); i++ )
                     {
-                        return false;
+                        if ( !( ( HotkeyCondition ) list.get ( i ) ).checkCondition ( forComponent ) )
+                        {
+                            return false;
+                        }
                     }
                 }
             }
@@ -566,6 +684,9 @@ public class HotkeyManager
                     globalHotkeys.add ( hotkeyInfo );
                 }
             }
+
+            // Indexing hotkey
+            indexHotkey ( hotkeyInfo );
         }
     }
 
@@ -590,6 +711,9 @@ public class HotkeyManager
                     // Clearing global hotkey cache
                     globalHotkeys.remove ( hotkeyInfo );
                 }
+
+                // Removing hotkey from index
+                unindexHotkey ( hotkeyInfo );
             }
         }
     }
@@ -614,6 +738,16 @@ public class HotkeyManager
     {
         synchronized ( sync )
         {
+            // Removing component hotkeys from index
+            final List<HotkeyInfo> hlist = getComponentHotkeysCache ( component );
+            if ( hlist != null )
+            {
+                for ( final HotkeyInfo hotkeyInfo : hlist )
+                {
+                    unindexHotkey ( hotkeyInfo );
+                }
+            }
+
             component.putClientProperty ( COMPONENT_HOTKEYS_LIST_KEY, null );
             hotkeys.remove ( component );
         }
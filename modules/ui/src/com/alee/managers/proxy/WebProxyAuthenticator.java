@@ -32,6 +32,7 @@ import com.alee.managers.hotkey.HotkeyRunnable;
 import com.alee.managers.language.LanguageManager;
 import com.alee.utils.SwingUtils;
 import com.alee.utils.swing.AncestorAdapter;
+import com.alee.utils.swing.IconRegistry;
 
 import javax.swing.*;
 import javax.swing.event.AncestorEvent;
@@ -54,7 +55,7 @@ public class WebProxyAuthenticator extends Authenticator
     /**
      * Authentication dialog icon.
      */
-    public static final ImageIcon AUTH_ICON = new ImageIcon ( WebProxyAuthenticator.class.getResource ( "icons/auth.png" ) );
+    public static final ImageIcon AUTH_ICON = IconRegistry.getIcon ( WebProxyAuthenticator.class, "icons/auth.png" );
 
     /**
      * Authentication dialog.
@@ -0,0 +1,255 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.managers.style.skin;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.ReflectUtils;
+
+import java.lang.ref.SoftReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Resolved accessor for a single object property.
+ * Accessor is resolved only once per object class, property name and value type and cached afterwards.
+ * This allows skins to avoid setter method and field lookups each time they apply style properties.
+ *
+ * @author Mikle Garin
+ * @see com.alee.managers.style.skin.WebLafSkin
+ */
+
+public final class PropertyAccessor
+{
+    /**
+     * Resolved accessors cache.
+     * Cached methods and fields strongly reference their declaring class, so accessors of each class are referenced softly. Otherwise
+     * they would keep the weak class key reachable forever and the class could never be unloaded. Classes can be unloaded once their
+     * accessors are cleared under memory pressure, cleared accessors are simply resolved again when needed.
+     */
+    private static final Map<Class, SoftReference<Map<String, PropertyAccessor>>> accessorsCache =
+            new WeakHashMap<Class, SoftReference<Map<String, PropertyAccessor>>> ();
+
+    /**
+     * Value type this accessor was resolved for, null for null value.
+     */
+    private final Class valueType;
+
+    /**
+     * Property setter method, null if it doesn't exist.
+     */
+    private final Method setter;
+
+    /**
+     * Property field, null if it doesn't exist.
+     */
+    private final Field field;
+
+    /**
+     * Next accessor for the same property but different value type.
+     */
+    private PropertyAccessor next;
+
+    /**
+     * Constructs new property accessor.
+     *
+     * @param valueType value type this accessor was resolved for
+     * @param setter    property setter method
+     * @param field     property field
+     */
+    private PropertyAccessor ( final Class valueType, final Method setter, final Field field )
+    {
+        super ();
+        this.valueType = valueType;
+        this.setter = setter;
+        this.field = field;
+    }
+
+    /**
+     * Returns property setter method, null if it doesn't exist.
+     *
+     * @return property setter method, null if it doesn't exist
+     */
+    public Method getSetter ()
+    {
+        return setter;
+    }
+
+    /**
+     * Returns property field, null if it doesn't exist.
+     *
+     * @return property field, null if it doesn't exist
+     */
+    public Field getField ()
+    {
+        return field;
+    }
+
+    /**
+     * Applies value to the property of the specified object.
+     * Setter method is used if it exists, otherwise value is applied to the field directly.
+     *
+     * @param object object instance
+     * @param value  property value
+     * @return true if value was applied successfully, false otherwise
+     */
+    public boolean set ( final Object object, final Object value )
+    {
+        // Trying to use setter method to apply the specified value
+        if ( setter != null )
+        {
+            try
+            {
+                setter.invoke ( object, value );
+                return true;
+            }
+            catch ( final InvocationTargetException e )
+            {
+                Log.error ( WebLafSkin.class, e );
+            }
+            catch ( final IllegalAccessException e )
+            {
+                Log.error ( WebLafSkin.class, e );
+            }
+        }
+
+        // Applying field value directly
+        if ( field != null )
+        {
+            try
+            {
+                field.set ( object, value );
+                return true;
+            }
+            catch ( final IllegalAccessException e )
+            {
+                Log.error ( WebLafSkin.class, e );
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns setter method for the specified property of the specified class.
+     *
+     * @param type     object class
+     * @param property property name
+     * @param value    property value
+     * @return setter method for the specified property of the specified class
+     * @throws NoSuchMethodException if setter method doesn't exist
+     */
+    public static Method getSetter ( final Class type, final String property, final Object value ) throws NoSuchMethodException
+    {
+        final Method setter = get ( type, property, value ).setter;
+        if ( setter == null )
+        {
+            throw new NoSuchMethodException ( type.getCanonicalName () + "." + ReflectUtils.getSetterMethodName ( property ) );
+        }
+        return setter;
+    }
+
+    /**
+     * Returns accessor for the specified property of the specified class fitting the specified value.
+     *
+     * @param type     object class
+     * @param property property name
+     * @param value    property value
+     * @return accessor for the specified property of the specified class fitting the specified value
+     */
+    public static PropertyAccessor get ( final Class type, final String property, final Object value )
+    {
+        final Class valueType = value != null ? value.getClass () : null;
+        synchronized ( accessorsCache )
+        {
+            // Looking for an already resolved accessor
+            final SoftReference<Map<String, PropertyAccessor>> reference = accessorsCache.get ( type );
+            Map<String, PropertyAccessor> classAccessors = reference != null ? reference.get () : null;
+            if ( classAccessors == null )
+            {
+                classAccessors = new HashMap<String, PropertyAccessor> ();
+                accessorsCache.put ( type, new SoftReference<Map<String, PropertyAccessor>> ( classAccessors ) );
+            }
+            final PropertyAccessor first = classAccessors.get ( property );
+            for ( PropertyAccessor accessor = first; accessor != null; accessor = accessor.next )
+            {
+                if ( accessor.valueType == valueType )
+                {
+                    return accessor;
+                }
+            }
+
+            // Resolving new accessor
+            final PropertyAccessor accessor = resolve ( type, property, value, valueType );
+            accessor.next = first;
+            classAccessors.put ( property, accessor );
+            return accessor;
+        }
+    }
+
+    /**
+     * Returns newly resolved accessor for the specified property of the specified class fitting the specified value.
+     *
+     * @param type      object class
+     * @param property  property name
+     * @param value     property value
+     * @param valueType property value type
+     * @return newly resolved accessor for the specified property of the specified class fitting the specified value
+     */
+    private static PropertyAccessor resolve ( final Class type, final String property, final Object value, final Class valueType )
+    {
+        // Resolving setter method
+        Method setter = null;
+        try
+        {
+            setter = ReflectUtils.getMethod ( type, ReflectUtils.getSetterMethodName ( property ), new Object[]{ value } );
+        }
+        catch ( final NoSuchMethodException e )
+        {
+            Log.error ( WebLafSkin.class, e );
+        }
+        catch ( final InvocationTargetException e )
+        {
+            Log.error ( WebLafSkin.class, e );
+        }
+        catch ( final IllegalAccessException e )
+        {
+            Log.error ( WebLafSkin.class, e );
+        }
+
+        // Resolving field
+        Field field = null;
+        try
+        {
+            field = ReflectUtils.getField ( type, property );
+            field.setAccessible ( true );
+        }
+        catch ( final NoSuchFieldException e )
+        {
+            // Missing field is only important when there is no setter method
+            if ( setter == null )
+            {
+                Log.error ( WebLafSkin.class, e );
+            }
+        }
+
+        return new PropertyAccessor ( valueType, setter, field );
+    }
+}
@@ -35,8 +35,10 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This abstract class represents single WebLaF skin.
@@ -55,6 +57,23 @@ public abstract class WebLafSkin
      */
     public static final String ALL_SYSTEMS_SUPPORTED = "all";
 
+    /**
+     * Total time spent on skin application in nanoseconds.
+     */
+    private static final AtomicLong skinApplicationTime = new AtomicLong ( 0 );
+
+    /**
+     * Total amount of skin applications.
+     */
+    private static final AtomicLong skinApplicationsCount = new AtomicLong ( 0 );
+
+    /**
+     * Compiled style properties cache.
+     * Properties are compiled separately for each object class and style properties map they come from.
+     */
+    protected final Map<Class, Map<Map<String, Object>, CompiledProperties>> compiledProperties =
+            new HashMap<Class, Map<Map<String, Object>, CompiledProperties>> ();
+
     /**
      * Returns unique skin ID.
      * Used to collect and manage skins within StyleManager.
@@ -209,6 +228,7 @@ public abstract class WebLafSkin
     public boolean applySkin ( final JComponent component, final Map<String, Map<String, Object>> customPainterProperties,
                                final Map<String, Painter> customPainters )
     {
+        final long start = System.nanoTime ();
         try
         {
             final SupportedComponent type = getSupportedComponentTypeImpl ( component );
@@ -249,8 +269,7 @@ public abstract class WebLafSkin
                 }
 
                 // Installing painter into the UI
-                final String setterMethod = ReflectUtils.getSetterMethodName ( painterId );
-                ReflectUtils.callMethod ( ui, setterMethod, painter );
+                PropertyAccessor.getSetter ( ui.getClass (), painterId, painter ).invoke ( ui, painter );
             }
 
             // Applying UI properties
@@ -268,6 +287,40 @@ public abstract class WebLafSkin
             Log.error ( this, e );
             return false;
         }
+        finally
+        {
+            skinApplicationTime.addAndGet ( System.nanoTime () - start );
+            skinApplicationsCount.incrementAndGet ();
+        }
+    }
+
+    /**
+     * Returns total time spent on skin application in nanoseconds.
+     *
+     * @return total time spent on skin application in nanoseconds
+     */
+    public static long getSkinApplicationTime ()
+    {
+        return skinApplicationTime.get ();
+    }
+
+    /**
+     * Returns total amount of skin applications.
+     *
+     * @return total amount of skin applications
+     */
+    public static long getSkinApplicationsCount ()
+    {
+        return skinApplicationsCount.get ();
+    }
+
+    /**
+     * Resets skin application statistics.
+     */
+    public static void resetSkinApplicationStatistics ()
+    {
+        skinApplicationTime.set ( 0 );
+        skinApplicationsCount.set ( 0 );
     }
 
     /**
@@ -299,8 +352,7 @@ public abstract class WebLafSkin
             final ComponentUI ui = getComponentUIImpl ( component );
             for ( final PainterStyle painterStyle : style.getPainters () )
             {
-                final String setterMethod = ReflectUtils.getSetterMethodName ( painterStyle.getId () );
-                ReflectUtils.callMethod ( ui, setterMethod, ( Painter ) null );
+                PropertyAccessor.getSetter ( ui.getClass (), painterStyle.getId (), null ).invoke ( ui, ( Painter ) null );
             }
             return true;
         }
@@ -409,34 +461,62 @@ public abstract class WebLafSkin
     protected void applyProperties ( final Object object, final Map<String, Object> skinProperties,
                                      final Map<String, Object> customProperties )
     {
-        // Merging skin and custom properties
-        final Map<String, Object> mergedProperties;
-        if ( customProperties != null && customProperties.size () > 0 )
+        // Applying compiled skin properties when there are no custom ones
+        // This is the most common case so it is optimized to avoid any lookups
+        if ( customProperties == null || customProperties.size () == 0 )
         {
             if ( skinProperties != null && skinProperties.size () > 0 )
             {
-                // Custom properties are added after skin properties to replace existing values
-                mergedProperties = new HashMap<String, Object> ( Math.max ( skinProperties.size (), customProperties.size () ) );
-                mergedProperties.putAll ( skinProperties );
-                mergedProperties.putAll ( customProperties );
-            }
-            else
-            {
-                mergedProperties = customProperties;
+                getCompiledProperties ( object.getClass (), skinProperties ).apply ( object );
             }
+            return;
+        }
+
+        // Merging skin and custom properties
+        final Map<String, Object> mergedProperties;
+        if ( skinProperties != null && skinProperties.size () > 0 )
+        {
+            // Custom properties are added after skin properties to replace existing values
+            mergedProperties = new HashMap<String, Object> ( Math.max ( skinProperties.size (), customProperties.size () ) );
+            mergedProperties.putAll ( skinProperties );
+            mergedProperties.putAll ( customProperties );
         }
         else
         {
-            mergedProperties = skinProperties;
+            mergedProperties = customProperties;
         }
 
         // Applying merged properties
-        if ( mergedProperties != null && mergedProperties.size () > 0 )
+        for ( final Map.Entry<String, Object> entry : mergedProperties.entrySet () )
         {
-            for ( final Map.Entry<String, Object> entry : mergedProperties.entrySet () )
+            setFieldValue ( object, entry.getKey (), entry.getValue () );
+        }
+    }
+
+    /**
+     * Returns compiled properties for the specified object class.
+     *
+     * @param type       object class
+     * @param properties style properties
+     * @return compiled properties for the specified object class
+     */
+    protected CompiledProperties getCompiledProperties ( final Class type, final Map<String, Object> properties )
+    {
+        synchronized ( compiledProperties )
+        {
+            Map<Map<String, Object>, CompiledProperties> classProperties = compiledProperties.get ( type );
+            if ( classProperties == null )
+            {
+                classProperties = new IdentityHashMap<Map<String, Object>, CompiledProperties> ();
+                compiledProperties.put ( type, classProperties );
+            }
+            CompiledProperties compiled = classProperties.get ( properties );
+            if ( compiled == null )
             {
-                setFieldValue ( object, entry.getKey (), entry.getValue () );
+                compiled = new CompiledProperties ( type, properties );
+                classProperties.put ( properties, compiled );
             }
+            return compiled;
         }
     }
 
@@ -458,44 +538,8 @@ public abstract class WebLafSkin
             return false;
         }
 
-        // Trying to use setter method to apply the specified value
-        try
-        {
-            final String setterMethod = ReflectUtils.getSetterMethodName ( field );
-            ReflectUtils.callMethod ( object, setterMethod, value );
-            return true;
-        }
-        catch ( final NoSuchMethodException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-        }
-        catch ( final InvocationTargetException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-        }
-        catch ( final IllegalAccessException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-        }
-
-        // Applying field value directly
-        try
-        {
-            final Field actualField = ReflectUtils.getField ( object.getClass (), field );
-            actualField.setAccessible ( true );
-            actualField.set ( object, value );
-            return true;
-        }
-        catch ( final NoSuchFieldException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-            return false;
-        }
-        catch ( final IllegalAccessException e )
-        {
-            Log.error ( WebLafSkin.class, e );
-            return false;
-        }
+        // Applying value using cached setter method or field
+        return PropertyAccessor.get ( object.getClass (), field, value ).set ( object, value );
     }
 
     /**
@@ -571,4 +615,71 @@ public abstract class WebLafSkin
     {
         return getName ();
     }
+
+    /**
+     * Style properties compiled for specific object class.
+     * Applying these properties is a simple walk through pre-resolved accessors.
+     */
+    protected static final class CompiledProperties
+    {
+        /**
+         * Property accessors.
+         */
+        private final PropertyAccessor[] accessors;
+
+        /**
+         * Property values.
+         */
+        private final Object[] values;
+
+        /**
+         * Constructs properties compiled for the specified object class.
+         *
+         * @param type       object class
+         * @param properties style properties
+         */
+        public CompiledProperties ( final Class type, final Map<String, Object> properties )
+        {
+            super ();
+            int count = 0;
+            final PropertyAccessor[] accessors = new PropertyAccessor[ properties.size () ];
+            final Object[] values = new Object[ properties.size () ];
+            for ( final Map.Entry<String, Object> entry : properties.entrySet () )
+            {
+                // Ignored values are skipped right away
+                final Object value = entry.getValue ();
+                if ( value != IgnoredValue.VALUE )
+                {
+                    accessors[ count ] = PropertyAccessor.get ( type, entry.getKey (), value );
+                    values[ count ] = value;
+                    count++;
+                }
+            }
+            if ( count < accessors.length )
+            {
+                this.accessors = new PropertyAccessor[ count ];
+                this.values = new Object[ count ];
+                System.arraycopy ( accessors, 0, this.accessors, 0, count );
+                System.arraycopy ( values, 0, this.values, 0, count );
+            }
+            else
+            {
+                this.accessors = accessors;
+                this.values = values;
+            }
+        }
+
+        /**
+         * Applies compiled properties to the specified object.
+         *
+         * @param object object to apply properties to
+         */
+        public void apply ( final Object object )
+        {
+            for ( int i = 0; i < accessors.length; i++ )
+            {
+                accessors[ i ].set ( object, values[ i ] );
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import com.alee.extended.painter.PartialDecoration;
 import com.alee.managers.focus.DefaultFocusTracker;
 import com.alee.managers.focus.FocusManager;
 import com.alee.managers.focus.FocusTracker;
+import com.alee.utils.NinePatchUtils;
 import com.alee.utils.ninepatch.NinePatchIcon;
 
 import javax.swing.*;
@@ -445,7 +446,7 @@ public class NPDecorationPainter<E extends JComponent> extends AbstractPainter<E
      */
     public void setBackgroundIcon ( final NinePatchIcon icon )
     {
-        this.backgroundIcon = icon;
+        this.backgroundIcon = NinePatchUtils.enableRenderCache ( icon );
         if ( !undecorated && ( !paintFocus || !focused ) )
         {
             updateAll ();
@@ -469,7 +470,7 @@ public class NPDecorationPainter<E extends JComponent> extends AbstractPainter<E
      */
     public void setFocusedBackgroundIcon ( final NinePatchIcon icon )
     {
-        this.focusedBackgroundIcon = icon;
+        this.focusedBackgroundIcon = NinePatchUtils.enableRenderCache ( icon );
         if ( !undecorated && ( paintFocus && focused ) )
         {
             updateAll ();
@@ -495,7 +496,7 @@ public class NPDecorationPainter<E extends JComponent> extends AbstractPainter<E
      */
     public void setSeparatorIcon ( final NinePatchIcon icon )
     {
-        this.separatorIcon = icon;
+        this.separatorIcon = NinePatchUtils.enableRenderCache ( icon );
         if ( !undecorated && isAnyLineShouldBePainted () )
         {
             updateAll ();
@@ -519,7 +520,7 @@ public class NPDecorationPainter<E extends JComponent> extends AbstractPainter<E
      */
     public void setTopSeparatorIcon ( final NinePatchIcon icon )
     {
-        this.topSeparatorIcon = icon;
+        this.topSeparatorIcon = NinePatchUtils.enableRenderCache ( icon );
         if ( !undecorated && isTopLineShouldBePainted () )
         {
             updateAll ();
@@ -543,7 +544,7 @@ public class NPDecorationPainter<E extends JComponent> extends AbstractPainter<E
      */
     public void setLeftSeparatorIcon ( final NinePatchIcon icon )
     {
-        this.leftSeparatorIcon = icon;
+        this.leftSeparatorIcon = NinePatchUtils.enableRenderCache ( icon );
         if ( !undecorated && isLeftLineShouldBePainted () )
         {
             updateAll ();
@@ -567,7 +568,7 @@ public class NPDecorationPainter<E extends JComponent> extends AbstractPainter<E
      */
     public void setBottomSeparatorIcon ( final NinePatchIcon icon )
     {
-        this.bottomSeparatorIcon = icon;
+        this.bottomSeparatorIcon = NinePatchUtils.enableRenderCache ( icon );
         if ( !undecorated && isBottomLineShouldBePainted () )
         {
             updateAll ();
@@ -591,7 +592,7 @@ public class NPDecorationPainter<E extends JComponent> extends AbstractPainter<E
      */
     public void setRightSeparatorIcon ( final NinePatchIcon icon )
     {
-        this.rightSeparatorIcon = icon;
+        this.rightSeparatorIcon = NinePatchUtils.enableRenderCache ( icon );
         if ( !undecorated && isRightLineShouldBePainted () )
         {
             updateAll ();
@@ -21,6 +21,7 @@ import com.alee.managers.focus.DefaultFocusTracker;
 import com.alee.managers.focus.FocusManager;
 import com.alee.managers.focus.FocusTracker;
 import com.alee.managers.style.skin.web.WebScrollBarPainter;
+import com.alee.utils.NinePatchUtils;
 import com.alee.utils.ninepatch.NinePatchIcon;
 
 import javax.swing.*;
@@ -114,7 +115,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setHBackgroundIcon ( final NinePatchIcon icon )
     {
-        this.hBackgroundIcon = icon;
+        this.hBackgroundIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -138,7 +139,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setHFocusedBackgroundIcon ( final NinePatchIcon icon )
     {
-        this.hFocusedBackgroundIcon = icon;
+        this.hFocusedBackgroundIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -160,7 +161,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setHTrackIcon ( final NinePatchIcon icon )
     {
-        this.hTrackIcon = icon;
+        this.hTrackIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -184,7 +185,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setHFocusedTrackIcon ( final NinePatchIcon icon )
     {
-        this.hFocusedTrackIcon = icon;
+        this.hFocusedTrackIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -206,7 +207,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setHThumbIcon ( final NinePatchIcon icon )
     {
-        this.hThumbIcon = icon;
+        this.hThumbIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -230,7 +231,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setHFocusedThumbIcon ( final NinePatchIcon icon )
     {
-        this.hFocusedThumbIcon = icon;
+        this.hFocusedThumbIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -254,7 +255,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setHPressedThumbIcon ( final NinePatchIcon icon )
     {
-        this.hPressedThumbIcon = icon;
+        this.hPressedThumbIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -276,7 +277,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setVBackgroundIcon ( final NinePatchIcon icon )
     {
-        this.vBackgroundIcon = icon;
+        this.vBackgroundIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -300,7 +301,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setVFocusedBackgroundIcon ( final NinePatchIcon icon )
     {
-        this.vFocusedBackgroundIcon = icon;
+        this.vFocusedBackgroundIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -322,7 +323,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setVTrackIcon ( final NinePatchIcon icon )
     {
-        this.vTrackIcon = icon;
+        this.vTrackIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -346,7 +347,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setVFocusedTrackIcon ( final NinePatchIcon icon )
     {
-        this.vFocusedTrackIcon = icon;
+        this.vFocusedTrackIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -368,7 +369,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setVThumbIcon ( final NinePatchIcon icon )
     {
-        this.vThumbIcon = icon;
+        this.vThumbIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -392,7 +393,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setVFocusedThumbIcon ( final NinePatchIcon icon )
     {
-        this.vFocusedThumbIcon = icon;
+        this.vFocusedThumbIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
@@ -416,7 +417,7 @@ public class NPScrollBarPainter<E extends JScrollBar> extends WebScrollBarPainte
      */
     public void setVPressedThumbIcon ( final NinePatchIcon icon )
     {
-        this.vPressedThumbIcon = icon;
+        this.vPressedThumbIcon = NinePatchUtils.enableRenderCache ( icon );
     }
 
     /**
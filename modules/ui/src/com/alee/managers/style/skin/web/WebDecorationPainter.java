@@ -27,9 +27,9 @@ import com.alee.utils.GraphicsUtils;
 import com.alee.utils.LafUtils;
 import com.alee.utils.NinePatchUtils;
 import com.alee.utils.ShapeCache;
+import com.alee.utils.ShapeCacheKey;
 import com.alee.utils.laf.PainterShapeProvider;
 import com.alee.utils.ninepatch.NinePatchIcon;
-import com.alee.utils.swing.DataProvider;
 
 import javax.swing.*;
 import java.awt.*;
@@ -56,6 +56,11 @@ public class WebDecorationPainter<E extends JComponent> extends AbstractPainter<
     protected static final String BORDER_SHAPE = "border";
     protected static final String BACKGROUND_SHAPE = "background";
 
+    /**
+     * Shape settings key reused for shape cache requests.
+     */
+    protected final ShapeCacheKey shapeSettings = new ShapeCacheKey ();
+
     /**
      * Style settings.
      */
@@ -796,27 +801,24 @@ public class WebDecorationPainter<E extends JComponent> extends AbstractPainter<
      */
     protected Shape getShape ( final E c, final boolean background )
     {
-        return ShapeCache.getShape ( c, background ? BACKGROUND_SHAPE : BORDER_SHAPE, new DataProvider<Shape> ()
-        {
-            @Override
-            public Shape provide ()
-            {
-                return createShape ( c, background );
-            }
-        }, getCachedShapeSettings ( c ) );
+        final String shapeId = background ? BACKGROUND_SHAPE : BORDER_SHAPE;
+        final ShapeCacheKey settings = getShapeSettingsKey ( c );
+        final Shape shape = ShapeCache.getShape ( c, shapeId, settings );
+        return shape != null ? shape : ShapeCache.cacheShape ( c, shapeId, settings, createShape ( c, background ) );
     }
 
     /**
-     * Returns an array of shape settings cached along with the shape.
+     * Returns shape settings key cached along with the shape.
+     * This is the only place where shape settings are listed, override it to provide additional settings.
      *
      * @param c painted component
-     * @return an array of shape settings cached along with the shape
+     * @return shape settings key cached along with the shape
      */
-    @SuppressWarnings ("UnusedParameters")
-    protected Object[] getCachedShapeSettings ( final E c )
+    protected ShapeCacheKey getShapeSettingsKey ( final E c )
     {
-        return new Object[]{ w, h, ltr, round, shadeWidth, paintTop, paintLeft, paintBottom, paintRight, paintTopLine, paintLeftLine,
-                paintBottomLine, paintRightLine };
+        return shapeSettings.clear ().add ( w ).add ( h ).add ( ltr ).add ( round ).add ( shadeWidth ).add ( paintTop ).add ( paintLeft )
+                .add ( paintBottom ).add ( paintRight ).add ( paintTopLine ).add ( paintLeftLine ).add ( paintBottomLine )
+                .add ( paintRightLine );
     }
 
     /**
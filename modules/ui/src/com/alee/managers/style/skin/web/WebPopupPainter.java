@@ -22,9 +22,9 @@ import com.alee.utils.ColorUtils;
 import com.alee.utils.GraphicsUtils;
 import com.alee.utils.NinePatchUtils;
 import com.alee.utils.ShapeCache;
+import com.alee.utils.ShapeCacheKey;
 import com.alee.utils.laf.PainterShapeProvider;
 import com.alee.utils.ninepatch.NinePatchIcon;
-import com.alee.utils.swing.DataProvider;
 
 import javax.swing.*;
 import java.awt.*;
@@ -48,6 +48,13 @@ public class WebPopupPainter<E extends JComponent> extends AbstractPainter<E> im
     protected static final String SIMPLE_BORDER_SHAPE = "simple-border";
     protected static final String DROPDOWN_FILL_SHAPE = "dropdown-fill";
     protected static final String DROPDOWN_BORDER_SHAPE = "dropdown-border";
+    protected static final String DROPDOWN_CORNER_FILL_SHAPE = "dropdown-corner-fill";
+    protected static final String DROPDOWN_CORNER_BORDER_SHAPE = "dropdown-corner-border";
+
+    /**
+     * Shape settings key reused for shape cache requests.
+     */
+    protected final ShapeCacheKey shapeSettings = new ShapeCacheKey ();
 
     /**
      * Style settings.
@@ -593,25 +600,19 @@ public class WebPopupPainter<E extends JComponent> extends AbstractPainter<E> im
         {
             case simple:
             {
-                return ShapeCache.getShape ( popup, fill ? SIMPLE_FILL_SHAPE : SIMPLE_BORDER_SHAPE, new DataProvider<Shape> ()
-                {
-                    @Override
-                    public Shape provide ()
-                    {
-                        return createSimpleShape ( popup, popupSize, fill );
-                    }
-                }, getCachedShapeSettings ( popup, popupSize ) );
+                final String shapeId = fill ? SIMPLE_FILL_SHAPE : SIMPLE_BORDER_SHAPE;
+                final ShapeCacheKey settings = getShapeSettingsKey ( popup, popupSize );
+                final Shape shape = ShapeCache.getShape ( popup, shapeId, settings );
+                return shape != null ? shape :
+                        ShapeCache.cacheShape ( popup, shapeId, settings, createSimpleShape ( popup, popupSize, fill ) );
             }
             case dropdown:
             {
-                return ShapeCache.getShape ( popup, fill ? DROPDOWN_FILL_SHAPE : DROPDOWN_BORDER_SHAPE, new DataProvider<Shape> ()
-                {
-                    @Override
-                    public Shape provide ()
-                    {
-                        return createDropdownShape ( popup, popupSize, fill );
-                    }
-                }, getCachedShapeSettings ( popup, popupSize ) );
+                final String shapeId = fill ? DROPDOWN_FILL_SHAPE : DROPDOWN_BORDER_SHAPE;
+                final ShapeCacheKey settings = getShapeSettingsKey ( popup, popupSize );
+                final Shape shape = ShapeCache.getShape ( popup, shapeId, settings );
+                return shape != null ? shape :
+                        ShapeCache.cacheShape ( popup, shapeId, settings, createDropdownShape ( popup, popupSize, fill ) );
             }
             default:
             {
@@ -621,16 +622,17 @@ public class WebPopupPainter<E extends JComponent> extends AbstractPainter<E> im
     }
 
     /**
-     * Returns an array of shape settings cached along with the shape.
+     * Returns shape settings key cached along with the shape.
+     * This is the only place where shape settings are listed, override it to provide additional settings.
      *
-     * @param popup popup component
+     * @param popup     popup component
      * @param popupSize popup size
-     * @return an array of shape settings cached along with the shape
+     * @return shape settings key cached along with the shape
      */
-    protected Object[] getCachedShapeSettings ( final E popup, final Dimension popupSize )
+    protected ShapeCacheKey getShapeSettingsKey ( final E popup, final Dimension popupSize )
     {
-        return new Object[]{ round, shadeWidth, cornerWidth, cornerSide, relativeCorner, cornerAlignment, popupSize,
-                popup.getComponentOrientation ().isLeftToRight () };
+        return shapeSettings.clear ().add ( round ).add ( shadeWidth ).add ( cornerWidth ).add ( cornerSide ).add ( relativeCorner )
+                .add ( cornerAlignment ).add ( popupSize ).add ( popup.getComponentOrientation ().isLeftToRight () );
     }
 
     /**
@@ -768,14 +770,11 @@ public class WebPopupPainter<E extends JComponent> extends AbstractPainter<E> im
      */
     protected Shape getDropdownCornerShape ( final E popupMenu, final Dimension menuSize, final boolean fill )
     {
-        return ShapeCache.getShape ( popupMenu, fill ? "dropdown-corner-fill" : "dropdown-corner-border", new DataProvider<Shape> ()
-        {
-            @Override
-            public Shape provide ()
-            {
-                return createDropdownCornerShape ( popupMenu, menuSize, fill );
-            }
-        }, getCachedShapeSettings ( popupMenu, menuSize ) );
+        final String shapeId = fill ? DROPDOWN_CORNER_FILL_SHAPE : DROPDOWN_CORNER_BORDER_SHAPE;
+        final ShapeCacheKey settings = getShapeSettingsKey ( popupMenu, menuSize );
+        final Shape shape = ShapeCache.getShape ( popupMenu, shapeId, settings );
+        return shape != null ? shape :
+                ShapeCache.cacheShape ( popupMenu, shapeId, settings, createDropdownCornerShape ( popupMenu, menuSize, fill ) );
     }
 
     /**
@@ -23,7 +23,7 @@ import com.alee.laf.scroll.ScrollBarButtonPainter;
 import com.alee.laf.scroll.ScrollBarButtonType;
 import com.alee.laf.scroll.WebScrollBarStyle;
 import com.alee.utils.ShapeCache;
-import com.alee.utils.swing.DataProvider;
+import com.alee.utils.ShapeCacheKey;
 
 import javax.swing.*;
 import javax.swing.plaf.ButtonUI;
@@ -47,6 +47,16 @@ public class WebScrollBarButtonPainter<E extends AbstractButton> extends Abstrac
      */
     protected static final String ARROW_BUTTON_SHAPE = "arrow-button";
 
+    /**
+     * Shape settings key reused for shape cache requests.
+     */
+    protected final ShapeCacheKey shapeSettings = new ShapeCacheKey ();
+
+    /**
+     * Button insets reused for shape settings key.
+     */
+    protected final Insets shapeInsets = new Insets ( 0, 0, 0, 0 );
+
     /**
      * Style settings.
      */
@@ -340,26 +350,23 @@ public class WebScrollBarButtonPainter<E extends AbstractButton> extends Abstrac
      */
     protected Shape getArrowButtonShape ( final Rectangle bounds, final E button )
     {
-        return ShapeCache.getShape ( button, ARROW_BUTTON_SHAPE, new DataProvider<Shape> ()
-        {
-            @Override
-            public Shape provide ()
-            {
-                return createArrowButtonShape ( bounds, button );
-            }
-        }, getCachedShapeSettings ( button ) );
+        final ShapeCacheKey settings = getShapeSettingsKey ( button );
+        final Shape shape = ShapeCache.getShape ( button, ARROW_BUTTON_SHAPE, settings );
+        return shape != null ? shape :
+                ShapeCache.cacheShape ( button, ARROW_BUTTON_SHAPE, settings, createArrowButtonShape ( bounds, button ) );
     }
 
     /**
-     * Returns an array of shape settings cached along with the shape.
+     * Returns shape settings key cached along with the shape.
+     * This is the only place where shape settings are listed, override it to provide additional settings.
      *
      * @param button button component
-     * @return an array of shape settings cached along with the shape
+     * @return shape settings key cached along with the shape
      */
-    protected Object[] getCachedShapeSettings ( final E button )
+    protected ShapeCacheKey getShapeSettingsKey ( final E button )
     {
-        return new Object[]{ button.getSize (), button.getInsets (), buttonType, button.getComponentOrientation ().isLeftToRight (),
-                scrollbar.getOrientation () };
+        return shapeSettings.clear ().add ( button.getWidth () ).add ( button.getHeight () ).add ( button.getInsets ( shapeInsets ) )
+                .add ( buttonType ).add ( button.getComponentOrientation ().isLeftToRight () ).add ( scrollbar.getOrientation () );
     }
 
     /**
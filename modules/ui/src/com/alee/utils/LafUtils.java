@@ -33,6 +33,7 @@ import com.alee.utils.laf.Styleable;
 import com.alee.utils.laf.WeblafBorder;
 import com.alee.utils.ninepatch.NinePatchIcon;
 import com.alee.utils.swing.BorderMethods;
+import com.alee.utils.swing.IconRegistry;
 import com.alee.utils.xml.ResourceFile;
 
 import javax.swing.*;
@@ -1040,7 +1041,7 @@ public final class LafUtils
     private static final NinePatchIcon corners = new NinePatchIcon ( LafUtils.class.getResource ( "icons/selection/corners.9.png" ) );
     private static final NinePatchIcon full = new NinePatchIcon ( LafUtils.class.getResource ( "icons/selection/full.9.png" ) );
 
-    private static final ImageIcon gripper = new ImageIcon ( LafUtils.class.getResource ( "icons/selection/gripper.png" ) );
+    private static final ImageIcon gripper = IconRegistry.getIcon ( LafUtils.class, "icons/selection/gripper.png" );
 
     public static void drawWebIconedSelection ( final Graphics2D g2d, final Rectangle selection, final boolean resizableLR,
                                                 final boolean resizableUD, final boolean drawConnectors )
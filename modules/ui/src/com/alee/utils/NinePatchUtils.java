@@ -61,6 +61,29 @@ public final class NinePatchUtils
      */
     private static final Map<String, WeakReference<NinePatchIcon>> shadeIconCache = new HashMap<String, WeakReference<NinePatchIcon>> ();
 
+    /**
+     * Render cache memory budget in bytes for nine-patch icons used by skin painters.
+     * Render cache allows component sizes painted repeatedly to be drawn with a single composed image instead of separate icon parts.
+     * Sizes which don't fit this budget are still painted part by part, zero disables render cache for painter icons.
+     */
+    public static long painterIconRenderCacheSize = 256 * 1024;
+
+    /**
+     * Enables render cache for the specified nine-patch icon used by skin painter and returns that icon.
+     * Render cache is not modified if it is already enabled for the icon.
+     *
+     * @param icon nine-patch icon used by skin painter
+     * @return the same nine-patch icon
+     */
+    public static NinePatchIcon enableRenderCache ( final NinePatchIcon icon )
+    {
+        if ( icon != null && icon.getRenderCacheSize () == 0 && painterIconRenderCacheSize > 0 )
+        {
+            icon.setRenderCacheSize ( painterIconRenderCacheSize );
+        }
+        return icon;
+    }
+
     /**
      * Returns cached shade nine-patch icon.
      *
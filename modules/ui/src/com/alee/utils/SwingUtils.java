@@ -2502,23 +2502,23 @@ public final class SwingUtils extends CoreSwingUtils
         {
             return false;
         }
-        else
+        else if ( component1 instanceof Container )
         {
-            if ( component1 instanceof Container )
+            // Walking up through the second component ancestors is much faster than checking the whole first component tree
+            // Components tree is checked only up to the window since windows do not contain their owned windows
+            Component parent = component2;
+            while ( !( parent instanceof Window ) && ( parent = parent.getParent () ) != null )
             {
-                for ( final Component c : ( ( Container ) component1 ).getComponents () )
+                if ( parent == component1 )
                 {
-                    if ( isEqualOrChild ( c, component2 ) )
-                    {
-                        return true;
-                    }
+                    return true;
                 }
-                return false;
-            }
-            else
-            {
-                return false;
             }
+            return false;
+        }
+        else
+        {
+            return false;
         }
     }
 
@@ -0,0 +1,281 @@
+/*
+ * This file is part of WebLookAndFeel library.
+ *
+ * WebLookAndFeel library is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * WebLookAndFeel library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with WebLookAndFeel library.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package com.alee.utils.file;
+
+import com.alee.managers.log.Log;
+import com.alee.utils.FileUtils;
+import com.alee.utils.ImageUtils;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+
+/**
+ * Persistent file thumbnails cache.
+ * Thumbnails are stored within the cache directory and identified by file path, thumbnail size, file modification time and length,
+ * so any file modification automatically invalidates its cached thumbnail. The same values are written into each thumbnail header and
+ * verified when thumbnail is loaded, so thumbnail is never provided for a different file.
+ * <p/>
+ * Total size of cached thumbnails is limited, least recently used thumbnails are removed once the limit is exceeded.
+ *
+ * @author Mikle Garin
+ */
+
+public class ThumbnailCache
+{
+    /**
+     * Thumbnail file header marker.
+     */
+    private static final int THUMBNAIL_MARKER = 0x57544E31;
+
+    /**
+     * Thumbnail file format version.
+     */
+    private static final int THUMBNAIL_VERSION = 2;
+
+    /**
+     * Thumbnail files extension.
+     */
+    public static final String THUMBNAIL_EXTENSION = ".thumb";
+
+    /**
+     * Thumbnail files filter.
+     */
+    protected static final FileFilter THUMBNAIL_FILTER = new FileFilter ()
+    {
+        @Override
+        public boolean accept ( final File file )
+        {
+            return file.getName ().endsWith ( THUMBNAIL_EXTENSION );
+        }
+    };
+
+    /**
+     * Cache directory.
+     */
+    protected final File directory;
+
+    /**
+     * Maximum total size of stored thumbnails in bytes.
+     */
+    protected volatile long maxSize = 32 * 1024 * 1024;
+
+    /**
+     * Estimated total size of stored thumbnails in bytes or -1 if it wasn't calculated yet.
+     */
+    protected long totalSize = -1;
+
+    /**
+     * Constructs new thumbnails cache within the specified directory.
+     *
+     * @param directory cache directory
+     */
+    public ThumbnailCache ( final File directory )
+    {
+        super ();
+        this.directory = directory;
+    }
+
+    /**
+     * Returns cache directory.
+     *
+     * @return cache directory
+     */
+    public File getDirectory ()
+    {
+        return directory;
+    }
+
+    /**
+     * Returns maximum total size of stored thumbnails in bytes.
+     *
+     * @return maximum total size of stored thumbnails in bytes
+     */
+    public long getMaxSize ()
+    {
+        return maxSize;
+    }
+
+    /**
+     * Sets maximum total size of stored thumbnails in bytes.
+     * Least recently used thumbnails are removed once this limit is exceeded.
+     *
+     * @param maxSize maximum total size of stored thumbnails in bytes
+     */
+    public void setMaxSize ( final long maxSize )
+    {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns cached thumbnail for the specified file or null if it is not cached.
+     * Thumbnail description contains the description it had when it was cached.
+     *
+     * @param file file to load thumbnail for
+     * @param size thumbnail size
+     * @return cached thumbnail for the specified file or null if it is not cached
+     */
+    public ImageIcon load ( final File file, final int size )
+    {
+        final File thumbnailFile = getThumbnailFile ( file, size );
+        if ( thumbnailFile == null || !thumbnailFile.exists () )
+        {
+            return null;
+        }
+        try
+        {
+            final DataInputStream in = new DataInputStream ( new BufferedInputStream ( new FileInputStream ( thumbnailFile ) ) );
+            try
+            {
+                if ( in.readInt () != THUMBNAIL_MARKER || in.readInt () != THUMBNAIL_VERSION )
+                {
+                    return null;
+                }
+                if ( !in.readUTF ().equals ( file.getAbsolutePath () ) || in.readInt () != size || in.readLong () != file.length () ||
+                        in.readLong () != file.lastModified () )
+                {
+                    // Thumbnail of a different file or file version, it will be replaced once new thumbnail is stored
+                    return null;
+                }
+                final String description = in.readUTF ();
+                final BufferedImage image = ImageIO.read ( in );
+                if ( image == null )
+                {
+                    return null;
+                }
+                final ImageIcon thumbnail = new ImageIcon ( image );
+                thumbnail.setDescription ( description.length () > 0 ? description : null );
+                thumbnailFile.setLastModified ( System.currentTimeMillis () );
+                return thumbnail;
+            }
+            finally
+            {
+                in.close ();
+            }
+        }
+        catch ( final Throwable e )
+        {
+            // Damaged thumbnail will be generated and cached again
+            thumbnailFile.delete ();
+            return null;
+        }
+    }
+
+    /**
+     * Caches thumbnail for the specified file.
+     *
+     * @param file      file to cache thumbnail for
+     * @param size      thumbnail size
+     * @param thumbnail thumbnail to cache
+     */
+    public void store ( final File file, final int size, final ImageIcon thumbnail )
+    {
+        final File thumbnailFile = getThumbnailFile ( file, size );
+        if ( thumbnailFile == null || thumbnail == null || thumbnail.getIconWidth () <= 0 || thumbnail.getIconHeight () <= 0 )
+        {
+            return;
+        }
+        try
+        {
+            FileUtils.writeFileAtomically ( thumbnailFile, new FileContentWriter ()
+            {
+                @Override
+                public void write ( final DataOutputStream out ) throws IOException
+                {
+                    final String description = thumbnail.getDescription ();
+                    out.writeInt ( THUMBNAIL_MARKER );
+                    out.writeInt ( THUMBNAIL_VERSION );
+                    out.writeUTF ( file.getAbsolutePath () );
+                    out.writeInt ( size );
+                    out.writeLong ( file.length () );
+                    out.writeLong ( file.lastModified () );
+                    out.writeUTF ( description != null ? description : "" );
+                    ImageIO.write ( ImageUtils.getBufferedImage ( thumbnail ), "png", out );
+                }
+            } );
+            trim ( thumbnailFile.length () );
+        }
+        catch ( final Throwable e )
+        {
+            Log.warn ( this, "Unable to cache thumbnail for file: " + file.getAbsolutePath (), e );
+        }
+    }
+
+    /**
+     * Removes all cached thumbnails.
+     */
+    public synchronized void clear ()
+    {
+        for ( final File file : FileUtils.listFiles ( directory, THUMBNAIL_FILTER ) )
+        {
+            file.delete ();
+        }
+        totalSize = -1;
+    }
+
+    /**
+     * Adds stored thumbnail size to estimated total and removes least recently used thumbnails down to 3/4 of the limit once it is
+     * exceeded. Estimated total is recalculated from the stored thumbnails whenever it exceeds the limit.
+     *
+     * @param added size of the thumbnail which was just stored
+     */
+    protected synchronized void trim ( final long added )
+    {
+        if ( totalSize >= 0 )
+        {
+            totalSize += added;
+            if ( totalSize <= maxSize )
+            {
+                return;
+            }
+        }
+        totalSize = FileUtils.trimDirectory ( directory, THUMBNAIL_FILTER, -1, -1 );
+        if ( totalSize > maxSize )
+        {
+            // Removing a bit more than required to avoid trimming cache on each following store
+            totalSize = FileUtils.trimDirectory ( directory, THUMBNAIL_FILTER, -1, maxSize / 4 * 3 );
+        }
+    }
+
+    /**
+     * Returns cached thumbnail file for the specified file or null if file doesn't exist.
+     *
+     * @param file file to cache thumbnail for
+     * @param size thumbnail size
+     * @return cached thumbnail file for the specified file or null if file doesn't exist
+     */
+    protected File getThumbnailFile ( final File file, final int size )
+    {
+        final long lastModified = file.lastModified ();
+        if ( lastModified == 0 )
+        {
+            return null;
+        }
+        try
+        {
+            final String key = file.getAbsolutePath () + "|" + size + "|" + lastModified + "|" + file.length ();
+            final String hash = FileUtils.computeMD5 ( new ByteArrayInputStream ( key.getBytes ( "UTF-8" ) ), 256 );
+            return hash != null ? new File ( directory, hash + THUMBNAIL_EXTENSION ) : null;
+        }
+        catch ( final UnsupportedEncodingException e )
+        {
+            return null;
+        }
+    }
+}
@@ -23,9 +23,12 @@ import com.thoughtworks.xstream.annotations.XStreamConverter;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 /**
@@ -41,6 +44,11 @@ import java.util.List;
 @XStreamConverter (NinePatchIconConverter.class)
 public class NinePatchIcon implements Icon
 {
+    /**
+     * Maximum amount of render cache entries.
+     */
+    protected static final int MAX_RENDER_CACHE_ENTRIES = 32;
+
     /**
      * Component onto which this nine-patch icon will be stretched.
      */
@@ -89,6 +97,39 @@ public class NinePatchIcon implements Icon
      */
     protected Integer cachedHeight1;
 
+    /**
+     * Default render cache memory budget in bytes for newly created icons.
+     * Zero means that render cache is disabled by default.
+     */
+    protected static long defaultRenderCacheSize = 0;
+
+    /**
+     * Render cache memory budget in bytes.
+     * Zero means that render cache is disabled.
+     */
+    protected long renderCacheSize = defaultRenderCacheSize;
+
+    /**
+     * Composed icon images cached for recently painted sizes.
+     * Image is only composed when the same size is painted for the second time to avoid caching sizes seen during resize.
+     */
+    protected transient LinkedHashMap<Long, RenderCacheEntry> renderCache;
+
+    /**
+     * Total size of images in render cache in bytes.
+     */
+    protected transient long renderCacheWeight;
+
+    /**
+     * Precomputed horizontal stretch geometry.
+     */
+    protected transient StretchGeometry horizontalGeometry;
+
+    /**
+     * Precomputed vertical stretch geometry.
+     */
+    protected transient StretchGeometry verticalGeometry;
+
     /**
      * Constructs new NinePatchIcon using the nine-patch image from the specified URL.
      *
@@ -502,48 +543,53 @@ public class NinePatchIcon implements Icon
      */
     public void paintIcon ( final Graphics2D g2d, final int x, final int y, final int width, final int height )
     {
-        final int availableWidth = Math.max ( width, getFixedPixelsWidth ( true ) );
-        final int availableHeight = Math.max ( height, getFixedPixelsHeight ( true ) );
-        final int fixedPixelsX = getFixedPixelsWidth ( false );
-        final int unfixedX = availableWidth - fixedPixelsX;
-        final int fixedPixelsY = getFixedPixelsHeight ( false );
-        final int unfixedY = availableHeight - fixedPixelsY;
+        final StretchGeometry gx = getHorizontalGeometry ();
+        final StretchGeometry gy = getVerticalGeometry ();
+        final int availableWidth = Math.max ( width, gx.minimum );
+        final int availableHeight = Math.max ( height, gy.minimum );
 
-        int currentY = y;
-        for ( final NinePatchInterval intervalY : verticalStretch )
+        // Using composed image from render cache if possible
+        if ( renderCacheSize > 0 && ( g2d.getTransform ().getType () & ~AffineTransform.TYPE_TRANSLATION ) == 0 )
         {
-            // Percent part height
-            final int intervalHeight = intervalY.getEnd () - intervalY.getStart () + 1;
-            final int finalHeight;
-            if ( intervalY.isPixel () )
-            {
-                finalHeight = intervalHeight;
-            }
-            else
+            final BufferedImage image = getRenderedImage ( g2d, gx, gy, availableWidth, availableHeight );
+            if ( image != null )
             {
-                final float percents = ( float ) intervalHeight / ( rawImage.getHeight () - fixedPixelsY );
-                finalHeight = Math.round ( percents * unfixedY );
+                g2d.drawImage ( image, x, y, null );
+                return;
             }
+        }
+
+        paintIcon ( g2d, gx, gy, x, y, availableWidth, availableHeight );
+    }
 
+    /**
+     * Paints stretched icon parts at the specified bounds.
+     *
+     * @param g2d    graphics context
+     * @param gx     horizontal stretch geometry
+     * @param gy     vertical stretch geometry
+     * @param x      location X coordinate
+     * @param y      location Y coordinate
+     * @param width  available width
+     * @param height available height
+     */
+    protected void paintIcon ( final Graphics2D g2d, final StretchGeometry gx, final StretchGeometry gy, final int x, final int y,
+                               final int width, final int height )
+    {
+        final int unfixedX = width - gx.fixed;
+        final int unfixedY = height - gy.fixed;
+        int currentY = y;
+        for ( int j = 0; j < gy.start.length; j++ )
+        {
+            final int finalHeight = gy.getFinalLength ( j, unfixedY );
             int currentX = x;
-            for ( final NinePatchInterval intervalX : horizontalStretch )
+            for ( int i = 0; i < gx.start.length; i++ )
             {
-                // Percent part width
-                final int intervalWidth = intervalX.getEnd () - intervalX.getStart () + 1;
-                final int finalWidth;
-                if ( intervalX.isPixel () )
-                {
-                    finalWidth = intervalWidth;
-                }
-                else
-                {
-                    final float percents = ( float ) intervalWidth / ( rawImage.getWidth () - fixedPixelsX );
-                    finalWidth = Math.round ( percents * unfixedX );
-                }
+                final int finalWidth = gx.getFinalLength ( i, unfixedX );
 
                 // Drawing image part
-                g2d.drawImage ( rawImage, currentX, currentY, currentX + finalWidth, currentY + finalHeight, intervalX.getStart (),
-                        intervalY.getStart (), intervalX.getStart () + intervalWidth, intervalY.getStart () + intervalHeight, null );
+                g2d.drawImage ( rawImage, currentX, currentY, currentX + finalWidth, currentY + finalHeight, gx.start[ i ], gy.start[ j ],
+                        gx.start[ i ] + gx.length[ i ], gy.start[ j ] + gy.length[ j ], null );
 
                 // Icrementing current X
                 currentX += finalWidth;
@@ -554,6 +600,164 @@ public class NinePatchIcon implements Icon
         }
     }
 
+    /**
+     * Returns composed icon image of the specified size from render cache or null if it is not cached.
+     *
+     * @param g2d    graphics context
+     * @param gx     horizontal stretch geometry
+     * @param gy     vertical stretch geometry
+     * @param width  available width
+     * @param height available height
+     * @return composed icon image of the specified size from render cache or null if it is not cached
+     */
+    protected BufferedImage getRenderedImage ( final Graphics2D g2d, final StretchGeometry gx, final StretchGeometry gy, final int width,
+                                               final int height )
+    {
+        final long weight = ( long ) width * height * 4;
+        if ( weight > renderCacheSize )
+        {
+            return null;
+        }
+        final Object interpolation = g2d.getRenderingHint ( RenderingHints.KEY_INTERPOLATION );
+        final Long key = ( ( long ) width << 32 ) | height;
+        if ( renderCache == null )
+        {
+            renderCache = new LinkedHashMap<Long, RenderCacheEntry> ( 16, 0.75f, true );
+        }
+        final RenderCacheEntry rendered = renderCache.get ( key );
+        if ( rendered == null )
+        {
+            // Only remembering size on the first request
+            renderCache.put ( key, new RenderCacheEntry () );
+            trimRenderCache ();
+            return null;
+        }
+        if ( rendered.image == null || rendered.interpolation != interpolation )
+        {
+            // Composing image on repeated request
+            final BufferedImage image = ImageUtils.createCompatibleImage ( rawImage, width, height );
+            final Graphics2D ig = image.createGraphics ();
+            if ( interpolation != null )
+            {
+                ig.setRenderingHint ( RenderingHints.KEY_INTERPOLATION, interpolation );
+            }
+            paintIcon ( ig, gx, gy, 0, 0, width, height );
+            ig.dispose ();
+            if ( rendered.image == null )
+            {
+                renderCacheWeight += weight;
+            }
+            rendered.image = image;
+            rendered.interpolation = interpolation;
+            trimRenderCache ();
+        }
+        return rendered.image;
+    }
+
+    /**
+     * Removes least recently used images from render cache until it fits into memory budget.
+     */
+    protected void trimRenderCache ()
+    {
+        final Iterator<RenderCacheEntry> iterator = renderCache.values ().iterator ();
+        while ( iterator.hasNext () && ( renderCacheWeight > renderCacheSize || renderCache.size () > MAX_RENDER_CACHE_ENTRIES ) )
+        {
+            final RenderCacheEntry rendered = iterator.next ();
+            if ( rendered.image != null )
+            {
+                renderCacheWeight -= ( long ) rendered.image.getWidth () * rendered.image.getHeight () * 4;
+            }
+            iterator.remove ();
+        }
+    }
+
+    /**
+     * Clears render cache.
+     */
+    public void clearRenderCache ()
+    {
+        renderCache = null;
+        renderCacheWeight = 0;
+    }
+
+    /**
+     * Returns render cache memory budget in bytes.
+     *
+     * @return render cache memory budget in bytes
+     */
+    public long getRenderCacheSize ()
+    {
+        return renderCacheSize;
+    }
+
+    /**
+     * Sets render cache memory budget in bytes.
+     * Render cache keeps fully composed images for recently painted sizes so they are painted with a single image draw.
+     * Zero disables render cache.
+     *
+     * @param renderCacheSize render cache memory budget in bytes
+     */
+    public void setRenderCacheSize ( final long renderCacheSize )
+    {
+        this.renderCacheSize = Math.max ( 0, renderCacheSize );
+        if ( renderCache != null )
+        {
+            trimRenderCache ();
+        }
+    }
+
+    /**
+     * Returns default render cache memory budget in bytes for newly created icons.
+     *
+     * @return default render cache memory budget in bytes for newly created icons
+     */
+    public static long getDefaultRenderCacheSize ()
+    {
+        return defaultRenderCacheSize;
+    }
+
+    /**
+     * Sets default render cache memory budget in bytes for newly created icons.
+     *
+     * @param size default render cache memory budget in bytes for newly created icons
+     */
+    public static void setDefaultRenderCacheSize ( final long size )
+    {
+        NinePatchIcon.defaultRenderCacheSize = Math.max ( 0, size );
+    }
+
+    /**
+     * Returns precomputed horizontal stretch geometry.
+     * Geometry is recomputed if stretch intervals were modified.
+     *
+     * @return precomputed horizontal stretch geometry
+     */
+    protected StretchGeometry getHorizontalGeometry ()
+    {
+        if ( horizontalGeometry == null || !horizontalGeometry.matches ( horizontalStretch ) )
+        {
+            horizontalGeometry = new StretchGeometry ( horizontalStretch, rawImage.getWidth () );
+            clearRenderCache ();
+        }
+        return horizontalGeometry;
+    }
+
+    /**
+     * Returns precomputed vertical stretch geometry.
+     * Geometry is recomputed if stretch intervals were modified.
+     *
+     * @return precomputed vertical stretch geometry
+     */
+    protected StretchGeometry getVerticalGeometry ()
+    {
+        if ( verticalGeometry == null || !verticalGeometry.matches ( verticalStretch ) )
+        {
+            verticalGeometry = new StretchGeometry ( verticalStretch, rawImage.getHeight () );
+            clearRenderCache ();
+        }
+        return verticalGeometry;
+    }
+
     /**
      * Returns cached fixed minimum width for this icon.
      *
@@ -711,4 +915,128 @@ public class NinePatchIcon implements Icon
     {
         return new Dimension ( getRawImage ().getWidth (), getRawImage ().getHeight () );
     }
-}
\ No newline at end of file
+
+    /**
+     * Precomputed stretch geometry for one of the icon sides.
+     */
+    protected static final class StretchGeometry
+    {
+        /**
+         * Intervals start positions.
+         */
+        protected final int[] start;
+
+        /**
+         * Intervals lengths.
+         */
+        protected final int[] length;
+
+        /**
+         * Whether intervals are fixed or not.
+         */
+        protected final boolean[] pixel;
+
+        /**
+         * Stretchable intervals parts of the stretchable space.
+         */
+        protected final float[] ratio;
+
+        /**
+         * Fixed pixels amount.
+         */
+        protected final int fixed;
+
+        /**
+         * Minimum length with additional 1px for each stretchable area.
+         */
+        protected final int minimum;
+
+        /**
+         * Constructs new stretch geometry.
+         *
+         * @param intervals stretch intervals
+         * @param size      raw image side length
+         */
+        public StretchGeometry ( final List<NinePatchInterval> intervals, final int size )
+        {
+            super ();
+            final int count = intervals.size ();
+            start = new int[ count ];
+            length = new int[ count ];
+            pixel = new boolean[ count ];
+            ratio = new float[ count ];
+            int fixed = size;
+            int stretchable = 0;
+            for ( int i = 0; i < count; i++ )
+            {
+                final NinePatchInterval interval = intervals.get ( i );
+                start[ i ] = interval.getStart ();
+                length[ i ] = interval.getEnd () - interval.getStart () + 1;
+                pixel[ i ] = interval.isPixel ();
+                if ( !pixel[ i ] )
+                {
+                    fixed -= length[ i ];
+                    stretchable++;
+                }
+            }
+            for ( int i = 0; i < count; i++ )
+            {
+                ratio[ i ] = ( float ) length[ i ] / ( size - fixed );
+            }
+            this.fixed = fixed;
+            this.minimum = fixed + stretchable;
+        }
+
+        /**
+         * Returns whether this geometry matches specified intervals or not.
+         *
+         * @param intervals stretch intervals
+         * @return true if this geometry matches specified intervals, false otherwise
+         */
+        public boolean matches ( final List<NinePatchInterval> intervals )
+        {
+            if ( intervals.size () != start.length )
+            {
+                return false;
+            }
+            for ( int i = 0; i < start.length; i++ )
+            {
+                final NinePatchInterval interval = intervals.get ( i );
+                if ( interval.getStart () != start[ i ] || interval.getEnd () - interval.getStart () + 1 != length[ i ] ||
+                        interval.isPixel () != pixel[ i ] )
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns final interval length for the specified stretchable space.
+         *
+         * @param index    interval index
+         * @param unfixed  stretchable space
+         * @return final interval length for the specified stretchable space
+         */
+        public int getFinalLength ( final int index, final int unfixed )
+        {
+            return pixel[ index ] ? length[ index ] : Math.round ( ratio[ index ] * unfixed );
+        }
+    }
+
+    /**
+     * Render cache entry.
+     */
+    protected static final class RenderCacheEntry
+    {
+        /**
+         * Composed icon image, null until the size is painted for the second time.
+         */
+        protected BufferedImage image;
+
+        /**
+         * Interpolation hint used to compose image.
+         */
+        protected Object interpolation;
+    }
+}